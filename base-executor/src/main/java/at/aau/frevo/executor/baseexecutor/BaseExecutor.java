@@ -17,14 +17,14 @@
 
 package at.aau.frevo.executor.baseexecutor;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.SplittableRandom;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Flow;
 import at.aau.frevo.Evaluation;
 import at.aau.frevo.Executor;
 import at.aau.frevo.Problem;
@@ -34,13 +34,56 @@ import at.aau.frevo.Result;
 
 /**
  * Basic Executor functionality.
+ * <p>
+ * Optionally, fitness values are memoized in a {@link FitnessCache}, so that candidates carried
+ * forward unchanged between generations are not evaluated again on the same problem variants.
+ * <p>
+ * Optionally, candidates are raced using successive halving: all candidates are evaluated on a few
+ * problem variants, the worst candidates are dropped and only the survivors are evaluated on more
+ * problem variants. Each {@link Result} records the number of problem variants its fitness is based
+ * on and results are ranked by that number first, then by fitness.
+ * <p>
+ * When the timeout of a call expires, evaluations which have not completed are cancelled using
+ * {@link Evaluation#cancel()}. Subclasses should also cancel evaluations exceeding the evaluation
+ * timeout.
+ * <p>
+ * Subclasses retry failed evaluations up to the retry count, waiting for an exponentially growing
+ * backoff before each retry. Evaluations which still fail are quarantined: they are finished
+ * without a fitness, so that strict mode only drops the affected candidates, and are recorded in a
+ * failure report available from {@link #getQuarantinedEvaluations()}.
+ * <p>
+ * Optionally, the cost of each evaluation is recorded in a {@link CostModel} and the evaluations of
+ * each call are dispatched in order of decreasing predicted cost, longest processing time first,
+ * which shortens the time until the last evaluation of a call completes. Subclasses measuring the
+ * cost of evaluations should record it using {@link Evaluation#recordCost(long, long)}.
+ * <p>
+ * The {@link EvaluationOrder} determines whether the evaluations of a call are dispatched grouped
+ * by problem variant or grouped by candidate.
+ * <p>
+ * Evaluation does not block any thread: each call is carried out by an {@link EvaluationBatch},
+ * which is advanced by the threads completing the evaluations. Implementations of
+ * {@link #dispatchEvaluation(ArrayBlockingQueue, CountDownLatch)} should return without waiting for
+ * the evaluations they dispatch.
  */
 public abstract class BaseExecutor extends Executor {
 
+  protected final static int QUARANTINE_REPORT_SIZE = 100;
+  protected final static int INSERTION_SORT_THRESHOLD = 16;
+
   protected int problemVariantCount;
   protected boolean strict;
   protected long problemRandomSeed;
   protected long timeoutMilliSeconds;
+  protected long evaluationTimeoutMilliSeconds;
+  protected int retryCount;
+  protected long retryBackoffMilliSeconds;
+  protected FitnessCache fitnessCache;
+  protected int racingInitialVariantCount;
+  protected double racingReductionFactor;
+  protected CostModel costModel;
+  protected EvaluationOrder evaluationOrder;
+  protected final ArrayDeque<Evaluation<?>> quarantinedEvaluations = new ArrayDeque<>();
+  protected long quarantinedEvaluationCount;
 
   /**
    * Creates a new {@code BaseExecutor} instance with the specified configuration.
@@ -56,77 +99,125 @@ public abstract class BaseExecutor extends Executor {
     problemVariantCount = builder.getProblemVariantCount();
     strict = builder.isStrict();
     timeoutMilliSeconds = builder.getTimeoutMilliSeconds();
+    evaluationTimeoutMilliSeconds = builder.getEvaluationTimeoutMilliSeconds();
+    retryCount = builder.getRetryCount();
+    retryBackoffMilliSeconds = builder.getRetryBackoffMilliSeconds();
+    if (builder.getFitnessCacheSize() > 0) {
+      fitnessCache = new FitnessCache(builder.getFitnessCacheSize());
+    }
+    racingInitialVariantCount = builder.getRacingInitialVariantCount();
+    racingReductionFactor = builder.getRacingReductionFactor();
+    evaluationOrder = builder.getEvaluationOrder();
+    if (builder.getCostHistorySize() > 0) {
+      costModel = new CostModel(builder.getCostHistorySize());
+    }
     problemRandomSeed = random.nextLong();
   }
 
   @Override
-  public <R extends Representation> List<Result<R>> evaluateRepresentations(
-      List<R> representations) {
-
-    var evaluationCount = representations.size() * problemVariantCount;
-    var evaluations = new ArrayList<Evaluation<R>>(evaluationCount);
-    var evaluationQueue = new ArrayBlockingQueue<Evaluation<R>>(evaluationCount);
-    var problemRandom = new SplittableRandom(problemRandomSeed);
-
-    // create evaluations
-    for (var i = 0; i < problemVariantCount; i++) {
-      var evaluationSeed = problemRandom.nextLong();
-      for (var representation : representations) {
-        var evaluation = new Evaluation<R>(representation, evaluationSeed);
-        evaluations.add(evaluation);
-        evaluationQueue.add(evaluation);
-      }
-    }
-
-    final var evaluationCountDownLatch = new CountDownLatch(evaluationCount);
+  public <R extends Representation> CompletableFuture<List<Result<R>>> evaluateRepresentationsAsync(
+      List<R> representations, Flow.Subscriber<? super Result<R>> subscriber) {
+    return new EvaluationBatch<R>(this, representations, subscriber).start();
+  }
 
-    dispatchEvaluation(evaluationQueue, evaluationCountDownLatch);
+  /**
+   * Sorts candidate indices by decreasing mean fitness. The sort is stable, so candidates with the
+   * same mean fitness keep their order.
+   * 
+   * @param candidateIndices the indices of the candidates
+   * @param count            the number of indices to sort
+   * @param fitnessSums      the fitness sums by candidate
+   * @param variantCounts    the evaluated problem variant counts by candidate
+   */
+  protected void sortByMeanFitness(int[] candidateIndices, int count, double[] fitnessSums,
+      int[] variantCounts) {
+    // sort by negated mean, so that the order matches ascending Double.compare()
+    var keys = new double[count];
+    for (var i = 0; i < count; i++) {
+      var index = candidateIndices[i];
+      keys[i] = -fitnessSums[index] / Math.max(1, variantCounts[index]);
+    }
+    sortByKey(candidateIndices, keys, new int[count], new double[count], 0, count);
+  }
 
-    // wait for evaluation to complete
-    try {
-      if (timeoutMilliSeconds == 0) {
-        evaluationCountDownLatch.await();
-      } else {
-        evaluationCountDownLatch.await(timeoutMilliSeconds, TimeUnit.MILLISECONDS);
+  /**
+   * Sorts a range of indices by ascending key using a stable merge sort, which falls back to an
+   * insertion sort for short ranges. The keys are moved along with the indices.
+   * 
+   * @param indices     the indices to sort
+   * @param keys        the keys of the indices, by position
+   * @param indexBuffer the buffer used for merging indices, at least as long as the range
+   * @param keyBuffer   the buffer used for merging keys, at least as long as the range
+   * @param from        the first position of the range, inclusive
+   * @param to          the last position of the range, exclusive
+   */
+  protected static void sortByKey(int[] indices, double[] keys, int[] indexBuffer,
+      double[] keyBuffer, int from, int to) {
+    if (to - from <= INSERTION_SORT_THRESHOLD) {
+      for (var i = from + 1; i < to; i++) {
+        var index = indices[i];
+        var key = keys[i];
+        var j = i;
+        for (; (j > from) && (Double.compare(keys[j - 1], key) > 0); j--) {
+          indices[j] = indices[j - 1];
+          keys[j] = keys[j - 1];
+        }
+        indices[j] = index;
+        keys[j] = key;
       }
-    } catch (InterruptedException e) {
+      return;
     }
 
-    // clear any remaining work
-    evaluationQueue.clear();
-    while (evaluationCountDownLatch.getCount() > 0) {
-      evaluationCountDownLatch.countDown();
+    var middle = (from + to) >>> 1;
+    sortByKey(indices, keys, indexBuffer, keyBuffer, from, middle);
+    sortByKey(indices, keys, indexBuffer, keyBuffer, middle, to);
+    if (Double.compare(keys[middle - 1], keys[middle]) <= 0) {
+      return;
     }
 
-    // create results
-    // start by collating results by representation
-    var resultHashtable = new HashMap<R, ArrayList<Evaluation<R>>>();
-    for (var evaluation : evaluations) {
-      // only consider evaluations where a fitness was set
-      if (evaluation.getFitness() >= 0) {
-        var resultSet = resultHashtable.get(evaluation.getRepresentation());
-        if (resultSet == null) {
-          resultSet = new ArrayList<>();
-          resultHashtable.put(evaluation.getRepresentation(), resultSet);
-        }
-        resultSet.add(evaluation);
+    // merge the lower half from the buffers with the upper half in place
+    System.arraycopy(indices, from, indexBuffer, from, middle - from);
+    System.arraycopy(keys, from, keyBuffer, from, middle - from);
+    var i = from;
+    var j = middle;
+    var k = from;
+    while ((i < middle) && (j < to)) {
+      if (Double.compare(keyBuffer[i], keys[j]) <= 0) {
+        indices[k] = indexBuffer[i];
+        keys[k++] = keyBuffer[i++];
+      } else {
+        indices[k] = indices[j];
+        keys[k++] = keys[j++];
       }
     }
+    System.arraycopy(indexBuffer, i, indices, k, middle - i);
+    System.arraycopy(keyBuffer, i, keys, k, middle - i);
+  }
 
-    // average fitness
-    var results = new ArrayList<Result<R>>();
-    resultHashtable.forEach((k, v) -> {
-      if ((v.size() == problemVariantCount) || !strict) {
-        double fitnessSum = 0;
-        for (var evaluation : v) {
-          fitnessSum += evaluation.getFitness();
-        }
-        results.add(new Result<R>(k, fitnessSum / v.size()));
-      }
-    });
+  /**
+   * Gets the delay before retrying an evaluation which has failed a number of times.
+   * 
+   * @param failureCount the number of failed attempts so far
+   * @return the delay in milliseconds
+   */
+  protected long getRetryDelayMilliSeconds(int failureCount) {
+    return retryBackoffMilliSeconds << Math.min(Math.max(0, failureCount - 1), 10);
+  }
 
-    Collections.sort(results);
-    return results;
+  /**
+   * Quarantines an evaluation which failed more often than the retry count allows, recording it in
+   * the failure report.
+   * 
+   * @param evaluation the failed {@code Evaluation}
+   */
+  protected void quarantine(Evaluation<?> evaluation) {
+    synchronized (quarantinedEvaluations) {
+      quarantinedEvaluationCount++;
+      if (quarantinedEvaluations.size() == QUARANTINE_REPORT_SIZE) {
+        quarantinedEvaluations.removeFirst();
+      }
+      quarantinedEvaluations.addLast(evaluation);
+    }
   }
 
   /**
@@ -176,4 +267,113 @@ public abstract class BaseExecutor extends Executor {
   public long getTimeoutMilliSeconds() {
     return timeoutMilliSeconds;
   }
+
+  /**
+   * Gets the timeout milliseconds for a single evaluation of a {@link Representation} on one problem
+   * variant.
+   * 
+   * @return the evaluation timeout, {@code 0} for no timeout
+   */
+  public long getEvaluationTimeoutMilliSeconds() {
+    return evaluationTimeoutMilliSeconds;
+  }
+
+  /**
+   * Gets the number of times a failed evaluation is retried before it is quarantined.
+   * 
+   * @return the retry count
+   */
+  public int getRetryCount() {
+    return retryCount;
+  }
+
+  /**
+   * Gets the delay before the first retry of a failed evaluation.
+   * 
+   * @return the retry backoff in milliseconds
+   */
+  public long getRetryBackoffMilliSeconds() {
+    return retryBackoffMilliSeconds;
+  }
+
+  /**
+   * Gets the most recently quarantined evaluations, oldest first. Each {@code Evaluation} provides
+   * the {@code Representation}, the seed of the problem variant and the exception of its last
+   * failed attempt. At most the last {@value #QUARANTINE_REPORT_SIZE} evaluations are kept.
+   * 
+   * @return the list of quarantined {@code Evaluation} instances
+   */
+  public List<Evaluation<?>> getQuarantinedEvaluations() {
+    synchronized (quarantinedEvaluations) {
+      return new ArrayList<>(quarantinedEvaluations);
+    }
+  }
+
+  /**
+   * Gets the total number of quarantined evaluations.
+   * 
+   * @return the quarantined evaluation count
+   */
+  public long getQuarantinedEvaluationCount() {
+    synchronized (quarantinedEvaluations) {
+      return quarantinedEvaluationCount;
+    }
+  }
+
+  /**
+   * Gets the number of problem variants all candidates are evaluated on before the worst candidates
+   * are dropped.
+   * 
+   * @return the initial racing variant count, {@code 0} if candidates are not raced
+   */
+  public int getRacingInitialVariantCount() {
+    return racingInitialVariantCount;
+  }
+
+  /**
+   * Gets the factor by which the number of candidates is reduced and the number of problem variants
+   * is increased in each racing round.
+   * 
+   * @return the racing reduction factor
+   */
+  public double getRacingReductionFactor() {
+    return racingReductionFactor;
+  }
+
+  /**
+   * Gets the flag indicating that candidates are raced.
+   * 
+   * @return {@code true} if candidates are raced
+   */
+  public boolean isRacing() {
+    return (racingInitialVariantCount > 0) && (racingInitialVariantCount < problemVariantCount);
+  }
+
+  /**
+   * Gets the {@code FitnessCache} used to memoize fitness values.
+   * 
+   * @return the {@code FitnessCache}, or {@code null} if fitness values are not cached
+   */
+  public FitnessCache getFitnessCache() {
+    return fitnessCache;
+  }
+
+  /**
+   * Gets the {@code EvaluationOrder} in which the evaluations of a call are dispatched.
+   * 
+   * @return the evaluation order
+   */
+  public EvaluationOrder getEvaluationOrder() {
+    return evaluationOrder;
+  }
+
+  /**
+   * Gets the {@code CostModel} used to order evaluations by predicted cost.
+   * 
+   * @return the {@code CostModel}, or {@code null} if evaluations are dispatched in population
+   *         order
+   */
+  public CostModel getCostModel() {
+    return costModel;
+  }
 }
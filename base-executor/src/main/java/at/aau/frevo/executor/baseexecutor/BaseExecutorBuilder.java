@@ -29,6 +29,14 @@ public abstract class BaseExecutorBuilder<E extends BaseExecutor> extends Execut
   protected int problemVariantCount;
   protected boolean strict;
   protected long timeoutMilliSeconds;
+  protected long evaluationTimeoutMilliSeconds;
+  protected int retryCount;
+  protected long retryBackoffMilliSeconds;
+  protected int fitnessCacheSize;
+  protected int racingInitialVariantCount;
+  protected double racingReductionFactor;
+  protected int costHistorySize;
+  protected EvaluationOrder evaluationOrder;
 
   /**
    * Constructs a new {@code BaseExecutorBuilder} instance.
@@ -37,6 +45,14 @@ public abstract class BaseExecutorBuilder<E extends BaseExecutor> extends Execut
     problemVariantCount = 1;
     strict = true;
     timeoutMilliSeconds = 0;
+    evaluationTimeoutMilliSeconds = 0;
+    retryCount = 3;
+    retryBackoffMilliSeconds = 10;
+    fitnessCacheSize = 0;
+    racingInitialVariantCount = 0;
+    racingReductionFactor = 2;
+    costHistorySize = 0;
+    evaluationOrder = EvaluationOrder.VARIANT_MAJOR;
   }
 
   /**
@@ -49,6 +65,14 @@ public abstract class BaseExecutorBuilder<E extends BaseExecutor> extends Execut
     problemVariantCount = source.problemVariantCount;
     strict = source.strict;
     timeoutMilliSeconds = source.timeoutMilliSeconds;
+    evaluationTimeoutMilliSeconds = source.evaluationTimeoutMilliSeconds;
+    retryCount = source.retryCount;
+    retryBackoffMilliSeconds = source.retryBackoffMilliSeconds;
+    fitnessCacheSize = source.fitnessCacheSize;
+    racingInitialVariantCount = source.racingInitialVariantCount;
+    racingReductionFactor = source.racingReductionFactor;
+    costHistorySize = source.costHistorySize;
+    evaluationOrder = source.evaluationOrder;
   }
 
   @Override
@@ -119,4 +143,181 @@ public abstract class BaseExecutorBuilder<E extends BaseExecutor> extends Execut
     this.timeoutMilliSeconds = timeoutMilliSeconds;
     return this;
   }
+
+  /**
+   * Gets the timeout milliseconds for a single evaluation of a {@link Representation} on one problem
+   * variant. Evaluations exceeding the timeout are cancelled and do not contribute a fitness value.
+   * 
+   * @return the evaluation timeout, {@code 0} for no timeout
+   */
+  public long getEvaluationTimeoutMilliSeconds() {
+    return evaluationTimeoutMilliSeconds;
+  }
+
+  /**
+   * Sets the timeout milliseconds for a single evaluation of a {@link Representation} on one problem
+   * variant. Evaluations exceeding the timeout are cancelled and do not contribute a fitness value.
+   * 
+   * @param evaluationTimeoutMilliSeconds the evaluation timeout in milliseconds, {@code 0} for no
+   *                                      timeout
+   * @return this {@code BaseExecutorBuilder} instance
+   */
+  public BaseExecutorBuilder<E> setEvaluationTimeoutMilliSeconds(
+      long evaluationTimeoutMilliSeconds) {
+    this.evaluationTimeoutMilliSeconds = evaluationTimeoutMilliSeconds;
+    return this;
+  }
+
+  /**
+   * Gets the number of times a failed evaluation is retried before it is quarantined.
+   * 
+   * @return the retry count
+   */
+  public int getRetryCount() {
+    return retryCount;
+  }
+
+  /**
+   * Sets the number of times a failed evaluation is retried before it is quarantined.
+   * 
+   * @param retryCount the retry count
+   * @return this {@code BaseExecutorBuilder} instance
+   */
+  public BaseExecutorBuilder<E> setRetryCount(int retryCount) {
+    this.retryCount = retryCount;
+    return this;
+  }
+
+  /**
+   * Gets the delay before the first retry of a failed evaluation. The delay doubles with each
+   * further retry.
+   * 
+   * @return the retry backoff in milliseconds
+   */
+  public long getRetryBackoffMilliSeconds() {
+    return retryBackoffMilliSeconds;
+  }
+
+  /**
+   * Sets the delay before the first retry of a failed evaluation. The delay doubles with each
+   * further retry.
+   * 
+   * @param retryBackoffMilliSeconds the retry backoff in milliseconds
+   * @return this {@code BaseExecutorBuilder} instance
+   */
+  public BaseExecutorBuilder<E> setRetryBackoffMilliSeconds(long retryBackoffMilliSeconds) {
+    this.retryBackoffMilliSeconds = retryBackoffMilliSeconds;
+    return this;
+  }
+
+  /**
+   * Gets the maximum number of fitness values memoized by the {@code BaseExecutor}.
+   * 
+   * @return the fitness cache size, {@code 0} if fitness values are not cached
+   */
+  public int getFitnessCacheSize() {
+    return fitnessCacheSize;
+  }
+
+  /**
+   * Sets the maximum number of fitness values memoized by the {@code BaseExecutor}. Each
+   * combination of {@link Representation} and problem variant takes one entry. Fitness values are
+   * not cached if zero.
+   * 
+   * @param fitnessCacheSize the fitness cache size
+   * @return this {@code BaseExecutorBuilder} instance
+   */
+  public BaseExecutorBuilder<E> setFitnessCacheSize(int fitnessCacheSize) {
+    this.fitnessCacheSize = fitnessCacheSize;
+    return this;
+  }
+
+  /**
+   * Gets the number of problem variants all candidates are evaluated on before the worst candidates
+   * are dropped.
+   * 
+   * @return the initial racing variant count, {@code 0} if candidates are not raced
+   */
+  public int getRacingInitialVariantCount() {
+    return racingInitialVariantCount;
+  }
+
+  /**
+   * Sets the number of problem variants all candidates are evaluated on before the worst candidates
+   * are dropped. Candidates are not raced if zero or not less than the problem variant count.
+   * 
+   * @param racingInitialVariantCount the initial racing variant count
+   * @return this {@code BaseExecutorBuilder} instance
+   */
+  public BaseExecutorBuilder<E> setRacingInitialVariantCount(int racingInitialVariantCount) {
+    this.racingInitialVariantCount = racingInitialVariantCount;
+    return this;
+  }
+
+  /**
+   * Gets the factor by which the number of candidates is reduced and the number of problem variants
+   * is increased in each racing round.
+   * 
+   * @return the racing reduction factor
+   */
+  public double getRacingReductionFactor() {
+    return racingReductionFactor;
+  }
+
+  /**
+   * Sets the factor by which the number of candidates is reduced and the number of problem variants
+   * is increased in each racing round. For example, with a factor of {@code 2}, the better half of
+   * the candidates survives each round and is evaluated on twice as many problem variants.
+   * 
+   * @param racingReductionFactor the racing reduction factor, greater than {@code 1}
+   * @return this {@code BaseExecutorBuilder} instance
+   */
+  public BaseExecutorBuilder<E> setRacingReductionFactor(double racingReductionFactor) {
+    this.racingReductionFactor = racingReductionFactor;
+    return this;
+  }
+
+  /**
+   * Gets the maximum number of {@link Representation} instances whose evaluation cost is
+   * remembered by the {@code BaseExecutor}.
+   * 
+   * @return the cost history size, {@code 0} if evaluations are dispatched in population order
+   */
+  public int getCostHistorySize() {
+    return costHistorySize;
+  }
+
+  /**
+   * Sets the maximum number of {@link Representation} instances whose evaluation cost is
+   * remembered by the {@code BaseExecutor}. If positive, evaluations are dispatched in order of
+   * decreasing predicted cost, so that expensive evaluations do not delay the end of a call.
+   * Evaluations are dispatched in population order if zero.
+   * 
+   * @param costHistorySize the cost history size
+   * @return this {@code BaseExecutorBuilder} instance
+   */
+  public BaseExecutorBuilder<E> setCostHistorySize(int costHistorySize) {
+    this.costHistorySize = costHistorySize;
+    return this;
+  }
+
+  /**
+   * Gets the {@code EvaluationOrder} in which the evaluations of a call are dispatched.
+   * 
+   * @return the evaluation order
+   */
+  public EvaluationOrder getEvaluationOrder() {
+    return evaluationOrder;
+  }
+
+  /**
+   * Sets the {@code EvaluationOrder} in which the evaluations of a call are dispatched.
+   * 
+   * @param evaluationOrder the evaluation order
+   * @return this {@code BaseExecutorBuilder} instance
+   */
+  public BaseExecutorBuilder<E> setEvaluationOrder(EvaluationOrder evaluationOrder) {
+    this.evaluationOrder = evaluationOrder;
+    return this;
+  }
 }
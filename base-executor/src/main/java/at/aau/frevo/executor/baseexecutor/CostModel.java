@@ -0,0 +1,127 @@
+/**
+ * File: CostModel.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.baseexecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import at.aau.frevo.Evaluation;
+import at.aau.frevo.Representation;
+
+/**
+ * Bounded least-recently-used history of evaluation costs, keyed by the fingerprint of a
+ * {@link Representation}.
+ * <p>
+ * The cost of an evaluation is its CPU time if measured, otherwise its wall time. Each entry holds
+ * an exponential moving average of the costs observed for a {@code Representation}. The cost of a
+ * {@code Representation} without history is predicted from its parent, and failing that from the
+ * average over all observed evaluations.
+ */
+public class CostModel {
+
+  protected final static double SMOOTHING_FACTOR = 0.25;
+
+  protected int capacity;
+  protected LinkedHashMap<Long, Double> map;
+  protected double averageCost;
+  protected long observationCount;
+
+  /**
+   * Creates a new {@code CostModel} instance with the specified capacity.
+   * 
+   * @param capacity the maximum number of {@code Representation} instances remembered
+   */
+  public CostModel(int capacity) {
+    this.capacity = capacity;
+    map = new LinkedHashMap<>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, Double> eldest) {
+        return size() > CostModel.this.capacity;
+      }
+    };
+  }
+
+  /**
+   * Records the cost of a completed {@code Evaluation}. Evaluations without a measured cost are
+   * ignored.
+   * 
+   * @param evaluation the {@code Evaluation}
+   */
+  public synchronized void record(Evaluation<?> evaluation) {
+    var cost = evaluation.getCpuNanoTime();
+    if (cost <= 0) {
+      cost = evaluation.getWallNanoTime();
+    }
+    if (cost <= 0) {
+      return;
+    }
+
+    var fingerprint = evaluation.getRepresentation().getFingerprint();
+    var previousCost = map.get(fingerprint);
+    map.put(fingerprint, previousCost == null ? cost
+        : previousCost + SMOOTHING_FACTOR * (cost - previousCost));
+
+    observationCount++;
+    averageCost += (cost - averageCost) / observationCount;
+  }
+
+  /**
+   * Predicts the cost of evaluating a {@code Representation} on one problem variant.
+   * 
+   * @param representation the {@code Representation}
+   * @return the predicted cost in nanoseconds, {@code 0} if nothing has been observed yet
+   */
+  public synchronized double predict(Representation representation) {
+    var cost = map.get(representation.getFingerprint());
+    if (cost == null) {
+      var parentFingerprint = representation.getParentFingerprint();
+      if (parentFingerprint != 0) {
+        cost = map.get(parentFingerprint);
+      }
+    }
+    return cost == null ? averageCost : cost;
+  }
+
+  /**
+   * Gets the maximum number of {@code Representation} instances remembered.
+   * 
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Gets the number of {@code Representation} instances currently remembered.
+   * 
+   * @return the size
+   */
+  public synchronized int size() {
+    return map.size();
+  }
+
+  /**
+   * Gets the average cost over all observed evaluations.
+   * 
+   * @return the average cost in nanoseconds
+   */
+  public synchronized double getAverageCost() {
+    return averageCost;
+  }
+}
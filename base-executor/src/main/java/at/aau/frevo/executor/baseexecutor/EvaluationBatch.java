@@ -0,0 +1,580 @@
+/**
+ * File: EvaluationBatch.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.baseexecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import at.aau.frevo.Evaluation;
+import at.aau.frevo.Representation;
+import at.aau.frevo.Result;
+
+/**
+ * The state of a single call to {@link BaseExecutor#evaluateRepresentationsAsync}.
+ * <p>
+ * Evaluation proceeds in rounds, each covering a range of problem variants for the surviving
+ * candidates. Without racing there is a single round covering all problem variants. A round is
+ * finished when its count down latch reaches zero, either because all evaluations are done or
+ * because the deadline has passed. The next round is then started on the thread that finished
+ * the previous one, so no thread is blocked while waiting for evaluations.
+ * <p>
+ * If the {@code BaseExecutor} has a {@link CostModel}, the evaluations of a round are dispatched in
+ * order of decreasing predicted cost. In {@link EvaluationOrder#REPRESENTATION_MAJOR} the
+ * evaluations of each candidate are dispatched consecutively.
+ * <p>
+ * Evaluations write their fitness directly into a primitive slot of the round, indexed by problem
+ * variant and candidate position, and results are collated from these slots. Only evaluations
+ * which are actually dispatched are allocated; fitness values taken from the {@code FitnessCache}
+ * are written into their slots directly.
+ * 
+ * @param <R> the type of {@code Representation} to evaluate
+ */
+public class EvaluationBatch<R extends Representation> {
+
+  protected BaseExecutor executor;
+  protected List<R> candidates;
+  protected long[] variantSeeds;
+  protected long deadlineNanoTime;
+  protected double[] fitnessSums;
+  protected int[] variantCounts;
+  protected long[] wallNanoTimes;
+  protected long[] cpuNanoTimes;
+  protected int[] scheduledVariantCounts;
+  protected int[] candidateIndices;
+  protected boolean[] unpublished;
+  protected int survivorCount;
+  protected int startVariant;
+  protected int stopVariant;
+  protected SubmissionPublisher<Result<R>> publisher;
+  protected CompletableFuture<List<Result<R>>> future;
+
+  /**
+   * Creates a new {@code EvaluationBatch} instance.
+   * 
+   * @param executor        the {@code BaseExecutor} carrying out the evaluations
+   * @param representations the {@code Representation} instances to evaluate
+   * @param subscriber      the {@code Flow.Subscriber} receiving each {@code Result}, or
+   *                        {@code null}
+   */
+  public EvaluationBatch(BaseExecutor executor, List<R> representations,
+      Flow.Subscriber<? super Result<R>> subscriber) {
+    this.executor = executor;
+
+    // evaluate each distinct representation only once
+    candidates = new ArrayList<R>(new LinkedHashSet<>(representations));
+    var candidateCount = candidates.size();
+
+    var problemVariantCount = executor.getProblemVariantCount();
+    variantSeeds = new long[problemVariantCount];
+    var problemRandom = new SplittableRandom(executor.getProblemRandomSeed());
+    for (var i = 0; i < problemVariantCount; i++) {
+      variantSeeds[i] = problemRandom.nextLong();
+    }
+
+    var timeoutMilliSeconds = executor.getTimeoutMilliSeconds();
+    deadlineNanoTime =
+        timeoutMilliSeconds == 0 ? 0 : System.nanoTime() + timeoutMilliSeconds * 1000000;
+    fitnessSums = new double[candidateCount];
+    variantCounts = new int[candidateCount];
+    wallNanoTimes = new long[candidateCount];
+    cpuNanoTimes = new long[candidateCount];
+    scheduledVariantCounts = new int[candidateCount];
+
+    candidateIndices = new int[candidateCount];
+    unpublished = new boolean[candidateCount];
+    for (var i = 0; i < candidateCount; i++) {
+      candidateIndices[i] = i;
+    }
+    survivorCount = candidateCount;
+    startVariant = 0;
+    stopVariant = executor.isRacing()
+        ? Math.min(executor.getRacingInitialVariantCount(), problemVariantCount)
+        : problemVariantCount;
+
+    future = new CompletableFuture<>();
+    if (subscriber != null) {
+      publisher = new SubmissionPublisher<>();
+      publisher.subscribe(subscriber);
+    }
+  }
+
+  /**
+   * Starts the evaluation.
+   * 
+   * @return the {@code CompletableFuture} completed with the ranked list of {@code Result}
+   *         instances
+   */
+  public CompletableFuture<List<Result<R>>> start() {
+    if (candidates.isEmpty()) {
+      complete();
+    } else {
+      startRound();
+    }
+    return future;
+  }
+
+  /**
+   * Gets the {@code CompletableFuture} completed with the ranked list of {@code Result} instances.
+   * 
+   * @return the {@code CompletableFuture}
+   */
+  public CompletableFuture<List<Result<R>>> getFuture() {
+    return future;
+  }
+
+  /**
+   * Starts a round evaluating the current survivors on the current range of problem variants.
+   */
+  protected void startRound() {
+    try {
+      new Round().start();
+    } catch (RuntimeException | Error e) {
+      fail(e);
+    }
+  }
+
+  /**
+   * Ranks the candidates after a round and either starts the next round or completes the
+   * {@code EvaluationBatch}.
+   * 
+   * @param round the finished {@code Round}
+   */
+  protected void finishRound(Round round) {
+    var count = round.count;
+    var indices = round.indices;
+
+    // claim the candidates not published while the round was running, only the final round
+    // publishes candidates early
+    for (var j = 0; j < count; j++) {
+      unpublished[indices[j]] =
+          !round.publishing || (round.remainingCounts.getAndSet(j, -1) != 0);
+    }
+
+    // remember new fitness values and the cost of the evaluations carried out
+    var fitnessCache = executor.getFitnessCache();
+    var costModel = executor.getCostModel();
+    for (var pendingEvaluation : round.pendingEvaluations) {
+      var evaluation = (Round.RoundEvaluation) pendingEvaluation;
+      var index = indices[evaluation.getPosition()];
+      wallNanoTimes[index] += evaluation.getWallNanoTime();
+      cpuNanoTimes[index] += evaluation.getCpuNanoTime();
+      var fitness = round.fitnessSlots[evaluation.slot];
+      if (fitness >= 0) {
+        if (fitnessCache != null) {
+          fitnessCache.put(evaluation.getRepresentation(), evaluation.getSeed(), fitness);
+        }
+        if (costModel != null) {
+          costModel.record(evaluation);
+        }
+      }
+    }
+
+    // collate results by candidate, only considering slots where a fitness was set
+    var fitnessSlots = round.fitnessSlots;
+    var slot = 0;
+    for (var i = startVariant; i < stopVariant; i++) {
+      for (var j = 0; j < count; j++) {
+        var fitness = fitnessSlots[slot++];
+        if (fitness >= 0) {
+          fitnessSums[indices[j]] += fitness;
+          variantCounts[indices[j]]++;
+        }
+      }
+    }
+    for (var j = 0; j < count; j++) {
+      scheduledVariantCounts[indices[j]] = stopVariant;
+    }
+
+    var last = round.finalRound
+        || ((deadlineNanoTime != 0) && (System.nanoTime() >= deadlineNanoTime));
+    if (!last) {
+      // rank the survivors, dropping incomplete candidates in strict mode
+      var rankedCount = 0;
+      for (var i = 0; i < survivorCount; i++) {
+        var index = candidateIndices[i];
+        if (isComplete(index)) {
+          candidateIndices[rankedCount++] = index;
+        }
+      }
+      executor.sortByMeanFitness(candidateIndices, rankedCount, fitnessSums, variantCounts);
+
+      // keep the best candidates and give them more problem variants
+      var racingReductionFactor = executor.getRacingReductionFactor();
+      survivorCount = Math.max(1, (int) Math.ceil(rankedCount / racingReductionFactor));
+      survivorCount = Math.min(survivorCount, rankedCount);
+      last = survivorCount == 0;
+    }
+
+    // publish candidates which are not evaluated any further
+    if (!last) {
+      for (var i = 0; i < survivorCount; i++) {
+        unpublished[candidateIndices[i]] = false;
+      }
+    }
+    for (var j = 0; j < count; j++) {
+      if (unpublished[indices[j]]) {
+        publish(indices[j]);
+      }
+    }
+    if (last) {
+      complete();
+      return;
+    }
+
+    var problemVariantCount = executor.getProblemVariantCount();
+    startVariant = stopVariant;
+    stopVariant = (int) Math.min(problemVariantCount, Math.max(stopVariant + 1,
+        Math.ceil(stopVariant * executor.getRacingReductionFactor())));
+    startRound();
+  }
+
+  /**
+   * Checks whether a candidate has been evaluated on enough problem variants to be ranked.
+   * 
+   * @param index the index of the candidate
+   * @return {@code true} if the candidate can be ranked
+   */
+  protected boolean isComplete(int index) {
+    var variantCount = variantCounts[index];
+    return (variantCount > 0)
+        && ((variantCount == scheduledVariantCounts[index]) || !executor.isStrict());
+  }
+
+  /**
+   * Publishes the {@code Result} of a candidate, if it can be ranked.
+   * 
+   * @param index the index of the candidate
+   */
+  protected void publish(int index) {
+    if ((publisher != null) && isComplete(index)) {
+      publisher.submit(new Result<R>(candidates.get(index),
+          fitnessSums[index] / variantCounts[index], variantCounts[index], wallNanoTimes[index],
+          cpuNanoTimes[index]));
+    }
+  }
+
+  /**
+   * Completes the {@code EvaluationBatch} with the ranked list of {@code Result} instances.
+   */
+  protected void complete() {
+    // average fitness
+    var candidateCount = candidates.size();
+    var results = new ArrayList<Result<R>>(candidateCount);
+    for (var i = 0; i < candidateCount; i++) {
+      if (isComplete(i)) {
+        results.add(new Result<R>(candidates.get(i), fitnessSums[i] / variantCounts[i],
+            variantCounts[i], wallNanoTimes[i], cpuNanoTimes[i]));
+      }
+    }
+
+    if (executor.isRacing()) {
+      // candidates which survived longer are ranked higher
+      results.sort(Comparator.comparingInt((Result<R> result) -> result.getVariantCount())
+          .reversed().thenComparing(Comparator.naturalOrder()));
+    } else {
+      Collections.sort(results);
+    }
+
+    if (publisher != null) {
+      publisher.close();
+    }
+    future.complete(results);
+  }
+
+  /**
+   * Completes the {@code EvaluationBatch} exceptionally.
+   * 
+   * @param throwable the cause of the failure
+   */
+  protected void fail(Throwable throwable) {
+    if (publisher != null) {
+      publisher.closeExceptionally(throwable);
+    }
+    future.completeExceptionally(throwable);
+  }
+
+  /**
+   * A round evaluating a number of candidates on a range of problem variants.
+   */
+  protected class Round {
+
+    protected int count;
+    protected int[] indices;
+    protected boolean finalRound;
+    protected boolean publishing;
+    protected double[] baseFitnessSums;
+    protected int[] baseVariantCounts;
+    protected double[] fitnessSlots;
+    protected Evaluation<?>[] slotEvaluations;
+    protected ArrayList<Evaluation<R>> pendingEvaluations;
+    protected AtomicIntegerArray remainingCounts;
+    protected ArrayBlockingQueue<Evaluation<R>> evaluationQueue;
+    protected RoundLatch evaluationCountDownLatch;
+    protected AtomicBoolean finished = new AtomicBoolean();
+
+    /**
+     * Creates a new {@code Round} for the current survivors and range of problem variants.
+     */
+    protected Round() {
+      count = survivorCount;
+      indices = new int[count];
+      System.arraycopy(candidateIndices, 0, indices, 0, count);
+      finalRound = stopVariant == executor.getProblemVariantCount();
+      publishing = finalRound && (publisher != null);
+
+      var evaluationCount = count * (stopVariant - startVariant);
+      fitnessSlots = new double[evaluationCount];
+      Arrays.fill(fitnessSlots, -1);
+      pendingEvaluations = new ArrayList<Evaluation<R>>(evaluationCount);
+
+      // only needed to publish candidates early
+      if (publishing) {
+        baseFitnessSums = new double[count];
+        baseVariantCounts = new int[count];
+        for (var j = 0; j < count; j++) {
+          baseFitnessSums[j] = fitnessSums[indices[j]];
+          baseVariantCounts[j] = variantCounts[indices[j]];
+        }
+        slotEvaluations = new Evaluation<?>[evaluationCount];
+        remainingCounts = new AtomicIntegerArray(count);
+      }
+    }
+
+    /**
+     * Creates the evaluations and dispatches those not answered by the {@code FitnessCache}.
+     */
+    protected void start() {
+      var fitnessCache = executor.getFitnessCache();
+
+      // create evaluations, taking fitness values from the cache where possible
+      var slot = 0;
+      for (var i = startVariant; i < stopVariant; i++) {
+        var evaluationSeed = variantSeeds[i];
+        for (var j = 0; j < count; j++, slot++) {
+          var representation = candidates.get(indices[j]);
+          if (fitnessCache != null) {
+            var fitness = fitnessCache.get(representation, evaluationSeed);
+            if (fitness >= 0) {
+              fitnessSlots[slot] = fitness;
+              continue;
+            }
+          }
+          var evaluation = new RoundEvaluation(representation, evaluationSeed, slot);
+          if (publishing) {
+            slotEvaluations[slot] = evaluation;
+            remainingCounts.incrementAndGet(j);
+          }
+          pendingEvaluations.add(evaluation);
+        }
+      }
+
+      // dispatch the evaluations expected to take longest first, keeping the evaluations of each
+      // candidate together if requested
+      var costModel = executor.getCostModel();
+      var representationMajor =
+          executor.getEvaluationOrder() == EvaluationOrder.REPRESENTATION_MAJOR;
+      if (((costModel != null) || representationMajor) && (pendingEvaluations.size() > 1)) {
+        var predictedCosts = new double[count];
+        if (costModel != null) {
+          for (var j = 0; j < count; j++) {
+            predictedCosts[j] = costModel.predict(candidates.get(indices[j]));
+          }
+        }
+        Comparator<Evaluation<R>> comparator =
+            Comparator.comparingDouble((Evaluation<R> evaluation) -> -predictedCosts[
+                ((RoundEvaluation) evaluation).getPosition()]);
+        if (representationMajor) {
+          comparator = comparator.thenComparingInt(
+              (Evaluation<R> evaluation) -> ((RoundEvaluation) evaluation).getPosition());
+        }
+        pendingEvaluations.sort(comparator);
+      }
+
+      // publish candidates answered entirely by the cache
+      if (publishing) {
+        for (var j = 0; j < count; j++) {
+          if (remainingCounts.get(j) == 0) {
+            publishCompleted(j);
+          }
+        }
+      }
+
+      evaluationQueue = new ArrayBlockingQueue<Evaluation<R>>(
+          Math.max(1, pendingEvaluations.size()), false, pendingEvaluations);
+      evaluationCountDownLatch = new RoundLatch(pendingEvaluations.size());
+
+      if (pendingEvaluations.isEmpty()) {
+        finish();
+        return;
+      }
+      if (deadlineNanoTime != 0) {
+        CompletableFuture
+            .delayedExecutor(Math.max(0, deadlineNanoTime - System.nanoTime()),
+                TimeUnit.NANOSECONDS)
+            .execute(this::expire);
+      }
+      executor.dispatchEvaluation(evaluationQueue, evaluationCountDownLatch);
+    }
+
+    /**
+     * Stops the round when the deadline has passed, clearing any remaining work and cancelling
+     * evaluations still in progress.
+     */
+    protected void expire() {
+      evaluationQueue.clear();
+      for (var evaluation : pendingEvaluations) {
+        if (evaluation.getFitness() < 0) {
+          evaluation.cancel();
+        }
+      }
+      while (evaluationCountDownLatch.getCount() > 0) {
+        evaluationCountDownLatch.countDown();
+      }
+    }
+
+    /**
+     * Finishes the round exactly once.
+     */
+    protected void finish() {
+      if (finished.compareAndSet(false, true)) {
+        try {
+          finishRound(this);
+        } catch (RuntimeException | Error e) {
+          fail(e);
+        }
+      }
+    }
+
+    /**
+     * Called when an {@code Evaluation} of a candidate has been completed during a round which
+     * publishes candidates early.
+     * 
+     * @param j the position of the candidate in the round
+     */
+    protected void evaluationCompleted(int j) {
+      if (remainingCounts.decrementAndGet(j) == 0) {
+        publishCompleted(j);
+      }
+    }
+
+    /**
+     * Publishes the {@code Result} of a candidate whose evaluations in the final round are all
+     * complete, before the round is finished.
+     * 
+     * @param j the position of the candidate in the round
+     */
+    protected void publishCompleted(int j) {
+      // sum up in the same order as finishRound, so the published fitness is identical
+      var fitnessSum = baseFitnessSums[j];
+      var variantCount = baseVariantCounts[j];
+      var wallNanoTime = wallNanoTimes[indices[j]];
+      var cpuNanoTime = cpuNanoTimes[indices[j]];
+      for (var slot = j; slot < fitnessSlots.length; slot += count) {
+        var evaluation = slotEvaluations[slot];
+        if (evaluation != null) {
+          wallNanoTime += evaluation.getWallNanoTime();
+          cpuNanoTime += evaluation.getCpuNanoTime();
+        }
+        var fitness = fitnessSlots[slot];
+        if (fitness >= 0) {
+          fitnessSum += fitness;
+          variantCount++;
+        }
+      }
+      if ((variantCount > 0) && ((variantCount == stopVariant) || !executor.isStrict())) {
+        publisher
+            .submit(new Result<R>(candidates.get(indices[j]), fitnessSum / variantCount,
+                variantCount, wallNanoTime, cpuNanoTime));
+      }
+    }
+
+    /**
+     * An {@code Evaluation} which writes its fitness into a slot of the {@code Round} and reports
+     * its completion.
+     */
+    protected class RoundEvaluation extends Evaluation<R> {
+
+      protected int slot;
+
+      /**
+       * Creates a new {@code RoundEvaluation} instance.
+       * 
+       * @param representation the {@code Representation}
+       * @param seed           the seed
+       * @param slot           the index of the fitness slot
+       */
+      protected RoundEvaluation(R representation, long seed, int slot) {
+        super(representation, seed);
+        this.slot = slot;
+      }
+
+      /**
+       * Gets the position of the candidate in the round.
+       * 
+       * @return the position
+       */
+      protected int getPosition() {
+        return slot % count;
+      }
+
+      @Override
+      public void setFitness(double fitness) {
+        super.setFitness(fitness);
+        fitnessSlots[slot] = fitness;
+        if (publishing) {
+          evaluationCompleted(getPosition());
+        }
+      }
+    }
+
+    /**
+     * A {@code CountDownLatch} which finishes the round when it reaches zero.
+     */
+    protected class RoundLatch extends CountDownLatch {
+
+      /**
+       * Creates a new {@code RoundLatch} instance.
+       * 
+       * @param count the number of pending evaluations
+       */
+      protected RoundLatch(int count) {
+        super(count);
+      }
+
+      @Override
+      public void countDown() {
+        super.countDown();
+        if (getCount() == 0) {
+          finish();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,44 @@
+/**
+ * File: EvaluationOrder.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.baseexecutor;
+
+/**
+ * The orders in which {@link BaseExecutor} dispatches the evaluations of a call. The order does not
+ * affect the seeds of the problem variants, so the results are identical.
+ */
+public enum EvaluationOrder {
+
+  /**
+   * All candidates are evaluated on the first problem variant, then all candidates on the second
+   * problem variant and so on.
+   */
+  VARIANT_MAJOR,
+
+  /**
+   * All problem variants of a candidate are dispatched consecutively, so that a worker can carry
+   * them out as one task and keep the data of the candidate in its caches.
+   * <p>
+   * The grouping is best effort. The workers of the {@code LocalExecutor} take the evaluations of a
+   * candidate as one task, except in rounds covering a single problem variant with a batch size
+   * greater than one, which are batched by variant instead. The process-based executors send
+   * consecutive evaluations to the same worker only up to their batch size, and workers taking
+   * evaluations at the same time may split a group, so the evaluations of a candidate can be spread
+   * over several workers.
+   */
+  REPRESENTATION_MAJOR
+}
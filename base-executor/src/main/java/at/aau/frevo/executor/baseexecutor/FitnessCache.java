@@ -0,0 +1,179 @@
+/**
+ * File: FitnessCache.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.baseexecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import at.aau.frevo.Representation;
+
+/**
+ * Bounded least-recently-used cache of fitness values, keyed by the 64 bit fingerprint of a
+ * {@link Representation} and the seed of the problem variant it was evaluated with.
+ * <p>
+ * Since {@code Problem} instances must return the same fitness for identical
+ * {@code Representation} instances, evaluations found in the cache do not have to be carried out
+ * again. Only the fingerprint is kept, so the cache does not keep {@code Representation} instances
+ * alive after they have left the population. Distinct {@code Representation} instances whose
+ * fingerprints collide share an entry, which is accepted given the size of the fingerprint.
+ */
+public class FitnessCache {
+
+  protected int capacity;
+  protected LinkedHashMap<Key, Double> map;
+  protected long hitCount;
+  protected long missCount;
+  protected Key lookupKey = new Key(0, 0);
+
+  /**
+   * Creates a new {@code FitnessCache} instance with the specified capacity.
+   * 
+   * @param capacity the maximum number of fitness values held
+   */
+  public FitnessCache(int capacity) {
+    this.capacity = capacity;
+    map = new LinkedHashMap<>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Double> eldest) {
+        return size() > FitnessCache.this.capacity;
+      }
+    };
+  }
+
+  /**
+   * Gets the cached fitness of a {@code Representation} evaluated with the specified seed.
+   * 
+   * @param representation the {@code Representation}
+   * @param seed           the seed of the problem variant
+   * @return the fitness, or a negative value if not cached
+   */
+  public synchronized double get(Representation representation, long seed) {
+    // the lookup key is reused, as all access is synchronized
+    lookupKey.set(representation.getFingerprint(), seed);
+    var fitness = map.get(lookupKey);
+    if (fitness == null) {
+      missCount++;
+      return -1;
+    }
+    hitCount++;
+    return fitness;
+  }
+
+  /**
+   * Adds the fitness of a {@code Representation} evaluated with the specified seed.
+   * 
+   * @param representation the {@code Representation}
+   * @param seed           the seed of the problem variant
+   * @param fitness        the fitness
+   */
+  public synchronized void put(Representation representation, long seed, double fitness) {
+    map.put(new Key(representation.getFingerprint(), seed), fitness);
+  }
+
+  /**
+   * Gets the maximum number of fitness values held.
+   * 
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Gets the number of fitness values currently held.
+   * 
+   * @return the size
+   */
+  public synchronized int size() {
+    return map.size();
+  }
+
+  /**
+   * Gets the number of lookups which found a fitness value.
+   * 
+   * @return the hit count
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Gets the number of lookups which did not find a fitness value.
+   * 
+   * @return the miss count
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Gets the proportion of lookups which found a fitness value.
+   * 
+   * @return the hit rate, {@code 0 <= hitRate <= 1}
+   */
+  public synchronized double getHitRate() {
+    var lookupCount = hitCount + missCount;
+    return lookupCount == 0 ? 0 : (double) hitCount / lookupCount;
+  }
+
+  /**
+   * Key combining the fingerprint of a {@code Representation} with a seed.
+   */
+  protected static class Key {
+
+    protected long fingerprint;
+    protected long seed;
+
+    /**
+     * Creates a new {@code Key} instance.
+     * 
+     * @param fingerprint the fingerprint of the {@code Representation}
+     * @param seed        the seed
+     */
+    protected Key(long fingerprint, long seed) {
+      set(fingerprint, seed);
+    }
+
+    /**
+     * Sets the fingerprint and the seed. Must not be called on keys held by the map.
+     * 
+     * @param fingerprint the fingerprint of the {@code Representation}
+     * @param seed        the seed
+     */
+    protected void set(long fingerprint, long seed) {
+      this.fingerprint = fingerprint;
+      this.seed = seed;
+    }
+
+    @Override
+    public int hashCode() {
+      // the fingerprint is already well mixed
+      return Long.hashCode(fingerprint + 31 * seed);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (!(object instanceof Key)) {
+        return false;
+      }
+      var other = (Key) object;
+      return (fingerprint == other.fingerprint) && (seed == other.seed);
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/**
+ * File: FullyMeshedNetEvaluatorBenchmark.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import at.aau.frevo.ReseedableRandom;
+import at.aau.frevo.representation.fullymeshednet.EvaluatorMode;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNet;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetBuilder;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetContext;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetOpBuilder;
+import at.aau.frevo.representation.fullymeshednet.ScalarFullyMeshedNetKernel;
+
+/**
+ * Compares the {@link EvaluatorMode} values of {@link FullyMeshedNet} with the interpreter loop of
+ * {@link FullyMeshedNetContext} across hidden node counts and fractions of zero weights.
+ * <p>
+ * The interpreter uses {@link ScalarFullyMeshedNetKernel}. Before measuring, the outputs are
+ * checked against the interpreter and the run fails unless they are identical. The score is
+ * reported in nanoseconds per calculation and does not include preparing the evaluator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FullyMeshedNetEvaluatorBenchmark {
+
+  final static int INPUT_COUNT = 4;
+  final static int OUTPUT_COUNT = 2;
+  final static int PARITY_CALCULATION_COUNT = 3;
+
+  @Param({"INTERPRETED", "SPARSE", "COMPILED"})
+  public EvaluatorMode evaluatorMode;
+
+  @Param({"2", "16", "64"})
+  public int hiddenNodeCount;
+
+  @Param({"0", "0.9"})
+  public double zeroWeightFraction;
+
+  @Param({"false", "true"})
+  public boolean randomBiases;
+
+  protected FullyMeshedNetContext context;
+  protected float[] input;
+  protected float[] output;
+
+  /**
+   * Creates the net and its context and checks the parity with the interpreter.
+   */
+  @Setup
+  public void setup() {
+    var representationBuilder = new FullyMeshedNetBuilder().setInputCount(INPUT_COUNT)
+        .setOutputCount(OUTPUT_COUNT).setHiddenNodeCount(hiddenNodeCount)
+        .setEvaluatorMode(evaluatorMode);
+    var net = new FullyMeshedNetOpBuilder()
+        .create(representationBuilder, new SplittableRandom(1)).operator0();
+
+    // clear weights and random biases as configured
+    var random = new SplittableRandom(2);
+    var weights = net.getWeights();
+    for (int i = 0; i < weights.length; i++) {
+      if (random.nextDouble() < zeroWeightFraction) {
+        weights[i] = 0;
+      }
+    }
+    if (!randomBiases) {
+      Arrays.fill(net.getRandomBiases(), 0);
+    }
+
+    input = new float[INPUT_COUNT];
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      input[i] = (float) random.nextDouble(-1, 1);
+    }
+    output = new float[OUTPUT_COUNT];
+
+    context = net.createContext(new ReseedableRandom(3));
+    context.setKernel(new ScalarFullyMeshedNetKernel());
+    checkParity(net);
+  }
+
+  /**
+   * Checks the outputs of the context against an interpreted copy of the net.
+   * 
+   * @param net the {@code FullyMeshedNet}
+   */
+  protected void checkParity(FullyMeshedNet net) {
+    var interpretedNet = new FullyMeshedNetBuilder().setInputCount(INPUT_COUNT)
+        .setOutputCount(OUTPUT_COUNT).setHiddenNodeCount(hiddenNodeCount).create();
+    System.arraycopy(net.getWeights(), 0, interpretedNet.getWeights(), 0,
+        net.getWeights().length);
+    System.arraycopy(net.getBiases(), 0, interpretedNet.getBiases(), 0, net.getNodeCount());
+    System.arraycopy(net.getRandomBiases(), 0, interpretedNet.getRandomBiases(), 0,
+        net.getNodeCount());
+
+    var interpretedContext = interpretedNet.createContext(new ReseedableRandom(3));
+    interpretedContext.setKernel(new ScalarFullyMeshedNetKernel());
+    var interpretedOutput = new float[OUTPUT_COUNT];
+    for (int k = 0; k < PARITY_CALCULATION_COUNT; k++) {
+      context.calculate(input, output);
+      interpretedContext.calculate(input, interpretedOutput);
+      if (!Arrays.equals(output, interpretedOutput)) {
+        throw new IllegalStateException("Evaluator mode " + evaluatorMode + " outputs "
+            + Arrays.toString(output) + ", expected " + Arrays.toString(interpretedOutput));
+      }
+    }
+  }
+
+  /**
+   * Calculates the outputs once.
+   * 
+   * @return the outputs
+   */
+  @Benchmark
+  public float[] calculate() {
+    context.calculate(input, output);
+    return output;
+  }
+}
@@ -0,0 +1,111 @@
+/**
+ * File: FullyMeshedNetKernelBenchmark.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import at.aau.frevo.ReseedableRandom;
+import at.aau.frevo.representation.fullymeshednet.ActivationFunction;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetBuilder;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetContext;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetKernel;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetOpBuilder;
+import at.aau.frevo.representation.fullymeshednet.ScalarFullyMeshedNetKernel;
+
+/**
+ * Compares the {@link FullyMeshedNetKernel} implementations used by {@link FullyMeshedNetContext}
+ * across hidden node counts.
+ * <p>
+ * The vector kernel requires Java 16 or later and
+ * {@code -jvmArgsAppend --add-modules=jdk.incubator.vector}, otherwise its runs fail. Its parity
+ * with {@link ScalarFullyMeshedNetKernel} is checked by the tests of the vector module. The score
+ * is reported in microseconds per calculation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FullyMeshedNetKernelBenchmark {
+
+  final static int INPUT_COUNT = 16;
+  final static int OUTPUT_COUNT = 4;
+
+  @Param({"scalar", "vector"})
+  public String kernel;
+
+  @Param({"2", "16", "128", "1024", "4096"})
+  public int hiddenNodeCount;
+
+  @Param({"RELU", "SIGMOID"})
+  public ActivationFunction activationFunction;
+
+  protected FullyMeshedNetContext context;
+  protected float[] input;
+  protected float[] output;
+
+  /**
+   * Creates the context using the selected kernel.
+   */
+  @Setup
+  public void setup() {
+    var selectedKernel = FullyMeshedNetKernel.forName(kernel);
+    if (selectedKernel == null) {
+      throw new IllegalStateException("Kernel not available: " + kernel);
+    }
+
+    var representationBuilder = new FullyMeshedNetBuilder().setInputCount(INPUT_COUNT)
+        .setOutputCount(OUTPUT_COUNT).setHiddenNodeCount(hiddenNodeCount)
+        .setActivationFunction(activationFunction);
+    var net = new FullyMeshedNetOpBuilder()
+        .create(representationBuilder, new SplittableRandom(1)).operator0();
+
+    var random = new SplittableRandom(2);
+    input = new float[INPUT_COUNT];
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      input[i] = (float) random.nextDouble(-1, 1);
+    }
+    output = new float[OUTPUT_COUNT];
+
+    context = net.createContext(new ReseedableRandom(3));
+    context.setKernel(selectedKernel);
+  }
+
+  /**
+   * Calculates the outputs once.
+   * 
+   * @return the outputs
+   */
+  @Benchmark
+  public float[] calculate() {
+    context.calculate(input, output);
+    return output;
+  }
+}
@@ -0,0 +1,123 @@
+/**
+ * File: LocalExecutorBenchmark.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import at.aau.frevo.Result;
+import at.aau.frevo.executor.localexecutor.DispatchMode;
+import at.aau.frevo.executor.localexecutor.LocalExecutor;
+import at.aau.frevo.executor.localexecutor.LocalExecutorBuilder;
+import at.aau.frevo.problem.xor.XorProblemBuilder;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNet;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetBuilder;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetOpBuilder;
+
+/**
+ * Compares the evaluation throughput of the {@link DispatchMode} options of {@link LocalExecutor}
+ * using the {@code XorProblem}, with and without adaptive inline execution of small batches and
+ * with and without evaluating candidates in batches.
+ * <p>
+ * The score is reported in evaluations per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LocalExecutorBenchmark {
+
+  final static int CANDIDATE_COUNT = 100;
+  final static int PROBLEM_VARIANT_COUNT = 10;
+  final static int EVALUATION_COUNT = CANDIDATE_COUNT * PROBLEM_VARIANT_COUNT;
+
+  @Param({"QUEUE", "FORK_JOIN"})
+  public DispatchMode dispatchMode;
+
+  @Param({"0"})
+  public int workerCount;
+
+  @Param({"10", "1000"})
+  public int operationCount;
+
+  @Param({"0", "100"})
+  public long minimumWorkerMicroSeconds;
+
+  @Param({"1", "16"})
+  public int batchSize;
+
+  protected LocalExecutor executor;
+  protected List<FullyMeshedNet> candidates;
+
+  /**
+   * Creates the {@code LocalExecutor} and the candidates to evaluate.
+   */
+  @Setup
+  public void setup() {
+    var problemBuilder = new XorProblemBuilder().setOperationCount(operationCount);
+    executor = new LocalExecutorBuilder().setWorkerCount(workerCount).setDispatchMode(dispatchMode)
+        .setMinimumWorkerMicroSeconds(minimumWorkerMicroSeconds).setBatchSize(batchSize)
+        .setProblemVariantCount(PROBLEM_VARIANT_COUNT)
+        .create(problemBuilder, new SplittableRandom(1));
+
+    var representationBuilder =
+        new FullyMeshedNetBuilder().setInputCount(problemBuilder.getRepresentationInputCount())
+            .setOutputCount(problemBuilder.getRepresentationOutputCount());
+    var operator = new FullyMeshedNetOpBuilder().create(representationBuilder,
+        new SplittableRandom(2));
+    candidates = new ArrayList<>(CANDIDATE_COUNT);
+    for (int i = 0; i < CANDIDATE_COUNT; i++) {
+      candidates.add(operator.operator0());
+    }
+  }
+
+  /**
+   * Closes the {@code LocalExecutor}.
+   */
+  @TearDown
+  public void tearDown() {
+    executor.close();
+  }
+
+  /**
+   * Evaluates all candidates on all problem variants.
+   * 
+   * @return the results
+   */
+  @Benchmark
+  @OperationsPerInvocation(EVALUATION_COUNT)
+  public List<Result<FullyMeshedNet>> evaluateRepresentations() {
+    return executor.evaluateRepresentations(candidates);
+  }
+}
@@ -0,0 +1,201 @@
+/**
+ * File: ResultCollationBenchmark.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import at.aau.frevo.Evaluation;
+import at.aau.frevo.Problem;
+import at.aau.frevo.ProblemBuilder;
+import at.aau.frevo.Representation;
+import at.aau.frevo.Result;
+import at.aau.frevo.executor.baseexecutor.BaseExecutor;
+import at.aau.frevo.executor.localexecutor.LocalExecutorBuilder;
+import at.aau.frevo.problem.xor.XorProblemBuilder;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNet;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetBuilder;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetOpBuilder;
+
+/**
+ * Compares the collation of results in {@link BaseExecutor} with the former collation through a
+ * {@code HashMap} of {@code Evaluation} lists.
+ * <p>
+ * Evaluations are completed inline on the calling thread with a fitness derived from the
+ * fingerprint of the candidate and the seed, so that the score is dominated by the bookkeeping of
+ * a call. Run with {@code -prof gc} to compare the allocation rates. The score is reported in
+ * milliseconds per call.
+ * <p>
+ * The collation of {@code BaseExecutor} still allocates per call: one {@code Evaluation} for every
+ * dispatched combination of candidate and problem variant, which dominates
+ * {@code gc.alloc.rate.norm}, a fitness slot for every combination, the list and queue of the
+ * dispatched evaluations, and one {@code Result} per candidate. These buffers are not reused
+ * across rounds or calls, as evaluations cancelled at the deadline may still set their fitness
+ * after their round has finished.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ResultCollationBenchmark {
+
+  @Param({"1000"})
+  public int candidateCount;
+
+  @Param({"10", "200"})
+  public int problemVariantCount;
+
+  protected InlineExecutor executor;
+  protected List<FullyMeshedNet> candidates;
+  protected long problemRandomSeed;
+
+  /**
+   * Creates the executor and the candidates to evaluate.
+   */
+  @Setup
+  public void setup() {
+    var problemBuilder = new XorProblemBuilder();
+    executor = new InlineExecutor(
+        new LocalExecutorBuilder().setProblemVariantCount(problemVariantCount), problemBuilder,
+        new SplittableRandom(1));
+    problemRandomSeed = executor.getProblemRandomSeed();
+
+    var representationBuilder =
+        new FullyMeshedNetBuilder().setInputCount(problemBuilder.getRepresentationInputCount())
+            .setOutputCount(problemBuilder.getRepresentationOutputCount());
+    var operator = new FullyMeshedNetOpBuilder().create(representationBuilder,
+        new SplittableRandom(2));
+    candidates = new ArrayList<>(candidateCount);
+    for (int i = 0; i < candidateCount; i++) {
+      candidates.add(operator.operator0());
+    }
+  }
+
+  /**
+   * Evaluates all candidates using the collation of {@code BaseExecutor}.
+   * 
+   * @return the results
+   */
+  @Benchmark
+  public List<Result<FullyMeshedNet>> indexedCollation() {
+    return executor.evaluateRepresentations(candidates);
+  }
+
+  /**
+   * Evaluates all candidates using the former collation, which allocates an {@code Evaluation} for
+   * every combination of candidate and problem variant and groups them in a {@code HashMap}. The
+   * evaluations are dispatched through the same queue and latch as in {@code BaseExecutor}.
+   * 
+   * @return the results
+   */
+  @Benchmark
+  public List<Result<FullyMeshedNet>> hashMapCollation() {
+    var evaluationCount = candidates.size() * problemVariantCount;
+    var evaluations = new ArrayList<Evaluation<FullyMeshedNet>>(evaluationCount);
+    var evaluationQueue = new ArrayBlockingQueue<Evaluation<FullyMeshedNet>>(evaluationCount);
+    var problemRandom = new SplittableRandom(problemRandomSeed);
+    for (var i = 0; i < problemVariantCount; i++) {
+      var evaluationSeed = problemRandom.nextLong();
+      for (var representation : candidates) {
+        var evaluation = new Evaluation<FullyMeshedNet>(representation, evaluationSeed);
+        evaluations.add(evaluation);
+        evaluationQueue.add(evaluation);
+      }
+    }
+    executor.dispatchEvaluation(evaluationQueue, new CountDownLatch(evaluationCount));
+
+    var resultHashtable = new HashMap<FullyMeshedNet, ArrayList<Evaluation<FullyMeshedNet>>>();
+    for (var evaluation : evaluations) {
+      if (evaluation.getFitness() >= 0) {
+        resultHashtable.computeIfAbsent(evaluation.getRepresentation(), k -> new ArrayList<>())
+            .add(evaluation);
+      }
+    }
+
+    var results = new ArrayList<Result<FullyMeshedNet>>();
+    resultHashtable.forEach((k, v) -> {
+      if (v.size() == problemVariantCount) {
+        double fitnessSum = 0;
+        for (var evaluation : v) {
+          fitnessSum += evaluation.getFitness();
+        }
+        results.add(new Result<FullyMeshedNet>(k, fitnessSum / v.size(), v.size()));
+      }
+    });
+    Collections.sort(results);
+    return results;
+  }
+
+  /**
+   * Gets a fitness derived from a {@code Representation} and a seed.
+   * 
+   * @param representation the {@code Representation}
+   * @param seed           the seed
+   * @return the fitness
+   */
+  protected static double getFitness(Representation representation, long seed) {
+    return (representation.getFingerprint() ^ seed) & 0xffff;
+  }
+
+  /**
+   * {@code BaseExecutor} completing each dispatched evaluation on the calling thread.
+   */
+  protected static class InlineExecutor extends BaseExecutor {
+
+    /**
+     * Creates a new {@code InlineExecutor} instance.
+     * 
+     * @param builder        the {@code LocalExecutorBuilder} used for configuration
+     * @param problemBuilder the {@code ProblemBuilder}, not used for evaluation
+     * @param random         the random number generator used to create seeds
+     */
+    protected InlineExecutor(LocalExecutorBuilder builder,
+        ProblemBuilder<? extends Problem> problemBuilder, SplittableRandom random) {
+      super(builder, problemBuilder, random);
+    }
+
+    @Override
+    protected <R extends Representation> void dispatchEvaluation(
+        ArrayBlockingQueue<Evaluation<R>> evaluationQueue,
+        CountDownLatch evaluationCountDownLatch) {
+      Evaluation<R> evaluation;
+      while ((evaluation = evaluationQueue.poll()) != null) {
+        evaluation.setFitness(getFitness(evaluation.getRepresentation(), evaluation.getSeed()));
+        evaluationCountDownLatch.countDown();
+      }
+    }
+  }
+}
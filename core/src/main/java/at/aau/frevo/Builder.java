@@ -17,14 +17,21 @@
 
 package at.aau.frevo;
 
+import java.io.Serializable;
+
 /**
  * The abstract base class for all builders.
+ * <p>
+ * Builders are {@link Serializable}, so that a configuration can be passed to another process,
+ * e.g. to create {@code Problem} instances in a worker process.
  * 
  * @param <T> the type of component associated with the {@code Builder}. This type parameter allows
  *            the compiler to reason about the type of objects produced by {@code Builder}
  *            instances.
  */
-public abstract class Builder<T extends Component> {
+public abstract class Builder<T extends Component> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /**
    * Gets the name of the {@code Builder}. By convention this is the full class name, returned by
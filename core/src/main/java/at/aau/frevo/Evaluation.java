@@ -19,6 +19,11 @@ package at.aau.frevo;
 
 /**
  * Represents an evaluation of a {@code Representation} be performed.
+ * <p>
+ * An {@code Evaluation} can be cancelled cooperatively: the thread carrying it out calls
+ * {@link #begin()} and {@link #end()} around the evaluation, and {@link #cancel()} interrupts that
+ * thread, so that {@code Problem} implementations checking {@link Problem#isCancelled()} can stop
+ * early.
  * 
  * @param <R> the type of {@code Representation} included in the {@code Evaluation}
  */
@@ -27,6 +32,13 @@ public class Evaluation<R extends Representation> {
   protected R representation;
   protected long seed;
   protected volatile double fitness;
+  protected volatile boolean cancelled;
+  protected volatile long startNanoTime;
+  protected Thread runner;
+  protected volatile int failureCount;
+  protected volatile Throwable failure;
+  protected volatile long wallNanoTime;
+  protected volatile long cpuNanoTime;
 
   /**
    * Creates a new {@code Evaluation} instance with the specified {@code Representation} and seed.
@@ -75,4 +87,142 @@ public class Evaluation<R extends Representation> {
   public void setFitness(double fitness) {
     this.fitness = fitness;
   }
+
+  /**
+   * Sets the fitness unless the evaluation has already been completed or cancelled. Use this
+   * method when several threads may race to complete the same evaluation.
+   * 
+   * @param fitness the fitness
+   * @return {@code true} if the fitness was set, {@code false} otherwise
+   */
+  public synchronized boolean complete(double fitness) {
+    if (cancelled || (this.fitness >= 0)) {
+      return false;
+    }
+    setFitness(fitness);
+    return true;
+  }
+
+  /**
+   * Marks the start of the evaluation on the current thread.
+   * 
+   * @return {@code true} if the evaluation should be carried out, {@code false} if it has already
+   *         been cancelled
+   */
+  public synchronized boolean begin() {
+    if (cancelled) {
+      return false;
+    }
+    runner = Thread.currentThread();
+    startNanoTime = System.nanoTime();
+    return true;
+  }
+
+  /**
+   * Marks the end of the evaluation on the current thread. If the {@code Evaluation} was cancelled,
+   * the interrupt status of the thread is cleared, so that the thread can carry out further work.
+   */
+  public synchronized void end() {
+    runner = null;
+    if (cancelled) {
+      Thread.interrupted();
+    }
+  }
+
+  /**
+   * Cancels the evaluation. If the evaluation is being carried out, the thread carrying it out is
+   * interrupted; if it has not started yet, it will not be carried out.
+   */
+  public synchronized void cancel() {
+    cancelled = true;
+    if (runner != null) {
+      runner.interrupt();
+    }
+  }
+
+  /**
+   * Gets the flag indicating that the evaluation has been cancelled.
+   * 
+   * @return {@code true} if the evaluation has been cancelled
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Checks whether the evaluation is being carried out.
+   * 
+   * @return {@code true} if the evaluation is being carried out
+   */
+  public synchronized boolean isRunning() {
+    return runner != null;
+  }
+
+  /**
+   * Records a failed attempt to carry out the evaluation.
+   * 
+   * @param failure the exception thrown by the attempt
+   * @return the number of failed attempts so far
+   */
+  public synchronized int recordFailure(Throwable failure) {
+    this.failure = failure;
+    return ++failureCount;
+  }
+
+  /**
+   * Gets the number of failed attempts to carry out the evaluation.
+   * 
+   * @return the failure count
+   */
+  public int getFailureCount() {
+    return failureCount;
+  }
+
+  /**
+   * Gets the exception thrown by the last failed attempt to carry out the evaluation.
+   * 
+   * @return the exception, or {@code null} if no attempt failed
+   */
+  public Throwable getFailure() {
+    return failure;
+  }
+
+  /**
+   * Records the time spent on an attempt to carry out the evaluation. The times of all attempts are
+   * added up.
+   * 
+   * @param wallNanoTime the elapsed time in nanoseconds
+   * @param cpuNanoTime  the CPU time in nanoseconds, {@code 0} if not measured
+   */
+  public synchronized void recordCost(long wallNanoTime, long cpuNanoTime) {
+    this.wallNanoTime += wallNanoTime;
+    this.cpuNanoTime += cpuNanoTime;
+  }
+
+  /**
+   * Gets the elapsed time spent carrying out the evaluation.
+   * 
+   * @return the wall time in nanoseconds, {@code 0} if not measured
+   */
+  public long getWallNanoTime() {
+    return wallNanoTime;
+  }
+
+  /**
+   * Gets the CPU time spent carrying out the evaluation.
+   * 
+   * @return the CPU time in nanoseconds, {@code 0} if not measured
+   */
+  public long getCpuNanoTime() {
+    return cpuNanoTime;
+  }
+
+  /**
+   * Gets the {@code System.nanoTime()} at which the evaluation was last started.
+   * 
+   * @return the start time in nanoseconds, {@code 0} if the evaluation has not been started
+   */
+  public long getStartNanoTime() {
+    return startNanoTime;
+  }
 }
@@ -18,14 +18,23 @@
 package at.aau.frevo;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
 
 /**
  * Abstract base class for all executors.
  * <p>
  * Executors are responsible for scheduling and carrying out the evaluation of representations using
  * problem instances.
+ * <p>
+ * Executors may hold resources such as threads, which are released by calling {@link #close()}.
+ * <p>
+ * Evaluation is asynchronous: {@link #evaluateRepresentationsAsync(List, Flow.Subscriber)} returns
+ * immediately and publishes each {@link Result} as soon as it is available, while
+ * {@link #evaluateRepresentations(List)} is a blocking convenience wrapper.
  */
-public abstract class Executor extends Component {
+public abstract class Executor extends Component implements AutoCloseable {
 
   protected ProblemBuilder<? extends Problem> problemBuilder;
 
@@ -44,14 +53,69 @@ public abstract class Executor extends Component {
   }
 
   /**
-   * Evaluates a list of {@code Representation} instances.
+   * Evaluates a list of {@code Representation} instances, blocking until all evaluations are done.
    * 
    * @param <R>             the type of {@code Representation} to evaluate
    * @param representations the {@code Representation} instances to evaluate
    * @return a list of {@code Result} instances, sorted by decreasing fitness value
    */
-  public abstract <R extends Representation> List<Result<R>> evaluateRepresentations(
-      List<R> representations);
+  public <R extends Representation> List<Result<R>> evaluateRepresentations(
+      List<R> representations) {
+    try {
+      return evaluateRepresentationsAsync(representations, null).join();
+    } catch (CompletionException e) {
+      var cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Starts the evaluation of a list of {@code Representation} instances without waiting for it to
+   * complete.
+   * 
+   * @param <R>             the type of {@code Representation} to evaluate
+   * @param representations the {@code Representation} instances to evaluate
+   * @return a {@code CompletableFuture} completed with a list of {@code Result} instances, sorted by
+   *         decreasing fitness value
+   */
+  public <R extends Representation> CompletableFuture<List<Result<R>>> evaluateRepresentationsAsync(
+      List<R> representations) {
+    return evaluateRepresentationsAsync(representations, null);
+  }
+
+  /**
+   * Starts the evaluation of a list of {@code Representation} instances without waiting for it to
+   * complete.
+   * <p>
+   * Each {@code Result} is published to the {@code subscriber} as soon as all of its problem
+   * variants have been evaluated, in no particular order, and is signalled completion after the
+   * last {@code Result}. The returned {@code CompletableFuture} may be completed on a thread owned
+   * by the {@code Executor}; dependent actions should therefore be short or run asynchronously.
+   * 
+   * @param <R>             the type of {@code Representation} to evaluate
+   * @param representations the {@code Representation} instances to evaluate
+   * @param subscriber      the {@code Flow.Subscriber} receiving each {@code Result}, or
+   *                        {@code null}
+   * @return a {@code CompletableFuture} completed with a list of {@code Result} instances, sorted by
+   *         decreasing fitness value
+   */
+  public abstract <R extends Representation> CompletableFuture<List<Result<R>>> evaluateRepresentationsAsync(
+      List<R> representations, Flow.Subscriber<? super Result<R>> subscriber);
+
+  /**
+   * Releases any resources held by the {@code Executor}. The {@code Executor} must not be used
+   * after it has been closed.
+   * <p>
+   * The default implementation does nothing.
+   */
+  @Override
+  public void close() {}
 
   /**
    * Gets the {@code ProblemBuilder}
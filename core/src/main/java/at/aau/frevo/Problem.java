@@ -17,10 +17,23 @@
 
 package at.aau.frevo;
 
+import java.util.List;
+
 /**
  * Abstract base class for all problems.
  * <p>
  * Problems are used to evaluate representations in specific scenarios.
+ * <p>
+ * Problems which are expensive to construct should override {@link #reset(long)}, so that executors
+ * can create one instance per thread and reuse it for many evaluations.
+ * <p>
+ * Executors cancel evaluations which exceed their deadline by interrupting the evaluating thread.
+ * Long running problems should check {@link #isCancelled()} regularly and stop by throwing a
+ * {@code CancellationException}.
+ * <p>
+ * Problems which feed the same input to every {@code Representation} may override
+ * {@link #evaluateRepresentations(List, double[])} to evaluate a batch of representations of the
+ * same shape together, e.g. using a {@link RepresentationBatchContext}.
  */
 public abstract class Problem extends Component {
 
@@ -49,4 +62,55 @@ public abstract class Problem extends Component {
    * @return the fitness value. Higher is better.
    */
   public abstract double evaluateRepresentation(Representation representation);
+
+  /**
+   * Evaluates a batch of {@code Representation} instances and computes their fitness values. Each
+   * fitness value must be the one {@link #evaluateRepresentation(Representation)} computes for the
+   * corresponding {@code Representation}, except for rounding differences.
+   * <p>
+   * The default implementation does not support batches and returns {@code false}.
+   * 
+   * @param representations the {@code Representation} instances to evaluate
+   * @param fitnesses       the array in which to store the fitness values, in the order of the
+   *                        {@code Representation} instances
+   * @return {@code true} if the batch was evaluated, {@code false} if batches of these
+   *         {@code Representation} instances are not supported
+   */
+  public boolean evaluateRepresentations(List<? extends Representation> representations,
+      double[] fitnesses) {
+    return false;
+  }
+
+  /**
+   * Resets the {@code Problem} so that it behaves exactly like a new instance created by the
+   * {@code ProblemBuilder} with the specified seed.
+   * <p>
+   * The default implementation does not support resetting and returns {@code false}.
+   * 
+   * @param seed the seed to use
+   * @return {@code true} if the {@code Problem} was reset, {@code false} if resetting is not
+   *         supported
+   */
+  public boolean reset(long seed) {
+    return false;
+  }
+
+  /**
+   * Checks whether the current evaluation has been cancelled, that is, whether the evaluating
+   * thread has been interrupted.
+   * 
+   * @return {@code true} if the current evaluation has been cancelled
+   */
+  protected boolean isCancelled() {
+    return Thread.currentThread().isInterrupted();
+  }
+
+  /**
+   * Gets the seed.
+   * 
+   * @return the seed
+   */
+  public long getSeed() {
+    return seed;
+  }
 }
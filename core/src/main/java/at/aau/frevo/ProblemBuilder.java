@@ -32,6 +32,25 @@ public abstract class ProblemBuilder<T extends Problem> extends Builder<T> {
    */
   public abstract Problem create(long seed);
 
+  /**
+   * Gets a {@code Problem} instance for the specified seed, reusing an existing instance if
+   * possible.
+   * <p>
+   * If {@code problem} is not {@code null} and supports {@link Problem#reset(long)}, it is reset and
+   * returned. Otherwise a new instance is created.
+   * 
+   * @param seed    the seed used by the {@code Problem}
+   * @param problem an existing {@code Problem} instance created by this {@code ProblemBuilder}, or
+   *                {@code null}
+   * @return a {@code Problem} instance
+   */
+  public Problem create(long seed, Problem problem) {
+    if ((problem != null) && problem.reset(seed)) {
+      return problem;
+    }
+    return create(seed);
+  }
+
   @Override
   public ComponentType getType() {
     return ComponentType.PROBLEM;
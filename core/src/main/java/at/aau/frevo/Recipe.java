@@ -26,6 +26,8 @@ import java.util.SplittableRandom;
  * <p>
  * At the same time, the {@code Recipe} class demontrates how the different FREVO components work
  * together.
+ * <p>
+ * The {@code Executor} created by the {@code Recipe} is released when the {@code Recipe} is closed.
  * 
  * @param <RB> the type of {@code RepresentationBuilder} used in the {@code Recipe}
  * @param <OB> the type of {@code OperatorBuilder} used in the {@code Recipe}
@@ -38,7 +40,8 @@ import java.util.SplittableRandom;
  * @param <E>  the type of {@code Executor} used in the {@code Recipe}
  * @param <P>  the type of {@code Problem} used in the {@code Recipe}
  */
-public class Recipe<RB extends RepresentationBuilder<R>, OB extends OperatorBuilder<O, R>, MB extends MethodBuilder<M>, EB extends ExecutorBuilder<E>, PB extends ProblemBuilder<P>, R extends Representation, O extends Operator<R>, M extends Method<? extends Representation>, E extends Executor, P extends Problem> {
+public class Recipe<RB extends RepresentationBuilder<R>, OB extends OperatorBuilder<O, R>, MB extends MethodBuilder<M>, EB extends ExecutorBuilder<E>, PB extends ProblemBuilder<P>, R extends Representation, O extends Operator<R>, M extends Method<? extends Representation>, E extends Executor, P extends Problem>
+    implements AutoCloseable {
 
   protected PB problemBuilder;
   protected RB representationBuilder;
@@ -129,6 +132,7 @@ public class Recipe<RB extends RepresentationBuilder<R>, OB extends OperatorBuil
   public void prepare(int candidateCount) throws InterruptedException {
     var evolutionRandom = new SplittableRandom(evolutionSeed);
     operator = operatorBuilder.create(representationBuilder, evolutionRandom);
+    close();
     executor = executorBuilder.create(problemBuilder, new SplittableRandom(evaluationSeed));
 
     var candidates = new ArrayList<R>();
@@ -148,6 +152,7 @@ public class Recipe<RB extends RepresentationBuilder<R>, OB extends OperatorBuil
   public void prepare(List<Result<R>> rankedCandidates) {
     var evolutionRandom = new SplittableRandom(evolutionSeed);
     operator = operatorBuilder.create(representationBuilder, evolutionRandom);
+    close();
     executor = executorBuilder.create(problemBuilder, new SplittableRandom(evaluationSeed));
     method = methodBuilder.create(rankedCandidates, operator, executor, evolutionRandom);
   }
@@ -163,6 +168,17 @@ public class Recipe<RB extends RepresentationBuilder<R>, OB extends OperatorBuil
     return method.run(generationCount);
   }
 
+  /**
+   * Closes the {@code Executor} created by a previous call to {@code prepare}, if any.
+   */
+  @Override
+  public void close() {
+    if (executor != null) {
+      executor.close();
+      executor = null;
+    }
+  }
+
   /**
    * Gets the {@code RepresentationBuilder} instance used in the {@code Recipe}.
    * 
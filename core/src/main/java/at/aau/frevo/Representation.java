@@ -17,16 +17,36 @@
 
 package at.aau.frevo;
 
+import java.io.Serializable;
+import java.util.List;
 import java.util.SplittableRandom;
 
 /**
  * Abstract base class for all representations.
+ * <p>
+ * Representations are compared by content: {@link #equals(Object)} and {@link #hashCode()} are
+ * based on a cached 64 bit fingerprint of the content and {@link #compareTo(Representation)}.
+ * Consequently, a {@code Representation} must not be modified once it has been evaluated, put
+ * into a hash based collection or its fingerprint has been requested.
+ * <p>
+ * A {@code Representation} copied from a source remembers the fingerprint of the source as its
+ * parent fingerprint, so that executors can predict the cost of evaluating offspring.
+ * <p>
+ * Representations are {@link Serializable}, so that they can be passed to other processes for
+ * evaluation. The fingerprint is not serialized but computed again when needed.
  */
-public abstract class Representation extends Component implements Comparable<Representation> {
+public abstract class Representation extends Component
+    implements Comparable<Representation>, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   protected int inputCount;
   protected int outputCount;
 
+  private transient long fingerprint;
+  private transient volatile boolean fingerprintValid;
+  private transient long parentFingerprint;
+
   /**
    * Creates a new {@code Representation} instance using the configuration specified by the
    * {@code RepresentationBuilder}.
@@ -46,6 +66,9 @@ public abstract class Representation extends Component implements Comparable<Rep
   public Representation(Representation source) {
     inputCount = source.inputCount;
     outputCount = source.outputCount;
+
+    // do not fingerprint a source which may still be modified, use its parent instead
+    parentFingerprint = source.fingerprintValid ? source.fingerprint : source.parentFingerprint;
   }
 
   @Override
@@ -80,6 +103,140 @@ public abstract class Representation extends Component implements Comparable<Rep
   public abstract RepresentationContext<? extends Representation> createContext(
       SplittableRandom random);
 
+  /**
+   * Gets a context of the {@code Representation}, reusing an existing context if possible.
+   * <p>
+   * If {@code context} is not {@code null} and can be reset to this {@code Representation}, it is
+   * reset and returned. Otherwise a new context is created.
+   * 
+   * @param random  the random number to use
+   * @param context an existing {@code RepresentationContext}, or {@code null}
+   * @return a {@code RepresentationContext} associated with this {@code Representation}
+   */
+  public RepresentationContext<? extends Representation> createContext(SplittableRandom random,
+      RepresentationContext<? extends Representation> context) {
+    if ((context != null) && context.reset(this, random)) {
+      return context;
+    }
+    return createContext(random);
+  }
+
+  /**
+   * Creates a context of the {@code Representation} using a {@code ReseedableRandom}, which
+   * the caller may reseed and pass again to reuse the context without allocating.
+   * <p>
+   * The default implementation calls {@link #createContext(SplittableRandom)} with a new
+   * {@code SplittableRandom} seeded from {@code random}. Implementations should override it to use
+   * {@code random} directly.
+   * 
+   * @param random the random number to use
+   * @return a new {@code RepresentationContext}
+   */
+  public RepresentationContext<? extends Representation> createContext(ReseedableRandom random) {
+    return createContext(new SplittableRandom(random.nextLong()));
+  }
+
+  /**
+   * Gets a context of the {@code Representation} using a {@code ReseedableRandom}, reusing an
+   * existing context if possible.
+   * <p>
+   * If {@code context} is not {@code null} and can be reset to this {@code Representation}, it is
+   * reset and returned. Otherwise a new context is created.
+   * 
+   * @param random  the random number to use
+   * @param context an existing {@code RepresentationContext}, or {@code null}
+   * @return a {@code RepresentationContext} associated with this {@code Representation}
+   */
+  public RepresentationContext<? extends Representation> createContext(ReseedableRandom random,
+      RepresentationContext<? extends Representation> context) {
+    if ((context != null) && context.reset(this, random)) {
+      return context;
+    }
+    return createContext(random);
+  }
+
+  /**
+   * Creates a context calculating a batch of {@code Representation} instances of the same shape as
+   * this {@code Representation} together.
+   * <p>
+   * The default implementation does not support batches and returns {@code null}.
+   * 
+   * @param representations the {@code Representation} instances of the batch
+   * @param randoms         the random number generators to use, one for each
+   *                        {@code Representation}, further generators are ignored
+   * @return a new {@code RepresentationBatchContext}, or {@code null} if batches are not supported
+   *         or the {@code Representation} instances are not compatible
+   */
+  public RepresentationBatchContext<? extends Representation> createBatchContext(
+      List<? extends Representation> representations, SplittableRandom[] randoms) {
+    return null;
+  }
+
+  /**
+   * Gets a context calculating a batch of {@code Representation} instances of the same shape as
+   * this {@code Representation} together, reusing an existing context if possible.
+   * <p>
+   * If {@code context} is not {@code null} and can be reset to the batch, it is reset and
+   * returned. Otherwise a new context is created.
+   * 
+   * @param representations the {@code Representation} instances of the batch
+   * @param randoms         the random number generators to use, one for each
+   *                        {@code Representation}, further generators are ignored
+   * @param context         an existing {@code RepresentationBatchContext}, or {@code null}
+   * @return a {@code RepresentationBatchContext} associated with the batch, or {@code null} if
+   *         batches are not supported or the {@code Representation} instances are not compatible
+   */
+  public RepresentationBatchContext<? extends Representation> createBatchContext(
+      List<? extends Representation> representations, SplittableRandom[] randoms,
+      RepresentationBatchContext<? extends Representation> context) {
+    if ((context != null) && context.reset(representations, randoms)) {
+      return context;
+    }
+    return createBatchContext(representations, randoms);
+  }
+
+  /**
+   * Creates a context calculating a batch of {@code Representation} instances of the same shape as
+   * this {@code Representation} together, using {@code ReseedableRandom} instances which the caller
+   * may reseed and pass again to reuse the context without allocating.
+   * <p>
+   * The default implementation does not support batches and returns {@code null}.
+   * 
+   * @param representations the {@code Representation} instances of the batch
+   * @param randoms         the random number generators to use, one for each
+   *                        {@code Representation}, further generators are ignored
+   * @return a new {@code RepresentationBatchContext}, or {@code null} if batches are not supported
+   *         or the {@code Representation} instances are not compatible
+   */
+  public RepresentationBatchContext<? extends Representation> createBatchContext(
+      List<? extends Representation> representations, ReseedableRandom[] randoms) {
+    return null;
+  }
+
+  /**
+   * Gets a context calculating a batch of {@code Representation} instances of the same shape as
+   * this {@code Representation} together using {@code ReseedableRandom} instances, reusing an
+   * existing context if possible.
+   * <p>
+   * If {@code context} is not {@code null} and can be reset to the batch, it is reset and
+   * returned. Otherwise a new context is created.
+   * 
+   * @param representations the {@code Representation} instances of the batch
+   * @param randoms         the random number generators to use, one for each
+   *                        {@code Representation}, further generators are ignored
+   * @param context         an existing {@code RepresentationBatchContext}, or {@code null}
+   * @return a {@code RepresentationBatchContext} associated with the batch, or {@code null} if
+   *         batches are not supported or the {@code Representation} instances are not compatible
+   */
+  public RepresentationBatchContext<? extends Representation> createBatchContext(
+      List<? extends Representation> representations, ReseedableRandom[] randoms,
+      RepresentationBatchContext<? extends Representation> context) {
+    if ((context != null) && context.reset(representations, randoms)) {
+      return context;
+    }
+    return createBatchContext(representations, randoms);
+  }
+
   /**
    * Clones the {@code Representation}.
    * 
@@ -101,7 +258,113 @@ public abstract class Representation extends Component implements Comparable<Rep
    * 
    * @return a {@code String} hash of the {@code Representation}
    */
-  public abstract String getHash();
+  public String getHash() {
+    return Long.toHexString(getFingerprint());
+  }
+
+  /**
+   * Gets a 64 bit fingerprint of the content of the {@code Representation}. Functionally equivalent
+   * {@code Representation} instances have the same fingerprint.
+   * <p>
+   * The fingerprint is computed once and cached.
+   * 
+   * @return the fingerprint
+   */
+  public long getFingerprint() {
+    if (!fingerprintValid) {
+      var value = mixFingerprint(computeFingerprint(), inputCount);
+      value = mixFingerprint(value, outputCount);
+
+      // final avalanche
+      value ^= value >>> 33;
+      value *= 0xff51afd7ed558ccdL;
+      value ^= value >>> 33;
+      value *= 0xc4ceb9fe1a85ec53L;
+      value ^= value >>> 33;
+
+      fingerprint = value;
+      fingerprintValid = true;
+    }
+    return fingerprint;
+  }
+
+  /**
+   * Gets the fingerprint of the {@code Representation} this one was copied from, e.g. the parent
+   * of a mutant or the first parent of a crossover. If the source had not been fingerprinted when
+   * it was copied, the parent fingerprint of the source is used.
+   * 
+   * @return the parent fingerprint, {@code 0} if unknown
+   */
+  public long getParentFingerprint() {
+    return parentFingerprint;
+  }
+
+  /**
+   * Computes a 64 bit value from the content of the {@code Representation}. Implementations
+   * should combine all content which is considered by {@link #compareTo(Representation)} using the
+   * {@code mixFingerprint} methods.
+   * 
+   * @return the fingerprint value
+   */
+  protected abstract long computeFingerprint();
+
+  /**
+   * Mixes a value into a fingerprint.
+   * 
+   * @param fingerprint the fingerprint
+   * @param value       the value to mix in
+   * @return the new fingerprint
+   */
+  protected static long mixFingerprint(long fingerprint, long value) {
+    return Long.rotateLeft(fingerprint ^ (value * 0x9e3779b97f4a7c15L), 31) * 0xbf58476d1ce4e5b9L;
+  }
+
+  /**
+   * Mixes an array of values into a fingerprint.
+   * 
+   * @param fingerprint the fingerprint
+   * @param values      the values to mix in
+   * @return the new fingerprint
+   */
+  protected static long mixFingerprint(long fingerprint, float[] values) {
+    for (var value : values) {
+      // treat 0.0f and -0.0f the same, as they compare equal
+      fingerprint = mixFingerprint(fingerprint, value == 0 ? 0 : Float.floatToIntBits(value));
+    }
+    return fingerprint;
+  }
+
+  /**
+   * Mixes an array of values into a fingerprint.
+   * 
+   * @param fingerprint the fingerprint
+   * @param values      the values to mix in
+   * @return the new fingerprint
+   */
+  protected static long mixFingerprint(long fingerprint, int[] values) {
+    for (var value : values) {
+      fingerprint = mixFingerprint(fingerprint, value);
+    }
+    return fingerprint;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(getFingerprint());
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (this == object) {
+      return true;
+    }
+    if ((object == null) || (object.getClass() != getClass())) {
+      return false;
+    }
+    var other = (Representation) object;
+    return (inputCount == other.inputCount) && (outputCount == other.outputCount)
+        && (getFingerprint() == other.getFingerprint()) && (compareTo(other) == 0);
+  }
 
   @Override
   final public String toString() {
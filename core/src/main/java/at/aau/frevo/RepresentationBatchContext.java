@@ -0,0 +1,116 @@
+/**
+ * File: RepresentationBatchContext.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The mutable state of a batch of {@code Representation} instances of the same shape, which are
+ * fed the same input and calculated together in one call.
+ * <p>
+ * Each {@code Representation} of the batch behaves exactly like in its own
+ * {@link RepresentationContext} created with the corresponding random number generator, except
+ * for rounding differences of the implementation. Like a {@code RepresentationContext}, a
+ * {@code RepresentationBatchContext} may support being reset and rebound to another batch of the
+ * same shape. See {@link Representation#createBatchContext(List, SplittableRandom[],
+ * RepresentationBatchContext)} and {@link Representation#createBatchContext(List,
+ * ReseedableRandom[], RepresentationBatchContext)}.
+ * 
+ * @param <R> the type of {@code Representation} associated with this
+ *        {@code RepresentationBatchContext}
+ */
+public abstract class RepresentationBatchContext<R extends Representation> {
+
+  protected List<R> representations;
+
+  /**
+   * Creates a new {@code RepresentationBatchContext} instance associated with the given
+   * {@code Representation} instances.
+   * 
+   * @param representations the {@code Representation} instances to use
+   */
+  public RepresentationBatchContext(List<R> representations) {
+    this.representations = representations;
+  }
+
+  /**
+   * Calculates the outputs of all {@link Representation} instances of the batch for the given
+   * input.
+   * <p>
+   * This may affect the state of the {@code RepresentationBatchContext}.
+   * 
+   * @param input   the array of input, shared by all {@code Representation} instances
+   * @param outputs the arrays in which to store output, one for each {@code Representation} in
+   *                batch order
+   */
+  public abstract void calculate(float[] input, float[][] outputs);
+
+  /**
+   * Associates the {@code RepresentationBatchContext} with the specified {@code Representation}
+   * instances and resets it, so that it behaves like a newly created context of that batch.
+   * <p>
+   * The default implementation does not support resetting and returns {@code false}.
+   * 
+   * @param representations the {@code Representation} instances to associate
+   * @param randoms         the random number generators to use, one for each
+   *                        {@code Representation}, further generators are ignored
+   * @return {@code true} if the {@code RepresentationBatchContext} was reset, {@code false} if the
+   *         {@code Representation} instances are not compatible or resetting is not supported
+   */
+  public boolean reset(List<? extends Representation> representations,
+      SplittableRandom[] randoms) {
+    return false;
+  }
+
+  /**
+   * Associates the {@code RepresentationBatchContext} with the specified {@code Representation}
+   * instances and resets it using {@code ReseedableRandom} instances, which the caller may reseed
+   * and pass again.
+   * <p>
+   * The default implementation does not support resetting and returns {@code false}.
+   * 
+   * @param representations the {@code Representation} instances to associate
+   * @param randoms         the random number generators to use, one for each
+   *                        {@code Representation}, further generators are ignored
+   * @return {@code true} if the {@code RepresentationBatchContext} was reset, {@code false} if the
+   *         {@code Representation} instances are not compatible or resetting is not supported
+   */
+  public boolean reset(List<? extends Representation> representations,
+      ReseedableRandom[] randoms) {
+    return false;
+  }
+
+  /**
+   * Gets the associated {@code Representation} instances in batch order.
+   * 
+   * @return the associated {@code Representation} instances
+   */
+  public List<R> getRepresentations() {
+    return representations;
+  }
+
+  /**
+   * Gets the number of {@code Representation} instances in the batch.
+   * 
+   * @return the batch size
+   */
+  public int getBatchSize() {
+    return representations.size();
+  }
+}
@@ -0,0 +1,236 @@
+/**
+ * File: RepresentationCodec.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Abstract base class for compact binary codecs of {@link Representation} instances.
+ * <p>
+ * A codec splits a {@code Representation} into its shape, i.e. the configuration it was built
+ * with, and its content, e.g. the weights of a network. Batches of representations are encoded as
+ * the codec version followed by runs of representations sharing the same shape, so that the shape
+ * is written once per run rather than once per representation:
+ * 
+ * <pre>
+ * batch   = version:int run* 0:int
+ * run     = count:int shape content{count}
+ * </pre>
+ * 
+ * Content is written directly into and read directly from {@code ByteBuffer} instances, without
+ * creating intermediate objects. The byte order of the buffer is used.
+ * <p>
+ * Codecs are found using {@link ServiceLoader}: implementations are registered in
+ * {@code META-INF/services/at.aau.frevo.RepresentationCodec} and looked up by the class of the
+ * {@code Representation} using {@link #forClass(Class)} or {@link #forName(String)}.
+ * 
+ * @param <R> the type of {@code Representation} handled by the codec
+ */
+public abstract class RepresentationCodec<R extends Representation> {
+
+  /**
+   * Gets the class of the {@code Representation} instances handled by the codec. Subclasses of this
+   * class are not handled.
+   * 
+   * @return the {@code Representation} class
+   */
+  public abstract Class<R> getRepresentationClass();
+
+  /**
+   * Gets the version of the format written by the codec. Codecs must be able to read all earlier
+   * versions.
+   * 
+   * @return the version
+   */
+  public abstract int getVersion();
+
+  /**
+   * Checks whether two {@code Representation} instances have the same shape and may therefore be
+   * encoded in the same run.
+   * 
+   * @param representation the first {@code Representation}
+   * @param other          the second {@code Representation}
+   * @return {@code true} if both have the same shape
+   */
+  public abstract boolean hasSameShape(R representation, R other);
+
+  /**
+   * Gets the number of bytes needed to encode the shape of a {@code Representation}.
+   * 
+   * @param representation the {@code Representation}
+   * @return the encoded shape size in bytes
+   */
+  public abstract int getShapeSize(R representation);
+
+  /**
+   * Encodes the shape of a {@code Representation}.
+   * 
+   * @param representation the {@code Representation}
+   * @param buffer         the buffer to write to
+   */
+  public abstract void encodeShape(R representation, ByteBuffer buffer);
+
+  /**
+   * Decodes a shape into a {@code RepresentationBuilder} which creates {@code Representation}
+   * instances of that shape.
+   * 
+   * @param version the version of the format
+   * @param buffer  the buffer to read from
+   * @return the {@code RepresentationBuilder}
+   */
+  public abstract RepresentationBuilder<R> decodeShape(int version, ByteBuffer buffer);
+
+  /**
+   * Gets the number of bytes needed to encode the content of a {@code Representation}.
+   * 
+   * @param representation the {@code Representation}
+   * @return the encoded content size in bytes
+   */
+  public abstract int getContentSize(R representation);
+
+  /**
+   * Encodes the content of a {@code Representation}.
+   * 
+   * @param representation the {@code Representation}
+   * @param buffer         the buffer to write to
+   */
+  public abstract void encodeContent(R representation, ByteBuffer buffer);
+
+  /**
+   * Decodes the content of a {@code Representation} of the specified shape.
+   * 
+   * @param version the version of the format
+   * @param shape   the {@code RepresentationBuilder} returned by
+   *                {@link #decodeShape(int, ByteBuffer)}
+   * @param buffer  the buffer to read from
+   * @return the decoded {@code Representation}
+   */
+  public abstract R decodeContent(int version, RepresentationBuilder<R> shape, ByteBuffer buffer);
+
+  /**
+   * Gets the number of bytes needed to encode a batch of {@code Representation} instances.
+   * 
+   * @param representations the {@code Representation} instances
+   * @return the encoded size in bytes
+   */
+  public int getEncodedSize(List<? extends R> representations) {
+    var size = 2 * Integer.BYTES;
+    R previous = null;
+    for (var representation : representations) {
+      if ((previous == null) || !hasSameShape(previous, representation)) {
+        size += Integer.BYTES + getShapeSize(representation);
+        previous = representation;
+      }
+      size += getContentSize(representation);
+    }
+    return size;
+  }
+
+  /**
+   * Encodes a batch of {@code Representation} instances.
+   * 
+   * @param representations the {@code Representation} instances
+   * @param buffer          the buffer to write to, with at least
+   *                        {@link #getEncodedSize(List)} bytes remaining
+   */
+  public void encode(List<? extends R> representations, ByteBuffer buffer) {
+    buffer.putInt(getVersion());
+    var size = representations.size();
+    var start = 0;
+    while (start < size) {
+      // find the run of representations sharing the shape of the first one
+      var first = representations.get(start);
+      var end = start + 1;
+      while ((end < size) && hasSameShape(first, representations.get(end))) {
+        end++;
+      }
+
+      buffer.putInt(end - start);
+      encodeShape(first, buffer);
+      for (var i = start; i < end; i++) {
+        encodeContent(representations.get(i), buffer);
+      }
+      start = end;
+    }
+    buffer.putInt(0);
+  }
+
+  /**
+   * Decodes a batch of {@code Representation} instances.
+   * 
+   * @param buffer          the buffer to read from
+   * @param representations the list to which the decoded {@code Representation} instances are
+   *                        added
+   * @throws IllegalArgumentException if the batch was written by a newer version of the codec
+   */
+  public void decode(ByteBuffer buffer, List<? super R> representations) {
+    var version = buffer.getInt();
+    if (version > getVersion()) {
+      throw new IllegalArgumentException(
+          "Unsupported version " + version + " of " + getClass().getName());
+    }
+    int count;
+    while ((count = buffer.getInt()) > 0) {
+      var shape = decodeShape(version, buffer);
+      for (var i = 0; i < count; i++) {
+        representations.add(decodeContent(version, shape, buffer));
+      }
+    }
+  }
+
+  /**
+   * Gets the registered codec handling the specified {@code Representation} class.
+   * 
+   * @param <R>                 the type of {@code Representation}
+   * @param representationClass the {@code Representation} class
+   * @return the codec, or {@code null} if none is registered
+   */
+  @SuppressWarnings("unchecked")
+  public static <R extends Representation> RepresentationCodec<R> forClass(
+      Class<R> representationClass) {
+    return (RepresentationCodec<R>) forName(representationClass.getName());
+  }
+
+  /**
+   * Gets the registered codec handling the {@code Representation} class of the specified name.
+   * 
+   * @param representationClassName the name of the {@code Representation} class
+   * @return the codec, or {@code null} if none is registered
+   */
+  public static RepresentationCodec<?> forName(String representationClassName) {
+    return Registry.CODECS.get(representationClassName);
+  }
+
+  /**
+   * Holder of the registered codecs, loaded on first use.
+   */
+  private static class Registry {
+
+    static final Map<String, RepresentationCodec<?>> CODECS = new HashMap<>();
+
+    static {
+      for (var codec : ServiceLoader.load(RepresentationCodec.class)) {
+        CODECS.putIfAbsent(codec.getRepresentationClass().getName(), codec);
+      }
+    }
+  }
+}
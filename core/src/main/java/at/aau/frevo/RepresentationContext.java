@@ -17,15 +17,30 @@
 
 package at.aau.frevo;
 
+import java.util.SplittableRandom;
+
 /**
  * The mutable state of a {@code Representation}. By creating separate {@code RepresentationContext}
  * instances, {@code Representation} instances may be used in multiple threads.
+ * <p>
+ * Implementations may support being reset and rebound to other {@code Representation} instances of
+ * the same shape, so that a single {@code RepresentationContext} can be reused for many evaluations
+ * without allocating new state. See {@link Representation#createContext(SplittableRandom,
+ * RepresentationContext)} and {@link Representation#createContext(ReseedableRandom,
+ * RepresentationContext)}.
+ * <p>
+ * Besides single steps, a {@code RepresentationContext} can calculate a sequence of steps in one
+ * call, see {@link #calculateSequence(float[], int, float[])} and
+ * {@link #calculateBatch(float[][], float[][])}. Implementations should override these methods if
+ * they can calculate sequences more efficiently than step by step.
  * 
  * @param <R> the type of {@code Representation} associated with this {@code RepresentationContext}
  */
 public abstract class RepresentationContext<R extends Representation> {
 
   protected R representation;
+  protected float[] sequenceInput;
+  protected float[] sequenceOutput;
 
   /**
    * Creates a new {@code RepresentationContext} instance associated with the given
@@ -47,6 +62,103 @@ public abstract class RepresentationContext<R extends Representation> {
    */
   public abstract void calculate(float[] input, float[] output);
 
+  /**
+   * Calculates the outputs of the {@link Representation} for a sequence of inputs, exactly like
+   * calling {@link #calculate(float[], float[])} for each step in order.
+   * <p>
+   * The inputs and outputs of all steps are stored one step after the other in a single array,
+   * using {@link Representation#getInputCount()} and {@link Representation#getOutputCount()} values
+   * per step. The default implementation copies each step in and out of buffers kept by the
+   * {@code RepresentationContext}.
+   * 
+   * @param inputs  the array of inputs of all steps
+   * @param steps   the number of steps to calculate
+   * @param outputs the array in which to store the outputs of all steps
+   */
+  public void calculateSequence(float[] inputs, int steps, float[] outputs) {
+    var inputCount = representation.getInputCount();
+    var outputCount = representation.getOutputCount();
+    if ((sequenceInput == null) || (sequenceInput.length != inputCount)) {
+      sequenceInput = new float[inputCount];
+    }
+    if ((sequenceOutput == null) || (sequenceOutput.length != outputCount)) {
+      sequenceOutput = new float[outputCount];
+    }
+
+    for (int i = 0; i < steps; i++) {
+      System.arraycopy(inputs, i * inputCount, sequenceInput, 0, inputCount);
+      calculate(sequenceInput, sequenceOutput);
+      System.arraycopy(sequenceOutput, 0, outputs, i * outputCount, outputCount);
+    }
+  }
+
+  /**
+   * Calculates the outputs of the {@link Representation} for several rows of input, exactly like
+   * calling {@link #calculate(float[], float[])} for each row in order.
+   * 
+   * @param inputs  the rows of input
+   * @param outputs the rows in which to store output, at least as many as rows of input
+   */
+  public void calculateBatch(float[][] inputs, float[][] outputs) {
+    for (int i = 0; i < inputs.length; i++) {
+      calculate(inputs[i], outputs[i]);
+    }
+  }
+
+  /**
+   * Resets the {@code RepresentationContext} so that it behaves like a newly created context of the
+   * associated {@code Representation}.
+   * 
+   * @param random the random number generator to use
+   * @return {@code true} if the {@code RepresentationContext} was reset, {@code false} if resetting
+   *         is not supported
+   */
+  public boolean reset(SplittableRandom random) {
+    return reset(representation, random);
+  }
+
+  /**
+   * Associates the {@code RepresentationContext} with the specified {@code Representation} and
+   * resets it, so that it behaves like a newly created context of that {@code Representation}.
+   * <p>
+   * The default implementation does not support resetting and returns {@code false}.
+   * 
+   * @param representation the {@code Representation} to associate
+   * @param random         the random number generator to use
+   * @return {@code true} if the {@code RepresentationContext} was reset, {@code false} if the
+   *         {@code Representation} is not compatible or resetting is not supported
+   */
+  public boolean reset(Representation representation, SplittableRandom random) {
+    return false;
+  }
+
+  /**
+   * Resets the {@code RepresentationContext} so that it behaves like a newly created context of the
+   * associated {@code Representation}, using a {@code ReseedableRandom}.
+   * 
+   * @param random the random number generator to use
+   * @return {@code true} if the {@code RepresentationContext} was reset, {@code false} if resetting
+   *         is not supported
+   */
+  public boolean reset(ReseedableRandom random) {
+    return reset(representation, random);
+  }
+
+  /**
+   * Associates the {@code RepresentationContext} with the specified {@code Representation} and
+   * resets it using a {@code ReseedableRandom}, which the caller may reseed and pass again.
+   * <p>
+   * The default implementation does not support resetting and returns {@code false}.
+   * 
+   * @param representation the {@code Representation} to associate
+   * @param random         the random number generator to use
+   * @return {@code true} if the {@code RepresentationContext} was reset, {@code false} if the
+   *         {@code Representation} is not compatible or resetting is not supported
+   */
+  public boolean reset(Representation representation, ReseedableRandom random) {
+    return false;
+  }
+
   /**
    * Gets the associated {@code Representation}.
    * 
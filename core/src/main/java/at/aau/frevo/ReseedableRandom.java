@@ -0,0 +1,212 @@
+/**
+ * File: ReseedableRandom.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random number generator producing the same values as {@link SplittableRandom}, which can be
+ * reseeded in place.
+ * <p>
+ * {@link #setSeed(long)} puts the generator into the state of {@code new SplittableRandom(seed)}
+ * and {@link #setSplit(ReseedableRandom)} into the state of the generator returned by
+ * {@code split()}. This allows a {@link Problem} to hand the same generators to its
+ * {@link RepresentationContext} in every evaluation instead of allocating new ones.
+ * <p>
+ * A generator can also draw its values from a {@code SplittableRandom}, see
+ * {@link #setRandom(SplittableRandom)}, so that contexts created with a {@code SplittableRandom}
+ * share the code of contexts created with a {@code ReseedableRandom}.
+ * <p>
+ * Like {@code SplittableRandom}, instances are not thread-safe.
+ */
+public class ReseedableRandom {
+
+  protected static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+  protected static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  protected long seed;
+  protected long gamma;
+  protected SplittableRandom random;
+
+  /**
+   * Creates a new {@code ReseedableRandom} instance in the state of
+   * {@code new SplittableRandom(seed)}.
+   * 
+   * @param seed the seed
+   */
+  public ReseedableRandom(long seed) {
+    setSeed(seed);
+  }
+
+  /**
+   * Creates a new {@code ReseedableRandom} instance drawing its values from the specified
+   * {@code SplittableRandom}.
+   * 
+   * @param random the {@code SplittableRandom}
+   */
+  public ReseedableRandom(SplittableRandom random) {
+    setRandom(random);
+  }
+
+  /**
+   * Puts the generator into the state of {@code new SplittableRandom(seed)}.
+   * 
+   * @param seed the seed
+   */
+  public void setSeed(long seed) {
+    this.seed = seed;
+    gamma = GOLDEN_GAMMA;
+    random = null;
+  }
+
+  /**
+   * Makes the generator draw all its values from the specified {@code SplittableRandom}, advancing
+   * it, until the generator is reseeded.
+   * 
+   * @param random the {@code SplittableRandom}
+   */
+  public void setRandom(SplittableRandom random) {
+    this.random = random;
+  }
+
+  /**
+   * Puts the generator into the state of the generator returned by {@code split()} of the
+   * specified generator. Like {@code split()}, this advances the specified generator, which may be
+   * this generator. If the specified generator draws from a {@code SplittableRandom}, this generator
+   * draws from a new {@code SplittableRandom} split from it.
+   * 
+   * @param source the generator to split from
+   */
+  public void setSplit(ReseedableRandom source) {
+    if (source.random != null) {
+      random = source.random.split();
+      return;
+    }
+    // the source may be this generator
+    var splitSeed = source.nextLong();
+    var splitGamma = mixGamma(source.nextSeed());
+    seed = splitSeed;
+    gamma = splitGamma;
+    random = null;
+  }
+
+  /**
+   * Creates a new generator like {@link SplittableRandom#split()}.
+   * 
+   * @return the new generator
+   */
+  public ReseedableRandom split() {
+    var random = new ReseedableRandom(0);
+    random.setSplit(this);
+    return random;
+  }
+
+  /**
+   * Returns a pseudorandom {@code long} value like {@link SplittableRandom#nextLong()}.
+   * 
+   * @return the value
+   */
+  public long nextLong() {
+    if (random != null) {
+      return random.nextLong();
+    }
+    return mix64(nextSeed());
+  }
+
+  /**
+   * Returns a pseudorandom {@code int} value like {@link SplittableRandom#nextInt()}.
+   * 
+   * @return the value
+   */
+  public int nextInt() {
+    if (random != null) {
+      return random.nextInt();
+    }
+    return mix32(nextSeed());
+  }
+
+  /**
+   * Returns a pseudorandom {@code boolean} value like {@link SplittableRandom#nextBoolean()}.
+   * 
+   * @return the value
+   */
+  public boolean nextBoolean() {
+    if (random != null) {
+      return random.nextBoolean();
+    }
+    return nextInt() < 0;
+  }
+
+  /**
+   * Returns a pseudorandom {@code double} value between {@code 0} (inclusive) and {@code 1}
+   * (exclusive) like {@link SplittableRandom#nextDouble()}.
+   * 
+   * @return the value
+   */
+  public double nextDouble() {
+    if (random != null) {
+      return random.nextDouble();
+    }
+    return (nextLong() >>> 11) * DOUBLE_UNIT;
+  }
+
+  /**
+   * Returns a pseudorandom {@code double} value between {@code origin} (inclusive) and
+   * {@code bound} (exclusive) like {@link SplittableRandom#nextDouble(double, double)}.
+   * 
+   * @param origin the least value
+   * @param bound  the upper bound, must be greater than {@code origin}
+   * @return the value
+   */
+  public double nextDouble(double origin, double bound) {
+    if (!(origin < bound)) {
+      throw new IllegalArgumentException("bound must be greater than origin");
+    }
+    if (random != null) {
+      return random.nextDouble(origin, bound);
+    }
+    var r = nextDouble() * (bound - origin) + origin;
+    if (r >= bound) {
+      r = Math.nextDown(bound);
+    }
+    return r;
+  }
+
+  protected long nextSeed() {
+    return seed += gamma;
+  }
+
+  protected static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  protected static int mix32(long z) {
+    z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+    return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+  }
+
+  protected static long mixGamma(long z) {
+    z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+    z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    z = (z ^ (z >>> 33)) | 1L;
+    var n = Long.bitCount(z ^ (z >>> 1));
+    return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+  }
+}
@@ -26,17 +26,50 @@ public class Result<R extends Representation> implements Comparable<Result<R>> {
 
   protected R representation;
   protected double fitness;
+  protected int variantCount;
+  protected long wallNanoTime;
+  protected long cpuNanoTime;
 
   /**
    * Creates a new {@code Result} instance with the specified {@code Representation} and fitness
-   * value.
+   * value, based on a single problem variant.
    * 
    * @param representation the {@code Representation}
    * @param fitness        the fitness value
    */
   public Result(R representation, double fitness) {
+    this(representation, fitness, 1);
+  }
+
+  /**
+   * Creates a new {@code Result} instance with the specified {@code Representation}, fitness value
+   * and number of problem variants the fitness value is based on.
+   * 
+   * @param representation the {@code Representation}
+   * @param fitness        the fitness value
+   * @param variantCount   the number of problem variants
+   */
+  public Result(R representation, double fitness, int variantCount) {
+    this(representation, fitness, variantCount, 0, 0);
+  }
+
+  /**
+   * Creates a new {@code Result} instance with the specified {@code Representation}, fitness value,
+   * number of problem variants and the time spent evaluating the {@code Representation}.
+   * 
+   * @param representation the {@code Representation}
+   * @param fitness        the fitness value
+   * @param variantCount   the number of problem variants
+   * @param wallNanoTime   the elapsed time spent on the evaluations in nanoseconds
+   * @param cpuNanoTime    the CPU time spent on the evaluations in nanoseconds
+   */
+  public Result(R representation, double fitness, int variantCount, long wallNanoTime,
+      long cpuNanoTime) {
     this.representation = representation;
     this.fitness = fitness;
+    this.variantCount = variantCount;
+    this.wallNanoTime = wallNanoTime;
+    this.cpuNanoTime = cpuNanoTime;
   }
 
   /**
@@ -57,6 +90,35 @@ public class Result<R extends Representation> implements Comparable<Result<R>> {
     return fitness;
   }
 
+  /**
+   * Gets the number of problem variants the fitness value is based on.
+   * 
+   * @return the variant count
+   */
+  public int getVariantCount() {
+    return variantCount;
+  }
+
+  /**
+   * Gets the elapsed time spent on the evaluations the fitness value is based on. Fitness values
+   * which were not measured, e.g. taken from a cache, do not contribute.
+   * 
+   * @return the wall time in nanoseconds
+   */
+  public long getWallNanoTime() {
+    return wallNanoTime;
+  }
+
+  /**
+   * Gets the CPU time spent on the evaluations the fitness value is based on. Fitness values which
+   * were not measured, e.g. taken from a cache, do not contribute.
+   * 
+   * @return the CPU time in nanoseconds
+   */
+  public long getCpuNanoTime() {
+    return cpuNanoTime;
+  }
+
   /**
    * Compares this object with another {@code Result} instance.
    * <p>
@@ -0,0 +1,115 @@
+/**
+ * File: ReseedableRandomTest.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ReseedableRandom}.
+ */
+class ReseedableRandomTest {
+
+  static final long[] SEEDS = {0, 1, -1, 42, Long.MIN_VALUE, Long.MAX_VALUE, 0x9e3779b97f4a7c15L};
+  static final int DRAW_COUNT = 100;
+
+  /**
+   * Asserts that both generators produce the same values, drawing each kind of value in turn.
+   * 
+   * @param expected the {@code SplittableRandom}
+   * @param actual   the {@code ReseedableRandom}
+   */
+  static void assertSameValues(SplittableRandom expected, ReseedableRandom actual) {
+    for (int i = 0; i < DRAW_COUNT; i++) {
+      assertEquals(expected.nextLong(), actual.nextLong());
+      assertEquals(expected.nextInt(), actual.nextInt());
+      assertEquals(expected.nextBoolean(), actual.nextBoolean());
+      assertEquals(expected.nextDouble(), actual.nextDouble());
+      assertEquals(expected.nextDouble(-0.5, 0.25), actual.nextDouble(-0.5, 0.25));
+    }
+  }
+
+  @Test
+  void seededGeneratorMatchesSplittableRandom() {
+    for (var seed : SEEDS) {
+      assertSameValues(new SplittableRandom(seed), new ReseedableRandom(seed));
+    }
+  }
+
+  @Test
+  void setSeedMatchesSplittableRandom() {
+    var random = new ReseedableRandom(7);
+    for (var seed : SEEDS) {
+      random.nextLong();
+      random.setSeed(seed);
+      assertSameValues(new SplittableRandom(seed), random);
+    }
+  }
+
+  @Test
+  void splitMatchesSplittableRandom() {
+    for (var seed : SEEDS) {
+      var expected = new SplittableRandom(seed);
+      var actual = new ReseedableRandom(seed);
+      expected.nextLong();
+      actual.nextLong();
+
+      // the children and the advanced parents both match
+      assertSameValues(expected.split(), actual.split());
+      assertSameValues(expected.split().split(), actual.split().split());
+      assertSameValues(expected, actual);
+    }
+  }
+
+  @Test
+  void setSplitMatchesSplittableRandom() {
+    var child = new ReseedableRandom(7);
+    for (var seed : SEEDS) {
+      var expected = new SplittableRandom(seed);
+      var actual = new ReseedableRandom(seed);
+      child.setSplit(actual);
+      assertSameValues(expected.split(), child);
+      assertSameValues(expected, actual);
+
+      // splitting in place replaces the generator by its child
+      actual.setSplit(actual);
+      assertSameValues(expected.split(), actual);
+    }
+  }
+
+  @Test
+  void wrappedSplittableRandomIsUsed() {
+    for (var seed : SEEDS) {
+      var random = new ReseedableRandom(new SplittableRandom(seed));
+      assertSameValues(new SplittableRandom(seed), random);
+
+      var expected = new SplittableRandom(seed);
+      random.setRandom(new SplittableRandom(seed));
+      assertSameValues(expected.split(), random.split());
+      var child = new ReseedableRandom(0);
+      child.setSplit(random);
+      assertSameValues(expected.split(), child);
+      assertSameValues(expected, random);
+
+      // reseeding stops drawing from the wrapped generator
+      random.setSeed(seed);
+      assertSameValues(new SplittableRandom(seed), random);
+    }
+  }
+}
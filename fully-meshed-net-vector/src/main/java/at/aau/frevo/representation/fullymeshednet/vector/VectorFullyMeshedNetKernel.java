@@ -0,0 +1,101 @@
+/**
+ * File: VectorFullyMeshedNetKernel.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.representation.fullymeshednet.vector;
+
+import at.aau.frevo.representation.fullymeshednet.ActivationFunction;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetKernel;
+import at.aau.frevo.representation.fullymeshednet.ScalarFullyMeshedNetKernel;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link FullyMeshedNetKernel} using the incubating Vector API with the preferred species of the
+ * platform.
+ * <p>
+ * Each row of weights is multiplied with the states lane by lane, using fused multiply-add, and
+ * the lanes are summed at the end of the row. The remainder of a row which does not fill a vector
+ * is calculated like in {@link ScalarFullyMeshedNetKernel}. The kernel is only available if the
+ * virtual machine is started with {@code --add-modules jdk.incubator.vector}.
+ */
+public class VectorFullyMeshedNetKernel extends ScalarFullyMeshedNetKernel {
+
+  protected static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+  @Override
+  public String getName() {
+    return "vector";
+  }
+
+  @Override
+  public void multiply(float[] weights, float[] state, float[] sums, int firstNode,
+      int nodeCount) {
+    var laneCount = SPECIES.length();
+    var upperBound = SPECIES.loopBound(nodeCount);
+    var offset = 0;
+    for (int i = firstNode; i < nodeCount; i++) {
+      var accumulator = FloatVector.zero(SPECIES);
+      int j = 0;
+      for (; j < upperBound; j += laneCount) {
+        var weightVector = FloatVector.fromArray(SPECIES, weights, offset + j);
+        var stateVector = FloatVector.fromArray(SPECIES, state, j);
+        accumulator = weightVector.fma(stateVector, accumulator);
+      }
+      float sum = accumulator.reduceLanes(VectorOperators.ADD);
+      for (; j < nodeCount; j++) {
+        sum += weights[offset + j] * state[j];
+      }
+      offset += nodeCount;
+      sums[i] = sum;
+    }
+  }
+
+  @Override
+  public void activate(ActivationFunction activationFunction, float[] sums, float[] state,
+      int firstNode, int nodeCount) {
+    var laneCount = SPECIES.length();
+    var upperBound = firstNode + SPECIES.loopBound(nodeCount - firstNode);
+    int i = firstNode;
+    switch (activationFunction) {
+      case SIGMOID:
+        var one = FloatVector.broadcast(SPECIES, 1.0f);
+        for (; i < upperBound; i += laneCount) {
+          var x = FloatVector.fromArray(SPECIES, sums, i);
+          one.div(x.neg().lanewise(VectorOperators.EXP).add(1.0f)).intoArray(state, i);
+        }
+        break;
+
+      case TANH:
+        for (; i < upperBound; i += laneCount) {
+          FloatVector.fromArray(SPECIES, sums, i).lanewise(VectorOperators.TANH).intoArray(state,
+              i);
+        }
+        break;
+
+      case RELU:
+      default:
+        for (; i < upperBound; i += laneCount) {
+          FloatVector.fromArray(SPECIES, sums, i).max(0.0f).min(1.0f).intoArray(state, i);
+        }
+        break;
+    }
+
+    // calculate the remainder
+    super.activate(activationFunction, sums, state, i, nodeCount);
+  }
+}
@@ -0,0 +1,84 @@
+/**
+ * File: VectorFullyMeshedNetKernelTest.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.representation.fullymeshednet.vector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import at.aau.frevo.ReseedableRandom;
+import at.aau.frevo.representation.fullymeshednet.ActivationFunction;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetBuilder;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetKernel;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetOpBuilder;
+import at.aau.frevo.representation.fullymeshednet.ScalarFullyMeshedNetKernel;
+
+/**
+ * Tests for {@link VectorFullyMeshedNetKernel}.
+ */
+class VectorFullyMeshedNetKernelTest {
+
+  static final int INPUT_COUNT = 16;
+  static final int OUTPUT_COUNT = 4;
+  static final int CALCULATION_COUNT = 3;
+  static final float TOLERANCE = 1e-3f;
+
+  // include counts which do not fill a vector, so that the scalar remainder is covered
+  static final int[] HIDDEN_NODE_COUNTS = {0, 1, 2, 7, 16, 37, 128, 1024};
+
+  @Test
+  void kernelIsAvailableByName() {
+    assertTrue(FullyMeshedNetKernel.forName("vector") instanceof VectorFullyMeshedNetKernel);
+  }
+
+  @Test
+  void calculateMatchesScalarKernel() {
+    var random = new SplittableRandom(2);
+    var input = new float[INPUT_COUNT];
+    var output = new float[OUTPUT_COUNT];
+    var scalarOutput = new float[OUTPUT_COUNT];
+
+    for (var activationFunction : ActivationFunction.values()) {
+      for (var hiddenNodeCount : HIDDEN_NODE_COUNTS) {
+        var representationBuilder = new FullyMeshedNetBuilder().setInputCount(INPUT_COUNT)
+            .setOutputCount(OUTPUT_COUNT).setHiddenNodeCount(hiddenNodeCount)
+            .setActivationFunction(activationFunction);
+        var net = new FullyMeshedNetOpBuilder()
+            .create(representationBuilder, new SplittableRandom(hiddenNodeCount)).operator0();
+
+        var context = net.createContext(new ReseedableRandom(3));
+        context.setKernel(new VectorFullyMeshedNetKernel());
+        var scalarContext = net.createContext(new ReseedableRandom(3));
+        scalarContext.setKernel(new ScalarFullyMeshedNetKernel());
+
+        // the state carries over between calculations, so compare several in a row
+        for (var k = 0; k < CALCULATION_COUNT; k++) {
+          for (var i = 0; i < INPUT_COUNT; i++) {
+            input[i] = (float) random.nextDouble(-1, 1);
+          }
+          context.calculate(input, output);
+          scalarContext.calculate(input, scalarOutput);
+          for (var i = 0; i < OUTPUT_COUNT; i++) {
+            assertEquals(scalarOutput[i], output[i], TOLERANCE, activationFunction + " with "
+                + hiddenNodeCount + " hidden nodes, calculation " + k + ", output " + i);
+          }
+        }
+      }
+    }
+  }
+}
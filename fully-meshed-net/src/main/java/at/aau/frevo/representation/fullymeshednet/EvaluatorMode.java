@@ -0,0 +1,47 @@
+/**
+ * File: EvaluatorMode.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.representation.fullymeshednet;
+
+/**
+ * The ways in which {@link FullyMeshedNetContext} calculates a {@link FullyMeshedNet}. The mode
+ * does not affect the outputs for finite inputs, only the cost of preparing and calculating a net.
+ */
+public enum EvaluatorMode {
+
+  /**
+   * The weights are multiplied row by row using the {@link FullyMeshedNetKernel} of the context.
+   * Nothing is prepared per net.
+   */
+  INTERPRETED,
+
+  /**
+   * A {@link SparseFullyMeshedNetEvaluator} is prepared per net, which skips zero weights and only
+   * draws random biases for the nodes which have them. Pays off for nets with many zero weights.
+   */
+  SPARSE,
+
+  /**
+   * A class specialized to the net is generated at runtime by {@link FullyMeshedNetCompiler}, with
+   * the weights and biases as constants, zero weights dropped, all loops unrolled and random biases
+   * only drawn for the nodes which have them. Nets too large to compile use {@link #SPARSE}.
+   * Generating the class takes far longer than an evaluation, so this mode pays off for long
+   * evaluations of a few small or sparse nets, e.g. validating or deploying the best candidate.
+   * Large dense nets run faster interpreted, as the unrolled code no longer fits the caches.
+   */
+  COMPILED
+}
@@ -17,8 +17,11 @@
 
 package at.aau.frevo.representation.fullymeshednet;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.SplittableRandom;
 import at.aau.frevo.Representation;
+import at.aau.frevo.ReseedableRandom;
 
 /**
  * Fully meshed neural network representation.
@@ -27,15 +30,29 @@ import at.aau.frevo.Representation;
  * <p>
  * All nodes are activated the specified number of iteration counts before the outputs are copied
  * out of the network.
+ * <p>
+ * The weights are stored in a single row-major array holding one row of {@code nodeCount} weights
+ * for each node which is not an input node, as input nodes are never calculated. The weight from
+ * node {@code j} to node {@code i} is stored at index {@code (i - inputCount) * nodeCount + j}.
+ * <p>
+ * The {@link EvaluatorMode} selects how the net is calculated. It is an execution setting, so it is
+ * neither part of the fingerprint nor compared. It is serialized and encoded by
+ * {@link FullyMeshedNetCodec}, so that executors running evaluations in other processes use the
+ * same mode. The {@link FullyMeshedNetEvaluator} of the mode is prepared on first use, after which
+ * the net must not be modified.
  */
 public class FullyMeshedNet extends Representation {
 
+  private static final long serialVersionUID = 1L;
+
   protected ActivationFunction activationFunction;
   protected int hiddenNodeCount;
   protected int iterationCount;
   protected int nodeCount;
+  protected EvaluatorMode evaluatorMode;
+  private transient volatile FullyMeshedNetEvaluator evaluator;
 
-  protected float[][] weights;
+  protected float[] weights;
   protected float[] biases;
   protected float[] randomBiases;
 
@@ -50,10 +67,11 @@ public class FullyMeshedNet extends Representation {
     activationFunction = builder.getActivationFunction();
     hiddenNodeCount = builder.getHiddenNodeCount();
     iterationCount = builder.getIterationCount();
+    evaluatorMode = builder.getEvaluatorMode();
 
     nodeCount = inputCount + outputCount + hiddenNodeCount;
 
-    weights = new float[nodeCount][nodeCount];
+    weights = new float[(nodeCount - inputCount) * nodeCount];
     biases = new float[nodeCount];
     randomBiases = new float[nodeCount];
   }
@@ -70,12 +88,9 @@ public class FullyMeshedNet extends Representation {
     hiddenNodeCount = source.hiddenNodeCount;
     iterationCount = source.iterationCount;
     nodeCount = source.nodeCount;
+    evaluatorMode = source.evaluatorMode;
 
-    weights = new float[nodeCount][];
-    for (var i = 0; i < nodeCount; i++) {
-      weights[i] = source.weights[i].clone();
-    }
-
+    weights = source.weights.clone();
     biases = source.biases.clone();
     randomBiases = source.randomBiases.clone();
   }
@@ -86,20 +101,36 @@ public class FullyMeshedNet extends Representation {
   }
 
   @Override
-  public String getHash() {
-    double sum = 0;
-    for (var weightRow : weights) {
-      for (float weight : weightRow) {
-        sum += weight;
-      }
-    }
-    for (float bias : biases) {
-      sum += bias;
+  public FullyMeshedNetContext createContext(ReseedableRandom random) {
+    return new FullyMeshedNetContext(this, random);
+  }
+
+  @Override
+  public FullyMeshedNetBatchContext createBatchContext(
+      List<? extends Representation> representations, SplittableRandom[] randoms) {
+    return createBatchContext(representations, FullyMeshedNetBatchContext.wrap(randoms));
+  }
+
+  @Override
+  public FullyMeshedNetBatchContext createBatchContext(
+      List<? extends Representation> representations, ReseedableRandom[] randoms) {
+    if (!FullyMeshedNetBatchContext.isCompatible(this, representations)) {
+      return null;
     }
-    for (float randomBias : randomBiases) {
-      sum += randomBias;
+    var nets = new ArrayList<FullyMeshedNet>(representations.size());
+    for (var representation : representations) {
+      nets.add((FullyMeshedNet) representation);
     }
-    return Integer.toHexString(Double.toString(sum).hashCode());
+    return new FullyMeshedNetBatchContext(nets, randoms);
+  }
+
+  @Override
+  protected long computeFingerprint() {
+    var fingerprint = mixFingerprint(activationFunction.ordinal(), hiddenNodeCount);
+    fingerprint = mixFingerprint(fingerprint, iterationCount);
+    fingerprint = mixFingerprint(fingerprint, weights);
+    fingerprint = mixFingerprint(fingerprint, biases);
+    return mixFingerprint(fingerprint, randomBiases);
   }
 
   @Override
@@ -134,6 +165,31 @@ public class FullyMeshedNet extends Representation {
     return iterationCount;
   }
 
+  /**
+   * Gets the evaluator mode.
+   * 
+   * @return the evaluator mode
+   */
+  public EvaluatorMode getEvaluatorMode() {
+    return evaluatorMode == null ? EvaluatorMode.INTERPRETED : evaluatorMode;
+  }
+
+  /**
+   * Gets the {@code FullyMeshedNetEvaluator} of the evaluator mode, preparing it on first use.
+   * 
+   * @return the evaluator, or {@code null} if the net is interpreted
+   */
+  public FullyMeshedNetEvaluator getEvaluator() {
+    if (getEvaluatorMode() == EvaluatorMode.INTERPRETED) {
+      return null;
+    }
+    // concurrent first uses may each prepare an evaluator, which are equivalent
+    if (evaluator == null) {
+      evaluator = FullyMeshedNetEvaluator.create(this);
+    }
+    return evaluator;
+  }
+
   /**
    * Gets the node count.
    * 
@@ -144,14 +200,25 @@ public class FullyMeshedNet extends Representation {
   }
 
   /**
-   * Gets the weights.
+   * Gets the weights as a single row-major array, holding one row of {@code nodeCount} weights for
+   * each node which is not an input node.
    * 
    * @return the weights
    */
-  public float[][] getWeights() {
+  public float[] getWeights() {
     return weights;
   }
 
+  /**
+   * Gets the index of the first weight of a node in the array returned by {@link #getWeights()}.
+   * 
+   * @param node the index of the node, not an input node
+   * @return the index of the weight from node {@code 0} to {@code node}
+   */
+  public int getWeightOffset(int node) {
+    return (node - inputCount) * nodeCount;
+  }
+
   /**
    * Gets the biases.
    * 
@@ -192,11 +259,9 @@ public class FullyMeshedNet extends Representation {
     }
 
     // compare weights
-    for (int i = 0; i < nodeCount; i++) {
-      for (int j = 0; j < nodeCount; j++) {
-        if (weights[i][j] != otherNet.weights[i][j]) {
-          return (weights[i][j] < otherNet.weights[i][j]) ? -1 : 1;
-        }
+    for (int i = 0; i < weights.length; i++) {
+      if (weights[i] != otherNet.weights[i]) {
+        return (weights[i] < otherNet.weights[i]) ? -1 : 1;
       }
     }
 
@@ -0,0 +1,206 @@
+/**
+ * File: FullyMeshedNetBatchContext.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.representation.fullymeshednet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import at.aau.frevo.Representation;
+import at.aau.frevo.RepresentationBatchContext;
+import at.aau.frevo.ReseedableRandom;
+
+/**
+ * Batch context for {@link FullyMeshedNet} instances with identical builder parameters, that is,
+ * with the same activation function, input, output and hidden node counts and iteration count.
+ * <p>
+ * Each net is calculated with the same {@link FullyMeshedNetKernel} and in the same order as in a
+ * {@link FullyMeshedNetContext}, so the outputs are identical. The nets are calculated one after
+ * the other for all iterations, keeping the weights of a net in cache while it is calculated. Nets
+ * whose {@link EvaluatorMode} provides a {@link FullyMeshedNetEvaluator} are calculated by it.
+ * <p>
+ * The context can be reset to any batch of compatible nets which is not larger than the batch it
+ * was created for, in which case the existing state is reused. {@code SplittableRandom} instances
+ * passed to the context are wrapped like in {@link FullyMeshedNetContext}.
+ */
+public class FullyMeshedNetBatchContext extends RepresentationBatchContext<FullyMeshedNet> {
+
+  protected FullyMeshedNet shape;
+  protected ReseedableRandom[] randoms;
+  protected FullyMeshedNetKernel kernel;
+
+  protected float[][] states;
+  protected float[][] sums;
+
+  /**
+   * Creates a new {@code FullyMeshedNetBatchContext} instance associated with the given
+   * {@code FullyMeshedNet} instances, which must be compatible.
+   * 
+   * @param representations the associated {@code FullyMeshedNet} instances
+   * @param randoms         the random number generators to use, one for each
+   *                        {@code FullyMeshedNet}, further generators are ignored
+   * @see #isCompatible(FullyMeshedNet, List)
+   */
+  public FullyMeshedNetBatchContext(List<FullyMeshedNet> representations,
+      ReseedableRandom[] randoms) {
+    super(new ArrayList<>(representations));
+    shape = representations.get(0);
+    this.randoms = randoms.clone();
+    kernel = FullyMeshedNetKernel.getDefault();
+
+    var batchSize = representations.size();
+    states = new float[batchSize][shape.nodeCount];
+    sums = new float[batchSize][shape.nodeCount];
+  }
+
+  /**
+   * Wraps {@code SplittableRandom} instances in {@code ReseedableRandom} instances drawing from
+   * them.
+   * 
+   * @param randoms the {@code SplittableRandom} instances
+   * @return the {@code ReseedableRandom} instances in the same order
+   */
+  public static ReseedableRandom[] wrap(SplittableRandom[] randoms) {
+    var wrapped = new ReseedableRandom[randoms.length];
+    for (int i = 0; i < randoms.length; i++) {
+      wrapped[i] = new ReseedableRandom(randoms[i]);
+    }
+    return wrapped;
+  }
+
+  /**
+   * Checks whether a batch of {@code Representation} instances can be calculated together with the
+   * specified {@code FullyMeshedNet}.
+   * 
+   * @param shape           the {@code FullyMeshedNet} defining the shape of the batch
+   * @param representations the {@code Representation} instances of the batch
+   * @return {@code true} if all {@code Representation} instances are {@code FullyMeshedNet}
+   *         instances with the same builder parameters as {@code shape}
+   */
+  public static boolean isCompatible(FullyMeshedNet shape,
+      List<? extends Representation> representations) {
+    if (representations.isEmpty()) {
+      return false;
+    }
+    for (var representation : representations) {
+      if (!(representation instanceof FullyMeshedNet)) {
+        return false;
+      }
+      var net = (FullyMeshedNet) representation;
+      if ((net.activationFunction != shape.activationFunction)
+          || (net.getInputCount() != shape.getInputCount())
+          || (net.getOutputCount() != shape.getOutputCount())
+          || (net.hiddenNodeCount != shape.hiddenNodeCount)
+          || (net.iterationCount != shape.iterationCount)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean reset(List<? extends Representation> representations,
+      SplittableRandom[] randoms) {
+    return reset(representations, wrap(randoms));
+  }
+
+  @Override
+  public boolean reset(List<? extends Representation> representations,
+      ReseedableRandom[] randoms) {
+    if ((representations.size() > states.length) || !isCompatible(shape, representations)) {
+      return false;
+    }
+
+    this.representations.clear();
+    for (var representation : representations) {
+      this.representations.add((FullyMeshedNet) representation);
+    }
+    System.arraycopy(randoms, 0, this.randoms, 0, representations.size());
+    for (var state : states) {
+      Arrays.fill(state, 0);
+    }
+    return true;
+  }
+
+  @Override
+  public void calculate(float[] input, float[][] outputs) {
+    var activationFunction = shape.activationFunction;
+    var iterationCount = shape.iterationCount;
+    var inputSize = shape.getInputCount();
+    var outputSize = shape.getOutputCount();
+    var nodeCount = shape.nodeCount;
+    var outputOffset = inputSize + shape.hiddenNodeCount;
+
+    var batchSize = representations.size();
+    for (int b = 0; b < batchSize; b++) {
+      var net = representations.get(b);
+      var weights = net.weights;
+      var biases = net.biases;
+      var randomBiases = net.randomBiases;
+      var evaluator = net.getEvaluator();
+      var random = randoms[b];
+      var state = states[b];
+      var sum = sums[b];
+
+      // copy in input
+      System.arraycopy(input, 0, state, 0, inputSize);
+
+      for (int k = 0; k < iterationCount; k++) {
+        if (evaluator != null) {
+          evaluator.iterate(state, sum, random);
+          continue;
+        }
+
+        // calculate sums
+        kernel.multiply(weights, state, sum, inputSize, nodeCount);
+        for (int i = inputSize; i < nodeCount; i++) {
+          sum[i] += biases[i];
+
+          var randomBias = randomBiases[i];
+          if (randomBias > 0) {
+            sum[i] += random.nextDouble(-randomBias, randomBias);
+          }
+        }
+
+        // activate
+        kernel.activate(activationFunction, sum, state, inputSize, nodeCount);
+      }
+
+      // copy out output
+      System.arraycopy(state, outputOffset, outputs[b], 0, outputSize);
+    }
+  }
+
+  /**
+   * Gets the {@code FullyMeshedNetKernel} used for calculation.
+   * 
+   * @return the {@code FullyMeshedNetKernel}
+   */
+  public FullyMeshedNetKernel getKernel() {
+    return kernel;
+  }
+
+  /**
+   * Sets the {@code FullyMeshedNetKernel} used for calculation.
+   * 
+   * @param kernel the {@code FullyMeshedNetKernel}
+   */
+  public void setKernel(FullyMeshedNetKernel kernel) {
+    this.kernel = kernel;
+  }
+}
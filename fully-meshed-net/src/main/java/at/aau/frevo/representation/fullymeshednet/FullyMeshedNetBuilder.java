@@ -28,6 +28,7 @@ public class FullyMeshedNetBuilder extends RepresentationBuilder<FullyMeshedNet>
   protected ActivationFunction activationFunction;
   protected int hiddenNodeCount;
   protected int iterationCount;
+  protected EvaluatorMode evaluatorMode;
 
   /**
    * Constructs a new {@code FullyMeshedNetBuilder} instance with default properties.
@@ -36,6 +37,7 @@ public class FullyMeshedNetBuilder extends RepresentationBuilder<FullyMeshedNet>
     activationFunction = ActivationFunction.RELU;
     hiddenNodeCount = 2;
     iterationCount = 2;
+    evaluatorMode = EvaluatorMode.INTERPRETED;
   }
 
   /**
@@ -49,6 +51,7 @@ public class FullyMeshedNetBuilder extends RepresentationBuilder<FullyMeshedNet>
     activationFunction = source.activationFunction;
     hiddenNodeCount = source.hiddenNodeCount;
     iterationCount = source.iterationCount;
+    evaluatorMode = source.evaluatorMode;
   }
 
   @Override
@@ -141,4 +144,25 @@ public class FullyMeshedNetBuilder extends RepresentationBuilder<FullyMeshedNet>
     this.iterationCount = iterationCount;
     return this;
   }
+
+  /**
+   * Gets the evaluator mode.
+   * 
+   * @return the evaluator mode
+   */
+  public EvaluatorMode getEvaluatorMode() {
+    return evaluatorMode;
+  }
+
+  /**
+   * Sets the evaluator mode, which selects how the created nets are calculated. The mode is not
+   * part of the content of a net.
+   * 
+   * @param evaluatorMode the evaluator mode
+   * @return this {@code FullyMeshedNetBuilder} instance
+   */
+  public FullyMeshedNetBuilder setEvaluatorMode(EvaluatorMode evaluatorMode) {
+    this.evaluatorMode = evaluatorMode;
+    return this;
+  }
 }
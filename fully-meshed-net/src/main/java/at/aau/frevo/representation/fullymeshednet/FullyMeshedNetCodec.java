@@ -0,0 +1,135 @@
+/**
+ * File: FullyMeshedNetCodec.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.representation.fullymeshednet;
+
+import java.nio.ByteBuffer;
+import at.aau.frevo.RepresentationBuilder;
+import at.aau.frevo.RepresentationCodec;
+
+/**
+ * Codec for {@link FullyMeshedNet} instances.
+ * <p>
+ * The shape consists of the input, output, hidden node and iteration counts and the ordinals of the
+ * activation function and the evaluator mode. The content consists of the weights of the nodes
+ * which are not input nodes, row by row, followed by the biases and the random biases. Version 1
+ * also included the unused weight rows of the input nodes, which are skipped when reading.
+ * Versions 1 and 2 did not include the evaluator mode, so such nets are decoded as
+ * {@link EvaluatorMode#INTERPRETED}.
+ */
+public class FullyMeshedNetCodec extends RepresentationCodec<FullyMeshedNet> {
+
+  protected static final int VERSION = 3;
+
+  @Override
+  public Class<FullyMeshedNet> getRepresentationClass() {
+    return FullyMeshedNet.class;
+  }
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  @Override
+  public boolean hasSameShape(FullyMeshedNet net, FullyMeshedNet other) {
+    return (net.getInputCount() == other.getInputCount())
+        && (net.getOutputCount() == other.getOutputCount())
+        && (net.getHiddenNodeCount() == other.getHiddenNodeCount())
+        && (net.getIterationCount() == other.getIterationCount())
+        && (net.getActivationFunction() == other.getActivationFunction())
+        && (net.getEvaluatorMode() == other.getEvaluatorMode());
+  }
+
+  @Override
+  public int getShapeSize(FullyMeshedNet net) {
+    return 6 * Integer.BYTES;
+  }
+
+  @Override
+  public void encodeShape(FullyMeshedNet net, ByteBuffer buffer) {
+    buffer.putInt(net.getInputCount());
+    buffer.putInt(net.getOutputCount());
+    buffer.putInt(net.getHiddenNodeCount());
+    buffer.putInt(net.getIterationCount());
+    buffer.putInt(net.getActivationFunction().ordinal());
+    buffer.putInt(net.getEvaluatorMode().ordinal());
+  }
+
+  @Override
+  public RepresentationBuilder<FullyMeshedNet> decodeShape(int version, ByteBuffer buffer) {
+    var builder = new FullyMeshedNetBuilder();
+    builder.setInputCount(buffer.getInt());
+    builder.setOutputCount(buffer.getInt());
+    builder.setHiddenNodeCount(buffer.getInt());
+    builder.setIterationCount(buffer.getInt());
+    builder.setActivationFunction(ActivationFunction.values()[buffer.getInt()]);
+    if (version >= 3) {
+      builder.setEvaluatorMode(EvaluatorMode.values()[buffer.getInt()]);
+    }
+    return builder;
+  }
+
+  @Override
+  public int getContentSize(FullyMeshedNet net) {
+    return (net.getWeights().length + 2 * net.getNodeCount()) * Float.BYTES;
+  }
+
+  @Override
+  public void encodeContent(FullyMeshedNet net, ByteBuffer buffer) {
+    putFloats(net.getWeights(), buffer);
+    putFloats(net.getBiases(), buffer);
+    putFloats(net.getRandomBiases(), buffer);
+  }
+
+  @Override
+  public FullyMeshedNet decodeContent(int version, RepresentationBuilder<FullyMeshedNet> shape,
+      ByteBuffer buffer) {
+    var net = shape.create();
+    if (version == 1) {
+      buffer.position(buffer.position() + net.getInputCount() * net.getNodeCount() * Float.BYTES);
+    }
+    getFloats(net.getWeights(), buffer);
+    getFloats(net.getBiases(), buffer);
+    getFloats(net.getRandomBiases(), buffer);
+    return net;
+  }
+
+  /**
+   * Writes an array of values to a buffer.
+   * 
+   * @param values the values
+   * @param buffer the buffer to write to
+   */
+  protected static void putFloats(float[] values, ByteBuffer buffer) {
+    for (var value : values) {
+      buffer.putFloat(value);
+    }
+  }
+
+  /**
+   * Reads an array of values from a buffer.
+   * 
+   * @param values the array to fill
+   * @param buffer the buffer to read from
+   */
+  protected static void getFloats(float[] values, ByteBuffer buffer) {
+    for (var i = 0; i < values.length; i++) {
+      values[i] = buffer.getFloat();
+    }
+  }
+}
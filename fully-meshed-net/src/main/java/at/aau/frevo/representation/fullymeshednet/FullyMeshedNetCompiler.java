@@ -0,0 +1,502 @@
+/**
+ * File: FullyMeshedNetCompiler.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.representation.fullymeshednet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import at.aau.frevo.ReseedableRandom;
+
+/**
+ * Generates a {@link FullyMeshedNetEvaluator} class specialized to a single {@link FullyMeshedNet}.
+ * <p>
+ * The generated code has no loops and no branches: the sum of every node is written out term by
+ * term with the weights and biases as constants, zero weights are dropped, random biases are only
+ * drawn for the nodes which have them and the activation function is called directly. The code is
+ * split into methods small enough to be compiled by the JIT compiler.
+ * <p>
+ * Each class is defined by its own class loader, so that it can be unloaded together with the
+ * evaluator once the net is no longer used.
+ */
+public class FullyMeshedNetCompiler {
+
+  /**
+   * The maximum number of non-zero weights of a net which is compiled.
+   */
+  public static final int MAXIMUM_WEIGHT_COUNT = 16384;
+
+  /**
+   * The maximum node count of a net which is compiled.
+   */
+  public static final int MAXIMUM_NODE_COUNT = 4096;
+
+  protected static final String PACKAGE_NAME =
+      FullyMeshedNetCompiler.class.getPackage().getName().replace('.', '/');
+  protected static final String CLASS_NAME_PREFIX = PACKAGE_NAME + "/CompiledEvaluator";
+  protected static final String SUPER_CLASS_NAME =
+      FullyMeshedNetEvaluator.class.getName().replace('.', '/');
+  protected static final String KERNEL_CLASS_NAME =
+      ScalarFullyMeshedNetKernel.class.getName().replace('.', '/');
+  protected static final String RANDOM_CLASS_NAME =
+      ReseedableRandom.class.getName().replace('.', '/');
+  protected static final String ITERATE_DESCRIPTOR =
+      "([F[FL" + RANDOM_CLASS_NAME + ";)V";
+
+  // keep methods below the size the JIT compiler refuses to compile
+  protected static final int MAXIMUM_METHOD_SIZE = 7000;
+  protected static final int MAXIMUM_TERM_COUNT = 512;
+  protected static final int MAXIMUM_STACK_SIZE = 10;
+
+  protected static final int ACC_PUBLIC = 0x0001;
+  protected static final int ACC_PRIVATE = 0x0002;
+  protected static final int ACC_STATIC = 0x0008;
+  protected static final int ACC_FINAL = 0x0010;
+  protected static final int ACC_SUPER = 0x0020;
+
+  protected static final int ICONST_0 = 0x03;
+  protected static final int FCONST_0 = 0x0b;
+  protected static final int BIPUSH = 0x10;
+  protected static final int SIPUSH = 0x11;
+  protected static final int LDC = 0x12;
+  protected static final int LDC_W = 0x13;
+  protected static final int LDC2_W = 0x14;
+  protected static final int ALOAD_0 = 0x2a;
+  protected static final int ALOAD_1 = 0x2b;
+  protected static final int ALOAD_2 = 0x2c;
+  protected static final int ALOAD_3 = 0x2d;
+  protected static final int FALOAD = 0x30;
+  protected static final int FASTORE = 0x51;
+  protected static final int DUP2 = 0x5c;
+  protected static final int FADD = 0x62;
+  protected static final int DADD = 0x63;
+  protected static final int FMUL = 0x6a;
+  protected static final int F2D = 0x8d;
+  protected static final int D2F = 0x90;
+  protected static final int RETURN = 0xb1;
+  protected static final int INVOKEVIRTUAL = 0xb6;
+  protected static final int INVOKESPECIAL = 0xb7;
+  protected static final int INVOKESTATIC = 0xb8;
+
+  protected static final AtomicLong CLASS_COUNTER = new AtomicLong();
+
+  protected FullyMeshedNet net;
+  protected String className;
+  protected ConstantPool constantPool = new ConstantPool();
+
+  /**
+   * Creates a new {@code FullyMeshedNetCompiler} instance for the specified
+   * {@code FullyMeshedNet}.
+   * 
+   * @param net the {@code FullyMeshedNet} to compile
+   */
+  protected FullyMeshedNetCompiler(FullyMeshedNet net) {
+    this.net = net;
+    className = CLASS_NAME_PREFIX + CLASS_COUNTER.incrementAndGet();
+  }
+
+  /**
+   * Compiles a {@code FullyMeshedNet} into a specialized {@code FullyMeshedNetEvaluator}.
+   * 
+   * @param net the {@code FullyMeshedNet} to compile
+   * @return the evaluator, or {@code null} if the net has more than {@link #MAXIMUM_NODE_COUNT}
+   *         nodes or more than {@link #MAXIMUM_WEIGHT_COUNT} non-zero weights
+   */
+  public static FullyMeshedNetEvaluator compile(FullyMeshedNet net) {
+    if (net.getNodeCount() > MAXIMUM_NODE_COUNT) {
+      return null;
+    }
+    var weightCount = 0;
+    for (var weight : net.getWeights()) {
+      if (weight != 0) {
+        weightCount++;
+      }
+    }
+    if (weightCount > MAXIMUM_WEIGHT_COUNT) {
+      return null;
+    }
+
+    var compiler = new FullyMeshedNetCompiler(net);
+    var classBytes = compiler.generate();
+    try {
+      return (FullyMeshedNetEvaluator) new EvaluatorClassLoader()
+          .define(compiler.className.replace('/', '.'), classBytes).getConstructor()
+          .newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Cannot instantiate compiled evaluator", e);
+    }
+  }
+
+  /**
+   * Generates the class file of the evaluator.
+   * 
+   * @return the class file
+   */
+  protected byte[] generate() {
+    // generate the statements and pack them into methods
+    var parts = new ArrayList<ByteArrayOutputStream>();
+    var part = new ByteArrayOutputStream();
+    for (var statement : generateStatements()) {
+      if ((part.size() > 0) && (part.size() + statement.length >= MAXIMUM_METHOD_SIZE)) {
+        part.write(RETURN);
+        parts.add(part);
+        part = new ByteArrayOutputStream();
+      }
+      part.write(statement, 0, statement.length);
+    }
+    part.write(RETURN);
+    parts.add(part);
+
+    // iterate calls the parts in order
+    var iterate = new ByteArrayOutputStream();
+    for (int i = 0; i < parts.size(); i++) {
+      iterate.write(ALOAD_1);
+      iterate.write(ALOAD_2);
+      iterate.write(ALOAD_3);
+      writeInstruction(iterate, INVOKESTATIC,
+          constantPool.methodRef(className, "part" + i, ITERATE_DESCRIPTOR));
+    }
+    iterate.write(RETURN);
+
+    var constructor = new ByteArrayOutputStream();
+    constructor.write(ALOAD_0);
+    writeInstruction(constructor, INVOKESPECIAL,
+        constantPool.methodRef(SUPER_CLASS_NAME, "<init>", "()V"));
+    constructor.write(RETURN);
+
+    // register all remaining constants before writing the pool
+    var thisClass = constantPool.classRef(className);
+    var superClass = constantPool.classRef(SUPER_CLASS_NAME);
+    var code = constantPool.utf8("Code");
+    var constructorName = constantPool.utf8("<init>");
+    var constructorDescriptor = constantPool.utf8("()V");
+    var iterateName = constantPool.utf8("iterate");
+    var iterateDescriptor = constantPool.utf8(ITERATE_DESCRIPTOR);
+    var partNames = new int[parts.size()];
+    for (int i = 0; i < parts.size(); i++) {
+      partNames[i] = constantPool.utf8("part" + i);
+    }
+
+    try {
+      var bytes = new ByteArrayOutputStream();
+      var out = new DataOutputStream(bytes);
+      out.writeInt(0xcafebabe);
+      out.writeShort(0);
+      out.writeShort(52);
+      constantPool.write(out);
+      out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+      out.writeShort(thisClass);
+      out.writeShort(superClass);
+      out.writeShort(0);
+      out.writeShort(0);
+
+      out.writeShort(2 + parts.size());
+      writeMethod(out, ACC_PUBLIC, constructorName, constructorDescriptor, code, 1, 1,
+          constructor);
+      writeMethod(out, ACC_PUBLIC | ACC_FINAL, iterateName, iterateDescriptor, code, 3, 4,
+          iterate);
+      for (int i = 0; i < parts.size(); i++) {
+        writeMethod(out, ACC_PRIVATE | ACC_STATIC, partNames[i], iterateDescriptor, code,
+            MAXIMUM_STACK_SIZE, 3, parts.get(i));
+      }
+
+      out.writeShort(0);
+      out.flush();
+      return bytes.toByteArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Generates the statements of one iteration, in the order of the interpreter loop. In the static
+   * part methods, local 0 holds the states, local 1 the sums and local 2 the random number
+   * generator.
+   * 
+   * @return the bytecode of the statements
+   */
+  protected ArrayList<byte[]> generateStatements() {
+    var statements = new ArrayList<byte[]>();
+    var firstNode = net.getInputCount();
+    var nodeCount = net.getNodeCount();
+    var weights = net.getWeights();
+    var biases = net.getBiases();
+    var randomBiases = net.getRandomBiases();
+
+    for (int i = firstNode; i < nodeCount; i++) {
+      var offset = net.getWeightOffset(i);
+
+      // sums[i] = 0 + w * state[j] + ... + bias, split into statements of limited size
+      var statement = new ByteArrayOutputStream();
+      statement.write(ALOAD_1);
+      writeInt(statement, i);
+      statement.write(FCONST_0);
+      var termCount = 0;
+      for (int j = 0; j < nodeCount; j++) {
+        var weight = weights[offset + j];
+        if (weight == 0) {
+          continue;
+        }
+        if (termCount == MAXIMUM_TERM_COUNT) {
+          // store the partial sum and continue from it
+          statement.write(FASTORE);
+          statements.add(statement.toByteArray());
+          statement = new ByteArrayOutputStream();
+          statement.write(ALOAD_1);
+          writeInt(statement, i);
+          statement.write(DUP2);
+          statement.write(FALOAD);
+          termCount = 0;
+        }
+        statement.write(ALOAD_0);
+        writeInt(statement, j);
+        statement.write(FALOAD);
+        writeFloat(statement, weight);
+        statement.write(FMUL);
+        statement.write(FADD);
+        termCount++;
+      }
+      writeFloat(statement, biases[i]);
+      statement.write(FADD);
+      statement.write(FASTORE);
+      statements.add(statement.toByteArray());
+
+      // sums[i] += random.nextDouble(-randomBias, randomBias)
+      var randomBias = randomBiases[i];
+      if (randomBias > 0) {
+        statement = new ByteArrayOutputStream();
+        statement.write(ALOAD_1);
+        writeInt(statement, i);
+        statement.write(DUP2);
+        statement.write(FALOAD);
+        statement.write(F2D);
+        statement.write(ALOAD_2);
+        writeInstruction(statement, LDC2_W, constantPool.doubleConstant(-randomBias));
+        writeInstruction(statement, LDC2_W, constantPool.doubleConstant(randomBias));
+        writeInstruction(statement, INVOKEVIRTUAL,
+            constantPool.methodRef(RANDOM_CLASS_NAME, "nextDouble", "(DD)D"));
+        statement.write(DADD);
+        statement.write(D2F);
+        statement.write(FASTORE);
+        statements.add(statement.toByteArray());
+      }
+    }
+
+    // state[i] = activation(sums[i])
+    var activation = constantPool.methodRef(KERNEL_CLASS_NAME,
+        net.getActivationFunction().name().toLowerCase(), "(F)F");
+    for (int i = firstNode; i < nodeCount; i++) {
+      var statement = new ByteArrayOutputStream();
+      statement.write(ALOAD_0);
+      writeInt(statement, i);
+      statement.write(ALOAD_1);
+      writeInt(statement, i);
+      statement.write(FALOAD);
+      writeInstruction(statement, INVOKESTATIC, activation);
+      statement.write(FASTORE);
+      statements.add(statement.toByteArray());
+    }
+    return statements;
+  }
+
+  /**
+   * Writes an instruction with a two byte operand.
+   * 
+   * @param code    the code to write to
+   * @param opcode  the opcode
+   * @param operand the operand
+   */
+  protected static void writeInstruction(ByteArrayOutputStream code, int opcode, int operand) {
+    code.write(opcode);
+    code.write(operand >>> 8);
+    code.write(operand);
+  }
+
+  /**
+   * Writes an instruction pushing an {@code int} constant, which must fit into a {@code short}.
+   * 
+   * @param code  the code to write to
+   * @param value the value
+   */
+  protected static void writeInt(ByteArrayOutputStream code, int value) {
+    if ((value >= -1) && (value <= 5)) {
+      code.write(ICONST_0 + value);
+    } else if ((value >= Byte.MIN_VALUE) && (value <= Byte.MAX_VALUE)) {
+      code.write(BIPUSH);
+      code.write(value);
+    } else {
+      writeInstruction(code, SIPUSH, value);
+    }
+  }
+
+  /**
+   * Writes an instruction pushing a {@code float} constant.
+   * 
+   * @param code  the code to write to
+   * @param value the value
+   */
+  protected void writeFloat(ByteArrayOutputStream code, float value) {
+    var index = constantPool.floatConstant(value);
+    if (index <= 0xff) {
+      code.write(LDC);
+      code.write(index);
+    } else {
+      writeInstruction(code, LDC_W, index);
+    }
+  }
+
+  /**
+   * Writes a method with a {@code Code} attribute.
+   * 
+   * @param out         the stream to write to
+   * @param access      the access flags
+   * @param name        the constant pool index of the name
+   * @param descriptor  the constant pool index of the descriptor
+   * @param codeName    the constant pool index of {@code "Code"}
+   * @param maxStack    the maximum stack size
+   * @param maxLocals   the number of local variables
+   * @param code        the bytecode
+   * @throws IOException if writing fails
+   */
+  protected static void writeMethod(DataOutputStream out, int access, int name, int descriptor,
+      int codeName, int maxStack, int maxLocals, ByteArrayOutputStream code) throws IOException {
+    out.writeShort(access);
+    out.writeShort(name);
+    out.writeShort(descriptor);
+    out.writeShort(1);
+    out.writeShort(codeName);
+    out.writeInt(12 + code.size());
+    out.writeShort(maxStack);
+    out.writeShort(maxLocals);
+    out.writeInt(code.size());
+    code.writeTo(out);
+    out.writeShort(0);
+    out.writeShort(0);
+  }
+
+  /**
+   * Constant pool of the generated class, reusing identical entries.
+   */
+  protected static class ConstantPool {
+
+    protected static final int CONSTANT_UTF8 = 1;
+    protected static final int CONSTANT_FLOAT = 4;
+    protected static final int CONSTANT_DOUBLE = 6;
+    protected static final int CONSTANT_CLASS = 7;
+    protected static final int CONSTANT_METHODREF = 10;
+    protected static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    protected ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    protected DataOutputStream out = new DataOutputStream(bytes);
+    protected HashMap<Object, Integer> indices = new HashMap<>();
+    protected int count = 1;
+
+    /**
+     * Adds an entry unless an identical entry exists.
+     * 
+     * @param key    the key identifying the entry
+     * @param tag    the tag of the entry
+     * @param slots  the number of slots taken by the entry
+     * @param writer writes the content of the entry
+     * @return the index of the entry
+     */
+    protected int add(Object key, int tag, int slots, EntryWriter writer) {
+      var index = indices.get(key);
+      if (index != null) {
+        return index;
+      }
+      if (count + slots > 0xffff) {
+        throw new IllegalStateException("Constant pool too large");
+      }
+      try {
+        out.writeByte(tag);
+        writer.write(out);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      index = count;
+      count += slots;
+      indices.put(key, index);
+      return index;
+    }
+
+    int utf8(String value) {
+      return add("U" + value, CONSTANT_UTF8, 1, o -> o.writeUTF(value));
+    }
+
+    int classRef(String name) {
+      var nameIndex = utf8(name);
+      return add("C" + name, CONSTANT_CLASS, 1, o -> o.writeShort(nameIndex));
+    }
+
+    int methodRef(String owner, String name, String descriptor) {
+      var classIndex = classRef(owner);
+      var nameIndex = utf8(name);
+      var descriptorIndex = utf8(descriptor);
+      var nameAndTypeIndex =
+          add("N" + name + " " + descriptor, CONSTANT_NAME_AND_TYPE, 1, o -> {
+            o.writeShort(nameIndex);
+            o.writeShort(descriptorIndex);
+          });
+      return add("M" + owner + " " + name + " " + descriptor, CONSTANT_METHODREF, 1, o -> {
+        o.writeShort(classIndex);
+        o.writeShort(nameAndTypeIndex);
+      });
+    }
+
+    int floatConstant(float value) {
+      var bits = Float.floatToRawIntBits(value);
+      return add(bits, CONSTANT_FLOAT, 1, o -> o.writeInt(bits));
+    }
+
+    int doubleConstant(double value) {
+      var bits = Double.doubleToRawLongBits(value);
+      return add(bits, CONSTANT_DOUBLE, 2, o -> o.writeLong(bits));
+    }
+
+    void write(DataOutputStream classOut) throws IOException {
+      out.flush();
+      classOut.writeShort(count);
+      bytes.writeTo(classOut);
+    }
+
+    /**
+     * Writes the content of a constant pool entry.
+     */
+    protected interface EntryWriter {
+      void write(DataOutputStream out) throws IOException;
+    }
+  }
+
+  /**
+   * Class loader defining a single generated class.
+   */
+  protected static class EvaluatorClassLoader extends ClassLoader {
+
+    EvaluatorClassLoader() {
+      super(FullyMeshedNetCompiler.class.getClassLoader());
+    }
+
+    Class<?> define(String name, byte[] bytes) {
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+}
@@ -17,15 +17,32 @@
 
 package at.aau.frevo.representation.fullymeshednet;
 
+import java.util.Arrays;
 import java.util.SplittableRandom;
+import at.aau.frevo.Representation;
 import at.aau.frevo.RepresentationContext;
+import at.aau.frevo.ReseedableRandom;
 
 /**
  * Context for {@link FullyMeshedNet}.
+ * <p>
+ * The context can be reset to any {@code FullyMeshedNet} with the same node count, in which case
+ * the existing state is reused. A {@code SplittableRandom} passed to the context is wrapped in a
+ * {@link ReseedableRandom} drawing from it, so both kinds of generators produce the same outputs.
+ * <p>
+ * Sequences are calculated directly from and into the arrays of all steps, without copying each
+ * step.
+ * <p>
+ * The weighted sums and the activations are calculated by a {@link FullyMeshedNetKernel}, by
+ * default the one returned by {@link FullyMeshedNetKernel#getDefault()}, unless the
+ * {@link EvaluatorMode} of the net provides a {@link FullyMeshedNetEvaluator}, which is used
+ * instead.
  */
 public class FullyMeshedNetContext extends RepresentationContext<FullyMeshedNet> {
 
-  protected SplittableRandom random;
+  protected ReseedableRandom random;
+  protected FullyMeshedNetKernel kernel;
+  protected FullyMeshedNetEvaluator evaluator;
 
   protected float[] state;
   protected float[] sums;
@@ -38,15 +55,79 @@ public class FullyMeshedNetContext extends RepresentationContext<FullyMeshedNet>
    * @param random         the random number generator to use
    */
   public FullyMeshedNetContext(FullyMeshedNet representation, SplittableRandom random) {
+    this(representation, new ReseedableRandom(random));
+  }
+
+  /**
+   * Creates a new {@code FullyMeshedNetContext} instance associated with the given
+   * {@code FullyMeshedNet}.
+   * 
+   * @param representation the associated {@code FullyMeshedNet}
+   * @param random         the random number generator to use
+   */
+  public FullyMeshedNetContext(FullyMeshedNet representation, ReseedableRandom random) {
     super(representation);
     this.random = random;
+    kernel = FullyMeshedNetKernel.getDefault();
+    evaluator = representation.getEvaluator();
 
     state = new float[representation.nodeCount];
     sums = new float[representation.nodeCount];
   }
 
+  @Override
+  public boolean reset(Representation representation, SplittableRandom random) {
+    return reset(representation, new ReseedableRandom(random));
+  }
+
+  @Override
+  public boolean reset(Representation representation, ReseedableRandom random) {
+    if (!(representation instanceof FullyMeshedNet)) {
+      return false;
+    }
+    var net = (FullyMeshedNet) representation;
+    if (net.nodeCount != state.length) {
+      return false;
+    }
+
+    this.representation = net;
+    this.random = random;
+    evaluator = net.getEvaluator();
+    Arrays.fill(state, 0);
+    return true;
+  }
+
   @Override
   public void calculate(float[] input, float[] output) {
+    calculate(input, 0, output, 0);
+  }
+
+  @Override
+  public void calculateSequence(float[] inputs, int steps, float[] outputs) {
+    var inputSize = representation.getInputCount();
+    var outputSize = representation.getOutputCount();
+    for (int i = 0; i < steps; i++) {
+      calculate(inputs, i * inputSize, outputs, i * outputSize);
+    }
+  }
+
+  @Override
+  public void calculateBatch(float[][] inputs, float[][] outputs) {
+    for (int i = 0; i < inputs.length; i++) {
+      calculate(inputs[i], 0, outputs[i], 0);
+    }
+  }
+
+  /**
+   * Calculates the output for the input starting at the specified offset and stores it starting at
+   * the specified offset.
+   * 
+   * @param input        the array of input
+   * @param inputOffset  the offset of the input in {@code input}
+   * @param output       the array in which to store output
+   * @param outputOffset the offset of the output in {@code output}
+   */
+  protected void calculate(float[] input, int inputOffset, float[] output, int outputOffset) {
     var activationFunction = representation.activationFunction;
     var weights = representation.weights;
     var biases = representation.biases;
@@ -58,19 +139,18 @@ public class FullyMeshedNetContext extends RepresentationContext<FullyMeshedNet>
     var hiddenNodeCount = representation.hiddenNodeCount;
 
     // copy in input
-    for (int i = 0; i < inputSize; i++) {
-      state[i] = input[i];
-    }
+    System.arraycopy(input, inputOffset, state, 0, inputSize);
 
     for (int k = 0; k < iterationCount; k++) {
+      if (evaluator != null) {
+        evaluator.iterate(state, sums, random);
+        continue;
+      }
 
       // calculate sums
+      kernel.multiply(weights, state, sums, inputSize, nodeCount);
       for (int i = inputSize; i < nodeCount; i++) {
-        float sum = 0;
-        for (int j = 0; j < nodeCount; j++) {
-          sum += weights[i][j] * state[j];
-        }
-        sums[i] = biases[i] + sum;
+        sums[i] += biases[i];
 
         var randomBias = randomBiases[i];
         if (randomBias > 0) {
@@ -79,40 +159,29 @@ public class FullyMeshedNetContext extends RepresentationContext<FullyMeshedNet>
       }
 
       // activate
-      switch (activationFunction) {
-        case SIGMOID:
-          for (int i = inputSize; i < nodeCount; i++) {
-            state[i] = (float) (1.0f / (1.0f + Math.exp(-sums[i])));
-          }
-          break;
-
-        case TANH:
-          for (int i = inputSize; i < nodeCount; i++) {
-            state[i] = (float) Math.tanh(sums[i]);
-          }
-          break;
-
-        case RELU:
-        default:
-          for (int i = inputSize; i < nodeCount; i++) {
-            float x = sums[i];
-            if (x > 1) {
-              state[i] = 1;
-            } else if (x < 0) {
-              state[i] = 0;
-            } else {
-              state[i] = x;
-            }
-          }
-          break;
-      }
+      kernel.activate(activationFunction, sums, state, inputSize, nodeCount);
     }
 
     // copy out output
-    int offset = inputSize + hiddenNodeCount;
-    for (int i = 0; i < outputSize; i++) {
-      output[i] = state[offset + i];
-    }
+    System.arraycopy(state, inputSize + hiddenNodeCount, output, outputOffset, outputSize);
+  }
+
+  /**
+   * Gets the {@code FullyMeshedNetKernel} used for calculation.
+   * 
+   * @return the {@code FullyMeshedNetKernel}
+   */
+  public FullyMeshedNetKernel getKernel() {
+    return kernel;
+  }
+
+  /**
+   * Sets the {@code FullyMeshedNetKernel} used for calculation.
+   * 
+   * @param kernel the {@code FullyMeshedNetKernel}
+   */
+  public void setKernel(FullyMeshedNetKernel kernel) {
+    this.kernel = kernel;
   }
 
 }
@@ -0,0 +1,65 @@
+/**
+ * File: FullyMeshedNetEvaluator.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.representation.fullymeshednet;
+
+import at.aau.frevo.ReseedableRandom;
+
+/**
+ * Calculation of a single {@link FullyMeshedNet}, prepared once per net according to its
+ * {@link EvaluatorMode}.
+ * <p>
+ * An evaluator calculates one iteration exactly like the interpreter loop of
+ * {@link FullyMeshedNetContext} with the {@link ScalarFullyMeshedNetKernel}, as long as the states
+ * are finite. Evaluators are stateless and may be shared by several contexts.
+ */
+public abstract class FullyMeshedNetEvaluator {
+
+  /**
+   * Calculates one iteration: the sums of all nodes which are not input nodes from the states,
+   * including biases and random biases, followed by their new states.
+   * 
+   * @param state  the states of all nodes
+   * @param sums   the array receiving the sums, indexed by node
+   * @param random the random number generator used for random biases
+   */
+  public abstract void iterate(float[] state, float[] sums, ReseedableRandom random);
+
+  /**
+   * Creates the evaluator for a {@code FullyMeshedNet} according to its {@code EvaluatorMode}.
+   * 
+   * @param net the {@code FullyMeshedNet}
+   * @return the evaluator, or {@code null} if the net is interpreted
+   */
+  public static FullyMeshedNetEvaluator create(FullyMeshedNet net) {
+    switch (net.getEvaluatorMode()) {
+      case COMPILED:
+        var evaluator = FullyMeshedNetCompiler.compile(net);
+        if (evaluator != null) {
+          return evaluator;
+        }
+        return new SparseFullyMeshedNetEvaluator(net);
+
+      case SPARSE:
+        return new SparseFullyMeshedNetEvaluator(net);
+
+      case INTERPRETED:
+      default:
+        return null;
+    }
+  }
+}
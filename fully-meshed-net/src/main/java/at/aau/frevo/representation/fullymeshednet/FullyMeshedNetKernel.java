@@ -0,0 +1,129 @@
+/**
+ * File: FullyMeshedNetKernel.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.representation.fullymeshednet;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Numerical kernel used by {@link FullyMeshedNetContext} to calculate the weighted sums and the
+ * activations of the nodes.
+ * <p>
+ * Kernels are found using {@link ServiceLoader}: implementations are registered in
+ * {@code META-INF/services/at.aau.frevo.representation.fullymeshednet.FullyMeshedNetKernel}. The
+ * default kernel is the first registered kernel which can be loaded in the running virtual machine,
+ * falling back to {@link ScalarFullyMeshedNetKernel}. A kernel can be selected by name using the
+ * system property {@value #KERNEL_PROPERTY}.
+ * <p>
+ * Kernels other than the scalar kernel may sum in a different order, so results agree with the
+ * scalar kernel within a small tolerance only.
+ */
+public abstract class FullyMeshedNetKernel {
+
+  /**
+   * Name of the system property used to select the default kernel by name.
+   */
+  public static final String KERNEL_PROPERTY = "at.aau.frevo.fullymeshednet.kernel";
+
+  /**
+   * Gets the name of the kernel.
+   * 
+   * @return the name
+   */
+  public abstract String getName();
+
+  /**
+   * Calculates the weighted sums of the states for the nodes starting at {@code firstNode}, using
+   * weights in the layout of {@link FullyMeshedNet#getWeights()}.
+   * 
+   * @param weights   the weights, one row of {@code nodeCount} weights per calculated node
+   * @param state     the states of all nodes
+   * @param sums      the array receiving the sums, indexed by node
+   * @param firstNode the index of the first calculated node
+   * @param nodeCount the node count
+   */
+  public abstract void multiply(float[] weights, float[] state, float[] sums, int firstNode,
+      int nodeCount);
+
+  /**
+   * Calculates the states of the nodes starting at {@code firstNode} from their sums.
+   * 
+   * @param activationFunction the activation function
+   * @param sums               the sums, indexed by node
+   * @param state              the array receiving the states, indexed by node
+   * @param firstNode          the index of the first calculated node
+   * @param nodeCount          the node count
+   */
+  public abstract void activate(ActivationFunction activationFunction, float[] sums,
+      float[] state, int firstNode, int nodeCount);
+
+  /**
+   * Gets the default kernel.
+   * 
+   * @return the default kernel
+   */
+  public static FullyMeshedNetKernel getDefault() {
+    return Registry.DEFAULT;
+  }
+
+  /**
+   * Gets a new instance of the kernel with the specified name.
+   * 
+   * @param name the name of the kernel
+   * @return the kernel, or {@code null} if it is not registered or cannot be loaded in the running
+   *         virtual machine
+   */
+  public static FullyMeshedNetKernel forName(String name) {
+    var scalarKernel = new ScalarFullyMeshedNetKernel();
+    if (scalarKernel.getName().equals(name)) {
+      return scalarKernel;
+    }
+    return Registry.load(name);
+  }
+
+  /**
+   * Holder of the default kernel, selected on first use.
+   */
+  private static class Registry {
+
+    static final FullyMeshedNetKernel DEFAULT = select();
+
+    static FullyMeshedNetKernel select() {
+      var name = System.getProperty(KERNEL_PROPERTY);
+      var kernel = name == null ? load(null) : forName(name);
+      return kernel == null ? new ScalarFullyMeshedNetKernel() : kernel;
+    }
+
+    static FullyMeshedNetKernel load(String name) {
+      var iterator = ServiceLoader.load(FullyMeshedNetKernel.class).iterator();
+      while (true) {
+        try {
+          if (!iterator.hasNext()) {
+            return null;
+          }
+          var kernel = iterator.next();
+          if (name == null || kernel.getName().equals(name)) {
+            return kernel;
+          }
+        } catch (ServiceConfigurationError | LinkageError e) {
+          // kernel not supported by the running virtual machine, try the next one
+        }
+      }
+    }
+  }
+}
@@ -98,17 +98,19 @@ public class FullyMeshedNetOp extends Operator<FullyMeshedNet> {
     var biases = net.getBiases();
     var randomBiases = net.getRandomBiases();
     var nodeCount = net.getNodeCount();
+    var offset = 0;
     for (int i = net.getInputCount(); i < nodeCount; i++) {
       for (int j = 0; j < nodeCount; j++) {
-        weights[i][j] = (float) random.nextDouble(-initialWeightRange, initialWeightRange);
+        weights[offset + j] = (float) random.nextDouble(-initialWeightRange, initialWeightRange);
       }
-      enforceArrayValueRanges(weights[i], -weightRange, weightRange);
+      offset += nodeCount;
       biases[i] = (float) random.nextDouble(-intialBiasRange, intialBiasRange);
       if (initialRandomBiasRange > 0) {
         randomBiases[i] =
             (float) random.nextDouble(-initialRandomBiasRange, initialRandomBiasRange);
       }
     }
+    enforceArrayValueRanges(weights, -weightRange, weightRange);
     enforceArrayValueRanges(biases, -biasRange, biasRange);
     enforceArrayValueRanges(randomBiases, -randomBiasRange, biasRange);
     return net;
@@ -121,10 +123,8 @@ public class FullyMeshedNetOp extends Operator<FullyMeshedNet> {
     var nodeCount = mutantNet.getNodeCount();
     mutateArray(mutantNet.getBiases(), inputCount, nodeCount);
     var weights = mutantNet.getWeights();
-    for (int i = inputCount; i < nodeCount; i++) {
-      mutateArray(weights[i], 0, nodeCount);
-      enforceArrayValueRanges(weights[i], -weightRange, weightRange);
-    }
+    mutateArray(weights, 0, weights.length);
+    enforceArrayValueRanges(weights, -weightRange, weightRange);
     if (initialRandomBiasRange > 0) {
       mutateArray(mutantNet.getRandomBiases(), inputCount, nodeCount);
     }
@@ -154,10 +154,11 @@ public class FullyMeshedNetOp extends Operator<FullyMeshedNet> {
     var r2Biases = net2.getBiases();
     var r2RandomBiases = net2.getRandomBiases();
 
+    // the rows of the selected nodes are contiguous
+    var startOffset = crossNet.getWeightOffset(startIndex);
+    System.arraycopy(r2Weights, startOffset, crossWeights, startOffset,
+        crossNet.getWeightOffset(stopIndex) - startOffset);
     for (int i = startIndex; i < stopIndex; i++) {
-      for (int j = 0; j < nodeCount; j++) {
-        crossWeights[i][j] = r2Weights[i][j];
-      }
       crossBiases[i] = r2Biases[i];
       crossRandomBiases[i] = r2RandomBiases[i];
     }
@@ -178,10 +179,12 @@ public class FullyMeshedNetOp extends Operator<FullyMeshedNet> {
     var r2Biases = net2.getBiases();
     var r2RandomBiases = net2.getRandomBiases();
 
+    var offset = 0;
     for (int i = inputCount; i < nodeCount; i++) {
       for (int j = 0; j < nodeCount; j++) {
-        diff += Math.abs(r1Weights[i][j] - r2Weights[i][j]);
+        diff += Math.abs(r1Weights[offset + j] - r2Weights[offset + j]);
       }
+      offset += nodeCount;
       diff += Math.abs(r1Biases[i] - r2Biases[i]);
       diff += Math.abs(r1RandomBiases[i] - r2RandomBiases[i]);
     }
@@ -0,0 +1,104 @@
+/**
+ * File: ScalarFullyMeshedNetKernel.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.representation.fullymeshednet;
+
+/**
+ * Scalar {@link FullyMeshedNetKernel}, available on every virtual machine. Sums are calculated in
+ * node order.
+ */
+public class ScalarFullyMeshedNetKernel extends FullyMeshedNetKernel {
+
+  @Override
+  public String getName() {
+    return "scalar";
+  }
+
+  @Override
+  public void multiply(float[] weights, float[] state, float[] sums, int firstNode,
+      int nodeCount) {
+    var offset = 0;
+    for (int i = firstNode; i < nodeCount; i++) {
+      float sum = 0;
+      for (int j = 0; j < nodeCount; j++) {
+        sum += weights[offset + j] * state[j];
+      }
+      offset += nodeCount;
+      sums[i] = sum;
+    }
+  }
+
+  @Override
+  public void activate(ActivationFunction activationFunction, float[] sums, float[] state,
+      int firstNode, int nodeCount) {
+    switch (activationFunction) {
+      case SIGMOID:
+        for (int i = firstNode; i < nodeCount; i++) {
+          state[i] = sigmoid(sums[i]);
+        }
+        break;
+
+      case TANH:
+        for (int i = firstNode; i < nodeCount; i++) {
+          state[i] = tanh(sums[i]);
+        }
+        break;
+
+      case RELU:
+      default:
+        for (int i = firstNode; i < nodeCount; i++) {
+          state[i] = relu(sums[i]);
+        }
+        break;
+    }
+  }
+
+  /**
+   * Calculates {@link ActivationFunction#RELU}.
+   * 
+   * @param x the sum of a node
+   * @return the state of the node
+   */
+  public static float relu(float x) {
+    if (x > 1) {
+      return 1;
+    } else if (x < 0) {
+      return 0;
+    }
+    return x;
+  }
+
+  /**
+   * Calculates {@link ActivationFunction#SIGMOID}.
+   * 
+   * @param x the sum of a node
+   * @return the state of the node
+   */
+  public static float sigmoid(float x) {
+    return (float) (1.0f / (1.0f + Math.exp(-x)));
+  }
+
+  /**
+   * Calculates {@link ActivationFunction#TANH}.
+   * 
+   * @param x the sum of a node
+   * @return the state of the node
+   */
+  public static float tanh(float x) {
+    return (float) Math.tanh(x);
+  }
+}
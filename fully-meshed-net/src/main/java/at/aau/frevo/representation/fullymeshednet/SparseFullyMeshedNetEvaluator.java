@@ -0,0 +1,124 @@
+/**
+ * File: SparseFullyMeshedNetEvaluator.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.representation.fullymeshednet;
+
+import at.aau.frevo.ReseedableRandom;
+
+/**
+ * {@link FullyMeshedNetEvaluator} storing the non-zero weights of a net in compressed sparse rows.
+ * Random biases are only drawn for the nodes which have them, and not at all if there are none.
+ */
+public class SparseFullyMeshedNetEvaluator extends FullyMeshedNetEvaluator {
+
+  protected ActivationFunction activationFunction;
+  protected int firstNode;
+  protected int nodeCount;
+  protected int[] rowStarts;
+  protected int[] columns;
+  protected float[] values;
+  protected float[] biases;
+  protected int[] randomBiasNodes;
+  protected float[] randomBiases;
+  protected ScalarFullyMeshedNetKernel kernel = new ScalarFullyMeshedNetKernel();
+
+  /**
+   * Creates a new {@code SparseFullyMeshedNetEvaluator} instance for the specified
+   * {@code FullyMeshedNet}.
+   * 
+   * @param net the {@code FullyMeshedNet}
+   */
+  public SparseFullyMeshedNetEvaluator(FullyMeshedNet net) {
+    activationFunction = net.getActivationFunction();
+    firstNode = net.getInputCount();
+    nodeCount = net.getNodeCount();
+    biases = net.getBiases().clone();
+
+    // gather the non-zero weights row by row
+    var weights = net.getWeights();
+    var valueCount = 0;
+    for (var weight : weights) {
+      if (weight != 0) {
+        valueCount++;
+      }
+    }
+    rowStarts = new int[nodeCount - firstNode + 1];
+    columns = new int[valueCount];
+    values = new float[valueCount];
+    var k = 0;
+    for (int i = firstNode; i < nodeCount; i++) {
+      var offset = net.getWeightOffset(i);
+      rowStarts[i - firstNode] = k;
+      for (int j = 0; j < nodeCount; j++) {
+        var weight = weights[offset + j];
+        if (weight != 0) {
+          columns[k] = j;
+          values[k] = weight;
+          k++;
+        }
+      }
+    }
+    rowStarts[nodeCount - firstNode] = k;
+
+    // gather the nodes with random biases
+    var netRandomBiases = net.getRandomBiases();
+    var randomBiasCount = 0;
+    for (int i = firstNode; i < nodeCount; i++) {
+      if (netRandomBiases[i] > 0) {
+        randomBiasCount++;
+      }
+    }
+    randomBiasNodes = new int[randomBiasCount];
+    randomBiases = new float[randomBiasCount];
+    k = 0;
+    for (int i = firstNode; i < nodeCount; i++) {
+      if (netRandomBiases[i] > 0) {
+        randomBiasNodes[k] = i;
+        randomBiases[k] = netRandomBiases[i];
+        k++;
+      }
+    }
+  }
+
+  @Override
+  public void iterate(float[] state, float[] sums, ReseedableRandom random) {
+    // calculate sums
+    for (int i = firstNode, row = 0; i < nodeCount; i++, row++) {
+      float sum = 0;
+      for (int k = rowStarts[row], stop = rowStarts[row + 1]; k < stop; k++) {
+        sum += values[k] * state[columns[k]];
+      }
+      sums[i] = sum + biases[i];
+    }
+    for (int k = 0; k < randomBiasNodes.length; k++) {
+      var randomBias = randomBiases[k];
+      sums[randomBiasNodes[k]] += random.nextDouble(-randomBias, randomBias);
+    }
+
+    // activate
+    kernel.activate(activationFunction, sums, state, firstNode, nodeCount);
+  }
+
+  /**
+   * Gets the number of non-zero weights.
+   * 
+   * @return the number of non-zero weights
+   */
+  public int getWeightCount() {
+    return values.length;
+  }
+}
@@ -0,0 +1,110 @@
+/**
+ * File: FullyMeshedNetCodecTest.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.representation.fullymeshednet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link FullyMeshedNetCodec}.
+ */
+class FullyMeshedNetCodecTest {
+
+  /**
+   * Creates a random net.
+   * 
+   * @param evaluatorMode the evaluator mode
+   * @param seed          the seed of the net
+   * @return the net
+   */
+  static FullyMeshedNet createNet(EvaluatorMode evaluatorMode, long seed) {
+    var representationBuilder = new FullyMeshedNetBuilder().setInputCount(3).setOutputCount(2)
+        .setHiddenNodeCount(4).setEvaluatorMode(evaluatorMode);
+    return new FullyMeshedNetOpBuilder().create(representationBuilder, new SplittableRandom(seed))
+        .operator0();
+  }
+
+  /**
+   * Checks that two nets have the same configuration and content.
+   * 
+   * @param expected the expected net
+   * @param actual   the actual net
+   */
+  static void assertSameNet(FullyMeshedNet expected, FullyMeshedNet actual) {
+    assertEquals(expected.getHiddenNodeCount(), actual.getHiddenNodeCount());
+    assertEquals(expected.getActivationFunction(), actual.getActivationFunction());
+    assertArrayEquals(expected.getWeights(), actual.getWeights());
+    assertArrayEquals(expected.getBiases(), actual.getBiases());
+    assertArrayEquals(expected.getRandomBiases(), actual.getRandomBiases());
+  }
+
+  @Test
+  void decodeKeepsEvaluatorMode() {
+    var nets = new ArrayList<FullyMeshedNet>();
+    var modes = new EvaluatorMode[] {EvaluatorMode.INTERPRETED, EvaluatorMode.COMPILED,
+        EvaluatorMode.COMPILED, EvaluatorMode.SPARSE, EvaluatorMode.INTERPRETED};
+    for (var i = 0; i < modes.length; i++) {
+      nets.add(createNet(modes[i], i));
+    }
+
+    var codec = new FullyMeshedNetCodec();
+    var buffer = ByteBuffer.allocate(codec.getEncodedSize(nets));
+    codec.encode(nets, buffer);
+    assertEquals(0, buffer.remaining());
+    buffer.flip();
+    var decoded = new ArrayList<FullyMeshedNet>();
+    codec.decode(buffer, decoded);
+
+    assertEquals(nets.size(), decoded.size());
+    for (var i = 0; i < nets.size(); i++) {
+      assertEquals(modes[i], decoded.get(i).getEvaluatorMode());
+      assertSameNet(nets.get(i), decoded.get(i));
+    }
+  }
+
+  @Test
+  void decodeVersion2AsInterpreted() {
+    var net = createNet(EvaluatorMode.COMPILED, 1);
+    var codec = new FullyMeshedNetCodec();
+
+    // version 2 had no evaluator mode in the shape
+    var buffer = ByteBuffer.allocate(8 * Integer.BYTES + codec.getContentSize(net));
+    buffer.putInt(2);
+    buffer.putInt(1);
+    buffer.putInt(net.getInputCount());
+    buffer.putInt(net.getOutputCount());
+    buffer.putInt(net.getHiddenNodeCount());
+    buffer.putInt(net.getIterationCount());
+    buffer.putInt(net.getActivationFunction().ordinal());
+    codec.encodeContent(net, buffer);
+    buffer.putInt(0);
+    buffer.flip();
+    var decoded = new ArrayList<FullyMeshedNet>();
+    codec.decode(buffer, decoded);
+
+    assertEquals(1, decoded.size());
+    assertEquals(EvaluatorMode.INTERPRETED, decoded.get(0).getEvaluatorMode());
+    assertSameNet(net, decoded.get(0));
+    assertEquals(List.of(net), decoded);
+  }
+}
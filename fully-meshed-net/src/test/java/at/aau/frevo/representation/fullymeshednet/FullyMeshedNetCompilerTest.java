@@ -0,0 +1,167 @@
+/**
+ * File: FullyMeshedNetCompilerTest.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.representation.fullymeshednet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import at.aau.frevo.ReseedableRandom;
+
+/**
+ * Tests for {@link FullyMeshedNetCompiler}, comparing the compiled and sparse evaluators with the
+ * interpreter.
+ */
+class FullyMeshedNetCompilerTest {
+
+  static final int INPUT_COUNT = 4;
+  static final int OUTPUT_COUNT = 2;
+  static final int STEP_COUNT = 10;
+
+  /**
+   * Creates a net with random weights, some of them zero, and random biases on every third node.
+   * 
+   * @param activationFunction the activation function
+   * @param evaluatorMode      the evaluator mode
+   * @param hiddenNodeCount    the hidden node count
+   * @param denseRowCount      the number of weight rows which are filled, the other rows are zero
+   * @param seed               the seed of the weights and biases
+   * @return the net
+   */
+  static FullyMeshedNet createNet(ActivationFunction activationFunction,
+      EvaluatorMode evaluatorMode, int hiddenNodeCount, int denseRowCount, long seed) {
+    var net = new FullyMeshedNetBuilder().setInputCount(INPUT_COUNT).setOutputCount(OUTPUT_COUNT)
+        .setHiddenNodeCount(hiddenNodeCount).setIterationCount(2)
+        .setActivationFunction(activationFunction).setEvaluatorMode(evaluatorMode).create();
+    var random = new SplittableRandom(seed);
+    var weights = net.getWeights();
+    var weightCount = (int) Math.min(weights.length, (long) denseRowCount * net.getNodeCount());
+    for (var i = 0; i < weightCount; i++) {
+      weights[i] = random.nextInt(5) == 0 ? 0 : (float) random.nextDouble(-0.5, 0.5);
+    }
+    var biases = net.getBiases();
+    var randomBiases = net.getRandomBiases();
+    for (var i = 0; i < biases.length; i++) {
+      biases[i] = (float) random.nextDouble(-0.5, 0.5);
+      if (i % 3 == 0) {
+        randomBiases[i] = (float) random.nextDouble(0, 0.2);
+      }
+    }
+    return net;
+  }
+
+  /**
+   * Calculates a net over a number of steps with the scalar kernel, so that the sums are added in
+   * the same order as by the generated code.
+   * 
+   * @param net  the net
+   * @param seed the seed of the random number generator used for the random biases
+   * @return the outputs of all steps
+   */
+  static float[] calculate(FullyMeshedNet net, long seed) {
+    var context = net.createContext(new ReseedableRandom(seed));
+    context.setKernel(new ScalarFullyMeshedNetKernel());
+    var inputRandom = new SplittableRandom(seed);
+    var input = new float[INPUT_COUNT];
+    var output = new float[OUTPUT_COUNT];
+    var outputs = new float[STEP_COUNT * OUTPUT_COUNT];
+    for (var step = 0; step < STEP_COUNT; step++) {
+      for (var i = 0; i < INPUT_COUNT; i++) {
+        input[i] = (float) inputRandom.nextDouble(-1, 1);
+      }
+      context.calculate(input, output);
+      System.arraycopy(output, 0, outputs, step * OUTPUT_COUNT, OUTPUT_COUNT);
+    }
+    return outputs;
+  }
+
+  /**
+   * Checks that all evaluator modes of a net calculate the same outputs as the interpreter.
+   * 
+   * @param activationFunction the activation function
+   * @param hiddenNodeCount    the hidden node count
+   * @param denseRowCount      the number of weight rows which are filled
+   * @param seed               the seed of the net and of the random biases
+   * @return the evaluator of the {@link EvaluatorMode#COMPILED} net
+   */
+  static FullyMeshedNetEvaluator assertModesMatch(ActivationFunction activationFunction,
+      int hiddenNodeCount, int denseRowCount, long seed) {
+    var interpreted = createNet(activationFunction, EvaluatorMode.INTERPRETED, hiddenNodeCount,
+        denseRowCount, seed);
+    assertNull(interpreted.getEvaluator());
+    var expected = calculate(interpreted, seed);
+
+    var sparse = createNet(activationFunction, EvaluatorMode.SPARSE, hiddenNodeCount,
+        denseRowCount, seed);
+    assertTrue(sparse.getEvaluator() instanceof SparseFullyMeshedNetEvaluator);
+    assertArrayEquals(expected, calculate(sparse, seed), activationFunction + " sparse");
+
+    var compiled = createNet(activationFunction, EvaluatorMode.COMPILED, hiddenNodeCount,
+        denseRowCount, seed);
+    assertArrayEquals(expected, calculate(compiled, seed), activationFunction + " compiled");
+    return compiled.getEvaluator();
+  }
+
+  @Test
+  void compiledMatchesInterpreted() {
+    for (var activationFunction : ActivationFunction.values()) {
+      for (long seed = 0; seed < 3; seed++) {
+        var evaluator = assertModesMatch(activationFunction, 6, Integer.MAX_VALUE, seed);
+        assertFalse(evaluator instanceof SparseFullyMeshedNetEvaluator);
+      }
+    }
+  }
+
+  @Test
+  void compiledSplitsLongRowsAndMethods() {
+    // rows with more terms than are summed in one go, and far more code than fits into a method
+    var hiddenNodeCount = 700;
+    var denseRowCount = 20;
+    var net = createNet(ActivationFunction.TANH, EvaluatorMode.INTERPRETED, hiddenNodeCount,
+        denseRowCount, 1);
+    var nodeCount = net.getNodeCount();
+    var weightCount = 0;
+    var rowWeightCount = 0;
+    for (var i = 0; i < nodeCount; i++) {
+      if (net.getWeights()[i] != 0) {
+        rowWeightCount++;
+      }
+    }
+    for (var weight : net.getWeights()) {
+      if (weight != 0) {
+        weightCount++;
+      }
+    }
+    assertTrue(rowWeightCount > FullyMeshedNetCompiler.MAXIMUM_TERM_COUNT);
+    assertTrue(weightCount <= FullyMeshedNetCompiler.MAXIMUM_WEIGHT_COUNT);
+
+    for (var activationFunction : ActivationFunction.values()) {
+      var evaluator = assertModesMatch(activationFunction, hiddenNodeCount, denseRowCount, 1);
+      assertFalse(evaluator instanceof SparseFullyMeshedNetEvaluator);
+    }
+  }
+
+  @Test
+  void compiledFallsBackToSparseAboveWeightLimit() {
+    // a dense net with about 40000 non-zero weights
+    var evaluator = assertModesMatch(ActivationFunction.TANH, 220, Integer.MAX_VALUE, 2);
+    assertTrue(evaluator instanceof SparseFullyMeshedNetEvaluator);
+  }
+}
@@ -0,0 +1,149 @@
+/**
+ * File: FullyMeshedNetContextTest.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.representation.fullymeshednet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import at.aau.frevo.ReseedableRandom;
+
+/**
+ * Tests for {@link FullyMeshedNetContext}.
+ */
+class FullyMeshedNetContextTest {
+
+  static final int INPUT_COUNT = 3;
+  static final int OUTPUT_COUNT = 2;
+  static final int ROW_COUNT = 8;
+
+  /**
+   * Creates a net with random biases, so that the random number generator is used.
+   * 
+   * @param evaluatorMode the evaluator mode
+   * @param seed          the seed of the net
+   * @return the net
+   */
+  static FullyMeshedNet createNet(EvaluatorMode evaluatorMode, long seed) {
+    var representationBuilder = new FullyMeshedNetBuilder().setInputCount(INPUT_COUNT)
+        .setOutputCount(OUTPUT_COUNT).setHiddenNodeCount(5).setIterationCount(2)
+        .setEvaluatorMode(evaluatorMode);
+    var net = new FullyMeshedNetOpBuilder()
+        .create(representationBuilder, new SplittableRandom(seed)).operator0();
+    Arrays.fill(net.getRandomBiases(), 0.1f);
+    return net;
+  }
+
+  @Test
+  void calculateBatchMatchesCalculate() {
+    var random = new SplittableRandom(1);
+    var inputs = new float[ROW_COUNT][INPUT_COUNT];
+    for (var input : inputs) {
+      for (var i = 0; i < INPUT_COUNT; i++) {
+        input[i] = (float) random.nextDouble(-1, 1);
+      }
+    }
+
+    for (var evaluatorMode : EvaluatorMode.values()) {
+      for (long seed = 0; seed < 4; seed++) {
+        var net = createNet(evaluatorMode, seed);
+
+        // the default implementation calculates the rows one by one
+        var context = net.createContext(new ReseedableRandom(seed));
+        var expected = new float[ROW_COUNT][OUTPUT_COUNT];
+        for (var i = 0; i < ROW_COUNT; i++) {
+          context.calculate(inputs[i], expected[i]);
+        }
+
+        var batchContext = net.createContext(new ReseedableRandom(seed));
+        var outputs = new float[ROW_COUNT + 1][OUTPUT_COUNT];
+        batchContext.calculateBatch(inputs, outputs);
+        for (var i = 0; i < ROW_COUNT; i++) {
+          assertArrayEquals(expected[i], outputs[i], evaluatorMode + " row " + i);
+        }
+        assertArrayEquals(new float[OUTPUT_COUNT], outputs[ROW_COUNT]);
+      }
+    }
+  }
+
+  @Test
+  void splittableRandomMatchesReseedableRandom() {
+    var random = new SplittableRandom(1);
+    var input = new float[INPUT_COUNT];
+    var expected = new float[OUTPUT_COUNT];
+    var output = new float[OUTPUT_COUNT];
+
+    for (var evaluatorMode : EvaluatorMode.values()) {
+      var net = createNet(evaluatorMode, 0);
+      var reseedableContext = net.createContext(new ReseedableRandom(2));
+      var splittableContext = net.createContext(new SplittableRandom(2));
+      for (long seed = 3; seed < 6; seed++) {
+        for (var i = 0; i < ROW_COUNT; i++) {
+          for (var j = 0; j < INPUT_COUNT; j++) {
+            input[j] = (float) random.nextDouble(-1, 1);
+          }
+          reseedableContext.calculate(input, expected);
+          splittableContext.calculate(input, output);
+          assertArrayEquals(expected, output, evaluatorMode + " row " + i);
+        }
+
+        // reset both contexts, as problems do between evaluations
+        assertTrue(reseedableContext.reset(new ReseedableRandom(seed)));
+        assertTrue(splittableContext.reset(new SplittableRandom(seed)));
+      }
+    }
+  }
+
+  @Test
+  void batchContextMatchesContexts() {
+    var random = new SplittableRandom(1);
+    var input = new float[INPUT_COUNT];
+    var expected = new float[OUTPUT_COUNT];
+    var splittableOutputs = new float[EvaluatorMode.values().length][OUTPUT_COUNT];
+    var reseedableOutputs = new float[EvaluatorMode.values().length][OUTPUT_COUNT];
+
+    var nets = new ArrayList<FullyMeshedNet>();
+    var contexts = new ArrayList<FullyMeshedNetContext>();
+    var splittableRandoms = new SplittableRandom[EvaluatorMode.values().length];
+    var reseedableRandoms = new ReseedableRandom[EvaluatorMode.values().length];
+    for (var evaluatorMode : EvaluatorMode.values()) {
+      var b = evaluatorMode.ordinal();
+      nets.add(createNet(evaluatorMode, b));
+      contexts.add(nets.get(b).createContext(new ReseedableRandom(b)));
+      splittableRandoms[b] = new SplittableRandom(b);
+      reseedableRandoms[b] = new ReseedableRandom(b);
+    }
+    var splittableContext = nets.get(0).createBatchContext(nets, splittableRandoms);
+    var reseedableContext = nets.get(0).createBatchContext(nets, reseedableRandoms);
+
+    for (var i = 0; i < ROW_COUNT; i++) {
+      for (var j = 0; j < INPUT_COUNT; j++) {
+        input[j] = (float) random.nextDouble(-1, 1);
+      }
+      splittableContext.calculate(input, splittableOutputs);
+      reseedableContext.calculate(input, reseedableOutputs);
+      for (var b = 0; b < nets.size(); b++) {
+        contexts.get(b).calculate(input, expected);
+        assertArrayEquals(expected, splittableOutputs[b], "net " + b + " row " + i);
+        assertArrayEquals(expected, reseedableOutputs[b], "net " + b + " row " + i);
+      }
+    }
+  }
+}
@@ -0,0 +1,37 @@
+/**
+ * File: DispatchMode.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.localexecutor;
+
+/**
+ * The ways in which {@link LocalExecutor} hands out evaluations to its threads.
+ */
+public enum DispatchMode {
+
+  /**
+   * Each thread runs a {@link LocalWorker} which takes evaluations one at a time from the shared
+   * evaluation queue.
+   */
+  QUEUE,
+
+  /**
+   * The evaluations are recursively split into chunks by {@link EvaluationAction} instances running
+   * on a {@code ForkJoinPool}. The chunk size adapts to the load of the pool and completion is
+   * signalled through joins, so there is no per-evaluation handoff through a shared queue.
+   */
+  FORK_JOIN
+}
@@ -0,0 +1,155 @@
+/**
+ * File: EvaluationAction.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.localexecutor;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RecursiveAction;
+import at.aau.frevo.Evaluation;
+import at.aau.frevo.Representation;
+
+/**
+ * Fork/join task for {@link LocalExecutor} that carries out a range of evaluations.
+ * <p>
+ * The range is split recursively as long as the pool of the current thread has no surplus of
+ * queued tasks, so that large chunks are used when all threads are busy and small chunks are used
+ * when threads are idle and able to steal work. Ranges are not split between consecutive
+ * evaluations of the same {@code Representation}, so that they are carried out by the same thread.
+ * 
+ * @param <R> the type of {@code Representation} to be evaluated
+ */
+public class EvaluationAction<R extends Representation> extends RecursiveAction {
+
+  private static final long serialVersionUID = 1L;
+
+  protected final static int SURPLUS_QUEUED_TASK_THRESHOLD = 2;
+
+  protected LocalExecutor executor;
+  protected List<Evaluation<R>> evaluations;
+  protected int startIndex;
+  protected int stopIndex;
+  protected CountDownLatch evaluationCountDownLatch;
+  protected EvaluationAction<R> next;
+
+  /**
+   * Creates a new {@code EvaluationAction} instance for the evaluations starting at
+   * {@code startIndex} and stopping before {@code stopIndex}.
+   * 
+   * @param executor                 the {@code LocalExecutor} owning this task
+   * @param evaluations              the list of {@code Evaluation} instances
+   * @param startIndex               the start index
+   * @param stopIndex                the stop index
+   * @param evaluationCountDownLatch count down latch used to signal work complete
+   */
+  public EvaluationAction(LocalExecutor executor, List<Evaluation<R>> evaluations, int startIndex,
+      int stopIndex, CountDownLatch evaluationCountDownLatch) {
+    this.executor = executor;
+    this.evaluations = evaluations;
+    this.startIndex = startIndex;
+    this.stopIndex = stopIndex;
+    this.evaluationCountDownLatch = evaluationCountDownLatch;
+  }
+
+  @Override
+  protected void compute() {
+    // fork off the upper halves while other threads are looking for work
+    EvaluationAction<R> forked = null;
+    var stop = stopIndex;
+    while ((stop - startIndex > 1)
+        && (getSurplusQueuedTaskCount() <= SURPLUS_QUEUED_TASK_THRESHOLD)) {
+      var middle = getSplitIndex(startIndex, stop);
+      if (middle == startIndex) {
+        break;
+      }
+      var action = new EvaluationAction<R>(executor, evaluations, middle, stop,
+          evaluationCountDownLatch);
+      action.next = forked;
+      forked = action;
+      action.fork();
+      stop = middle;
+    }
+
+    evaluateRange(startIndex, stop);
+
+    // wait for the forked halves, running them here if they have not been stolen
+    while (forked != null) {
+      forked.join();
+      forked = forked.next;
+    }
+  }
+
+  /**
+   * Gets the index at which to split a range, which is the group boundary between evaluations of
+   * different {@code Representation} instances closest to the middle of the range.
+   * 
+   * @param startIndex the start index
+   * @param stopIndex  the stop index
+   * @return the split index, {@code startIndex} if the range cannot be split
+   */
+  protected int getSplitIndex(int startIndex, int stopIndex) {
+    var middle = (startIndex + stopIndex) >>> 1;
+    var representation = evaluations.get(middle - 1).getRepresentation();
+    var upper = middle;
+    while ((upper < stopIndex) && (evaluations.get(upper).getRepresentation() == representation)) {
+      upper++;
+    }
+    if (upper < stopIndex) {
+      return upper;
+    }
+    var lower = middle - 1;
+    while ((lower > startIndex)
+        && (evaluations.get(lower - 1).getRepresentation() == representation)) {
+      lower--;
+    }
+    return lower;
+  }
+
+  /**
+   * Evaluates the evaluations starting at {@code startIndex} and stopping before
+   * {@code stopIndex}.
+   * 
+   * @param startIndex the start index
+   * @param stopIndex  the stop index
+   */
+  protected void evaluateRange(int startIndex, int stopIndex) {
+    var batchSize = executor.getBatchSize();
+    for (int i = startIndex; i < stopIndex;) {
+      // stop if the batch has been abandoned, e.g. due to a timeout
+      if (evaluationCountDownLatch.getCount() == 0) {
+        return;
+      }
+
+      // carry out consecutive evaluations of the same problem variant together
+      var seed = evaluations.get(i).getSeed();
+      var stop = i + 1;
+      while ((stop < stopIndex) && (stop - i < batchSize)
+          && (evaluations.get(stop).getSeed() == seed)) {
+        stop++;
+      }
+      if (stop - i > 1) {
+        executor.evaluate(evaluations.subList(i, stop), evaluationCountDownLatch);
+        i = stop;
+        continue;
+      }
+
+      // failed evaluations are retried or quarantined by the executor
+      executor.evaluate(evaluations.get(i), evaluationCountDownLatch);
+      i++;
+    }
+  }
+}
@@ -17,27 +17,105 @@
 
 package at.aau.frevo.executor.localexecutor;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.SplittableRandom;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import at.aau.frevo.Evaluation;
 import at.aau.frevo.Problem;
 import at.aau.frevo.ProblemBuilder;
 import at.aau.frevo.Representation;
+import at.aau.frevo.Result;
 import at.aau.frevo.executor.baseexecutor.BaseExecutor;
 
 /**
- * Uses a work-stealing pool to run evaluations on a number of workers.
+ * Uses a fixed pool of worker threads to run evaluations on a number of workers.
  * <p>
- * Out of the box, {@link LocalWorker} is provided to do the work, however subclasses could provide
- * different functionality.
+ * The pool is created once and reused for every call to {@code evaluateRepresentations}. Idle
+ * threads are parked by the pool until new work is dispatched. The pool is shut down when the
+ * {@code LocalExecutor} is closed.
+ * <p>
+ * Depending on the {@link DispatchMode}, either {@link LocalWorker} or {@link EvaluationAction} is
+ * used to do the work, however subclasses could provide different functionality.
+ * <p>
+ * If an evaluation timeout is configured, a watchdog thread regularly scans the running evaluations
+ * and cancels those exceeding the timeout, interrupting the worker carrying them out.
+ * <p>
+ * Failed evaluations are handed back to the pool after the retry backoff delay by a retry thread,
+ * so that the worker carries on with other evaluations instead of waiting for the delay.
+ * <p>
+ * If speculative execution is enabled, workers in {@link DispatchMode#QUEUE} which find the queue
+ * empty duplicate the oldest in-flight evaluations of their call as {@link SpeculativeEvaluation}
+ * instances. Whichever copy finishes first provides the fitness and the other one is cancelled.
+ * <p>
+ * If a minimum work per worker is configured, the {@code LocalExecutor} estimates the time of an
+ * evaluation from the evaluations carried out so far and uses only as many workers as the
+ * estimated work of a batch keeps busy for at least that long. Batches too small for two workers
+ * are carried out on the dispatching thread, avoiding the handoff to the pool. This only happens if
+ * the dispatching thread would wait for the batch anyway, i.e. within
+ * {@link #evaluateRepresentations(List)} or on a worker; batches dispatched by a caller of
+ * {@link #evaluateRepresentationsAsync(List, Flow.Subscriber)} are handed to a single worker
+ * instead, so that the call returns without waiting. The first batch is always dispatched to all
+ * workers, as there is no estimate yet.
+ * <p>
+ * If a batch size greater than one is configured, workers carry out consecutive evaluations of the
+ * same problem variant together using {@link Problem#evaluateRepresentations}. Evaluations of a
+ * batch which fails or is not supported by the {@code Problem} are carried out one by one. Batched
+ * evaluations are not duplicated speculatively.
  */
 public class LocalExecutor extends BaseExecutor {
 
+  protected final static AtomicInteger EXECUTOR_COUNTER = new AtomicInteger();
+  protected final static ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
   protected ExecutorService executorService = null;
+  protected ScheduledExecutorService watchdogService = null;
+  protected ScheduledExecutorService retryService = null;
+  protected Set<Evaluation<?>> runningEvaluations = null;
   protected int workerCount;
+  protected DispatchMode dispatchMode;
+  protected boolean speculative;
+  protected ConcurrentHashMap<Evaluation<?>, CountDownLatch> dispatchedEvaluations = null;
+  protected ConcurrentHashMap<Evaluation<?>, SpeculativeEvaluation<?>> speculations = null;
+  protected final ConcurrentHashMap<Evaluation<?>, CountDownLatch> pendingRetries =
+      new ConcurrentHashMap<>();
+  protected long creationNanoTime;
+  protected boolean cpuTimeMeasured;
+  protected long minimumWorkerNanoTime;
+  protected double estimatedEvaluationNanoTime;
+  protected long estimateBusyNanoTime;
+  protected long estimateEvaluationCount;
+  protected volatile int lastDispatchWorkerCount;
+  protected int batchSize;
+
+  protected final ThreadLocal<Problem> problems = new ThreadLocal<>();
+  // TRUE within evaluateRepresentations(), FALSE within a direct evaluateRepresentationsAsync()
+  protected final ThreadLocal<Boolean> callerWaiting = new ThreadLocal<>();
+  protected final LongAdder completedEvaluationCount = new LongAdder();
+  protected final LongAdder cancelledEvaluationCount = new LongAdder();
+  protected final LongAdder busyNanoTime = new LongAdder();
+  protected final LongAdder speculatedEvaluationCount = new LongAdder();
+  protected final LongAdder speculationWinCount = new LongAdder();
+  protected final LongAdder inlineDispatchCount = new LongAdder();
+  protected final LongAdder batchedEvaluationCount = new LongAdder();
 
   /**
    * Creates a new {@code LocalExecutor} instance with the specified configuration.
@@ -56,15 +134,552 @@ public class LocalExecutor extends BaseExecutor {
     if (workerCount == 0) {
       workerCount = Runtime.getRuntime().availableProcessors();
     }
-    executorService = Executors.newWorkStealingPool();
+    dispatchMode = builder.getDispatchMode();
+    minimumWorkerNanoTime = builder.getMinimumWorkerMicroSeconds() * 1000;
+    lastDispatchWorkerCount = workerCount;
+    batchSize = Math.max(1, builder.getBatchSize());
+    speculative = builder.isSpeculative() && (dispatchMode == DispatchMode.QUEUE);
+    if (speculative) {
+      dispatchedEvaluations = new ConcurrentHashMap<>();
+      speculations = new ConcurrentHashMap<>();
+    }
+
+    var threadNamePrefix = "frevo-local-" + EXECUTOR_COUNTER.incrementAndGet() + "-worker-";
+    if (dispatchMode == DispatchMode.FORK_JOIN) {
+      executorService = new ForkJoinPool(workerCount,
+          createForkJoinWorkerThreadFactory(threadNamePrefix), null, false);
+    } else {
+      executorService =
+          Executors.newFixedThreadPool(workerCount, createThreadFactory(threadNamePrefix));
+    }
+
+    // scan for overdue evaluations a few times per evaluation timeout
+    if (evaluationTimeoutMilliSeconds > 0) {
+      runningEvaluations = ConcurrentHashMap.newKeySet();
+      watchdogService = Executors.newSingleThreadScheduledExecutor(
+          createThreadFactory(threadNamePrefix.replace("-worker-", "-watchdog-")));
+      var period = Math.max(1, evaluationTimeoutMilliSeconds / 4);
+      watchdogService.scheduleWithFixedDelay(this::cancelOverdueEvaluations, period, period,
+          TimeUnit.MILLISECONDS);
+    }
+
+    // the thread of the retry service is only started by the first failure
+    if ((retryCount > 0) && (retryBackoffMilliSeconds > 0)) {
+      retryService = Executors.newSingleThreadScheduledExecutor(
+          createThreadFactory(threadNamePrefix.replace("-worker-", "-retry-")));
+    }
+    cpuTimeMeasured =
+        THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+    creationNanoTime = System.nanoTime();
+  }
+
+  /**
+   * Creates a {@code ThreadFactory} producing named daemon threads.
+   * 
+   * @param namePrefix the prefix of the thread names, followed by a thread number
+   * @return the {@code ThreadFactory}
+   */
+  protected ThreadFactory createThreadFactory(String namePrefix) {
+    var threadCounter = new AtomicInteger();
+    return runnable -> {
+      var thread = new Thread(runnable, namePrefix + threadCounter.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Creates a {@code ForkJoinWorkerThreadFactory} producing named daemon threads.
+   * 
+   * @param namePrefix the prefix of the thread names, followed by a thread number
+   * @return the {@code ForkJoinWorkerThreadFactory}
+   */
+  protected ForkJoinWorkerThreadFactory createForkJoinWorkerThreadFactory(String namePrefix) {
+    var threadCounter = new AtomicInteger();
+    return pool -> {
+      var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName(namePrefix + threadCounter.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Evaluates a list of {@code Representation} instances, blocking until all evaluations are done.
+   * Batches too small for two workers may be carried out on the current thread.
+   * 
+   * @param <R>             the type of {@code Representation} to evaluate
+   * @param representations the {@code Representation} instances to evaluate
+   * @return a list of {@code Result} instances, sorted by decreasing fitness value
+   */
+  @Override
+  public <R extends Representation> List<Result<R>> evaluateRepresentations(
+      List<R> representations) {
+    var previous = callerWaiting.get();
+    callerWaiting.set(Boolean.TRUE);
+    try {
+      return super.evaluateRepresentations(representations);
+    } finally {
+      callerWaiting.set(previous);
+    }
+  }
+
+  /**
+   * Starts the evaluation of a list of {@code Representation} instances without waiting for it to
+   * complete. Unless called from {@link #evaluateRepresentations(List)}, no evaluation is carried
+   * out on the current thread.
+   * 
+   * @param <R>             the type of {@code Representation} to evaluate
+   * @param representations the {@code Representation} instances to evaluate
+   * @param subscriber      the {@code Flow.Subscriber} receiving each {@code Result}, or
+   *                        {@code null}
+   * @return a {@code CompletableFuture} completed with a list of {@code Result} instances, sorted
+   *         by decreasing fitness value
+   */
+  @Override
+  public <R extends Representation> CompletableFuture<List<Result<R>>> evaluateRepresentationsAsync(
+      List<R> representations, Flow.Subscriber<? super Result<R>> subscriber) {
+    var previous = callerWaiting.get();
+    if (previous != null) {
+      return super.evaluateRepresentationsAsync(representations, subscriber);
+    }
+    callerWaiting.set(Boolean.FALSE);
+    try {
+      return super.evaluateRepresentationsAsync(representations, subscriber);
+    } finally {
+      callerWaiting.remove();
+    }
   }
 
   @Override
   protected <R extends Representation> void dispatchEvaluation(
       ArrayBlockingQueue<Evaluation<R>> evaluationQueue, CountDownLatch evaluationCountDownLatch) {
-    for (int i = 0; i < workerCount; ++i) {
+    var count = Math.min(workerCount, evaluationQueue.size());
+    if (minimumWorkerNanoTime > 0) {
+      count = Math.min(count, getAdaptiveWorkerCount(evaluationQueue.size()));
+      if ((count == 0) && Boolean.FALSE.equals(callerWaiting.get())) {
+        // do not block a caller expecting to return right away
+        count = Math.min(1, evaluationQueue.size());
+      }
+    }
+    lastDispatchWorkerCount = count;
+
+    if (count == 0) {
+      // carry out small batches on this thread, handing out what is left if interrupted
+      inlineDispatchCount.increment();
+      new LocalWorker<R>(0, this, evaluationQueue, evaluationCountDownLatch).run();
+      if (evaluationQueue.isEmpty()) {
+        return;
+      }
+      count = Math.min(workerCount, evaluationQueue.size());
+    }
+
+    if (dispatchMode == DispatchMode.FORK_JOIN) {
+      // take all evaluations from the queue and let the pool split the work
+      var evaluations = new ArrayList<Evaluation<R>>(evaluationQueue.size());
+      evaluationQueue.drainTo(evaluations);
+      ((ForkJoinPool) executorService).execute(new EvaluationAction<R>(this, evaluations, 0,
+          evaluations.size(), evaluationCountDownLatch));
+      return;
+    }
+
+    // no need to start more workers than there are evaluations
+    for (int i = 0; i < count; ++i) {
       executorService
-          .submit(new LocalWorker<R>(i, evaluationQueue, evaluationCountDownLatch, problemBuilder));
+          .execute(new LocalWorker<R>(i, this, evaluationQueue, evaluationCountDownLatch));
+    }
+  }
+
+  /**
+   * Gets the number of workers to use for a batch, based on the estimated time of an evaluation.
+   * In {@link DispatchMode#FORK_JOIN}, the pool decides how many workers take part, so only the
+   * choice between the dispatching thread and the pool is made.
+   * 
+   * @param evaluationCount the number of evaluations in the batch
+   * @return the worker count, {@code 0} to carry out the batch on the dispatching thread
+   */
+  protected synchronized int getAdaptiveWorkerCount(int evaluationCount) {
+    // update the estimate from the evaluations completed since the last update
+    var busy = busyNanoTime.sum();
+    var evaluated = completedEvaluationCount.sum();
+    if (evaluated > estimateEvaluationCount) {
+      var nanoTime =
+          (double) (busy - estimateBusyNanoTime) / (evaluated - estimateEvaluationCount);
+      estimatedEvaluationNanoTime = estimatedEvaluationNanoTime == 0 ? nanoTime
+          : (estimatedEvaluationNanoTime + nanoTime) / 2;
+      estimateBusyNanoTime = busy;
+      estimateEvaluationCount = evaluated;
+    }
+    if (estimatedEvaluationNanoTime == 0) {
+      return workerCount;
+    }
+
+    var count = (long) (evaluationCount * estimatedEvaluationNanoTime / minimumWorkerNanoTime);
+    if (count < 2) {
+      return 0;
+    }
+    return dispatchMode == DispatchMode.FORK_JOIN ? workerCount
+        : (int) Math.min(count, workerCount);
+  }
+
+  /**
+   * Attempts a single evaluation on the current thread, sets its fitness and counts down the latch.
+   * If the attempt fails, the evaluation is retried later, see
+   * {@link #retry(Evaluation, Exception, CountDownLatch)}, and the latch is counted down once the
+   * retries are done.
+   * <p>
+   * If the evaluation has been duplicated speculatively, the duplicate is cancelled and the latch
+   * is counted down only if the duplicate has not finished first.
+   * 
+   * @param <R>                      the type of {@code Representation} to evaluate
+   * @param evaluation               the {@code Evaluation} to carry out
+   * @param evaluationCountDownLatch count down latch used to signal work complete
+   */
+  protected <R extends Representation> void evaluate(Evaluation<R> evaluation,
+      CountDownLatch evaluationCountDownLatch) {
+    Exception failure;
+    if (!speculative) {
+      failure = attemptEvaluation(evaluation);
+    } else {
+      dispatchedEvaluations.put(evaluation, evaluationCountDownLatch);
+      SpeculativeEvaluation<?> speculation;
+      try {
+        failure = attemptEvaluation(evaluation);
+      } finally {
+        dispatchedEvaluations.remove(evaluation);
+        speculation = speculations.remove(evaluation);
+        if (speculation != null) {
+          speculation.cancel();
+        }
+      }
+      if ((speculation != null) && !speculation.claim()) {
+        // the duplicate finished first and counted down the latch
+        return;
+      }
+    }
+
+    if ((failure == null) || !retry(evaluation, failure, evaluationCountDownLatch)) {
+      evaluationCountDownLatch.countDown();
+    }
+  }
+
+  /**
+   * Records a failed attempt of an evaluation and schedules a retry on the pool after the backoff
+   * delay, unless the retry count is exceeded and the evaluation is quarantined. The retry calls
+   * {@link #evaluate(Evaluation, CountDownLatch)}, which counts down the latch when done.
+   * 
+   * @param <R>                      the type of {@code Representation} to evaluate
+   * @param evaluation               the failed {@code Evaluation}
+   * @param failure                  the exception thrown by the attempt
+   * @param evaluationCountDownLatch count down latch used to signal work complete
+   * @return {@code true} if a retry was scheduled, {@code false} if the evaluation is finished
+   */
+  protected <R extends Representation> boolean retry(Evaluation<R> evaluation, Exception failure,
+      CountDownLatch evaluationCountDownLatch) {
+    if (evaluation.recordFailure(failure) > retryCount) {
+      quarantine(evaluation);
+      return false;
+    }
+    var delayMilliSeconds = getRetryDelayMilliSeconds(evaluation.getFailureCount());
+    if ((delayMilliSeconds <= 0) || (retryService == null)) {
+      return resubmit(evaluation, evaluationCountDownLatch);
+    }
+
+    // close() finishes the evaluations still waiting for their retry
+    pendingRetries.put(evaluation, evaluationCountDownLatch);
+    try {
+      retryService.schedule(() -> {
+        if ((pendingRetries.remove(evaluation) != null)
+            && !resubmit(evaluation, evaluationCountDownLatch)) {
+          evaluationCountDownLatch.countDown();
+        }
+      }, delayMilliSeconds, TimeUnit.MILLISECONDS);
+      return true;
+    } catch (RejectedExecutionException e) {
+      // the executor has been closed, count down unless close() has done so
+      return pendingRetries.remove(evaluation) == null;
+    }
+  }
+
+  /**
+   * Hands an evaluation to the pool, where {@link #evaluate(Evaluation, CountDownLatch)} carries it
+   * out.
+   * 
+   * @param <R>                      the type of {@code Representation} to evaluate
+   * @param evaluation               the {@code Evaluation} to carry out
+   * @param evaluationCountDownLatch count down latch used to signal work complete
+   * @return {@code true} if the evaluation was handed to the pool, {@code false} if the executor
+   *         has been closed
+   */
+  protected <R extends Representation> boolean resubmit(Evaluation<R> evaluation,
+      CountDownLatch evaluationCountDownLatch) {
+    try {
+      executorService.execute(() -> evaluate(evaluation, evaluationCountDownLatch));
+      return true;
+    } catch (RejectedExecutionException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Carries out a batch of evaluations on the current thread, sets their fitness and counts down
+   * the latch for each of them. Evaluations with the seed of the first evaluation are attempted
+   * together. Evaluations without a fitness afterwards are carried out one by one.
+   * 
+   * @param <R>                      the type of {@code Representation} to evaluate
+   * @param evaluations              the {@code Evaluation} instances to carry out
+   * @param evaluationCountDownLatch count down latch used to signal work complete
+   */
+  protected <R extends Representation> void evaluate(List<Evaluation<R>> evaluations,
+      CountDownLatch evaluationCountDownLatch) {
+    if (evaluations.size() > 1) {
+      attemptBatchEvaluation(evaluations);
+    }
+    for (var evaluation : evaluations) {
+      if (evaluation.getFitness() >= 0) {
+        evaluationCountDownLatch.countDown();
+      } else if (evaluation.isCancelled()) {
+        cancelledEvaluationCount.increment();
+        evaluationCountDownLatch.countDown();
+      } else {
+        evaluate(evaluation, evaluationCountDownLatch);
+      }
+    }
+  }
+
+  /**
+   * Attempts to carry out the evaluations with the seed of the first evaluation together on the
+   * current thread and sets their fitness, using {@link Problem#evaluateRepresentations}.
+   * <p>
+   * Cancelled evaluations are left out. If the {@code Problem} does not support the batch or the
+   * attempt fails, no fitness is set and the failure is not recorded, so that the evaluations can
+   * be carried out one by one. The wall time and CPU time of a successful attempt are shared evenly
+   * among its evaluations.
+   * 
+   * @param <R>         the type of {@code Representation} to evaluate
+   * @param evaluations the {@code Evaluation} instances to carry out
+   */
+  protected <R extends Representation> void attemptBatchEvaluation(
+      List<Evaluation<R>> evaluations) {
+    var seed = evaluations.get(0).getSeed();
+    var running = new ArrayList<Evaluation<R>>(evaluations.size());
+    var representations = new ArrayList<R>(evaluations.size());
+    for (var evaluation : evaluations) {
+      if ((evaluation.getSeed() == seed) && evaluation.begin()) {
+        running.add(evaluation);
+        representations.add(evaluation.getRepresentation());
+      }
+    }
+    if (running.size() < 2) {
+      for (var evaluation : running) {
+        evaluation.end();
+      }
+      return;
+    }
+    if (runningEvaluations != null) {
+      runningEvaluations.addAll(running);
+    }
+    var startNanoTime = System.nanoTime();
+    var startCpuNanoTime = cpuTimeMeasured ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    var fitnesses = new double[running.size()];
+    var evaluated = false;
+    try {
+      var problem = problemBuilder.create(seed, problems.get());
+      problems.set(problem);
+      evaluated = problem.evaluateRepresentations(representations, fitnesses);
+    } catch (Exception e) {
+      // the problem may be left in an inconsistent state, do not reuse it
+      problems.remove();
+    } finally {
+      if (runningEvaluations != null) {
+        runningEvaluations.removeAll(running);
+      }
+      for (var evaluation : running) {
+        evaluation.end();
+      }
+      var wallNanoTime = System.nanoTime() - startNanoTime;
+      var cpuNanoTime =
+          cpuTimeMeasured ? THREAD_MX_BEAN.getCurrentThreadCpuTime() - startCpuNanoTime : 0;
+      busyNanoTime.add(wallNanoTime);
+      if (evaluated) {
+        var count = running.size();
+        for (int i = 0; i < count; i++) {
+          var evaluation = running.get(i);
+          evaluation.recordCost(wallNanoTime / count, cpuNanoTime / count);
+          if (evaluation.complete(fitnesses[i])) {
+            completedEvaluationCount.increment();
+            batchedEvaluationCount.increment();
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Duplicates the oldest running evaluation which has not been duplicated yet and carries out the
+   * duplicate on the current thread. If the duplicate finishes first, its fitness is set on the
+   * original, the original is cancelled and its latch is counted down.
+   * 
+   * @return {@code true} if an evaluation was duplicated, {@code false} if there was none to
+   *         duplicate
+   */
+  protected boolean speculate() {
+    while (true) {
+      // find the oldest running evaluation
+      Evaluation<?> oldest = null;
+      var oldestStartNanoTime = 0L;
+      for (var entry : dispatchedEvaluations.entrySet()) {
+        var evaluation = entry.getKey();
+        var startNanoTime = evaluation.getStartNanoTime();
+        if ((startNanoTime != 0) && evaluation.isRunning() && !speculations.containsKey(evaluation)
+            && ((oldest == null) || (startNanoTime - oldestStartNanoTime < 0))) {
+          oldest = evaluation;
+          oldestStartNanoTime = startNanoTime;
+        }
+      }
+      if (oldest == null) {
+        return false;
+      }
+      var evaluationCountDownLatch = dispatchedEvaluations.get(oldest);
+      if (evaluationCountDownLatch == null) {
+        continue;
+      }
+      var speculation = createSpeculation(oldest, evaluationCountDownLatch);
+      if (speculations.putIfAbsent(oldest, speculation) != null) {
+        continue;
+      }
+
+      // the original may have finished meanwhile, in which case it must count down its latch
+      if (!dispatchedEvaluations.containsKey(oldest)) {
+        if (speculations.remove(oldest, speculation)) {
+          continue;
+        }
+        return true;
+      }
+
+      speculatedEvaluationCount.increment();
+      runSpeculation(speculation);
+      return true;
+    }
+  }
+
+  /**
+   * Creates a {@code SpeculativeEvaluation} duplicating the specified {@code Evaluation}.
+   * 
+   * @param <R>                      the type of {@code Representation} to evaluate
+   * @param original                 the original {@code Evaluation}
+   * @param evaluationCountDownLatch count down latch of the original
+   * @return the {@code SpeculativeEvaluation}
+   */
+  protected <R extends Representation> SpeculativeEvaluation<R> createSpeculation(
+      Evaluation<R> original, CountDownLatch evaluationCountDownLatch) {
+    return new SpeculativeEvaluation<R>(original, evaluationCountDownLatch);
+  }
+
+  /**
+   * Carries out a {@code SpeculativeEvaluation} once, without retries, and completes the original
+   * if the duplicate finishes first.
+   * 
+   * @param <R>         the type of {@code Representation} to evaluate
+   * @param speculation the {@code SpeculativeEvaluation}
+   */
+  protected <R extends Representation> void runSpeculation(SpeculativeEvaluation<R> speculation) {
+    attemptEvaluation(speculation);
+    var fitness = speculation.getFitness();
+    if ((fitness >= 0) && speculation.claim()) {
+      var original = speculation.getOriginal();
+      if (original.complete(fitness)) {
+        speculationWinCount.increment();
+        original.cancel();
+      }
+      speculation.getEvaluationCountDownLatch().countDown();
+    }
+  }
+
+  /**
+   * Attempts to carry out a single evaluation on the current thread and sets its fitness.
+   * <p>
+   * Each thread keeps its own {@code Problem} instance, which is reused if it supports
+   * {@link Problem#reset(long)}. The wall time and, if supported, the CPU time of the attempt are
+   * recorded in the evaluation.
+   * 
+   * @param <R>        the type of {@code Representation} to evaluate
+   * @param evaluation the {@code Evaluation} to carry out
+   * @return {@code null} if the attempt succeeded or the evaluation was cancelled, otherwise the
+   *         exception thrown by the attempt
+   */
+  protected <R extends Representation> Exception attemptEvaluation(Evaluation<R> evaluation) {
+    if (!evaluation.begin()) {
+      cancelledEvaluationCount.increment();
+      return null;
+    }
+    if (runningEvaluations != null) {
+      runningEvaluations.add(evaluation);
+    }
+    var startNanoTime = System.nanoTime();
+    var startCpuNanoTime = cpuTimeMeasured ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    try {
+      var problem = problemBuilder.create(evaluation.getSeed(), problems.get());
+      problems.set(problem);
+      var fitness = problem.evaluateRepresentation(evaluation.getRepresentation());
+      if (evaluation.complete(fitness)) {
+        completedEvaluationCount.increment();
+      } else {
+        cancelledEvaluationCount.increment();
+      }
+      return null;
+    } catch (Exception e) {
+      // the problem may be left in an inconsistent state, do not reuse it
+      problems.remove();
+      if (evaluation.isCancelled()) {
+        cancelledEvaluationCount.increment();
+        return null;
+      }
+      return e;
+    } finally {
+      if (runningEvaluations != null) {
+        runningEvaluations.remove(evaluation);
+      }
+      evaluation.end();
+      var wallNanoTime = System.nanoTime() - startNanoTime;
+      var cpuNanoTime =
+          cpuTimeMeasured ? THREAD_MX_BEAN.getCurrentThreadCpuTime() - startCpuNanoTime : 0;
+      evaluation.recordCost(wallNanoTime, cpuNanoTime);
+      busyNanoTime.add(wallNanoTime);
+    }
+  }
+
+  /**
+   * Cancels running evaluations which have exceeded the evaluation timeout.
+   */
+  protected void cancelOverdueEvaluations() {
+    var timeoutNanoTime = evaluationTimeoutMilliSeconds * 1000000;
+    var nanoTime = System.nanoTime();
+    for (var evaluation : runningEvaluations) {
+      if (nanoTime - evaluation.getStartNanoTime() > timeoutNanoTime) {
+        evaluation.cancel();
+      }
+    }
+  }
+
+  /**
+   * Shuts down the worker pool, the watchdog and the retry thread. Running evaluations are
+   * interrupted and evaluations waiting for a retry are finished without a fitness.
+   */
+  @Override
+  public void close() {
+    executorService.shutdownNow();
+    if (watchdogService != null) {
+      watchdogService.shutdownNow();
+    }
+    if (retryService != null) {
+      retryService.shutdownNow();
+      for (var evaluation : pendingRetries.keySet()) {
+        var evaluationCountDownLatch = pendingRetries.remove(evaluation);
+        if (evaluationCountDownLatch != null) {
+          evaluationCountDownLatch.countDown();
+        }
+      }
     }
   }
 
@@ -76,4 +691,147 @@ public class LocalExecutor extends BaseExecutor {
   public int getWorkerCount() {
     return workerCount;
   }
+
+  /**
+   * Gets the {@code DispatchMode} used to hand out evaluations to the workers.
+   * 
+   * @return the dispatch mode
+   */
+  public DispatchMode getDispatchMode() {
+    return dispatchMode;
+  }
+
+  /**
+   * Gets the flag indicating that idle workers speculatively duplicate straggling evaluations.
+   * 
+   * @return {@code true} if speculative execution is enabled
+   */
+  public boolean isSpeculative() {
+    return speculative;
+  }
+
+  /**
+   * Gets the maximum number of evaluations of the same problem variant carried out together.
+   * 
+   * @return the batch size, {@code 1} if evaluations are carried out one by one
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Gets the total number of evaluations completed as part of a batch.
+   * 
+   * @return the batched evaluation count
+   */
+  public long getBatchedEvaluationCount() {
+    return batchedEvaluationCount.sum();
+  }
+
+  /**
+   * Gets the total number of evaluations duplicated speculatively.
+   * 
+   * @return the speculated evaluation count
+   */
+  public long getSpeculatedEvaluationCount() {
+    return speculatedEvaluationCount.sum();
+  }
+
+  /**
+   * Gets the total number of speculative duplicates which finished before their original.
+   * 
+   * @return the speculation win count
+   */
+  public long getSpeculationWinCount() {
+    return speculationWinCount.sum();
+  }
+
+  /**
+   * Gets the minimum estimated evaluation time each worker should receive from a batch.
+   * 
+   * @return the minimum work per worker in nanoseconds, {@code 0} if all workers are always used
+   */
+  public long getMinimumWorkerNanoTime() {
+    return minimumWorkerNanoTime;
+  }
+
+  /**
+   * Gets the estimated time of an evaluation used to decide how many workers to use.
+   * 
+   * @return the estimated evaluation time in nanoseconds, {@code 0} if not estimated yet
+   */
+  public synchronized double getEstimatedEvaluationNanoTime() {
+    return estimatedEvaluationNanoTime;
+  }
+
+  /**
+   * Gets the number of workers used for the most recently dispatched batch.
+   * 
+   * @return the worker count, {@code 0} if the batch was carried out on the dispatching thread
+   */
+  public int getLastDispatchWorkerCount() {
+    return lastDispatchWorkerCount;
+  }
+
+  /**
+   * Gets the total number of batches carried out on the dispatching thread.
+   * 
+   * @return the inline dispatch count
+   */
+  public long getInlineDispatchCount() {
+    return inlineDispatchCount.sum();
+  }
+
+  /**
+   * Gets the approximate number of workers currently carrying out evaluations.
+   * 
+   * @return the active worker count
+   */
+  public int getActiveWorkerCount() {
+    if (executorService instanceof ForkJoinPool) {
+      return ((ForkJoinPool) executorService).getActiveThreadCount();
+    }
+    return ((ThreadPoolExecutor) executorService).getActiveCount();
+  }
+
+  /**
+   * Gets the total number of evaluations completed by the workers.
+   * 
+   * @return the completed evaluation count
+   */
+  public long getCompletedEvaluationCount() {
+    return completedEvaluationCount.sum();
+  }
+
+  /**
+   * Gets the total number of evaluations cancelled, either before or while being carried out.
+   * 
+   * @return the cancelled evaluation count
+   */
+  public long getCancelledEvaluationCount() {
+    return cancelledEvaluationCount.sum();
+  }
+
+  /**
+   * Gets the total time in nanoseconds spent by the workers carrying out evaluations.
+   * 
+   * @return the busy time in nanoseconds
+   */
+  public long getBusyNanoTime() {
+    return busyNanoTime.sum();
+  }
+
+  /**
+   * Gets the utilization of the workers since the creation of the {@code LocalExecutor}, that is,
+   * the proportion of the available worker time spent carrying out evaluations.
+   * 
+   * @return the utilization, {@code 0 <= utilization <= 1}
+   */
+  public double getUtilization() {
+    var elapsedNanoTime = System.nanoTime() - creationNanoTime;
+    if (elapsedNanoTime <= 0) {
+      return 0;
+    }
+    return Math.min(1, (double) getBusyNanoTime() / ((double) elapsedNanoTime * workerCount));
+  }
 }
@@ -22,6 +22,7 @@ import at.aau.frevo.Problem;
 import at.aau.frevo.ProblemBuilder;
 import at.aau.frevo.Representation;
 import at.aau.frevo.executor.baseexecutor.BaseExecutorBuilder;
+import at.aau.frevo.executor.baseexecutor.EvaluationOrder;
 
 /**
  * Builder for {@link LocalExecutor} instances.
@@ -29,12 +30,20 @@ import at.aau.frevo.executor.baseexecutor.BaseExecutorBuilder;
 public class LocalExecutorBuilder extends BaseExecutorBuilder<LocalExecutor> {
 
   protected int workerCount;
+  protected DispatchMode dispatchMode;
+  protected boolean speculative;
+  protected long minimumWorkerMicroSeconds;
+  protected int batchSize;
 
   /**
    * Constructs a new {@code LocalExecutorBuilder} instance.
    */
   public LocalExecutorBuilder() {
     workerCount = 0;
+    dispatchMode = DispatchMode.QUEUE;
+    speculative = false;
+    minimumWorkerMicroSeconds = 0;
+    batchSize = 1;
   }
 
   /**
@@ -46,6 +55,10 @@ public class LocalExecutorBuilder extends BaseExecutorBuilder<LocalExecutor> {
   public LocalExecutorBuilder(LocalExecutorBuilder source) {
     super(source);
     workerCount = source.workerCount;
+    dispatchMode = source.dispatchMode;
+    speculative = source.speculative;
+    minimumWorkerMicroSeconds = source.minimumWorkerMicroSeconds;
+    batchSize = source.batchSize;
   }
 
   @Override
@@ -74,7 +87,9 @@ public class LocalExecutorBuilder extends BaseExecutorBuilder<LocalExecutor> {
   }
 
   /**
-   * Sets the number of workers created to evaluate candidate {@link Representation} instances.
+   * Sets the number of workers created to evaluate candidate {@link Representation} instances. The
+   * {@code LocalExecutor} creates exactly this many threads. If zero, the number of available
+   * processors is used.
    * 
    * @param workerCount the worker count
    * @return this {@code LocalExecutorBuilder} instance
@@ -84,6 +99,96 @@ public class LocalExecutorBuilder extends BaseExecutorBuilder<LocalExecutor> {
     return this;
   }
 
+  /**
+   * Gets the {@code DispatchMode} used to hand out evaluations to the workers.
+   * 
+   * @return the dispatch mode
+   */
+  public DispatchMode getDispatchMode() {
+    return dispatchMode;
+  }
+
+  /**
+   * Sets the {@code DispatchMode} used to hand out evaluations to the workers.
+   * 
+   * @param dispatchMode the dispatch mode
+   * @return this {@code LocalExecutorBuilder} instance
+   */
+  public LocalExecutorBuilder setDispatchMode(DispatchMode dispatchMode) {
+    this.dispatchMode = dispatchMode;
+    return this;
+  }
+
+  /**
+   * Gets the flag indicating that idle workers speculatively duplicate straggling evaluations.
+   * 
+   * @return {@code true} if speculative execution is enabled
+   */
+  public boolean isSpeculative() {
+    return speculative;
+  }
+
+  /**
+   * Sets the flag indicating that idle workers speculatively duplicate straggling evaluations. Once
+   * the queue is empty, idle workers carry out copies of the oldest in-flight evaluations and the
+   * first copy to finish provides the fitness. Only supported in {@link DispatchMode#QUEUE}.
+   * 
+   * @param speculative the speculative flag
+   * @return this {@code LocalExecutorBuilder} instance
+   */
+  public LocalExecutorBuilder setSpeculative(boolean speculative) {
+    this.speculative = speculative;
+    return this;
+  }
+
+  /**
+   * Gets the minimum estimated evaluation time each worker should receive from a batch.
+   * 
+   * @return the minimum work per worker in microseconds, {@code 0} if all workers are always used
+   */
+  public long getMinimumWorkerMicroSeconds() {
+    return minimumWorkerMicroSeconds;
+  }
+
+  /**
+   * Sets the minimum estimated evaluation time each worker should receive from a batch. If
+   * positive, the {@code LocalExecutor} estimates the time of an evaluation online and uses fewer
+   * workers for batches which cannot keep all of them busy for this long. Batches too small for
+   * two workers are carried out on the dispatching thread. If zero, all workers are always used.
+   * 
+   * @param minimumWorkerMicroSeconds the minimum work per worker in microseconds
+   * @return this {@code LocalExecutorBuilder} instance
+   */
+  public LocalExecutorBuilder setMinimumWorkerMicroSeconds(long minimumWorkerMicroSeconds) {
+    this.minimumWorkerMicroSeconds = minimumWorkerMicroSeconds;
+    return this;
+  }
+
+  /**
+   * Gets the maximum number of evaluations of the same problem variant carried out together.
+   * 
+   * @return the batch size, {@code 1} if evaluations are carried out one by one
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Sets the maximum number of evaluations of the same problem variant carried out together. If
+   * greater than one, workers take up to this many consecutive evaluations of the same problem
+   * variant and pass their candidates to {@link Problem#evaluateRepresentations} in one call.
+   * Evaluations are consecutive per problem variant in {@link EvaluationOrder#VARIANT_MAJOR}
+   * without a cost history. Batches which the {@code Problem} does not support are carried out one
+   * by one.
+   * 
+   * @param batchSize the batch size
+   * @return this {@code LocalExecutorBuilder} instance
+   */
+  public LocalExecutorBuilder setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+    return this;
+  }
+
   @Override
   public LocalExecutorBuilder setProblemVariantCount(int problemVariantCount) {
     return (LocalExecutorBuilder) super.setProblemVariantCount(problemVariantCount);
@@ -98,4 +203,46 @@ public class LocalExecutorBuilder extends BaseExecutorBuilder<LocalExecutor> {
   public BaseExecutorBuilder<LocalExecutor> setTimeoutMilliSeconds(long timeoutMilliSeconds) {
     return super.setTimeoutMilliSeconds(timeoutMilliSeconds);
   }
+
+  @Override
+  public LocalExecutorBuilder setEvaluationTimeoutMilliSeconds(
+      long evaluationTimeoutMilliSeconds) {
+    return (LocalExecutorBuilder) super.setEvaluationTimeoutMilliSeconds(
+        evaluationTimeoutMilliSeconds);
+  }
+
+  @Override
+  public LocalExecutorBuilder setRetryCount(int retryCount) {
+    return (LocalExecutorBuilder) super.setRetryCount(retryCount);
+  }
+
+  @Override
+  public LocalExecutorBuilder setRetryBackoffMilliSeconds(long retryBackoffMilliSeconds) {
+    return (LocalExecutorBuilder) super.setRetryBackoffMilliSeconds(retryBackoffMilliSeconds);
+  }
+
+  @Override
+  public LocalExecutorBuilder setFitnessCacheSize(int fitnessCacheSize) {
+    return (LocalExecutorBuilder) super.setFitnessCacheSize(fitnessCacheSize);
+  }
+
+  @Override
+  public LocalExecutorBuilder setRacingInitialVariantCount(int racingInitialVariantCount) {
+    return (LocalExecutorBuilder) super.setRacingInitialVariantCount(racingInitialVariantCount);
+  }
+
+  @Override
+  public LocalExecutorBuilder setRacingReductionFactor(double racingReductionFactor) {
+    return (LocalExecutorBuilder) super.setRacingReductionFactor(racingReductionFactor);
+  }
+
+  @Override
+  public LocalExecutorBuilder setCostHistorySize(int costHistorySize) {
+    return (LocalExecutorBuilder) super.setCostHistorySize(costHistorySize);
+  }
+
+  @Override
+  public LocalExecutorBuilder setEvaluationOrder(EvaluationOrder evaluationOrder) {
+    return (LocalExecutorBuilder) super.setEvaluationOrder(evaluationOrder);
+  }
 }
@@ -17,63 +17,124 @@
 
 package at.aau.frevo.executor.localexecutor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
 import at.aau.frevo.Evaluation;
-import at.aau.frevo.Problem;
-import at.aau.frevo.ProblemBuilder;
 import at.aau.frevo.Representation;
+import at.aau.frevo.executor.baseexecutor.EvaluationOrder;
 
 /**
  * Example worker class for {@link LocalExecutor} that carries out evaluations on a local thread.
+ * <p>
+ * The worker is used in {@link DispatchMode#QUEUE} and returns as soon as the queue of evaluations
+ * is empty, releasing its thread back to the pool of the {@code LocalExecutor}. Consecutive
+ * evaluations of the same {@code Representation} are taken together, so that they are carried out
+ * by the same thread. If the executor has a batch size greater than one, consecutive evaluations of
+ * the same problem variant are carried out as a batch instead, so grouping by
+ * {@code Representation} only applies where the head of the queue holds a single evaluation of its
+ * problem variant, as in {@link EvaluationOrder#REPRESENTATION_MAJOR}. If speculative execution is
+ * enabled, it then duplicates straggling evaluations until all evaluations of its call are
+ * complete.
  * 
  * @param <R> the type of {@code Representation} to be evaluated
  */
 public class LocalWorker<R extends Representation> implements Runnable {
 
-  protected final static long POLL_TIMEOUT_MILLISECONDS = 10;
-
   protected int id;
+  protected LocalExecutor executor;
   protected BlockingQueue<Evaluation<R>> evaluationQueue;
   protected CountDownLatch evaluationCountDownLatch;
-  protected ProblemBuilder<? extends Problem> problemBuilder;
 
   /**
    * Creates a new {@code LocalWorker} instance using the specified parameters.
    * 
    * @param id                       the id of this worker
+   * @param executor                 the {@code LocalExecutor} owning this worker
    * @param evaluationQueue          the queue of {@code Evaluation} instances to be evaluated
    * @param evaluationCountDownLatch count down latch used to signal work complete
-   * @param problemBuilder           the {@code ProblemBuilder} used to create {@code Problem}
-   *                                 instances
    */
-  public LocalWorker(int id, BlockingQueue<Evaluation<R>> evaluationQueue,
-      CountDownLatch evaluationCountDownLatch, ProblemBuilder<? extends Problem> problemBuilder) {
+  public LocalWorker(int id, LocalExecutor executor, BlockingQueue<Evaluation<R>> evaluationQueue,
+      CountDownLatch evaluationCountDownLatch) {
     this.id = id;
+    this.executor = executor;
     this.evaluationQueue = evaluationQueue;
     this.evaluationCountDownLatch = evaluationCountDownLatch;
-    this.problemBuilder = problemBuilder;
   }
 
   @Override
   public void run() {
-    try {
-      // carry out evaluations while there is work to do
-      while (evaluationCountDownLatch.getCount() > 0) {
-        var evaluation = evaluationQueue.poll(POLL_TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS);
-        if (evaluation != null) {
-          try {
-            var problem = problemBuilder.create(evaluation.getSeed());
-            evaluation.setFitness(problem.evaluateRepresentation(evaluation.getRepresentation()));
-            evaluationCountDownLatch.countDown();
-          } catch (Exception e) {
-            // if something goes wrong, put back th evaluation so that it can be done again
-            evaluationQueue.put(evaluation);
-          }
+    // carry out evaluations while there is work to do, failed evaluations are retried or
+    // quarantined by the executor
+    var batchSize = executor.getBatchSize();
+    var evaluations = new ArrayList<Evaluation<R>>(batchSize);
+    while (!Thread.currentThread().isInterrupted() && take(evaluations, batchSize)) {
+      if ((evaluations.size() > 1)
+          && (evaluations.get(1).getSeed() == evaluations.get(0).getSeed())) {
+        executor.evaluate(evaluations, evaluationCountDownLatch);
+        continue;
+      }
+      for (var evaluation : evaluations) {
+        executor.evaluate(evaluation, evaluationCountDownLatch);
+      }
+    }
+
+    // race the oldest evaluations still in flight instead of idling
+    if (executor.isSpeculative()) {
+      while (!Thread.currentThread().isInterrupted() && (evaluationCountDownLatch.getCount() > 0)
+          && executor.speculate()) {
+      }
+    }
+  }
+
+  /**
+   * Takes the next evaluations from the head of the queue. If the batch size is greater than one
+   * and the head holds several evaluations of the same problem variant, up to a batch of them is
+   * taken. Otherwise all consecutive evaluations of the same {@code Representation} are taken, so
+   * that they are carried out by this worker as one task.
+   * <p>
+   * The evaluations are taken while holding the lock of the queue, so that workers taking from the
+   * same queue do not split a group. A group taken is always carried out completely, even if the
+   * worker is interrupted meanwhile, as the evaluations cannot be handed back to the queue.
+   * 
+   * @param evaluations the list receiving the evaluations
+   * @param batchSize   the maximum number of evaluations of a batch
+   * @return {@code true} if any evaluation was taken, {@code false} if the queue is empty
+   */
+  protected boolean take(List<Evaluation<R>> evaluations, int batchSize) {
+    evaluations.clear();
+    synchronized (evaluationQueue) {
+      var evaluation = evaluationQueue.poll();
+      if (evaluation == null) {
+        return false;
+      }
+      evaluations.add(evaluation);
+      Evaluation<R> next;
+      if ((batchSize > 1) && ((next = evaluationQueue.peek()) != null)
+          && (next.getSeed() == evaluation.getSeed())) {
+        while ((evaluations.size() < batchSize) && ((next = evaluationQueue.peek()) != null)
+            && (next.getSeed() == evaluation.getSeed())
+            && ((next = evaluationQueue.poll()) != null)) {
+          evaluations.add(next);
+        }
+      } else {
+        while (((next = evaluationQueue.peek()) != null)
+            && (next.getRepresentation() == evaluation.getRepresentation())
+            && ((next = evaluationQueue.poll()) != null)) {
+          evaluations.add(next);
         }
       }
-    } catch (InterruptedException e) {
     }
+    return true;
+  }
+
+  /**
+   * Gets the id of this worker.
+   * 
+   * @return the id
+   */
+  public int getId() {
+    return id;
   }
 }
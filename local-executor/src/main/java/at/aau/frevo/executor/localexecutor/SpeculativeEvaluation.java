@@ -0,0 +1,78 @@
+/**
+ * File: SpeculativeEvaluation.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.localexecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import at.aau.frevo.Evaluation;
+import at.aau.frevo.Representation;
+
+/**
+ * A duplicate of an in-flight {@link Evaluation}, carried out by an idle worker of a
+ * {@link LocalExecutor} to race a straggling original.
+ * <p>
+ * Whichever of the two finishes first counts down the latch of the original, so that the round
+ * does not wait for the loser, which is cancelled.
+ * 
+ * @param <R> the type of {@code Representation} to be evaluated
+ */
+public class SpeculativeEvaluation<R extends Representation> extends Evaluation<R> {
+
+  protected Evaluation<R> original;
+  protected CountDownLatch evaluationCountDownLatch;
+  protected AtomicBoolean claimed = new AtomicBoolean();
+
+  /**
+   * Creates a new {@code SpeculativeEvaluation} duplicating the specified {@code Evaluation}.
+   * 
+   * @param original                 the original {@code Evaluation}
+   * @param evaluationCountDownLatch count down latch used to signal the original is complete
+   */
+  public SpeculativeEvaluation(Evaluation<R> original, CountDownLatch evaluationCountDownLatch) {
+    super(original.getRepresentation(), original.getSeed());
+    this.original = original;
+    this.evaluationCountDownLatch = evaluationCountDownLatch;
+  }
+
+  /**
+   * Claims the right to count down the latch of the original. Only the first call succeeds.
+   * 
+   * @return {@code true} if the caller should count down the latch
+   */
+  public boolean claim() {
+    return claimed.compareAndSet(false, true);
+  }
+
+  /**
+   * Gets the original {@code Evaluation}.
+   * 
+   * @return the original {@code Evaluation}
+   */
+  public Evaluation<R> getOriginal() {
+    return original;
+  }
+
+  /**
+   * Gets the count down latch used to signal the original is complete.
+   * 
+   * @return the count down latch
+   */
+  public CountDownLatch getEvaluationCountDownLatch() {
+    return evaluationCountDownLatch;
+  }
+}
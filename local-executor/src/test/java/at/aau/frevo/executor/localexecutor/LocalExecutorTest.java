@@ -0,0 +1,455 @@
+/**
+ * File: LocalExecutorTest.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.localexecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import at.aau.frevo.Evaluation;
+import at.aau.frevo.Problem;
+import at.aau.frevo.ProblemBuilder;
+import at.aau.frevo.Representation;
+import at.aau.frevo.executor.baseexecutor.EvaluationOrder;
+import at.aau.frevo.representation.parameterset.ParameterSet;
+import at.aau.frevo.representation.parameterset.ParameterSetBuilder;
+
+/**
+ * Tests for {@link LocalExecutor}.
+ */
+class LocalExecutorTest {
+
+  /**
+   * {@code Problem} whose evaluations wait until its gate is opened.
+   */
+  static class GatedProblem extends Problem {
+
+    static volatile CountDownLatch gate = new CountDownLatch(0);
+
+    GatedProblem(long seed) {
+      super(seed);
+    }
+
+    @Override
+    public double evaluateRepresentation(Representation representation) {
+      try {
+        gate.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return 1;
+    }
+  }
+
+  static class GatedProblemBuilder extends ProblemBuilder<GatedProblem> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String getName() {
+      return GatedProblem.class.getName();
+    }
+
+    @Override
+    public GatedProblem create(long seed) {
+      return new GatedProblem(seed);
+    }
+
+    @Override
+    public GatedProblemBuilder cloneBuilder() {
+      return this;
+    }
+
+    @Override
+    public int getRepresentationInputCount() {
+      return 0;
+    }
+
+    @Override
+    public int getRepresentationOutputCount() {
+      return 0;
+    }
+  }
+
+  /**
+   * {@code Problem} whose evaluations of one poisoned {@code Representation} always fail.
+   */
+  static class PoisonedProblem extends Problem {
+
+    static volatile Representation poison;
+    static final AtomicInteger poisonAttemptCount = new AtomicInteger();
+    static final AtomicLong firstRetryNanoTime = new AtomicLong();
+    static final AtomicLong lastHealthyNanoTime = new AtomicLong();
+
+    PoisonedProblem(long seed) {
+      super(seed);
+    }
+
+    static void poison(Representation representation) {
+      poison = representation;
+      poisonAttemptCount.set(0);
+      firstRetryNanoTime.set(0);
+      lastHealthyNanoTime.set(0);
+    }
+
+    @Override
+    public double evaluateRepresentation(Representation representation) {
+      if (representation.equals(poison)) {
+        if (poisonAttemptCount.incrementAndGet() == 2) {
+          firstRetryNanoTime.set(System.nanoTime());
+        }
+        throw new IllegalStateException("poisoned");
+      }
+      lastHealthyNanoTime.set(System.nanoTime());
+      return 1;
+    }
+  }
+
+  static class PoisonedProblemBuilder extends ProblemBuilder<PoisonedProblem> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String getName() {
+      return PoisonedProblem.class.getName();
+    }
+
+    @Override
+    public PoisonedProblem create(long seed) {
+      return new PoisonedProblem(seed);
+    }
+
+    @Override
+    public PoisonedProblemBuilder cloneBuilder() {
+      return this;
+    }
+
+    @Override
+    public int getRepresentationInputCount() {
+      return 0;
+    }
+
+    @Override
+    public int getRepresentationOutputCount() {
+      return 1;
+    }
+  }
+
+  /**
+   * {@code Problem} whose first evaluation of one straggling {@code Representation} waits until it
+   * is interrupted, while further evaluations of it return right away.
+   */
+  static class StragglerProblem extends Problem {
+
+    static final double STRAGGLER_FITNESS = 2;
+
+    static volatile Representation straggler;
+    static volatile CountDownLatch stragglerStarted;
+    static volatile boolean stragglerInterrupted;
+    static final AtomicInteger stragglerAttemptCount = new AtomicInteger();
+
+    StragglerProblem(long seed) {
+      super(seed);
+    }
+
+    static void straggle(Representation representation) {
+      straggler = representation;
+      stragglerStarted = new CountDownLatch(1);
+      stragglerInterrupted = false;
+      stragglerAttemptCount.set(0);
+    }
+
+    @Override
+    public double evaluateRepresentation(Representation representation) {
+      try {
+        if (!representation.equals(straggler)) {
+          // let the straggler start before the other evaluations finish
+          stragglerStarted.await(10, TimeUnit.SECONDS);
+          return 1;
+        }
+        if (stragglerAttemptCount.incrementAndGet() == 1) {
+          stragglerStarted.countDown();
+          new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+        }
+      } catch (InterruptedException e) {
+        stragglerInterrupted = true;
+        Thread.currentThread().interrupt();
+      }
+      return STRAGGLER_FITNESS;
+    }
+  }
+
+  static class StragglerProblemBuilder extends ProblemBuilder<StragglerProblem> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String getName() {
+      return StragglerProblem.class.getName();
+    }
+
+    @Override
+    public StragglerProblem create(long seed) {
+      return new StragglerProblem(seed);
+    }
+
+    @Override
+    public StragglerProblemBuilder cloneBuilder() {
+      return this;
+    }
+
+    @Override
+    public int getRepresentationInputCount() {
+      return 0;
+    }
+
+    @Override
+    public int getRepresentationOutputCount() {
+      return 1;
+    }
+  }
+
+  /**
+   * {@code Problem} recording the threads carrying out the evaluations of each
+   * {@code Representation}, which supports batches.
+   */
+  static class RecordingProblem extends Problem {
+
+    static final ConcurrentHashMap<Representation, Set<Long>> threadIds =
+        new ConcurrentHashMap<>();
+
+    RecordingProblem(long seed) {
+      super(seed);
+    }
+
+    static void record(Representation representation) {
+      threadIds.computeIfAbsent(representation, key -> ConcurrentHashMap.newKeySet())
+          .add(Thread.currentThread().getId());
+    }
+
+    @Override
+    public double evaluateRepresentation(Representation representation) {
+      record(representation);
+      try {
+        // give the other workers the chance to take from the queue meanwhile
+        Thread.sleep(1);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return 1;
+    }
+
+    @Override
+    public boolean evaluateRepresentations(List<? extends Representation> representations,
+        double[] fitnesses) {
+      for (var i = 0; i < representations.size(); i++) {
+        record(representations.get(i));
+        fitnesses[i] = 1;
+      }
+      return true;
+    }
+  }
+
+  static class RecordingProblemBuilder extends ProblemBuilder<RecordingProblem> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String getName() {
+      return RecordingProblem.class.getName();
+    }
+
+    @Override
+    public RecordingProblem create(long seed) {
+      return new RecordingProblem(seed);
+    }
+
+    @Override
+    public RecordingProblemBuilder cloneBuilder() {
+      return this;
+    }
+
+    @Override
+    public int getRepresentationInputCount() {
+      return 0;
+    }
+
+    @Override
+    public int getRepresentationOutputCount() {
+      return 1;
+    }
+  }
+
+  /**
+   * Creates distinct representations to evaluate.
+   * 
+   * @param count the number of representations
+   * @return the representations
+   */
+  static List<ParameterSet> createRepresentations(int count) {
+    var representations = new ArrayList<ParameterSet>();
+    for (var i = 0; i < count; i++) {
+      var representation = new ParameterSetBuilder().setOutputCount(1).create();
+      representation.getValues()[0] = i;
+      representations.add(representation);
+    }
+    return representations;
+  }
+
+  @Test
+  void evaluateRepresentationsAsyncReturnsBeforeSmallBatchCompletes() throws Exception {
+    // any batch is too small for two workers once the evaluation time has been estimated
+    try (var executor = new LocalExecutorBuilder().setWorkerCount(2)
+        .setMinimumWorkerMicroSeconds(1000000)
+        .create(new GatedProblemBuilder(), new SplittableRandom(0))) {
+      var representations = createRepresentations(4);
+      GatedProblem.gate = new CountDownLatch(0);
+      executor.evaluateRepresentations(representations);
+      executor.evaluateRepresentations(representations);
+      assertEquals(0, executor.getLastDispatchWorkerCount());
+
+      var gate = new CountDownLatch(1);
+      GatedProblem.gate = gate;
+      try {
+        var future = executor.evaluateRepresentationsAsync(representations);
+        assertFalse(future.isDone());
+        assertEquals(1, executor.getLastDispatchWorkerCount());
+
+        gate.countDown();
+        var results = future.get(10, TimeUnit.SECONDS);
+        assertFalse(results.isEmpty());
+        for (var result : results) {
+          assertEquals(1, result.getFitness());
+        }
+      } finally {
+        gate.countDown();
+      }
+    }
+  }
+
+  @Test
+  void failingEvaluationDoesNotStallOtherEvaluations() {
+    // the poisoned representation is dispatched first to the only worker
+    var representations = createRepresentations(5);
+    var poison = representations.get(0);
+    PoisonedProblem.poison(poison);
+    try (var executor = new LocalExecutorBuilder().setWorkerCount(1).setRetryCount(2)
+        .setRetryBackoffMilliSeconds(500)
+        .create(new PoisonedProblemBuilder(), new SplittableRandom(0))) {
+      var results = executor.evaluateRepresentations(representations);
+
+      // the worker carried out the other evaluations while the retry was delayed
+      assertEquals(3, PoisonedProblem.poisonAttemptCount.get());
+      assertTrue(PoisonedProblem.lastHealthyNanoTime.get()
+          - PoisonedProblem.firstRetryNanoTime.get() < 0);
+      assertEquals(1, executor.getQuarantinedEvaluationCount());
+
+      var healthyCount = 0;
+      for (var result : results) {
+        if (result.getRepresentation() != poison) {
+          assertEquals(1, result.getFitness());
+          healthyCount++;
+        }
+      }
+      assertEquals(4, healthyCount);
+    }
+  }
+
+  @Test
+  void idleWorkerDuplicatesStragglingEvaluation() throws InterruptedException {
+    var representations = createRepresentations(4);
+    StragglerProblem.straggle(representations.get(0));
+    try (var executor = new LocalExecutorBuilder().setWorkerCount(2).setSpeculative(true)
+        .create(new StragglerProblemBuilder(), new SplittableRandom(0))) {
+      var evaluations = new ArrayList<Evaluation<ParameterSet>>();
+      var evaluationQueue = new ArrayBlockingQueue<Evaluation<ParameterSet>>(4);
+      for (var representation : representations) {
+        var evaluation = new Evaluation<ParameterSet>(representation, 0);
+        evaluations.add(evaluation);
+        evaluationQueue.add(evaluation);
+      }
+
+      // one count more than there are evaluations, so that a second count down would show
+      var evaluationCountDownLatch = new CountDownLatch(evaluations.size() + 1);
+      executor.dispatchEvaluation(evaluationQueue, evaluationCountDownLatch);
+      var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while ((evaluationCountDownLatch.getCount() > 1) && (System.nanoTime() - deadline < 0)) {
+        Thread.sleep(1);
+      }
+
+      // let the workers, including the one carrying out the loser, run to completion
+      executor.executorService.shutdown();
+      assertTrue(executor.executorService.awaitTermination(10, TimeUnit.SECONDS));
+      assertEquals(1, evaluationCountDownLatch.getCount());
+
+      assertEquals(1, executor.getSpeculatedEvaluationCount());
+      assertEquals(1, executor.getSpeculationWinCount());
+      assertEquals(2, StragglerProblem.stragglerAttemptCount.get());
+      var straggler = evaluations.get(0);
+      assertEquals(StragglerProblem.STRAGGLER_FITNESS, straggler.getFitness());
+      assertTrue(straggler.isCancelled());
+      assertTrue(StragglerProblem.stragglerInterrupted);
+      for (var evaluation : evaluations.subList(1, evaluations.size())) {
+        assertEquals(1, evaluation.getFitness());
+      }
+    }
+  }
+
+  @Test
+  void representationMajorKeepsEvaluationsOfRepresentationOnOneWorker() {
+    var representations = createRepresentations(16);
+    for (var batchSize : new int[] {1, 4}) {
+      RecordingProblem.threadIds.clear();
+      try (var executor = new LocalExecutorBuilder().setWorkerCount(4).setBatchSize(batchSize)
+          .setProblemVariantCount(5).setEvaluationOrder(EvaluationOrder.REPRESENTATION_MAJOR)
+          .create(new RecordingProblemBuilder(), new SplittableRandom(0))) {
+        var results = executor.evaluateRepresentations(representations);
+        assertEquals(representations.size(), results.size());
+
+        // consecutive evaluations have different seeds, so none is batched
+        assertEquals(0, executor.getBatchedEvaluationCount());
+      }
+      for (var representation : representations) {
+        assertEquals(1, RecordingProblem.threadIds.get(representation).size());
+      }
+    }
+  }
+
+  @Test
+  void representationMajorBatchesSingleVariantRounds() {
+    // the limit of grouping by representation: with one problem variant, batches take precedence
+    var representations = createRepresentations(16);
+    try (var executor = new LocalExecutorBuilder().setWorkerCount(4).setBatchSize(4)
+        .setEvaluationOrder(EvaluationOrder.REPRESENTATION_MAJOR)
+        .create(new RecordingProblemBuilder(), new SplittableRandom(0))) {
+      var results = executor.evaluateRepresentations(representations);
+      assertEquals(representations.size(), results.size());
+      assertEquals(representations.size(), executor.getBatchedEvaluationCount());
+    }
+  }
+}
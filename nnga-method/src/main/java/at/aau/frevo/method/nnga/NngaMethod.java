@@ -138,6 +138,7 @@ public class NngaMethod<R extends Representation> extends Method<R> {
    * @return the new generation of candidate {@code Representation} instances
    */
   protected ArrayList<R> evolve() {
+    // representations are compared by content, so the set drops duplicate candidates
     var set = new HashSet<R>();
     var totalWeight = eliteWeight + randomWeight + mutatedWeight + crossedWeight + newWeight;
 
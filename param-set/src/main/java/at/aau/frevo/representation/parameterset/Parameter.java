@@ -17,6 +17,8 @@
 
 package at.aau.frevo.representation.parameterset;
 
+import java.io.Serializable;
+
 /**
  * Represents a parameter to be optimized.
  * <p>
@@ -26,7 +28,9 @@ package at.aau.frevo.representation.parameterset;
  * The {@code metaInformation} field allows additional information describing the parameter to be
  * passed through to consumers.
  */
-public class Parameter {
+public class Parameter implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   protected String name;
   protected String metaInformation;
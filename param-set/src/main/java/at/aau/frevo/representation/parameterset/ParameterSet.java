@@ -21,12 +21,15 @@ import java.util.SplittableRandom;
 
 import at.aau.frevo.Representation;
 import at.aau.frevo.RepresentationContext;
+import at.aau.frevo.ReseedableRandom;
 
 /**
  * Parameter set representation.
  */
 public class ParameterSet extends Representation {
 
+  private static final long serialVersionUID = 1L;
+
   protected Parameter[] parameters;
   protected int[] values;
 
@@ -58,18 +61,19 @@ public class ParameterSet extends Representation {
     return new ParameterSetContext(this);
   }
 
+  @Override
+  public RepresentationContext<? extends Representation> createContext(ReseedableRandom random) {
+    return new ParameterSetContext(this);
+  }
+
   @Override
   public ParameterSet cloneRepresentation() {
     return new ParameterSet(this);
   }
 
   @Override
-  public String getHash() {
-    int sum = 0;
-    for (float value : values) {
-      sum += value;
-    }
-    return Integer.toHexString(Integer.toString(sum).hashCode() & 0xFFFFF);
+  protected long computeFingerprint() {
+    return mixFingerprint(values.length, values);
   }
 
   /**
@@ -0,0 +1,178 @@
+/**
+ * File: ParameterSetCodec.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.representation.parameterset;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import at.aau.frevo.RepresentationBuilder;
+import at.aau.frevo.RepresentationCodec;
+
+/**
+ * Codec for {@link ParameterSet} instances.
+ * <p>
+ * The shape consists of the input and output counts and the parameters, each written as name, meta
+ * information, minimum, maximum and scale. Strings are written as their UTF-8 byte count followed
+ * by the bytes. The content consists of the values.
+ */
+public class ParameterSetCodec extends RepresentationCodec<ParameterSet> {
+
+  protected static final int VERSION = 1;
+
+  @Override
+  public Class<ParameterSet> getRepresentationClass() {
+    return ParameterSet.class;
+  }
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  @Override
+  public boolean hasSameShape(ParameterSet set, ParameterSet other) {
+    if ((set.getInputCount() != other.getInputCount())
+        || (set.getOutputCount() != other.getOutputCount())) {
+      return false;
+    }
+    var parameters = set.getParameters();
+    var otherParameters = other.getParameters();
+    if (parameters == otherParameters) {
+      return true;
+    }
+    if (parameters.length != otherParameters.length) {
+      return false;
+    }
+    for (var i = 0; i < parameters.length; i++) {
+      if (!isSameParameter(parameters[i], otherParameters[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether two {@code Parameter} instances are equal.
+   * 
+   * @param parameter the first {@code Parameter}
+   * @param other     the second {@code Parameter}
+   * @return {@code true} if both are equal
+   */
+  protected boolean isSameParameter(Parameter parameter, Parameter other) {
+    return (parameter == other) || ((parameter.getMinimum() == other.getMinimum())
+        && (parameter.getMaximum() == other.getMaximum())
+        && (parameter.getScale() == other.getScale())
+        && parameter.getName().equals(other.getName())
+        && parameter.getMetaInformation().equals(other.getMetaInformation()));
+  }
+
+  @Override
+  public int getShapeSize(ParameterSet set) {
+    var size = 3 * Integer.BYTES;
+    for (var parameter : set.getParameters()) {
+      size += getStringSize(parameter.getName()) + getStringSize(parameter.getMetaInformation())
+          + 2 * Integer.BYTES + Float.BYTES;
+    }
+    return size;
+  }
+
+  @Override
+  public void encodeShape(ParameterSet set, ByteBuffer buffer) {
+    buffer.putInt(set.getInputCount());
+    buffer.putInt(set.getOutputCount());
+    buffer.putInt(set.getParameters().length);
+    for (var parameter : set.getParameters()) {
+      putString(parameter.getName(), buffer);
+      putString(parameter.getMetaInformation(), buffer);
+      buffer.putInt(parameter.getMinimum());
+      buffer.putInt(parameter.getMaximum());
+      buffer.putFloat(parameter.getScale());
+    }
+  }
+
+  @Override
+  public RepresentationBuilder<ParameterSet> decodeShape(int version, ByteBuffer buffer) {
+    var builder = new ParameterSetBuilder();
+    builder.setInputCount(buffer.getInt());
+    builder.setOutputCount(buffer.getInt());
+    var parameters = new Parameter[buffer.getInt()];
+    for (var i = 0; i < parameters.length; i++) {
+      var name = getString(buffer);
+      var metaInformation = getString(buffer);
+      parameters[i] = new Parameter(name, metaInformation, buffer.getInt(), buffer.getInt(),
+          buffer.getFloat());
+    }
+    return builder.setParameters(parameters);
+  }
+
+  @Override
+  public int getContentSize(ParameterSet set) {
+    return set.getValues().length * Integer.BYTES;
+  }
+
+  @Override
+  public void encodeContent(ParameterSet set, ByteBuffer buffer) {
+    for (var value : set.getValues()) {
+      buffer.putInt(value);
+    }
+  }
+
+  @Override
+  public ParameterSet decodeContent(int version, RepresentationBuilder<ParameterSet> shape,
+      ByteBuffer buffer) {
+    var set = shape.create();
+    var values = set.getValues();
+    for (var i = 0; i < values.length; i++) {
+      values[i] = buffer.getInt();
+    }
+    return set;
+  }
+
+  /**
+   * Gets the number of bytes needed to encode a {@code String}.
+   * 
+   * @param value the {@code String}
+   * @return the encoded size in bytes
+   */
+  protected static int getStringSize(String value) {
+    return Integer.BYTES + value.getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  /**
+   * Writes a {@code String} to a buffer.
+   * 
+   * @param value  the {@code String}
+   * @param buffer the buffer to write to
+   */
+  protected static void putString(String value, ByteBuffer buffer) {
+    var bytes = value.getBytes(StandardCharsets.UTF_8);
+    buffer.putInt(bytes.length);
+    buffer.put(bytes);
+  }
+
+  /**
+   * Reads a {@code String} from a buffer.
+   * 
+   * @param buffer the buffer to read from
+   * @return the {@code String}
+   */
+  protected static String getString(ByteBuffer buffer) {
+    var bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
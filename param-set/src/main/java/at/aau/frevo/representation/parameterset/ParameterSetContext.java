@@ -17,10 +17,16 @@
 
 package at.aau.frevo.representation.parameterset;
 
+import java.util.SplittableRandom;
+import at.aau.frevo.Representation;
 import at.aau.frevo.RepresentationContext;
+import at.aau.frevo.ReseedableRandom;
 
 /**
  * Context for {@link ParameterSet}.
+ * <p>
+ * The output is the scaled parameter values, independent of the input, so sequences and batches
+ * are calculated once and copied.
  */
 public class ParameterSetContext extends RepresentationContext<ParameterSet> {
 
@@ -34,6 +40,21 @@ public class ParameterSetContext extends RepresentationContext<ParameterSet> {
     super(representation);
   }
 
+  @Override
+  public boolean reset(Representation representation, SplittableRandom random) {
+    return reset(representation, (ReseedableRandom) null);
+  }
+
+  @Override
+  public boolean reset(Representation representation, ReseedableRandom random) {
+    // the context has no state of its own
+    if (!(representation instanceof ParameterSet)) {
+      return false;
+    }
+    this.representation = (ParameterSet) representation;
+    return true;
+  }
+
   @Override
   public void calculate(float[] input, float[] output) {
     var length = Math.min(representation.values.length, representation.getOutputCount());
@@ -41,4 +62,33 @@ public class ParameterSetContext extends RepresentationContext<ParameterSet> {
       output[i] = representation.values[i] * representation.parameters[i].scale;
     }
   }
+
+  @Override
+  public void calculateSequence(float[] inputs, int steps, float[] outputs) {
+    if (steps <= 0) {
+      return;
+    }
+
+    // the output does not depend on the input, calculate it once and copy it to the other steps
+    calculate(inputs, outputs);
+    var outputCount = representation.getOutputCount();
+    var length = Math.min(representation.values.length, outputCount);
+    for (int i = 1; i < steps; i++) {
+      System.arraycopy(outputs, 0, outputs, i * outputCount, length);
+    }
+  }
+
+  @Override
+  public void calculateBatch(float[][] inputs, float[][] outputs) {
+    if (inputs.length == 0) {
+      return;
+    }
+
+    // the output does not depend on the input, calculate it once and copy it to the other rows
+    calculate(inputs[0], outputs[0]);
+    var length = Math.min(representation.values.length, representation.getOutputCount());
+    for (int i = 1; i < inputs.length; i++) {
+      System.arraycopy(outputs[0], 0, outputs[i], 0, length);
+    }
+  }
 }
@@ -0,0 +1,369 @@
+/**
+ * File: ConnectionExecutor.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.processexecutor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import at.aau.frevo.Evaluation;
+import at.aau.frevo.Problem;
+import at.aau.frevo.ProblemBuilder;
+import at.aau.frevo.Representation;
+import at.aau.frevo.executor.baseexecutor.BaseExecutor;
+
+/**
+ * Runs evaluations on workers outside of the current JVM, which are reached through
+ * {@link WorkerConnection} instances speaking the {@link EvaluationProtocol}.
+ * <p>
+ * Dispatched evaluations are kept in a single queue, from which each connection takes batches
+ * whenever its worker has room for more work. The workers receive the {@code ProblemBuilder} once
+ * per connection and reuse their {@code Problem} instances across evaluations. The
+ * {@code ProblemBuilder} and the {@link Representation} instances must therefore be serializable and
+ * their classes must be available to the workers.
+ * <p>
+ * Both sides of a connection prove that they know a shared secret before any object is sent, and
+ * the workers only deserialize classes accepted by {@link EvaluationProtocol#createSerialFilter()}.
+ * <p>
+ * If a connection is lost, the evaluation its worker was carrying out counts as failed attempt and
+ * the other evaluations sent to the worker are handed out again first. Failed evaluations are
+ * retried after a backoff delay, possibly by a different worker, until the retry count is exceeded
+ * and they are quarantined. Evaluations exceeding the evaluation timeout are cancelled by aborting
+ * the connection of their worker.
+ */
+public abstract class ConnectionExecutor extends BaseExecutor {
+
+  protected int batchSize;
+  protected int pipelineDepth;
+  protected String secret;
+  protected volatile boolean closed;
+  protected ScheduledExecutorService watchdogService = null;
+  protected ScheduledExecutorService retryService = null;
+
+  protected final LinkedBlockingDeque<PendingEvaluation> pendingEvaluations =
+      new LinkedBlockingDeque<>();
+  protected final List<WorkerConnection> connections = new CopyOnWriteArrayList<>();
+  protected final LongAdder completedEvaluationCount = new LongAdder();
+  protected final LongAdder cancelledEvaluationCount = new LongAdder();
+
+  /**
+   * Creates a new {@code ConnectionExecutor} instance with the specified configuration.
+   * 
+   * @param builder        the {@code ConnectionExecutorBuilder} used for configuration
+   * @param problemBuilder the {@code ProblemBuilder} used to create {@code Problem} instances
+   * @param random         the random number generator used to create seeds for {@code Problem}
+   *                       instances
+   */
+  public ConnectionExecutor(ConnectionExecutorBuilder<? extends ConnectionExecutor> builder,
+      ProblemBuilder<? extends Problem> problemBuilder, SplittableRandom random) {
+    super(builder, problemBuilder, random);
+    batchSize = Math.max(1, builder.getBatchSize());
+    pipelineDepth = Math.max(1, builder.getPipelineDepth());
+  }
+
+  /**
+   * Starts the watchdog cancelling evaluations which exceed the evaluation timeout, if one is
+   * configured.
+   * 
+   * @param threadName the name of the watchdog thread
+   */
+  protected void startWatchdog(String threadName) {
+    if (evaluationTimeoutMilliSeconds <= 0) {
+      return;
+    }
+
+    // scan for overdue evaluations a few times per evaluation timeout
+    watchdogService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      var thread = new Thread(runnable, threadName);
+      thread.setDaemon(true);
+      return thread;
+    });
+    var period = Math.max(1, evaluationTimeoutMilliSeconds / 4);
+    watchdogService.scheduleWithFixedDelay(this::cancelOverdueEvaluations, period, period,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Adds a connection and starts its thread.
+   * 
+   * @param connection the {@code WorkerConnection} to add
+   * @param threadName the name of the connection thread
+   */
+  protected void addConnection(WorkerConnection connection, String threadName) {
+    connections.add(connection);
+    if (closed) {
+      connection.close();
+    }
+    connection.start(threadName);
+  }
+
+  /**
+   * Removes a connection which has ended.
+   * 
+   * @param connection the {@code WorkerConnection} to remove
+   */
+  protected void removeConnection(WorkerConnection connection) {
+    connections.remove(connection);
+  }
+
+  @Override
+  protected <R extends Representation> void dispatchEvaluation(
+      ArrayBlockingQueue<Evaluation<R>> evaluationQueue, CountDownLatch evaluationCountDownLatch) {
+    var evaluations = new ArrayList<Evaluation<R>>(evaluationQueue.size());
+    evaluationQueue.drainTo(evaluations);
+    for (var evaluation : evaluations) {
+      pendingEvaluations.addLast(new PendingEvaluation(evaluation, evaluationCountDownLatch));
+    }
+  }
+
+  /**
+   * Takes pending evaluations to be sent to a worker. Cancelled evaluations are finished instead of
+   * being taken.
+   * 
+   * @param batch        the list to which the {@code PendingEvaluation} instances are added
+   * @param maximumCount the maximum number of evaluations to take
+   * @param wait         if {@code true}, waits until at least one evaluation is available
+   * @throws InterruptedException if interrupted while waiting
+   */
+  protected void takeEvaluations(List<PendingEvaluation> batch, int maximumCount, boolean wait)
+      throws InterruptedException {
+    while (batch.size() < maximumCount) {
+      var pendingEvaluation =
+          (wait && batch.isEmpty()) ? pendingEvaluations.take() : pendingEvaluations.poll();
+      if (pendingEvaluation == null) {
+        return;
+      }
+      if (pendingEvaluation.getEvaluation().isCancelled()) {
+        cancelledEvaluationCount.increment();
+        pendingEvaluation.getEvaluationCountDownLatch().countDown();
+        continue;
+      }
+      batch.add(pendingEvaluation);
+    }
+  }
+
+  /**
+   * Finishes an evaluation for which a worker returned a fitness.
+   * 
+   * @param pendingEvaluation the {@code PendingEvaluation}
+   * @param fitness           the fitness
+   */
+  protected void complete(PendingEvaluation pendingEvaluation, double fitness) {
+    var evaluation = pendingEvaluation.getEvaluation();
+    if (evaluation.isCancelled()) {
+      cancelledEvaluationCount.increment();
+    } else {
+      evaluation.setFitness(fitness);
+      completedEvaluationCount.increment();
+    }
+    pendingEvaluation.getEvaluationCountDownLatch().countDown();
+  }
+
+  /**
+   * Records a failed attempt of an evaluation. The evaluation is handed out again after a backoff
+   * delay unless it has been cancelled or has exceeded the retry count, in which case it is
+   * quarantined.
+   * 
+   * @param pendingEvaluation the {@code PendingEvaluation}
+   * @param failure           the cause of the failure
+   */
+  protected void fail(PendingEvaluation pendingEvaluation, Throwable failure) {
+    var evaluation = pendingEvaluation.getEvaluation();
+    if (evaluation.isCancelled()) {
+      cancelledEvaluationCount.increment();
+    } else if (evaluation.recordFailure(failure) > retryCount) {
+      quarantine(evaluation);
+    } else {
+      scheduleRetry(pendingEvaluation,
+          getRetryDelayMilliSeconds(evaluation.getFailureCount()));
+      return;
+    }
+    pendingEvaluation.getEvaluationCountDownLatch().countDown();
+  }
+
+  /**
+   * Hands out a failed evaluation again once the specified delay has elapsed. The retry thread is
+   * only started when the first delayed retry is needed.
+   * 
+   * @param pendingEvaluation the {@code PendingEvaluation}
+   * @param delayMilliSeconds the delay in milliseconds
+   */
+  protected synchronized void scheduleRetry(PendingEvaluation pendingEvaluation,
+      long delayMilliSeconds) {
+    if (delayMilliSeconds <= 0) {
+      pendingEvaluations.addLast(pendingEvaluation);
+      return;
+    }
+    if (closed) {
+      return;
+    }
+    if (retryService == null) {
+      retryService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "frevo-connection-retry");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    retryService.schedule(() -> pendingEvaluations.addLast(pendingEvaluation), delayMilliSeconds,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Hands out the evaluations sent to a worker whose connection was lost. The oldest evaluation is
+   * the one the worker was carrying out and counts as failed attempt, the others are handed out
+   * again first, in their original order.
+   * 
+   * @param inFlightEvaluations the evaluations sent to the worker, oldest first
+   * @param failure             the cause of the failure
+   */
+  protected void requeue(ArrayDeque<PendingEvaluation> inFlightEvaluations, Throwable failure) {
+    var head = inFlightEvaluations.peekFirst();
+    if (head == null) {
+      return;
+    }
+    var iterator = inFlightEvaluations.descendingIterator();
+    while (iterator.hasNext()) {
+      var pendingEvaluation = iterator.next();
+      if (pendingEvaluation != head) {
+        pendingEvaluations.addFirst(pendingEvaluation);
+      }
+    }
+    fail(head, failure);
+  }
+
+  /**
+   * Cancels evaluations which have exceeded the evaluation timeout.
+   */
+  protected void cancelOverdueEvaluations() {
+    var timeoutNanoTime = evaluationTimeoutMilliSeconds * 1000000;
+    for (var connection : connections) {
+      connection.cancelOverdueEvaluation(timeoutNanoTime);
+    }
+  }
+
+  /**
+   * Gets the secret shared with the workers, which is set by subclasses.
+   * 
+   * @return the secret
+   */
+  protected String getSecret() {
+    return secret;
+  }
+
+  /**
+   * Gets the delay before reconnecting to a worker whose connection has been lost a number of times
+   * in a row without returning a result.
+   * 
+   * @param failureCount the number of consecutive failures
+   * @return the delay in milliseconds
+   */
+  protected long getReconnectDelayMilliSeconds(int failureCount) {
+    return getRetryDelayMilliSeconds(failureCount);
+  }
+
+  /**
+   * Closes all connections and stops the watchdog. Pending evaluations and evaluations waiting to
+   * be retried are not carried out.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    for (var connection : connections) {
+      connection.close();
+    }
+    if (watchdogService != null) {
+      watchdogService.shutdownNow();
+    }
+    synchronized (this) {
+      if (retryService != null) {
+        retryService.shutdownNow();
+      }
+    }
+  }
+
+  /**
+   * Gets the flag indicating that the {@code ConnectionExecutor} has been closed.
+   * 
+   * @return {@code true} if the {@code ConnectionExecutor} has been closed
+   */
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Gets the maximum number of evaluations sent to a worker at once.
+   * 
+   * @return the batch size
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Gets the maximum number of batches sent to a worker before its results are received.
+   * 
+   * @return the pipeline depth
+   */
+  public int getPipelineDepth() {
+    return pipelineDepth;
+  }
+
+  /**
+   * Gets the number of current connections to workers.
+   * 
+   * @return the connection count
+   */
+  public int getConnectionCount() {
+    return connections.size();
+  }
+
+  /**
+   * Gets the number of evaluations waiting to be sent to a worker.
+   * 
+   * @return the pending evaluation count
+   */
+  public int getPendingEvaluationCount() {
+    return pendingEvaluations.size();
+  }
+
+  /**
+   * Gets the total number of evaluations completed by the workers.
+   * 
+   * @return the completed evaluation count
+   */
+  public long getCompletedEvaluationCount() {
+    return completedEvaluationCount.sum();
+  }
+
+  /**
+   * Gets the total number of evaluations cancelled, either before or while being carried out.
+   * 
+   * @return the cancelled evaluation count
+   */
+  public long getCancelledEvaluationCount() {
+    return cancelledEvaluationCount.sum();
+  }
+}
@@ -0,0 +1,93 @@
+/**
+ * File: ConnectionExecutorBuilder.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.processexecutor;
+
+import at.aau.frevo.executor.baseexecutor.BaseExecutorBuilder;
+
+/**
+ * Builder for {@link ConnectionExecutor} instances.
+ */
+public abstract class ConnectionExecutorBuilder<E extends ConnectionExecutor>
+    extends BaseExecutorBuilder<E> {
+
+  protected int batchSize;
+  protected int pipelineDepth;
+
+  /**
+   * Constructs a new {@code ConnectionExecutorBuilder} instance.
+   */
+  public ConnectionExecutorBuilder() {
+    batchSize = 8;
+    pipelineDepth = 2;
+  }
+
+  /**
+   * Constructs a new {@code ConnectionExecutorBuilder} instance by copying the properties of the
+   * specified instance.
+   * 
+   * @param source the source {@code ConnectionExecutorBuilder} instance
+   */
+  public ConnectionExecutorBuilder(ConnectionExecutorBuilder<E> source) {
+    super(source);
+    batchSize = source.batchSize;
+    pipelineDepth = source.pipelineDepth;
+  }
+
+  /**
+   * Gets the maximum number of evaluations sent to a worker at once.
+   * 
+   * @return the batch size
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Sets the maximum number of evaluations sent to a worker at once. Larger batches reduce the
+   * communication overhead, smaller batches balance the load more evenly.
+   * 
+   * @param batchSize the batch size
+   * @return this {@code ConnectionExecutorBuilder} instance
+   */
+  public ConnectionExecutorBuilder<E> setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * Gets the maximum number of batches sent to a worker before its results are received.
+   * 
+   * @return the pipeline depth
+   */
+  public int getPipelineDepth() {
+    return pipelineDepth;
+  }
+
+  /**
+   * Sets the maximum number of batches sent to a worker before its results are received. With a
+   * pipeline depth greater than one, the next batch is already available to the worker when it
+   * finishes the current one, hiding the latency of the connection.
+   * 
+   * @param pipelineDepth the pipeline depth
+   * @return this {@code ConnectionExecutorBuilder} instance
+   */
+  public ConnectionExecutorBuilder<E> setPipelineDepth(int pipelineDepth) {
+    this.pipelineDepth = pipelineDepth;
+    return this;
+  }
+}
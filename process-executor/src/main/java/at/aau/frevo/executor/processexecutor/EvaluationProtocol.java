@@ -0,0 +1,205 @@
+/**
+ * File: EvaluationProtocol.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.processexecutor;
+
+import java.io.ObjectInputFilter;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import at.aau.frevo.RepresentationCodec;
+
+/**
+ * Constants and helpers of the binary protocol spoken between an executor and its workers.
+ * <p>
+ * Both sides use object streams, so that primitives are written as compact block data and
+ * {@code Serializable} objects are written only where needed:
+ * <ol>
+ * <li>The executor sends {@link #MAGIC}, {@link #VERSION} and a random nonce.</li>
+ * <li>The worker answers with {@link #MAGIC}, {@link #VERSION}, its own random nonce and a proof
+ * that it knows the shared secret, computed over both nonces.</li>
+ * <li>The executor verifies the proof of the worker, then sends its own proof followed by the
+ * {@code ProblemBuilder}. The worker verifies the proof of the executor before reading any
+ * object.</li>
+ * <li>The executor sends {@link #BATCH} frames, each consisting of the number of evaluations
+ * followed by the seed and {@code Representation} of each evaluation. Representations occurring
+ * several times in a batch are written only once, and the stream is reset after each batch.
+ * If a {@link RepresentationCodec} is registered for the representations of a batch, an
+ * {@link #ENCODED_BATCH} frame is sent instead, consisting of the number of evaluations, their
+ * seeds, the name of the {@code Representation} class and the length and bytes of the encoded
+ * representations.</li>
+ * <li>The worker carries out the evaluations in order and answers each with {@link #SUCCEEDED}
+ * followed by the fitness, or {@link #FAILED} followed by a description of the exception.</li>
+ * <li>The executor sends {@link #SHUTDOWN} or closes the stream to stop the worker.</li>
+ * </ol>
+ * The executor may send further batches before all results of previous batches have arrived, so
+ * that a worker never waits for work.
+ * <p>
+ * Workers only deserialize classes accepted by the filter returned by
+ * {@link #createSerialFilter()}, executors do not deserialize any classes.
+ */
+public final class EvaluationProtocol {
+
+  /**
+   * Magic number starting the handshake.
+   */
+  public static final int MAGIC = 0x46524556;
+
+  /**
+   * The version of the protocol.
+   */
+  public static final int VERSION = 3;
+
+  /**
+   * The length of the nonces exchanged in the handshake.
+   */
+  public static final int NONCE_LENGTH = 32;
+
+  /**
+   * The length of the proofs exchanged in the handshake.
+   */
+  public static final int PROOF_LENGTH = 32;
+
+  /**
+   * Role of the executor in the computation of a proof.
+   */
+  public static final byte EXECUTOR_ROLE = 1;
+
+  /**
+   * Role of the worker in the computation of a proof.
+   */
+  public static final byte WORKER_ROLE = 2;
+
+  /**
+   * The environment variable from which workers read the shared secret.
+   */
+  public static final String SECRET_ENVIRONMENT_VARIABLE = "FREVO_SECRET";
+
+  /**
+   * The system property holding additional patterns accepted by the filter returned by
+   * {@link #createSerialFilter()}, in the syntax of
+   * {@link ObjectInputFilter.Config#createFilter(String)}.
+   */
+  public static final String SERIAL_FILTER_PROPERTY = "frevo.serialFilter";
+
+  /**
+   * The patterns always accepted by the filter returned by {@link #createSerialFilter()}.
+   */
+  public static final String DEFAULT_SERIAL_FILTER = "at.aau.frevo.**;java.lang.*;java.util.*";
+
+  /**
+   * Frame type of a batch of evaluations.
+   */
+  public static final byte BATCH = 1;
+
+  /**
+   * Frame type requesting the worker to stop.
+   */
+  public static final byte SHUTDOWN = 2;
+
+  /**
+   * Frame type of a batch of evaluations with representations encoded by a
+   * {@link RepresentationCodec}.
+   */
+  public static final byte ENCODED_BATCH = 3;
+
+  /**
+   * Result status of a successful evaluation.
+   */
+  public static final byte SUCCEEDED = 1;
+
+  /**
+   * Result status of a failed evaluation.
+   */
+  public static final byte FAILED = 2;
+
+  /**
+   * The maximum length of the description of a failed evaluation.
+   */
+  public static final int MAXIMUM_DESCRIPTION_LENGTH = 1024;
+
+  protected static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+  private EvaluationProtocol() {}
+
+  /**
+   * Creates a random nonce.
+   * 
+   * @return the nonce
+   */
+  public static byte[] createNonce() {
+    var nonce = new byte[NONCE_LENGTH];
+    SECURE_RANDOM.nextBytes(nonce);
+    return nonce;
+  }
+
+  /**
+   * Computes the proof that one side knows the shared secret, which is the HMAC-SHA256 of the role
+   * and both nonces. Including the role keeps a proof from being reflected back to its sender.
+   * 
+   * @param secret     the shared secret, must not be empty
+   * @param role       the role of the side sending the proof
+   * @param otherNonce the nonce received from the other side
+   * @param ownNonce   the nonce sent by the side sending the proof
+   * @return the proof
+   */
+  public static byte[] computeProof(String secret, byte role, byte[] otherNonce,
+      byte[] ownNonce) {
+    try {
+      var mac = Mac.getInstance("HmacSHA256");
+      mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+      mac.update(role);
+      mac.update(otherNonce);
+      mac.update(ownNonce);
+      return mac.doFinal();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("HmacSHA256 not available", e);
+    }
+  }
+
+  /**
+   * Checks a proof received from the other side in constant time.
+   * 
+   * @param proof      the received proof
+   * @param secret     the shared secret, must not be empty
+   * @param role       the role of the other side
+   * @param ownNonce   the nonce sent to the other side
+   * @param otherNonce the nonce received from the other side
+   * @return {@code true} if the proof is valid
+   */
+  public static boolean verifyProof(byte[] proof, String secret, byte role, byte[] ownNonce,
+      byte[] otherNonce) {
+    return MessageDigest.isEqual(proof, computeProof(secret, role, ownNonce, otherNonce));
+  }
+
+  /**
+   * Creates the filter used by workers to restrict the classes they deserialize. It accepts the
+   * classes matching the patterns of the {@link #SERIAL_FILTER_PROPERTY} system property and of
+   * {@link #DEFAULT_SERIAL_FILTER}, and rejects all other classes.
+   * 
+   * @return the filter
+   */
+  public static ObjectInputFilter createSerialFilter() {
+    var patterns = System.getProperty(SERIAL_FILTER_PROPERTY);
+    return ObjectInputFilter.Config.createFilter(
+        (patterns == null || patterns.isEmpty() ? "" : patterns + ";") + DEFAULT_SERIAL_FILTER
+            + ";!*");
+  }
+}
@@ -0,0 +1,225 @@
+/**
+ * File: EvaluationServer.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.processexecutor;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import at.aau.frevo.Problem;
+import at.aau.frevo.ProblemBuilder;
+import at.aau.frevo.Representation;
+import at.aau.frevo.RepresentationCodec;
+
+/**
+ * Worker side of the {@link EvaluationProtocol}.
+ * <p>
+ * Reads batches of evaluations from an input stream, carries them out one after the other and
+ * writes each result to an output stream as soon as it is available. A single {@code Problem}
+ * instance is reused for all evaluations if it supports {@link Problem#reset(long)}.
+ * <p>
+ * No object is read before the executor has proven that it knows the shared secret, and only
+ * classes accepted by {@link EvaluationProtocol#createSerialFilter()} are deserialized.
+ */
+public class EvaluationServer {
+
+  protected ObjectInputStream input;
+  protected ObjectOutputStream output;
+  protected String secret;
+  protected ProblemBuilder<? extends Problem> problemBuilder;
+  protected Problem problem;
+  protected long evaluationCount;
+  protected long[] seeds = new long[0];
+  protected byte[] encodedRepresentations = new byte[0];
+  protected final ArrayList<Representation> representations = new ArrayList<>();
+
+  /**
+   * Creates a new {@code EvaluationServer} instance using the specified streams.
+   * 
+   * @param inputStream  the stream from which evaluations are read
+   * @param outputStream the stream to which results are written
+   * @param secret       the secret shared with the executor, must not be empty
+   * @throws IOException if the streams cannot be set up
+   */
+  public EvaluationServer(InputStream inputStream, OutputStream outputStream, String secret)
+      throws IOException {
+    if ((secret == null) || secret.isEmpty()) {
+      throw new IllegalArgumentException("No secret set");
+    }
+    this.secret = secret;
+    input = new ObjectInputStream(inputStream);
+    input.setObjectInputFilter(EvaluationProtocol.createSerialFilter());
+    output = new ObjectOutputStream(outputStream);
+    output.flush();
+  }
+
+  /**
+   * Serves evaluations until the executor sends {@link EvaluationProtocol#SHUTDOWN} or closes the
+   * stream.
+   * 
+   * @throws IOException            if reading or writing fails
+   * @throws ClassNotFoundException if a received class cannot be found
+   */
+  public void serve() throws IOException, ClassNotFoundException {
+    handshake();
+    while (true) {
+      byte type;
+      try {
+        type = input.readByte();
+      } catch (EOFException e) {
+        return;
+      }
+      if (type == EvaluationProtocol.SHUTDOWN) {
+        return;
+      }
+      if (type == EvaluationProtocol.BATCH) {
+        serveBatch();
+      } else if (type == EvaluationProtocol.ENCODED_BATCH) {
+        serveEncodedBatch();
+      } else {
+        throw new StreamCorruptedException("Unexpected frame type " + type);
+      }
+    }
+  }
+
+  /**
+   * Reads a {@link EvaluationProtocol#BATCH} frame and carries out its evaluations.
+   * 
+   * @throws IOException            if reading or writing fails
+   * @throws ClassNotFoundException if a received class cannot be found
+   */
+  protected void serveBatch() throws IOException, ClassNotFoundException {
+    var count = input.readInt();
+    for (var i = 0; i < count; i++) {
+      var seed = input.readLong();
+      var representation = (Representation) input.readObject();
+      evaluate(seed, representation);
+      output.flush();
+    }
+  }
+
+  /**
+   * Reads a {@link EvaluationProtocol#ENCODED_BATCH} frame and carries out its evaluations.
+   * 
+   * @throws IOException if reading or writing fails, or no codec is available
+   */
+  protected void serveEncodedBatch() throws IOException {
+    var count = input.readInt();
+    if (seeds.length < count) {
+      seeds = new long[count];
+    }
+    for (var i = 0; i < count; i++) {
+      seeds[i] = input.readLong();
+    }
+
+    var representationClassName = input.readUTF();
+    var codec = RepresentationCodec.forName(representationClassName);
+    if (codec == null) {
+      throw new StreamCorruptedException("No codec for " + representationClassName);
+    }
+    var length = input.readInt();
+    if (encodedRepresentations.length < length) {
+      encodedRepresentations = new byte[length];
+    }
+    input.readFully(encodedRepresentations, 0, length);
+    codec.decode(ByteBuffer.wrap(encodedRepresentations, 0, length), representations);
+    if (representations.size() != count) {
+      throw new StreamCorruptedException("Unexpected representation count");
+    }
+
+    for (var i = 0; i < count; i++) {
+      evaluate(seeds[i], representations.get(i));
+      output.flush();
+    }
+    representations.clear();
+  }
+
+  /**
+   * Carries out the handshake, authenticating both sides, and receives the {@code ProblemBuilder}.
+   * 
+   * @throws IOException            if reading or writing fails, the protocol is not supported or
+   *                                the executor cannot be authenticated
+   * @throws ClassNotFoundException if the class of the {@code ProblemBuilder} cannot be found
+   */
+  protected void handshake() throws IOException, ClassNotFoundException {
+    if ((input.readInt() != EvaluationProtocol.MAGIC)
+        || (input.readInt() != EvaluationProtocol.VERSION)) {
+      throw new StreamCorruptedException("Unsupported protocol");
+    }
+    var executorNonce = new byte[EvaluationProtocol.NONCE_LENGTH];
+    input.readFully(executorNonce);
+
+    var workerNonce = EvaluationProtocol.createNonce();
+    output.writeInt(EvaluationProtocol.MAGIC);
+    output.writeInt(EvaluationProtocol.VERSION);
+    output.write(workerNonce);
+    output.write(EvaluationProtocol.computeProof(secret, EvaluationProtocol.WORKER_ROLE,
+        executorNonce, workerNonce));
+    output.flush();
+
+    var executorProof = new byte[EvaluationProtocol.PROOF_LENGTH];
+    input.readFully(executorProof);
+    if (!EvaluationProtocol.verifyProof(executorProof, secret, EvaluationProtocol.EXECUTOR_ROLE,
+        workerNonce, executorNonce)) {
+      throw new IOException("Executor authentication failed");
+    }
+    problemBuilder = (ProblemBuilder<?>) input.readObject();
+  }
+
+  /**
+   * Carries out a single evaluation and writes its result.
+   * 
+   * @param seed           the seed of the problem variant
+   * @param representation the {@code Representation} to evaluate
+   * @throws IOException if writing fails
+   */
+  protected void evaluate(long seed, Representation representation) throws IOException {
+    double fitness;
+    try {
+      problem = problemBuilder.create(seed, problem);
+      fitness = problem.evaluateRepresentation(representation);
+    } catch (Exception e) {
+      // the problem may be left in an inconsistent state, do not reuse it
+      problem = null;
+      var description = e.toString();
+      if (description.length() > EvaluationProtocol.MAXIMUM_DESCRIPTION_LENGTH) {
+        description = description.substring(0, EvaluationProtocol.MAXIMUM_DESCRIPTION_LENGTH);
+      }
+      output.writeByte(EvaluationProtocol.FAILED);
+      output.writeUTF(description);
+      return;
+    }
+    output.writeByte(EvaluationProtocol.SUCCEEDED);
+    output.writeDouble(fitness);
+    evaluationCount++;
+  }
+
+  /**
+   * Gets the number of evaluations carried out successfully.
+   * 
+   * @return the evaluation count
+   */
+  public long getEvaluationCount() {
+    return evaluationCount;
+  }
+}
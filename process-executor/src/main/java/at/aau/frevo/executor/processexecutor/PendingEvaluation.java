@@ -0,0 +1,60 @@
+/**
+ * File: PendingEvaluation.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.processexecutor;
+
+import java.util.concurrent.CountDownLatch;
+import at.aau.frevo.Evaluation;
+
+/**
+ * An {@code Evaluation} waiting to be carried out by a worker, together with the count down latch
+ * signalling its completion.
+ */
+public class PendingEvaluation {
+
+  protected Evaluation<?> evaluation;
+  protected CountDownLatch evaluationCountDownLatch;
+
+  /**
+   * Creates a new {@code PendingEvaluation} instance.
+   * 
+   * @param evaluation               the {@code Evaluation}
+   * @param evaluationCountDownLatch the count down latch used to signal completion
+   */
+  public PendingEvaluation(Evaluation<?> evaluation, CountDownLatch evaluationCountDownLatch) {
+    this.evaluation = evaluation;
+    this.evaluationCountDownLatch = evaluationCountDownLatch;
+  }
+
+  /**
+   * Gets the {@code Evaluation}.
+   * 
+   * @return the {@code Evaluation}
+   */
+  public Evaluation<?> getEvaluation() {
+    return evaluation;
+  }
+
+  /**
+   * Gets the count down latch used to signal completion.
+   * 
+   * @return the count down latch
+   */
+  public CountDownLatch getEvaluationCountDownLatch() {
+    return evaluationCountDownLatch;
+  }
+}
@@ -0,0 +1,103 @@
+/**
+ * File: ProcessConnection.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.processexecutor;
+
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection of a {@link ProcessExecutor} to one worker process.
+ * <p>
+ * The worker process is started when the connection is established. If it dies, a new worker
+ * process is started.
+ */
+public class ProcessConnection extends WorkerConnection {
+
+  protected ProcessExecutor processExecutor;
+  protected volatile Process process;
+
+  /**
+   * Creates a new {@code ProcessConnection} instance.
+   * 
+   * @param id       the id of this connection
+   * @param executor the {@code ProcessExecutor} owning this connection
+   */
+  public ProcessConnection(int id, ProcessExecutor executor) {
+    super(id, executor);
+    processExecutor = executor;
+  }
+
+  @Override
+  public void run() {
+    var consecutiveFailureCount = 0;
+    while (!closed) {
+      // do not restart worker processes in a tight loop if they fail right away
+      consecutiveFailureCount = runSession() ? 0 : consecutiveFailureCount + 1;
+      if (!closed && (consecutiveFailureCount > 0)) {
+        try {
+          Thread.sleep(executor.getReconnectDelayMilliSeconds(consecutiveFailureCount));
+        } catch (InterruptedException e) {
+        }
+      }
+    }
+  }
+
+  @Override
+  protected void connect() throws IOException {
+    var processBuilder =
+        new ProcessBuilder(processExecutor.createCommand()).redirectError(Redirect.INHERIT);
+    processBuilder.environment().put(EvaluationProtocol.SECRET_ENVIRONMENT_VARIABLE,
+        processExecutor.getSecret());
+    process = processBuilder.start();
+    if (closed) {
+      process.destroyForcibly();
+      throw new IOException("Connection closed");
+    }
+    processExecutor.processStarted();
+    handshake(process.getInputStream(), process.getOutputStream());
+  }
+
+  @Override
+  protected String disconnect() {
+    var process = this.process;
+    if (process == null) {
+      return "Worker process could not be started";
+    }
+    closeStreams();
+    try {
+      if (!process.waitFor(100, TimeUnit.MILLISECONDS)) {
+        process.destroyForcibly();
+        process.waitFor(1, TimeUnit.SECONDS);
+      }
+    } catch (InterruptedException e) {
+      process.destroyForcibly();
+    }
+    this.process = null;
+    return process.isAlive() ? "Worker process was killed"
+        : "Worker process exited with code " + process.exitValue();
+  }
+
+  @Override
+  protected void abort() {
+    var process = this.process;
+    if (process != null) {
+      process.destroyForcibly();
+    }
+  }
+}
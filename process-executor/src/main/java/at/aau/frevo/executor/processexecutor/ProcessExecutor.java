@@ -0,0 +1,156 @@
+/**
+ * File: ProcessExecutor.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.processexecutor;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import at.aau.frevo.Problem;
+import at.aau.frevo.ProblemBuilder;
+
+/**
+ * Runs evaluations in a number of child JVMs, so that a {@code Problem} crashing or exhausting the
+ * memory of its JVM does not take down the evolution.
+ * <p>
+ * Each worker process is served by a {@link ProcessConnection}, which streams seeds and
+ * representations to the standard input of the process and reads fitness values from its standard
+ * output. Worker processes which die are restarted, see {@link ConnectionExecutor} for the handling
+ * of the evaluations they were carrying out.
+ * <p>
+ * The secret shared with the worker processes is created randomly and passed to them in their
+ * environment. The {@link EvaluationProtocol#SERIAL_FILTER_PROPERTY} system property is passed on
+ * to them, if set.
+ */
+public class ProcessExecutor extends ConnectionExecutor {
+
+  protected final static AtomicInteger EXECUTOR_COUNTER = new AtomicInteger();
+
+  protected int workerCount;
+  protected List<String> jvmArguments;
+  protected String classPath;
+
+  protected final LongAdder startedProcessCount = new LongAdder();
+
+  /**
+   * Creates a new {@code ProcessExecutor} instance with the specified configuration.
+   * 
+   * @param builder        the {@code ProcessExecutorBuilder} used for configuration
+   * @param problemBuilder the {@code ProblemBuilder} used to create {@code Problem} instances
+   * @param random         the random number generator used to create seeds for {@code Problem}
+   *                       instances
+   */
+  public ProcessExecutor(ProcessExecutorBuilder builder,
+      ProblemBuilder<? extends Problem> problemBuilder, SplittableRandom random) {
+    super(builder, problemBuilder, random);
+    secret = Base64.getEncoder().encodeToString(EvaluationProtocol.createNonce());
+
+    // use available processors if worker count is zero
+    workerCount = builder.getWorkerCount();
+    if (workerCount == 0) {
+      workerCount = Runtime.getRuntime().availableProcessors();
+    }
+    jvmArguments = new ArrayList<>(builder.getJvmArguments());
+    classPath = builder.getClassPath();
+    if (classPath == null) {
+      classPath = System.getProperty("java.class.path");
+    }
+
+    var threadNamePrefix = "frevo-process-" + EXECUTOR_COUNTER.incrementAndGet();
+    for (var i = 0; i < workerCount; i++) {
+      addConnection(createConnection(i), threadNamePrefix + "-connection-" + i);
+    }
+    startWatchdog(threadNamePrefix + "-watchdog-0");
+  }
+
+  /**
+   * Creates the connection to a worker process.
+   * 
+   * @param id the id of the connection
+   * @return the {@code ProcessConnection}
+   */
+  protected ProcessConnection createConnection(int id) {
+    return new ProcessConnection(id, this);
+  }
+
+  /**
+   * Creates the command used to start a worker process.
+   * 
+   * @return the command and its arguments
+   */
+  protected List<String> createCommand() {
+    var command = new ArrayList<String>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.addAll(jvmArguments);
+    var serialFilter = System.getProperty(EvaluationProtocol.SERIAL_FILTER_PROPERTY);
+    if (serialFilter != null) {
+      command.add("-D" + EvaluationProtocol.SERIAL_FILTER_PROPERTY + "=" + serialFilter);
+    }
+    command.add("-cp");
+    command.add(classPath);
+    command.add(ProcessWorker.class.getName());
+    return command;
+  }
+
+  /**
+   * Counts a started worker process.
+   */
+  protected void processStarted() {
+    startedProcessCount.increment();
+  }
+
+  /**
+   * Gets the number of worker processes used to evaluate candidate representations.
+   * 
+   * @return the worker count
+   */
+  public int getWorkerCount() {
+    return workerCount;
+  }
+
+  /**
+   * Gets the additional arguments passed to the JVM of the worker processes.
+   * 
+   * @return the JVM arguments
+   */
+  public List<String> getJvmArguments() {
+    return Collections.unmodifiableList(jvmArguments);
+  }
+
+  /**
+   * Gets the class path of the worker processes.
+   * 
+   * @return the class path
+   */
+  public String getClassPath() {
+    return classPath;
+  }
+
+  /**
+   * Gets the total number of worker processes started, including restarts.
+   * 
+   * @return the started process count
+   */
+  public long getStartedProcessCount() {
+    return startedProcessCount.sum();
+  }
+}
@@ -0,0 +1,204 @@
+/**
+ * File: ProcessExecutorBuilder.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.processexecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import at.aau.frevo.Problem;
+import at.aau.frevo.ProblemBuilder;
+import at.aau.frevo.executor.baseexecutor.BaseExecutorBuilder;
+import at.aau.frevo.executor.baseexecutor.EvaluationOrder;
+
+/**
+ * Builder for {@link ProcessExecutor} instances.
+ */
+public class ProcessExecutorBuilder extends ConnectionExecutorBuilder<ProcessExecutor> {
+
+  protected int workerCount;
+  protected List<String> jvmArguments;
+  protected String classPath;
+
+  /**
+   * Constructs a new {@code ProcessExecutorBuilder} instance.
+   */
+  public ProcessExecutorBuilder() {
+    workerCount = 0;
+    jvmArguments = new ArrayList<>();
+    classPath = null;
+  }
+
+  /**
+   * Constructs a new {@code ProcessExecutorBuilder} instance by copying the properties of the
+   * specified instance.
+   * 
+   * @param source the source {@code ProcessExecutorBuilder} instance
+   */
+  public ProcessExecutorBuilder(ProcessExecutorBuilder source) {
+    super(source);
+    workerCount = source.workerCount;
+    jvmArguments = new ArrayList<>(source.jvmArguments);
+    classPath = source.classPath;
+  }
+
+  @Override
+  public String getName() {
+    return ProcessExecutor.class.getName();
+  }
+
+  @Override
+  public ProcessExecutor create(ProblemBuilder<? extends Problem> problemBuilder,
+      SplittableRandom random) {
+    return new ProcessExecutor(this, problemBuilder, random);
+  }
+
+  @Override
+  public ProcessExecutorBuilder cloneBuilder() {
+    return new ProcessExecutorBuilder(this);
+  }
+
+  /**
+   * Gets the number of worker processes used to evaluate candidate representations.
+   * 
+   * @return the worker count
+   */
+  public int getWorkerCount() {
+    return workerCount;
+  }
+
+  /**
+   * Sets the number of worker processes used to evaluate candidate representations. If zero, the
+   * number of available processors is used.
+   * 
+   * @param workerCount the worker count
+   * @return this {@code ProcessExecutorBuilder} instance
+   */
+  public ProcessExecutorBuilder setWorkerCount(int workerCount) {
+    this.workerCount = workerCount;
+    return this;
+  }
+
+  /**
+   * Gets the additional arguments passed to the JVM of the worker processes.
+   * 
+   * @return the JVM arguments
+   */
+  public List<String> getJvmArguments() {
+    return jvmArguments;
+  }
+
+  /**
+   * Sets the additional arguments passed to the JVM of the worker processes, e.g. {@code -Xmx256m}.
+   * 
+   * @param jvmArguments the JVM arguments
+   * @return this {@code ProcessExecutorBuilder} instance
+   */
+  public ProcessExecutorBuilder setJvmArguments(List<String> jvmArguments) {
+    this.jvmArguments = new ArrayList<>(jvmArguments);
+    return this;
+  }
+
+  /**
+   * Gets the class path of the worker processes.
+   * 
+   * @return the class path, or {@code null} if the class path of the current JVM is used
+   */
+  public String getClassPath() {
+    return classPath;
+  }
+
+  /**
+   * Sets the class path of the worker processes. It must contain the {@code Problem},
+   * {@code ProblemBuilder} and {@code Representation} classes. If {@code null}, the class path of
+   * the current JVM is used.
+   * 
+   * @param classPath the class path
+   * @return this {@code ProcessExecutorBuilder} instance
+   */
+  public ProcessExecutorBuilder setClassPath(String classPath) {
+    this.classPath = classPath;
+    return this;
+  }
+
+  @Override
+  public ProcessExecutorBuilder setBatchSize(int batchSize) {
+    return (ProcessExecutorBuilder) super.setBatchSize(batchSize);
+  }
+
+  @Override
+  public ProcessExecutorBuilder setPipelineDepth(int pipelineDepth) {
+    return (ProcessExecutorBuilder) super.setPipelineDepth(pipelineDepth);
+  }
+
+  @Override
+  public ProcessExecutorBuilder setProblemVariantCount(int problemVariantCount) {
+    return (ProcessExecutorBuilder) super.setProblemVariantCount(problemVariantCount);
+  }
+
+  @Override
+  public ProcessExecutorBuilder setStrict(boolean strict) {
+    return (ProcessExecutorBuilder) super.setStrict(strict);
+  }
+
+  @Override
+  public BaseExecutorBuilder<ProcessExecutor> setTimeoutMilliSeconds(long timeoutMilliSeconds) {
+    return super.setTimeoutMilliSeconds(timeoutMilliSeconds);
+  }
+
+  @Override
+  public ProcessExecutorBuilder setEvaluationTimeoutMilliSeconds(
+      long evaluationTimeoutMilliSeconds) {
+    return (ProcessExecutorBuilder) super.setEvaluationTimeoutMilliSeconds(
+        evaluationTimeoutMilliSeconds);
+  }
+
+  @Override
+  public ProcessExecutorBuilder setRetryCount(int retryCount) {
+    return (ProcessExecutorBuilder) super.setRetryCount(retryCount);
+  }
+
+  @Override
+  public ProcessExecutorBuilder setRetryBackoffMilliSeconds(long retryBackoffMilliSeconds) {
+    return (ProcessExecutorBuilder) super.setRetryBackoffMilliSeconds(retryBackoffMilliSeconds);
+  }
+
+  @Override
+  public ProcessExecutorBuilder setFitnessCacheSize(int fitnessCacheSize) {
+    return (ProcessExecutorBuilder) super.setFitnessCacheSize(fitnessCacheSize);
+  }
+
+  @Override
+  public ProcessExecutorBuilder setRacingInitialVariantCount(int racingInitialVariantCount) {
+    return (ProcessExecutorBuilder) super.setRacingInitialVariantCount(racingInitialVariantCount);
+  }
+
+  @Override
+  public ProcessExecutorBuilder setRacingReductionFactor(double racingReductionFactor) {
+    return (ProcessExecutorBuilder) super.setRacingReductionFactor(racingReductionFactor);
+  }
+
+  @Override
+  public ProcessExecutorBuilder setCostHistorySize(int costHistorySize) {
+    return (ProcessExecutorBuilder) super.setCostHistorySize(costHistorySize);
+  }
+
+  @Override
+  public ProcessExecutorBuilder setEvaluationOrder(EvaluationOrder evaluationOrder) {
+    return (ProcessExecutorBuilder) super.setEvaluationOrder(evaluationOrder);
+  }
+}
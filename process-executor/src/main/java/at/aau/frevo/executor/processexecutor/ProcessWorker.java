@@ -0,0 +1,49 @@
+/**
+ * File: ProcessWorker.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.processexecutor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Entry point of the worker processes started by {@link ProcessExecutor}.
+ * <p>
+ * Evaluations are read from standard input and results are written to standard output. Anything
+ * else written to {@code System.out}, e.g. by a {@code Problem}, is redirected to standard error,
+ * so that it cannot corrupt the protocol. The secret shared with the executor is read from the
+ * {@link EvaluationProtocol#SECRET_ENVIRONMENT_VARIABLE} environment variable.
+ */
+public class ProcessWorker {
+
+  /**
+   * Serves evaluations on standard input and output.
+   * 
+   * @param args the command line arguments, not used
+   * @throws IOException            if reading or writing fails
+   * @throws ClassNotFoundException if a received class cannot be found
+   */
+  public static void main(String[] args) throws IOException, ClassNotFoundException {
+    var protocolOutput = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out));
+    System.setOut(System.err);
+    new EvaluationServer(new BufferedInputStream(System.in), protocolOutput,
+        System.getenv(EvaluationProtocol.SECRET_ENVIRONMENT_VARIABLE)).serve();
+  }
+}
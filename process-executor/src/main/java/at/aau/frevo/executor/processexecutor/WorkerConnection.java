@@ -0,0 +1,383 @@
+/**
+ * File: WorkerConnection.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.processexecutor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import at.aau.frevo.Representation;
+import at.aau.frevo.RepresentationCodec;
+
+/**
+ * Connection of a {@link ConnectionExecutor} to one worker speaking the {@link EvaluationProtocol}.
+ * <p>
+ * Each connection runs on its own thread, which sends batches of evaluations to the worker and
+ * receives their results. Further batches are sent while results are outstanding, up to the
+ * pipeline depth, so that the worker never waits for work. If the connection is lost, the
+ * evaluations sent to the worker are handed back to the {@code ConnectionExecutor}.
+ * <p>
+ * Subclasses establish the actual connection, e.g. by starting a worker process or by accepting a
+ * socket, and decide whether to reconnect once it is lost.
+ */
+public abstract class WorkerConnection implements Runnable {
+
+  protected static final ObjectInputFilter REJECTING_SERIAL_FILTER =
+      ObjectInputFilter.Config.createFilter("!*");
+
+  protected int id;
+  protected ConnectionExecutor executor;
+  protected Thread thread;
+  protected volatile boolean closed;
+  protected ObjectInputStream input;
+  protected ObjectOutputStream output;
+  protected final ArrayDeque<PendingEvaluation> inFlightEvaluations = new ArrayDeque<>();
+  protected PendingEvaluation currentEvaluation;
+  protected long currentStartNanoTime;
+  protected long resultCount;
+  protected ByteBuffer encodedRepresentations = ByteBuffer.allocate(0);
+  protected final ArrayList<Representation> representations = new ArrayList<>();
+
+  /**
+   * Creates a new {@code WorkerConnection} instance.
+   * 
+   * @param id       the id of this connection
+   * @param executor the {@code ConnectionExecutor} owning this connection
+   */
+  public WorkerConnection(int id, ConnectionExecutor executor) {
+    this.id = id;
+    this.executor = executor;
+  }
+
+  /**
+   * Starts the thread of this connection.
+   * 
+   * @param threadName the name of the thread
+   */
+  public void start(String threadName) {
+    thread = new Thread(this, threadName);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Connects to the worker, serves it until the connection is lost and hands back the evaluations
+   * which were in flight.
+   * 
+   * @return {@code true} if at least one result was received
+   */
+  protected boolean runSession() {
+    var startResultCount = resultCount;
+    String failure = null;
+    try {
+      connect();
+      serve();
+    } catch (InterruptedException e) {
+      // the connection has been closed
+    } catch (IOException e) {
+      failure = e.toString();
+    } finally {
+      var description = disconnect();
+      if (!closed) {
+        setCurrentEvaluation(null);
+        executor.requeue(inFlightEvaluations,
+            new WorkerException(description + (failure == null ? "" : " (" + failure + ")")));
+      }
+      inFlightEvaluations.clear();
+    }
+    return resultCount != startResultCount;
+  }
+
+  /**
+   * Establishes the connection to the worker and calls {@link #handshake(InputStream, OutputStream)}
+   * with its streams.
+   * 
+   * @throws IOException if the connection cannot be established
+   */
+  protected abstract void connect() throws IOException;
+
+  /**
+   * Ends the connection to the worker, releasing all associated resources.
+   * 
+   * @return a description of how the connection ended
+   */
+  protected abstract String disconnect();
+
+  /**
+   * Forcibly breaks the connection to the worker, so that evaluations it is carrying out are
+   * abandoned. May be called from any thread.
+   */
+  protected abstract void abort();
+
+  /**
+   * Carries out the handshake with the worker, authenticating both sides, and sends the
+   * {@code ProblemBuilder}. Objects received from the worker are rejected, as the protocol does not
+   * contain any.
+   * 
+   * @param inputStream  the stream from which results are read
+   * @param outputStream the stream to which evaluations are written
+   * @throws IOException if the handshake fails or the worker cannot be authenticated
+   */
+  protected void handshake(InputStream inputStream, OutputStream outputStream)
+      throws IOException {
+    var secret = executor.getSecret();
+    var executorNonce = EvaluationProtocol.createNonce();
+    output = new ObjectOutputStream(new BufferedOutputStream(outputStream));
+    output.writeInt(EvaluationProtocol.MAGIC);
+    output.writeInt(EvaluationProtocol.VERSION);
+    output.write(executorNonce);
+    output.flush();
+
+    input = new ObjectInputStream(new BufferedInputStream(inputStream));
+    input.setObjectInputFilter(REJECTING_SERIAL_FILTER);
+    if ((input.readInt() != EvaluationProtocol.MAGIC)
+        || (input.readInt() != EvaluationProtocol.VERSION)) {
+      throw new StreamCorruptedException("Unsupported protocol");
+    }
+    var workerNonce = new byte[EvaluationProtocol.NONCE_LENGTH];
+    input.readFully(workerNonce);
+    var workerProof = new byte[EvaluationProtocol.PROOF_LENGTH];
+    input.readFully(workerProof);
+    if (!EvaluationProtocol.verifyProof(workerProof, secret, EvaluationProtocol.WORKER_ROLE,
+        executorNonce, workerNonce)) {
+      throw new IOException("Worker authentication failed");
+    }
+
+    output.write(EvaluationProtocol.computeProof(secret, EvaluationProtocol.EXECUTOR_ROLE,
+        workerNonce, executorNonce));
+    output.writeObject(executor.getProblemBuilder());
+    output.flush();
+    output.reset();
+  }
+
+  /**
+   * Closes the streams of the connection, signalling the end of work to the worker.
+   */
+  protected void closeStreams() {
+    try {
+      if (output != null) {
+        output.close();
+      }
+    } catch (IOException e) {
+    }
+    try {
+      if (input != null) {
+        input.close();
+      }
+    } catch (IOException e) {
+    }
+    input = null;
+    output = null;
+  }
+
+  /**
+   * Sends batches of evaluations and receives results until the connection is lost.
+   * 
+   * @throws IOException          if communication with the worker fails
+   * @throws InterruptedException if the connection has been closed while waiting for work
+   */
+  protected void serve() throws IOException, InterruptedException {
+    var batchSize = executor.getBatchSize();
+    var capacity = batchSize * executor.getPipelineDepth();
+    var batch = new ArrayList<PendingEvaluation>(batchSize);
+
+    while (true) {
+      // keep the pipeline of the worker filled, waiting for work only when it is idle
+      while (inFlightEvaluations.size() < capacity) {
+        batch.clear();
+        executor.takeEvaluations(batch,
+            Math.min(batchSize, capacity - inFlightEvaluations.size()),
+            inFlightEvaluations.isEmpty());
+        if (batch.isEmpty()) {
+          break;
+        }
+        if (inFlightEvaluations.isEmpty()) {
+          setCurrentEvaluation(batch.get(0));
+        }
+        inFlightEvaluations.addAll(batch);
+        send(batch);
+      }
+      receive();
+    }
+  }
+
+  /**
+   * Sends a batch of evaluations to the worker.
+   * 
+   * @param batch the {@code PendingEvaluation} instances to send
+   * @throws IOException if writing fails
+   */
+  protected void send(List<PendingEvaluation> batch) throws IOException {
+    var codec = getCodec(batch);
+    if (codec != null) {
+      sendEncoded(batch, codec);
+      return;
+    }
+
+    output.writeByte(EvaluationProtocol.BATCH);
+    output.writeInt(batch.size());
+    for (var pendingEvaluation : batch) {
+      var evaluation = pendingEvaluation.getEvaluation();
+      output.writeLong(evaluation.getSeed());
+      output.writeObject(evaluation.getRepresentation());
+    }
+    output.flush();
+
+    // forget the representations written, so that neither side holds on to them
+    output.reset();
+  }
+
+  /**
+   * Sends a batch of evaluations to the worker, encoding the representations with a codec.
+   * 
+   * @param batch the {@code PendingEvaluation} instances to send
+   * @param codec the codec handling the representations of all evaluations
+   * @throws IOException if writing fails
+   */
+  protected void sendEncoded(List<PendingEvaluation> batch,
+      RepresentationCodec<Representation> codec) throws IOException {
+    for (var pendingEvaluation : batch) {
+      representations.add(pendingEvaluation.getEvaluation().getRepresentation());
+    }
+    var size = codec.getEncodedSize(representations);
+    if (encodedRepresentations.capacity() < size) {
+      encodedRepresentations =
+          ByteBuffer.allocate(Math.max(size, 2 * encodedRepresentations.capacity()));
+    }
+    encodedRepresentations.clear();
+    codec.encode(representations, encodedRepresentations);
+    representations.clear();
+
+    output.writeByte(EvaluationProtocol.ENCODED_BATCH);
+    output.writeInt(batch.size());
+    for (var pendingEvaluation : batch) {
+      output.writeLong(pendingEvaluation.getEvaluation().getSeed());
+    }
+    output.writeUTF(codec.getRepresentationClass().getName());
+    output.writeInt(encodedRepresentations.position());
+    output.write(encodedRepresentations.array(), 0, encodedRepresentations.position());
+    output.flush();
+  }
+
+  /**
+   * Gets the codec handling the representations of a batch.
+   * 
+   * @param batch the {@code PendingEvaluation} instances
+   * @return the codec, or {@code null} if the representations are of different classes or no
+   *         codec is registered for them
+   */
+  @SuppressWarnings("unchecked")
+  protected RepresentationCodec<Representation> getCodec(List<PendingEvaluation> batch) {
+    var representationClass = batch.get(0).getEvaluation().getRepresentation().getClass();
+    for (var pendingEvaluation : batch) {
+      if (pendingEvaluation.getEvaluation().getRepresentation().getClass() != representationClass) {
+        return null;
+      }
+    }
+    return (RepresentationCodec<Representation>) RepresentationCodec
+        .forName(representationClass.getName());
+  }
+
+  /**
+   * Receives the result of the oldest evaluation in flight.
+   * 
+   * @throws IOException if reading fails
+   */
+  protected void receive() throws IOException {
+    var status = input.readByte();
+    var pendingEvaluation = inFlightEvaluations.poll();
+    if (pendingEvaluation == null) {
+      throw new StreamCorruptedException("Unexpected result");
+    }
+    if (status == EvaluationProtocol.SUCCEEDED) {
+      var fitness = input.readDouble();
+      setCurrentEvaluation(inFlightEvaluations.peek());
+      executor.complete(pendingEvaluation, fitness);
+    } else if (status == EvaluationProtocol.FAILED) {
+      var description = input.readUTF();
+      setCurrentEvaluation(inFlightEvaluations.peek());
+      executor.fail(pendingEvaluation, new WorkerException(description));
+    } else {
+      throw new StreamCorruptedException("Unexpected result status " + status);
+    }
+    resultCount++;
+  }
+
+  /**
+   * Sets the evaluation currently carried out by the worker.
+   * 
+   * @param pendingEvaluation the {@code PendingEvaluation}, or {@code null} if the worker is idle
+   */
+  protected synchronized void setCurrentEvaluation(PendingEvaluation pendingEvaluation) {
+    currentEvaluation = pendingEvaluation;
+    currentStartNanoTime = System.nanoTime();
+  }
+
+  /**
+   * Cancels the evaluation currently carried out by the worker if it has exceeded the timeout. As
+   * the worker cannot be interrupted, the connection is aborted.
+   * 
+   * @param timeoutNanoTime the evaluation timeout in nanoseconds
+   */
+  protected synchronized void cancelOverdueEvaluation(long timeoutNanoTime) {
+    if ((currentEvaluation != null)
+        && (System.nanoTime() - currentStartNanoTime > timeoutNanoTime)) {
+      currentEvaluation.getEvaluation().cancel();
+      currentEvaluation = null;
+      abort();
+    }
+  }
+
+  /**
+   * Closes the connection, abandoning evaluations in flight.
+   */
+  public void close() {
+    closed = true;
+    abort();
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  /**
+   * Gets the id of this connection.
+   * 
+   * @return the id
+   */
+  public int getId() {
+    return id;
+  }
+
+  /**
+   * Gets the number of results received over this connection.
+   * 
+   * @return the result count
+   */
+  public long getResultCount() {
+    return resultCount;
+  }
+}
@@ -0,0 +1,36 @@
+/**
+ * File: WorkerException.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.processexecutor;
+
+/**
+ * Signals that an evaluation failed in a worker, either because the {@code Problem} threw an
+ * exception or because the worker died while carrying out the evaluation.
+ */
+public class WorkerException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Creates a new {@code WorkerException} instance with the specified message.
+   * 
+   * @param message the message, describing the original exception
+   */
+  public WorkerException(String message) {
+    super(message);
+  }
+}
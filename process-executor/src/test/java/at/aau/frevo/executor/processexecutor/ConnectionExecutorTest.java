@@ -0,0 +1,157 @@
+/**
+ * File: ConnectionExecutorTest.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.processexecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import at.aau.frevo.Evaluation;
+import at.aau.frevo.Problem;
+import at.aau.frevo.ProblemBuilder;
+import at.aau.frevo.Representation;
+
+/**
+ * Tests for {@link ConnectionExecutor}.
+ */
+class ConnectionExecutorTest {
+
+  static final long RETRY_BACKOFF_MILLI_SECONDS = 200;
+
+  /**
+   * {@code ConnectionExecutor} without any connections, so that handed out evaluations stay in the
+   * queue of pending evaluations.
+   */
+  static class TestConnectionExecutor extends ConnectionExecutor {
+
+    TestConnectionExecutor(TestConnectionExecutorBuilder builder) {
+      super(builder, null, new SplittableRandom(0));
+    }
+  }
+
+  static class TestConnectionExecutorBuilder
+      extends ConnectionExecutorBuilder<TestConnectionExecutor> {
+
+    @Override
+    public String getName() {
+      return TestConnectionExecutor.class.getName();
+    }
+
+    @Override
+    public TestConnectionExecutor create(ProblemBuilder<? extends Problem> problemBuilder,
+        SplittableRandom random) {
+      return new TestConnectionExecutor(this);
+    }
+
+    @Override
+    public TestConnectionExecutorBuilder cloneBuilder() {
+      return this;
+    }
+  }
+
+  /**
+   * Creates a {@code ConnectionExecutor} with the specified retry backoff.
+   * 
+   * @param retryBackoffMilliSeconds the retry backoff in milliseconds
+   * @return the {@code ConnectionExecutor}
+   */
+  static ConnectionExecutor createExecutor(long retryBackoffMilliSeconds) {
+    var builder = new TestConnectionExecutorBuilder();
+    builder.setRetryCount(3).setRetryBackoffMilliSeconds(retryBackoffMilliSeconds);
+    return builder.create(null, null);
+  }
+
+  /**
+   * Fails the specified evaluation and measures the time until it is handed out again.
+   * 
+   * @param executor          the {@code ConnectionExecutor}
+   * @param pendingEvaluation the {@code PendingEvaluation} to fail
+   * @return the delay in milliseconds
+   * @throws InterruptedException if interrupted while waiting
+   */
+  static long measureRetryDelay(ConnectionExecutor executor, PendingEvaluation pendingEvaluation)
+      throws InterruptedException {
+    var startNanoTime = System.nanoTime();
+    executor.fail(pendingEvaluation, new WorkerException("test"));
+    assertEquals(0, executor.getPendingEvaluationCount());
+
+    var retriedEvaluation = executor.pendingEvaluations.poll(10, TimeUnit.SECONDS);
+    var delayMilliSeconds = (System.nanoTime() - startNanoTime) / 1000000;
+    assertNotNull(retriedEvaluation);
+    assertSame(pendingEvaluation, retriedEvaluation);
+    return delayMilliSeconds;
+  }
+
+  @Test
+  void failDelaysRetryByBackoff() throws InterruptedException {
+    try (var executor = createExecutor(RETRY_BACKOFF_MILLI_SECONDS)) {
+      var latch = new CountDownLatch(1);
+      var pendingEvaluation =
+          new PendingEvaluation(new Evaluation<Representation>(null, 0), latch);
+
+      var firstDelay = measureRetryDelay(executor, pendingEvaluation);
+      assertTrue(firstDelay >= RETRY_BACKOFF_MILLI_SECONDS, firstDelay + " ms");
+
+      // the backoff doubles with each failed attempt
+      var secondDelay = measureRetryDelay(executor, pendingEvaluation);
+      assertTrue(secondDelay >= 2 * RETRY_BACKOFF_MILLI_SECONDS, secondDelay + " ms");
+      assertEquals(1, latch.getCount());
+    }
+  }
+
+  @Test
+  void failRetriesImmediatelyWithoutBackoff() {
+    try (var executor = createExecutor(0)) {
+      var pendingEvaluation = new PendingEvaluation(new Evaluation<Representation>(null, 0),
+          new CountDownLatch(1));
+      executor.fail(pendingEvaluation, new WorkerException("test"));
+      assertEquals(1, executor.getPendingEvaluationCount());
+    }
+  }
+
+  @Test
+  void failQuarantinesAfterRetryCount() {
+    try (var executor = createExecutor(0)) {
+      var latch = new CountDownLatch(1);
+      var pendingEvaluation =
+          new PendingEvaluation(new Evaluation<Representation>(null, 0), latch);
+      for (var i = 0; i <= executor.getRetryCount(); i++) {
+        executor.pendingEvaluations.clear();
+        executor.fail(pendingEvaluation, new WorkerException("test"));
+      }
+      assertEquals(0, executor.getPendingEvaluationCount());
+      assertEquals(0, latch.getCount());
+      assertEquals(1, executor.getQuarantinedEvaluationCount());
+    }
+  }
+
+  @Test
+  void closeDropsDelayedRetries() throws InterruptedException {
+    var executor = createExecutor(RETRY_BACKOFF_MILLI_SECONDS);
+    var pendingEvaluation = new PendingEvaluation(new Evaluation<Representation>(null, 0),
+        new CountDownLatch(1));
+    executor.fail(pendingEvaluation, new WorkerException("test"));
+    executor.close();
+    Thread.sleep(2 * RETRY_BACKOFF_MILLI_SECONDS);
+    assertEquals(0, executor.getPendingEvaluationCount());
+  }
+}
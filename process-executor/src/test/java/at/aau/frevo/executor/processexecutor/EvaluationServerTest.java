@@ -0,0 +1,144 @@
+/**
+ * File: EvaluationServerTest.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.processexecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the handshake of {@link EvaluationServer}.
+ */
+class EvaluationServerTest {
+
+  static final String SECRET = "secret";
+
+  /**
+   * Runs the executor side of the handshake against an {@code EvaluationServer}, sending the
+   * specified object in place of the {@code ProblemBuilder} followed by
+   * {@link EvaluationProtocol#SHUTDOWN}.
+   * 
+   * @param executorSecret the secret used by the executor side
+   * @param problemBuilder the object sent in place of the {@code ProblemBuilder}
+   * @return the exception thrown by {@link EvaluationServer#serve()}, or {@code null}
+   * @throws Exception if the executor side fails
+   */
+  static Exception runHandshake(String executorSecret, Object problemBuilder) throws Exception {
+    var executorOutput = new PipedOutputStream();
+    var workerInput = new PipedInputStream(executorOutput, 1 << 16);
+    var workerOutput = new PipedOutputStream();
+    var executorInput = new PipedInputStream(workerOutput, 1 << 16);
+
+    var server = CompletableFuture.supplyAsync(() -> {
+      try {
+        new EvaluationServer(workerInput, workerOutput, SECRET).serve();
+        return null;
+      } catch (Exception e) {
+        return e;
+      } finally {
+        try {
+          workerOutput.close();
+        } catch (IOException e) {
+        }
+      }
+    });
+
+    var executorNonce = EvaluationProtocol.createNonce();
+    var output = new ObjectOutputStream(executorOutput);
+    output.writeInt(EvaluationProtocol.MAGIC);
+    output.writeInt(EvaluationProtocol.VERSION);
+    output.write(executorNonce);
+    output.flush();
+
+    var input = new ObjectInputStream(executorInput);
+    assertEquals(EvaluationProtocol.MAGIC, input.readInt());
+    assertEquals(EvaluationProtocol.VERSION, input.readInt());
+    var workerNonce = new byte[EvaluationProtocol.NONCE_LENGTH];
+    input.readFully(workerNonce);
+    var workerProof = new byte[EvaluationProtocol.PROOF_LENGTH];
+    input.readFully(workerProof);
+    assertEquals(EvaluationProtocol.verifyProof(workerProof, executorSecret,
+        EvaluationProtocol.WORKER_ROLE, executorNonce, workerNonce), SECRET.equals(executorSecret));
+
+    try {
+      output.write(EvaluationProtocol.computeProof(executorSecret,
+          EvaluationProtocol.EXECUTOR_ROLE, workerNonce, executorNonce));
+      output.writeObject(problemBuilder);
+      output.writeByte(EvaluationProtocol.SHUTDOWN);
+      output.flush();
+    } catch (IOException e) {
+      // the server may already have given up on the connection
+    }
+    return server.get(10, TimeUnit.SECONDS);
+  }
+
+  /**
+   * {@code Serializable} class recording whether an instance has been deserialized.
+   */
+  static class Gadget implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    static volatile boolean deserialized;
+
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+      input.defaultReadObject();
+      deserialized = true;
+    }
+  }
+
+  @Test
+  void handshakeAcceptsSharedSecret() throws Exception {
+    assertNull(runHandshake(SECRET, null));
+  }
+
+  @Test
+  void handshakeRejectsWrongSecretBeforeReadingObjects() throws Exception {
+    Gadget.deserialized = false;
+    var failure = runHandshake("wrong", new Gadget());
+    assertTrue(failure instanceof IOException);
+    assertEquals("Executor authentication failed", failure.getMessage());
+    assertFalse(Gadget.deserialized);
+  }
+
+  @Test
+  void handshakeRejectsClassesNotAccepted() throws Exception {
+    // java.time is not accepted by the default filter
+    var failure = runHandshake(SECRET, Duration.ofSeconds(1));
+    assertTrue(failure instanceof InvalidClassException);
+  }
+
+  @Test
+  void constructorRequiresSecret() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new EvaluationServer(new PipedInputStream(), new PipedOutputStream(), ""));
+  }
+}
@@ -0,0 +1,90 @@
+/**
+ * File: RemoteConnection.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.remoteexecutor;
+
+import java.io.IOException;
+import java.net.Socket;
+import at.aau.frevo.executor.processexecutor.WorkerConnection;
+
+/**
+ * Connection of a {@link RemoteExecutor} to one {@link RemoteWorker}, accepted on the listening
+ * socket of the {@code RemoteExecutor}.
+ * <p>
+ * The connection ends when the socket is closed. It is then up to the {@code RemoteWorker} to
+ * connect again.
+ */
+public class RemoteConnection extends WorkerConnection {
+
+  // clients which do not complete the handshake in time are disconnected
+  protected static final int HANDSHAKE_TIMEOUT_MILLI_SECONDS = 10000;
+
+  protected RemoteExecutor remoteExecutor;
+  protected Socket socket;
+
+  /**
+   * Creates a new {@code RemoteConnection} instance.
+   * 
+   * @param id       the id of this connection
+   * @param executor the {@code RemoteExecutor} owning this connection
+   * @param socket   the accepted socket
+   */
+  public RemoteConnection(int id, RemoteExecutor executor, Socket socket) {
+    super(id, executor);
+    remoteExecutor = executor;
+    this.socket = socket;
+  }
+
+  @Override
+  public void run() {
+    if (!closed) {
+      runSession();
+    }
+    remoteExecutor.connectionEnded(this);
+  }
+
+  @Override
+  protected void connect() throws IOException {
+    socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLI_SECONDS);
+    handshake(socket.getInputStream(), socket.getOutputStream());
+    socket.setSoTimeout(0);
+  }
+
+  @Override
+  protected String disconnect() {
+    closeStreams();
+    abort();
+    return "Remote worker " + socket.getRemoteSocketAddress() + " disconnected";
+  }
+
+  @Override
+  protected void abort() {
+    try {
+      socket.close();
+    } catch (IOException e) {
+    }
+  }
+
+  /**
+   * Gets the socket of this connection.
+   * 
+   * @return the socket
+   */
+  public Socket getSocket() {
+    return socket;
+  }
+}
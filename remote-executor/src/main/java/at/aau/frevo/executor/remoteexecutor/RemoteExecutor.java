@@ -0,0 +1,177 @@
+/**
+ * File: RemoteExecutor.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.remoteexecutor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import at.aau.frevo.Problem;
+import at.aau.frevo.ProblemBuilder;
+import at.aau.frevo.executor.processexecutor.ConnectionExecutor;
+
+/**
+ * Runs evaluations on {@link RemoteWorker} daemons connecting over TCP, so that the evaluation can
+ * be spread across several machines.
+ * <p>
+ * The {@code RemoteExecutor} listens on a port and serves every worker connecting to it with a
+ * {@link RemoteConnection}. Workers may connect and disconnect at any time. Evaluations are queued
+ * until a worker is available, and the evaluations in flight on a worker which disconnects are
+ * handed out to the remaining workers, see {@link ConnectionExecutor}.
+ * <p>
+ * By default, the {@code RemoteExecutor} only listens on the loopback address. Listening on other
+ * addresses must be allowed explicitly. Workers must prove that they know the secret configured
+ * in the {@link RemoteExecutorBuilder}, connections of other clients are closed after the
+ * handshake fails.
+ */
+public class RemoteExecutor extends ConnectionExecutor {
+
+  protected final static AtomicInteger EXECUTOR_COUNTER = new AtomicInteger();
+
+  protected ServerSocket serverSocket;
+  protected Thread acceptorThread;
+  protected String threadNamePrefix;
+
+  protected final AtomicInteger connectionCounter = new AtomicInteger();
+  protected final LongAdder acceptedConnectionCount = new LongAdder();
+
+  /**
+   * Creates a new {@code RemoteExecutor} instance with the specified configuration and starts
+   * listening for workers.
+   * 
+   * @param builder        the {@code RemoteExecutorBuilder} used for configuration
+   * @param problemBuilder the {@code ProblemBuilder} used to create {@code Problem} instances
+   * @param random         the random number generator used to create seeds for {@code Problem}
+   *                       instances
+   * @throws IllegalArgumentException if no secret is set, or the bind address is not a loopback
+   *                                  address and workers on other machines are not allowed
+   * @throws UncheckedIOException     if the port cannot be bound
+   */
+  public RemoteExecutor(RemoteExecutorBuilder builder,
+      ProblemBuilder<? extends Problem> problemBuilder, SplittableRandom random) {
+    super(builder, problemBuilder, random);
+
+    secret = builder.getSecret();
+    if ((secret == null) || secret.isEmpty()) {
+      throw new IllegalArgumentException("No secret set");
+    }
+    var address = builder.getBindAddress() == null ? new InetSocketAddress(builder.getPort())
+        : new InetSocketAddress(builder.getBindAddress(), builder.getPort());
+    if (!builder.isRemoteWorkersAllowed()
+        && ((address.getAddress() == null) || !address.getAddress().isLoopbackAddress())) {
+      throw new IllegalArgumentException(
+          "Bind address " + address.getHostString() + " requires remote workers to be allowed");
+    }
+
+    try {
+      serverSocket = new ServerSocket();
+      serverSocket.setReuseAddress(true);
+      serverSocket.bind(address);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot listen on port " + builder.getPort(), e);
+    }
+
+    threadNamePrefix = "frevo-remote-" + EXECUTOR_COUNTER.incrementAndGet();
+    acceptorThread = new Thread(this::acceptConnections, threadNamePrefix + "-acceptor-0");
+    acceptorThread.setDaemon(true);
+    acceptorThread.start();
+    startWatchdog(threadNamePrefix + "-watchdog-0");
+  }
+
+  /**
+   * Accepts connecting workers until the {@code RemoteExecutor} is closed.
+   */
+  protected void acceptConnections() {
+    while (!closed) {
+      Socket socket;
+      try {
+        socket = serverSocket.accept();
+      } catch (IOException e) {
+        if (serverSocket.isClosed()) {
+          return;
+        }
+        continue;
+      }
+      try {
+        socket.setTcpNoDelay(true);
+        socket.setKeepAlive(true);
+      } catch (SocketException e) {
+      }
+      acceptedConnectionCount.increment();
+      var id = connectionCounter.getAndIncrement();
+      addConnection(createConnection(id, socket), threadNamePrefix + "-connection-" + id);
+    }
+  }
+
+  /**
+   * Creates the connection to a worker.
+   * 
+   * @param id     the id of the connection
+   * @param socket the accepted socket
+   * @return the {@code RemoteConnection}
+   */
+  protected RemoteConnection createConnection(int id, Socket socket) {
+    return new RemoteConnection(id, this, socket);
+  }
+
+  /**
+   * Removes a connection which has ended.
+   * 
+   * @param connection the {@code RemoteConnection} which has ended
+   */
+  protected void connectionEnded(RemoteConnection connection) {
+    removeConnection(connection);
+  }
+
+  /**
+   * Stops listening, closes all connections and stops the watchdog. Pending evaluations are not
+   * carried out. The workers try to connect again.
+   */
+  @Override
+  public void close() {
+    super.close();
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+    }
+  }
+
+  /**
+   * Gets the port on which the {@code RemoteExecutor} listens for workers. This is the actually
+   * bound port if the configured port is zero.
+   * 
+   * @return the port
+   */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Gets the total number of worker connections accepted, including reconnections.
+   * 
+   * @return the accepted connection count
+   */
+  public long getAcceptedConnectionCount() {
+    return acceptedConnectionCount.sum();
+  }
+}
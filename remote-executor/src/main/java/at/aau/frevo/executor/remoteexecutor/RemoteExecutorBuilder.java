@@ -0,0 +1,232 @@
+/**
+ * File: RemoteExecutorBuilder.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.remoteexecutor;
+
+import java.net.InetAddress;
+import java.util.SplittableRandom;
+import at.aau.frevo.Problem;
+import at.aau.frevo.ProblemBuilder;
+import at.aau.frevo.executor.baseexecutor.BaseExecutorBuilder;
+import at.aau.frevo.executor.baseexecutor.EvaluationOrder;
+import at.aau.frevo.executor.processexecutor.ConnectionExecutorBuilder;
+import at.aau.frevo.executor.processexecutor.EvaluationProtocol;
+
+/**
+ * Builder for {@link RemoteExecutor} instances.
+ */
+public class RemoteExecutorBuilder extends ConnectionExecutorBuilder<RemoteExecutor> {
+
+  protected String bindAddress;
+  protected boolean remoteWorkersAllowed;
+  protected int port;
+  protected String secret;
+
+  /**
+   * Constructs a new {@code RemoteExecutorBuilder} instance.
+   */
+  public RemoteExecutorBuilder() {
+    bindAddress = InetAddress.getLoopbackAddress().getHostAddress();
+    remoteWorkersAllowed = false;
+    port = 0;
+    secret = null;
+  }
+
+  /**
+   * Constructs a new {@code RemoteExecutorBuilder} instance by copying the properties of the
+   * specified instance.
+   * 
+   * @param source the source {@code RemoteExecutorBuilder} instance
+   */
+  public RemoteExecutorBuilder(RemoteExecutorBuilder source) {
+    super(source);
+    bindAddress = source.bindAddress;
+    remoteWorkersAllowed = source.remoteWorkersAllowed;
+    port = source.port;
+    secret = source.secret;
+  }
+
+  @Override
+  public String getName() {
+    return RemoteExecutor.class.getName();
+  }
+
+  @Override
+  public RemoteExecutor create(ProblemBuilder<? extends Problem> problemBuilder,
+      SplittableRandom random) {
+    return new RemoteExecutor(this, problemBuilder, random);
+  }
+
+  @Override
+  public RemoteExecutorBuilder cloneBuilder() {
+    return new RemoteExecutorBuilder(this);
+  }
+
+  /**
+   * Gets the address on which the {@code RemoteExecutor} listens for workers.
+   * 
+   * @return the bind address, or {@code null} if all addresses are used
+   */
+  public String getBindAddress() {
+    return bindAddress;
+  }
+
+  /**
+   * Sets the address on which the {@code RemoteExecutor} listens for workers. If {@code null}, all
+   * addresses of the local machine are used. Defaults to the loopback address. Addresses other than
+   * a loopback address require {@link #setRemoteWorkersAllowed(boolean)}.
+   * 
+   * @param bindAddress the bind address
+   * @return this {@code RemoteExecutorBuilder} instance
+   */
+  public RemoteExecutorBuilder setBindAddress(String bindAddress) {
+    this.bindAddress = bindAddress;
+    return this;
+  }
+
+  /**
+   * Gets the flag allowing the {@code RemoteExecutor} to listen on addresses other than a loopback
+   * address.
+   * 
+   * @return {@code true} if workers on other machines are allowed
+   */
+  public boolean isRemoteWorkersAllowed() {
+    return remoteWorkersAllowed;
+  }
+
+  /**
+   * Sets the flag allowing the {@code RemoteExecutor} to listen on addresses other than a loopback
+   * address, so that workers on other machines can connect.
+   * 
+   * @param remoteWorkersAllowed {@code true} to allow workers on other machines
+   * @return this {@code RemoteExecutorBuilder} instance
+   */
+  public RemoteExecutorBuilder setRemoteWorkersAllowed(boolean remoteWorkersAllowed) {
+    this.remoteWorkersAllowed = remoteWorkersAllowed;
+    return this;
+  }
+
+  /**
+   * Gets the port on which the {@code RemoteExecutor} listens for workers.
+   * 
+   * @return the port
+   */
+  public int getPort() {
+    return port;
+  }
+
+  /**
+   * Sets the port on which the {@code RemoteExecutor} listens for workers. If zero, a free port is
+   * chosen, which is available from {@link RemoteExecutor#getPort()}.
+   * 
+   * @param port the port
+   * @return this {@code RemoteExecutorBuilder} instance
+   */
+  public RemoteExecutorBuilder setPort(int port) {
+    this.port = port;
+    return this;
+  }
+
+  /**
+   * Gets the secret shared with the workers.
+   * 
+   * @return the secret
+   */
+  public String getSecret() {
+    return secret;
+  }
+
+  /**
+   * Sets the secret shared with the workers, which both sides prove to know before any object is
+   * sent. Must be set to a non-empty value, which the workers read from the
+   * {@link EvaluationProtocol#SECRET_ENVIRONMENT_VARIABLE} environment variable.
+   * 
+   * @param secret the secret
+   * @return this {@code RemoteExecutorBuilder} instance
+   */
+  public RemoteExecutorBuilder setSecret(String secret) {
+    this.secret = secret;
+    return this;
+  }
+
+  @Override
+  public RemoteExecutorBuilder setBatchSize(int batchSize) {
+    return (RemoteExecutorBuilder) super.setBatchSize(batchSize);
+  }
+
+  @Override
+  public RemoteExecutorBuilder setPipelineDepth(int pipelineDepth) {
+    return (RemoteExecutorBuilder) super.setPipelineDepth(pipelineDepth);
+  }
+
+  @Override
+  public RemoteExecutorBuilder setProblemVariantCount(int problemVariantCount) {
+    return (RemoteExecutorBuilder) super.setProblemVariantCount(problemVariantCount);
+  }
+
+  @Override
+  public RemoteExecutorBuilder setStrict(boolean strict) {
+    return (RemoteExecutorBuilder) super.setStrict(strict);
+  }
+
+  @Override
+  public BaseExecutorBuilder<RemoteExecutor> setTimeoutMilliSeconds(long timeoutMilliSeconds) {
+    return super.setTimeoutMilliSeconds(timeoutMilliSeconds);
+  }
+
+  @Override
+  public RemoteExecutorBuilder setEvaluationTimeoutMilliSeconds(
+      long evaluationTimeoutMilliSeconds) {
+    return (RemoteExecutorBuilder) super.setEvaluationTimeoutMilliSeconds(
+        evaluationTimeoutMilliSeconds);
+  }
+
+  @Override
+  public RemoteExecutorBuilder setRetryCount(int retryCount) {
+    return (RemoteExecutorBuilder) super.setRetryCount(retryCount);
+  }
+
+  @Override
+  public RemoteExecutorBuilder setRetryBackoffMilliSeconds(long retryBackoffMilliSeconds) {
+    return (RemoteExecutorBuilder) super.setRetryBackoffMilliSeconds(retryBackoffMilliSeconds);
+  }
+
+  @Override
+  public RemoteExecutorBuilder setFitnessCacheSize(int fitnessCacheSize) {
+    return (RemoteExecutorBuilder) super.setFitnessCacheSize(fitnessCacheSize);
+  }
+
+  @Override
+  public RemoteExecutorBuilder setRacingInitialVariantCount(int racingInitialVariantCount) {
+    return (RemoteExecutorBuilder) super.setRacingInitialVariantCount(racingInitialVariantCount);
+  }
+
+  @Override
+  public RemoteExecutorBuilder setRacingReductionFactor(double racingReductionFactor) {
+    return (RemoteExecutorBuilder) super.setRacingReductionFactor(racingReductionFactor);
+  }
+
+  @Override
+  public RemoteExecutorBuilder setCostHistorySize(int costHistorySize) {
+    return (RemoteExecutorBuilder) super.setCostHistorySize(costHistorySize);
+  }
+
+  @Override
+  public RemoteExecutorBuilder setEvaluationOrder(EvaluationOrder evaluationOrder) {
+    return (RemoteExecutorBuilder) super.setEvaluationOrder(evaluationOrder);
+  }
+}
@@ -0,0 +1,108 @@
+/**
+ * File: RemoteWorker.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.remoteexecutor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import at.aau.frevo.executor.processexecutor.EvaluationProtocol;
+import at.aau.frevo.executor.processexecutor.EvaluationServer;
+
+/**
+ * Standalone worker daemon connecting to a {@link RemoteExecutor}.
+ * <p>
+ * The worker connects to the {@code RemoteExecutor} and serves evaluations until the connection is
+ * lost, then connects again, so that it outlives individual runs of the executor. The classes of
+ * the {@code Problem}, {@code ProblemBuilder} and {@code Representation} used must be on the class
+ * path of the worker.
+ * <p>
+ * Usage: {@code RemoteWorker <host> <port> [<connection count>]}, where the connection count is the
+ * number of evaluations carried out in parallel and defaults to the number of available
+ * processors. The secret shared with the {@code RemoteExecutor} is read from the
+ * {@link EvaluationProtocol#SECRET_ENVIRONMENT_VARIABLE} environment variable, so that it does not
+ * show up in the process list. Additional classes to be deserialized are configured with the
+ * {@link EvaluationProtocol#SERIAL_FILTER_PROPERTY} system property.
+ */
+public class RemoteWorker implements Runnable {
+
+  protected String host;
+  protected int port;
+  protected String secret;
+  protected long reconnectDelayMilliSeconds;
+
+  /**
+   * Creates a new {@code RemoteWorker} instance.
+   * 
+   * @param host                       the host of the {@code RemoteExecutor}
+   * @param port                       the port of the {@code RemoteExecutor}
+   * @param secret                     the secret shared with the {@code RemoteExecutor}
+   * @param reconnectDelayMilliSeconds the delay before connecting again
+   */
+  public RemoteWorker(String host, int port, String secret, long reconnectDelayMilliSeconds) {
+    this.host = host;
+    this.port = port;
+    this.secret = secret;
+    this.reconnectDelayMilliSeconds = reconnectDelayMilliSeconds;
+  }
+
+  /**
+   * Connects to the {@code RemoteExecutor} and serves evaluations until interrupted.
+   */
+  @Override
+  public void run() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try (var socket = new Socket(host, port)) {
+        socket.setTcpNoDelay(true);
+        new EvaluationServer(new BufferedInputStream(socket.getInputStream()),
+            new BufferedOutputStream(socket.getOutputStream()), secret).serve();
+      } catch (IOException | ClassNotFoundException e) {
+        System.err.println(Thread.currentThread().getName() + ": " + e);
+      }
+      try {
+        Thread.sleep(reconnectDelayMilliSeconds);
+      } catch (InterruptedException e) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Starts a number of connections to a {@code RemoteExecutor}.
+   * 
+   * @param args the host, the port and optionally the connection count
+   */
+  public static void main(String[] args) {
+    if ((args.length < 2) || (args.length > 3)) {
+      System.err.println("Usage: RemoteWorker <host> <port> [<connection count>]");
+      System.exit(1);
+    }
+    var secret = System.getenv(EvaluationProtocol.SECRET_ENVIRONMENT_VARIABLE);
+    if ((secret == null) || secret.isEmpty()) {
+      System.err.println("Environment variable " + EvaluationProtocol.SECRET_ENVIRONMENT_VARIABLE
+          + " must contain the secret of the RemoteExecutor");
+      System.exit(1);
+    }
+    var connectionCount =
+        args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+    for (var i = 0; i < connectionCount; i++) {
+      new Thread(new RemoteWorker(args[0], Integer.parseInt(args[1]), secret, 1000),
+          "frevo-remote-worker-" + i).start();
+    }
+  }
+}
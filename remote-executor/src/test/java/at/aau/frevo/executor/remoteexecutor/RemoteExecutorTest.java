@@ -0,0 +1,58 @@
+/**
+ * File: RemoteExecutorTest.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.remoteexecutor;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the configuration checks of {@link RemoteExecutor}.
+ */
+class RemoteExecutorTest {
+
+  @Test
+  void listensOnLoopbackByDefault() {
+    try (var executor =
+        new RemoteExecutorBuilder().setSecret("secret").create(null, new SplittableRandom(0))) {
+      assertTrue(executor.serverSocket.getInetAddress().isLoopbackAddress());
+    }
+  }
+
+  @Test
+  void rejectsOtherAddressesUnlessAllowed() {
+    assertThrows(IllegalArgumentException.class, () -> new RemoteExecutorBuilder()
+        .setSecret("secret").setBindAddress(null).create(null, new SplittableRandom(0)));
+    assertThrows(IllegalArgumentException.class, () -> new RemoteExecutorBuilder()
+        .setSecret("secret").setBindAddress("0.0.0.0").create(null, new SplittableRandom(0)));
+
+    try (var executor = new RemoteExecutorBuilder().setSecret("secret").setBindAddress(null)
+        .setRemoteWorkersAllowed(true).create(null, new SplittableRandom(0))) {
+      assertTrue(executor.serverSocket.getInetAddress().isAnyLocalAddress());
+    }
+  }
+
+  @Test
+  void requiresSecret() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new RemoteExecutorBuilder().create(null, new SplittableRandom(0)));
+    assertThrows(IllegalArgumentException.class,
+        () -> new RemoteExecutorBuilder().setSecret("").create(null, new SplittableRandom(0)));
+  }
+}
@@ -0,0 +1,680 @@
+/**
+ * File: EvaluationRing.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.sharedmemoryexecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import at.aau.frevo.Representation;
+import at.aau.frevo.RepresentationCodec;
+
+/**
+ * Memory-mapped file shared by a {@link SharedMemoryExecutor} and its worker processes.
+ * <p>
+ * The file starts with a header holding the configuration and the serialized
+ * {@code ProblemBuilder}, followed by the request ring and one block per worker:
+ * <ul>
+ * <li>The request ring is a single-producer/multi-consumer ring of fixed-size slots, each holding a
+ * sequence number and the seed and encoded {@code Representation} of a request. The executor
+ * publishes the request at position p by setting the sequence of its slot to p + 1. A worker claims
+ * it by replacing the sequence with a marker identifying the worker and the position, advances the
+ * shared head and hands the slot back by setting the sequence to p + slot count once it has read
+ * the request. Workers finding a claimed slot at the head advance the head themselves, so a worker
+ * dying between both steps does not block the ring.</li>
+ * <li>Each worker block holds the position of the request the worker is carrying out and a
+ * single-producer/single-consumer response ring, written by the worker and read by the executor,
+ * holding the position of each request together with its fitness or the description of its
+ * failure.</li>
+ * </ul>
+ * The claim markers and current positions allow the executor to find the requests lost when a
+ * worker dies. Counters and sequence numbers are accessed through a {@link VarHandle} and the
+ * counters are kept on separate cache lines.
+ * <p>
+ * Representations are encoded using their {@link RepresentationCodec} if one is registered and
+ * using Java serialization otherwise.
+ */
+public class EvaluationRing {
+
+  /**
+   * Magic number at the start of the file.
+   */
+  public static final int MAGIC = 0x46524556;
+
+  /**
+   * Version of the layout.
+   */
+  public static final int VERSION = 1;
+
+  /**
+   * Current position of a worker which is not carrying out a request.
+   */
+  public static final long IDLE = -1;
+
+  /**
+   * Maximum number of workers sharing a ring.
+   */
+  public static final int MAXIMUM_WORKER_COUNT = 1 << 12;
+
+  /**
+   * Maximum length in bytes of the description of a failure.
+   */
+  public static final int MAXIMUM_DESCRIPTION_LENGTH = 232;
+
+  protected static final int CACHE_LINE_SIZE = 64;
+
+  protected static final int MAGIC_OFFSET = 0;
+  protected static final int VERSION_OFFSET = 4;
+  protected static final int SLOT_COUNT_OFFSET = 8;
+  protected static final int SLOT_SIZE_OFFSET = 12;
+  protected static final int WORKER_COUNT_OFFSET = 16;
+  protected static final int PROBLEM_BUILDER_LENGTH_OFFSET = 20;
+  protected static final int CLOSED_OFFSET = 24;
+  protected static final int PROBLEM_BUILDER_OFFSET = CACHE_LINE_SIZE;
+
+  protected static final int SEQUENCE_OFFSET = 0;
+  protected static final int SEED_OFFSET = 8;
+  protected static final int LENGTH_OFFSET = 16;
+  protected static final int PAYLOAD_OFFSET = 24;
+
+  protected static final int CURRENT_POSITION_OFFSET = 0;
+  protected static final int RESPONSE_HEAD_OFFSET = CACHE_LINE_SIZE;
+  protected static final int RESPONSE_TAIL_OFFSET = 2 * CACHE_LINE_SIZE;
+  protected static final int RESPONSE_SLOTS_OFFSET = 3 * CACHE_LINE_SIZE;
+
+  protected static final int RESPONSE_SLOT_SIZE = 256;
+  protected static final int RESPONSE_POSITION_OFFSET = 0;
+  protected static final int RESPONSE_DESCRIPTION_LENGTH_OFFSET = 8;
+  protected static final int RESPONSE_FITNESS_OFFSET = 16;
+  protected static final int RESPONSE_DESCRIPTION_OFFSET = 24;
+
+  protected static final byte ENCODED = 1;
+  protected static final byte SERIALIZED = 2;
+
+  protected static final int WORKER_BITS = 12;
+
+  protected static final VarHandle LONG =
+      MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+  /**
+   * Consumer of the responses of a worker.
+   */
+  public interface ResponseConsumer {
+
+    /**
+     * Accepts a response.
+     * 
+     * @param position    the position of the request
+     * @param fitness     the fitness, if the evaluation succeeded
+     * @param description the description of the failure, or {@code null} if the evaluation
+     *                    succeeded
+     */
+    void accept(long position, double fitness, String description);
+  }
+
+  protected MappedByteBuffer buffer;
+  protected int slotCount;
+  protected int slotMask;
+  protected int slotSize;
+  protected int workerCount;
+  protected int requestHeadOffset;
+  protected int requestSlotsOffset;
+  protected int slotStride;
+  protected int workersOffset;
+  protected int workerStride;
+  protected ByteBuffer[] payloads;
+
+  protected final ArrayList<Representation> representations = new ArrayList<>(1);
+  protected Class<?> codecClass;
+  protected byte[] codecClassName;
+  protected RepresentationCodec<Representation> codec;
+  protected byte[] className = new byte[0];
+  protected byte[] serializedRepresentation = new byte[0];
+
+  /**
+   * Creates a new {@code EvaluationRing} instance using a mapped file with a valid header.
+   * 
+   * @param buffer the mapped file
+   * @throws IOException if the header is not valid
+   */
+  protected EvaluationRing(MappedByteBuffer buffer) throws IOException {
+    this.buffer = buffer;
+    buffer.order(ByteOrder.nativeOrder());
+    if ((buffer.getInt(MAGIC_OFFSET) != MAGIC) || (buffer.getInt(VERSION_OFFSET) != VERSION)) {
+      throw new StreamCorruptedException("Unsupported evaluation ring");
+    }
+    slotCount = buffer.getInt(SLOT_COUNT_OFFSET);
+    slotMask = slotCount - 1;
+    slotSize = buffer.getInt(SLOT_SIZE_OFFSET);
+    workerCount = buffer.getInt(WORKER_COUNT_OFFSET);
+    requestHeadOffset =
+        align(PROBLEM_BUILDER_OFFSET + buffer.getInt(PROBLEM_BUILDER_LENGTH_OFFSET));
+    requestSlotsOffset = requestHeadOffset + CACHE_LINE_SIZE;
+    slotStride = align(PAYLOAD_OFFSET + slotSize);
+    workersOffset = requestSlotsOffset + slotCount * slotStride;
+    workerStride = RESPONSE_SLOTS_OFFSET + slotCount * RESPONSE_SLOT_SIZE;
+
+    payloads = new ByteBuffer[slotCount];
+    for (var i = 0; i < slotCount; i++) {
+      var payloadOffset = requestSlotsOffset + i * slotStride + PAYLOAD_OFFSET;
+      payloads[i] = buffer.duplicate().position(payloadOffset).limit(payloadOffset + slotSize)
+          .slice().order(ByteOrder.nativeOrder());
+    }
+  }
+
+  /**
+   * Creates a new file and maps it as {@code EvaluationRing}.
+   * 
+   * @param path           the path of the file
+   * @param slotCount      the number of request slots, a power of two
+   * @param slotSize       the maximum size of an encoded request in bytes
+   * @param workerCount    the number of workers
+   * @param problemBuilder the serialized {@code ProblemBuilder}
+   * @return the {@code EvaluationRing}
+   * @throws IOException if the file cannot be created or is too large
+   */
+  public static EvaluationRing create(Path path, int slotCount, int slotSize, int workerCount,
+      byte[] problemBuilder) throws IOException {
+    if ((slotCount < 2) || (Integer.bitCount(slotCount) != 1)) {
+      throw new IllegalArgumentException("Slot count must be a power of two");
+    }
+    if ((workerCount < 1) || (workerCount > MAXIMUM_WORKER_COUNT)) {
+      throw new IllegalArgumentException("Unsupported worker count " + workerCount);
+    }
+    var requestSlotsOffset =
+        align(PROBLEM_BUILDER_OFFSET + problemBuilder.length) + CACHE_LINE_SIZE;
+    var size = requestSlotsOffset + (long) slotCount * align(PAYLOAD_OFFSET + slotSize)
+        + (long) workerCount * (RESPONSE_SLOTS_OFFSET + (long) slotCount * RESPONSE_SLOT_SIZE);
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("Evaluation ring too large");
+    }
+
+    MappedByteBuffer buffer;
+    try (var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      buffer = channel.map(MapMode.READ_WRITE, 0, size);
+    }
+    buffer.order(ByteOrder.nativeOrder());
+    buffer.putInt(VERSION_OFFSET, VERSION);
+    buffer.putInt(SLOT_COUNT_OFFSET, slotCount);
+    buffer.putInt(SLOT_SIZE_OFFSET, slotSize);
+    buffer.putInt(WORKER_COUNT_OFFSET, workerCount);
+    buffer.putInt(PROBLEM_BUILDER_LENGTH_OFFSET, problemBuilder.length);
+    buffer.duplicate().position(PROBLEM_BUILDER_OFFSET).put(problemBuilder);
+    buffer.putInt(MAGIC_OFFSET, MAGIC);
+
+    var ring = new EvaluationRing(buffer);
+    for (var i = 0; i < slotCount; i++) {
+      LONG.setVolatile(buffer, ring.requestSlotsOffset + i * ring.slotStride + SEQUENCE_OFFSET,
+          (long) i);
+    }
+    for (var i = 0; i < workerCount; i++) {
+      ring.setCurrentPosition(i, IDLE);
+    }
+    return ring;
+  }
+
+  /**
+   * Maps an existing file created using {@link #create(Path, int, int, int, byte[])}.
+   * 
+   * @param path the path of the file
+   * @return the {@code EvaluationRing}
+   * @throws IOException if the file cannot be mapped or is not valid
+   */
+  public static EvaluationRing open(Path path) throws IOException {
+    try (var channel =
+        FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      return new EvaluationRing(channel.map(MapMode.READ_WRITE, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Checks whether the request slot for the specified position is available to the executor.
+   * 
+   * @param position the position
+   * @return {@code true} if the request may be written
+   */
+  public boolean isWritable(long position) {
+    return (long) LONG.getAcquire(buffer, getSlotOffset(position)) == position;
+  }
+
+  /**
+   * Writes a request into its slot, which must be writable. The request is not visible to the
+   * workers before it is published.
+   * 
+   * @param position       the position of the request
+   * @param seed           the seed of the problem variant
+   * @param representation the {@code Representation} to evaluate
+   * @throws IOException if the {@code Representation} cannot be serialized or exceeds the slot size
+   */
+  public void writeRequest(long position, long seed, Representation representation)
+      throws IOException {
+    var slotOffset = getSlotOffset(position);
+    var payload = payloads[(int) (position & slotMask)];
+    payload.clear();
+
+    var codec = getCodec(representation.getClass());
+    if (codec != null) {
+      representations.add(representation);
+      try {
+        var size =
+            1 + Integer.BYTES + codecClassName.length + codec.getEncodedSize(representations);
+        if (size > slotSize) {
+          throw new IOException("Encoded representation exceeds slot size");
+        }
+        payload.put(ENCODED);
+        payload.putInt(codecClassName.length);
+        payload.put(codecClassName);
+        codec.encode(representations, payload);
+      } finally {
+        representations.clear();
+      }
+    } else {
+      var bytes = new ByteArrayOutputStream();
+      try (var output = new ObjectOutputStream(bytes)) {
+        output.writeObject(representation);
+      }
+      if (1 + bytes.size() > slotSize) {
+        throw new IOException("Serialized representation exceeds slot size");
+      }
+      payload.put(SERIALIZED);
+      payload.put(bytes.toByteArray());
+    }
+
+    buffer.putLong(slotOffset + SEED_OFFSET, seed);
+    buffer.putInt(slotOffset + LENGTH_OFFSET, payload.position());
+  }
+
+  /**
+   * Publishes a written request to the workers.
+   * 
+   * @param position the position of the request
+   */
+  public void publish(long position) {
+    LONG.setRelease(buffer, getSlotOffset(position) + SEQUENCE_OFFSET, position + 1);
+  }
+
+  /**
+   * Claims the next published request for a worker. The request must be released after it has
+   * been read.
+   * 
+   * @param worker the index of the worker
+   * @return the position of the request, or a negative value if no request is available
+   */
+  public long claim(int worker) {
+    while (true) {
+      var head = (long) LONG.getVolatile(buffer, requestHeadOffset);
+      var sequenceOffset = getSlotOffset(head) + SEQUENCE_OFFSET;
+      var sequence = (long) LONG.getVolatile(buffer, sequenceOffset);
+      if (sequence == head + 1) {
+        if (LONG.compareAndSet(buffer, sequenceOffset, sequence, getMarker(head, worker))) {
+          LONG.compareAndSet(buffer, requestHeadOffset, head, head + 1);
+          return head;
+        }
+      } else if ((sequence > head + 1) || ((sequence < 0) && (getPosition(sequence) >= head))) {
+        // the request at the head has been claimed but the head has not been advanced yet
+        LONG.compareAndSet(buffer, requestHeadOffset, head, head + 1);
+      } else {
+        return -1;
+      }
+    }
+  }
+
+  /**
+   * Gets the seed of a claimed request.
+   * 
+   * @param position the position of the request
+   * @return the seed
+   */
+  public long getSeed(long position) {
+    return buffer.getLong(getSlotOffset(position) + SEED_OFFSET);
+  }
+
+  /**
+   * Reads the {@code Representation} of a claimed request.
+   * 
+   * @param position the position of the request
+   * @return the {@code Representation}
+   * @throws IOException            if the {@code Representation} cannot be decoded
+   * @throws ClassNotFoundException if the class of the {@code Representation} cannot be found
+   */
+  public Representation readRequest(long position) throws IOException, ClassNotFoundException {
+    var payload = payloads[(int) (position & slotMask)];
+    payload.clear().limit(buffer.getInt(getSlotOffset(position) + LENGTH_OFFSET));
+
+    var kind = payload.get();
+    if (kind == SERIALIZED) {
+      if (serializedRepresentation.length < payload.remaining()) {
+        serializedRepresentation = new byte[payload.remaining()];
+      }
+      var length = payload.remaining();
+      payload.get(serializedRepresentation, 0, length);
+      try (var input =
+          new ObjectInputStream(new ByteArrayInputStream(serializedRepresentation, 0, length))) {
+        return (Representation) input.readObject();
+      }
+    }
+    if (kind != ENCODED) {
+      throw new StreamCorruptedException("Unexpected request kind " + kind);
+    }
+
+    var length = payload.getInt();
+    if (className.length < length) {
+      className = new byte[length];
+    }
+    payload.get(className, 0, length);
+    if ((codecClassName == null)
+        || !Arrays.equals(className, 0, length, codecClassName, 0, codecClassName.length)) {
+      var name = new String(className, 0, length, StandardCharsets.UTF_8);
+      codec = getCodec(name);
+      if (codec == null) {
+        throw new StreamCorruptedException("No codec for " + name);
+      }
+      codecClass = codec.getRepresentationClass();
+      codecClassName = Arrays.copyOf(className, length);
+    }
+    try {
+      codec.decode(payload, representations);
+      if (representations.size() != 1) {
+        throw new StreamCorruptedException("Unexpected representation count");
+      }
+      return representations.get(0);
+    } finally {
+      representations.clear();
+    }
+  }
+
+  /**
+   * Hands the slot of a claimed request back to the executor after the request has been read.
+   * 
+   * @param position the position of the request
+   */
+  public void release(long position) {
+    LONG.setRelease(buffer, getSlotOffset(position) + SEQUENCE_OFFSET, position + slotCount);
+  }
+
+  /**
+   * Releases the slots of all requests claimed by a dead worker which were not released yet.
+   * 
+   * @param worker   the index of the worker
+   * @param consumer the consumer accepting the position of each released request
+   */
+  public void releaseClaimed(int worker, LongConsumer consumer) {
+    for (var i = 0; i < slotCount; i++) {
+      var sequenceOffset = requestSlotsOffset + i * slotStride + SEQUENCE_OFFSET;
+      var sequence = (long) LONG.getVolatile(buffer, sequenceOffset);
+      if ((sequence < 0) && (getWorker(sequence) == worker)) {
+        var position = getPosition(sequence);
+        LONG.setRelease(buffer, sequenceOffset, position + slotCount);
+        consumer.accept(position);
+      }
+    }
+  }
+
+  /**
+   * Gets the position of the request a worker is carrying out.
+   * 
+   * @param worker the index of the worker
+   * @return the position, or {@link #IDLE}
+   */
+  public long getCurrentPosition(int worker) {
+    return (long) LONG.getVolatile(buffer, getWorkerOffset(worker) + CURRENT_POSITION_OFFSET);
+  }
+
+  /**
+   * Sets the position of the request a worker is carrying out.
+   * 
+   * @param worker   the index of the worker
+   * @param position the position, or {@link #IDLE}
+   */
+  public void setCurrentPosition(int worker, long position) {
+    LONG.setVolatile(buffer, getWorkerOffset(worker) + CURRENT_POSITION_OFFSET, position);
+  }
+
+  /**
+   * Writes the response to a request into the response ring of a worker.
+   * 
+   * @param worker      the index of the worker
+   * @param position    the position of the request
+   * @param fitness     the fitness, if the evaluation succeeded
+   * @param description the description of the failure, or {@code null} if the evaluation succeeded
+   * @return {@code false} if the response ring is full
+   */
+  public boolean respond(int worker, long position, double fitness, String description) {
+    var workerOffset = getWorkerOffset(worker);
+    var tail = (long) LONG.getVolatile(buffer, workerOffset + RESPONSE_TAIL_OFFSET);
+    var head = (long) LONG.getAcquire(buffer, workerOffset + RESPONSE_HEAD_OFFSET);
+    if (tail - head >= slotCount) {
+      return false;
+    }
+
+    var responseOffset = getResponseOffset(workerOffset, tail);
+    buffer.putLong(responseOffset + RESPONSE_POSITION_OFFSET, position);
+    buffer.putDouble(responseOffset + RESPONSE_FITNESS_OFFSET, fitness);
+    if (description == null) {
+      buffer.putInt(responseOffset + RESPONSE_DESCRIPTION_LENGTH_OFFSET, -1);
+    } else {
+      var bytes = description.getBytes(StandardCharsets.UTF_8);
+      var length = Math.min(bytes.length, MAXIMUM_DESCRIPTION_LENGTH);
+      buffer.putInt(responseOffset + RESPONSE_DESCRIPTION_LENGTH_OFFSET, length);
+      buffer.duplicate().position(responseOffset + RESPONSE_DESCRIPTION_OFFSET).put(bytes, 0,
+          length);
+    }
+    LONG.setRelease(buffer, workerOffset + RESPONSE_TAIL_OFFSET, tail + 1);
+    return true;
+  }
+
+  /**
+   * Reads all available responses of a worker.
+   * 
+   * @param worker   the index of the worker
+   * @param consumer the consumer accepting the responses
+   * @return the number of responses read
+   */
+  public int drainResponses(int worker, ResponseConsumer consumer) {
+    var workerOffset = getWorkerOffset(worker);
+    var head = (long) LONG.getVolatile(buffer, workerOffset + RESPONSE_HEAD_OFFSET);
+    var tail = (long) LONG.getAcquire(buffer, workerOffset + RESPONSE_TAIL_OFFSET);
+    for (var i = head; i < tail; i++) {
+      var responseOffset = getResponseOffset(workerOffset, i);
+      var length = buffer.getInt(responseOffset + RESPONSE_DESCRIPTION_LENGTH_OFFSET);
+      String description = null;
+      if (length >= 0) {
+        var bytes = new byte[length];
+        buffer.duplicate().position(responseOffset + RESPONSE_DESCRIPTION_OFFSET).get(bytes);
+        description = new String(bytes, StandardCharsets.UTF_8);
+      }
+      consumer.accept(buffer.getLong(responseOffset + RESPONSE_POSITION_OFFSET),
+          buffer.getDouble(responseOffset + RESPONSE_FITNESS_OFFSET), description);
+    }
+    LONG.setRelease(buffer, workerOffset + RESPONSE_HEAD_OFFSET, tail);
+    return (int) (tail - head);
+  }
+
+  /**
+   * Signals the workers to exit.
+   */
+  public void close() {
+    LONG.setVolatile(buffer, CLOSED_OFFSET, 1L);
+  }
+
+  /**
+   * Checks whether the workers have been signalled to exit.
+   * 
+   * @return {@code true} if the ring has been closed
+   */
+  public boolean isClosed() {
+    return (long) LONG.getVolatile(buffer, CLOSED_OFFSET) != 0;
+  }
+
+  /**
+   * Gets the serialized {@code ProblemBuilder}.
+   * 
+   * @return the serialized {@code ProblemBuilder}
+   */
+  public byte[] getProblemBuilder() {
+    var problemBuilder = new byte[buffer.getInt(PROBLEM_BUILDER_LENGTH_OFFSET)];
+    buffer.duplicate().position(PROBLEM_BUILDER_OFFSET).get(problemBuilder);
+    return problemBuilder;
+  }
+
+  /**
+   * Gets the number of request slots.
+   * 
+   * @return the slot count
+   */
+  public int getSlotCount() {
+    return slotCount;
+  }
+
+  /**
+   * Gets the maximum size of an encoded request.
+   * 
+   * @return the slot size in bytes
+   */
+  public int getSlotSize() {
+    return slotSize;
+  }
+
+  /**
+   * Gets the number of workers.
+   * 
+   * @return the worker count
+   */
+  public int getWorkerCount() {
+    return workerCount;
+  }
+
+  /**
+   * Gets the codec for a {@code Representation} class, using the cached codec if possible.
+   * 
+   * @param representationClass the {@code Representation} class
+   * @return the codec, or {@code null} if none is registered
+   */
+  protected RepresentationCodec<Representation> getCodec(Class<?> representationClass) {
+    if (representationClass != codecClass) {
+      var codec = getCodec(representationClass.getName());
+      if (codec == null) {
+        return null;
+      }
+      this.codec = codec;
+      codecClass = representationClass;
+      codecClassName = representationClass.getName().getBytes(StandardCharsets.UTF_8);
+    }
+    return codec;
+  }
+
+  /**
+   * Gets the registered codec for a {@code Representation} class.
+   * 
+   * @param representationClassName the name of the {@code Representation} class
+   * @return the codec, or {@code null} if none is registered
+   */
+  @SuppressWarnings("unchecked")
+  protected static RepresentationCodec<Representation> getCodec(String representationClassName) {
+    return (RepresentationCodec<Representation>) RepresentationCodec
+        .forName(representationClassName);
+  }
+
+  /**
+   * Gets the offset of the request slot for a position.
+   * 
+   * @param position the position
+   * @return the offset
+   */
+  protected int getSlotOffset(long position) {
+    return requestSlotsOffset + (int) (position & slotMask) * slotStride;
+  }
+
+  /**
+   * Gets the offset of the block of a worker.
+   * 
+   * @param worker the index of the worker
+   * @return the offset
+   */
+  protected int getWorkerOffset(int worker) {
+    return workersOffset + worker * workerStride;
+  }
+
+  /**
+   * Gets the offset of a response slot.
+   * 
+   * @param workerOffset the offset of the block of the worker
+   * @param index        the index of the response
+   * @return the offset
+   */
+  protected int getResponseOffset(int workerOffset, long index) {
+    return workerOffset + RESPONSE_SLOTS_OFFSET + (int) (index & slotMask) * RESPONSE_SLOT_SIZE;
+  }
+
+  /**
+   * Gets the marker of a request claimed by a worker.
+   * 
+   * @param position the position of the request
+   * @param worker   the index of the worker
+   * @return the marker, a negative value
+   */
+  protected static long getMarker(long position, int worker) {
+    return -((position << WORKER_BITS) | worker) - 1;
+  }
+
+  /**
+   * Gets the position of the request identified by a marker.
+   * 
+   * @param marker the marker
+   * @return the position
+   */
+  protected static long getPosition(long marker) {
+    return (-marker - 1) >>> WORKER_BITS;
+  }
+
+  /**
+   * Gets the index of the worker identified by a marker.
+   * 
+   * @param marker the marker
+   * @return the index of the worker
+   */
+  protected static int getWorker(long marker) {
+    return (int) ((-marker - 1) & (MAXIMUM_WORKER_COUNT - 1));
+  }
+
+  /**
+   * Rounds an offset up to the next cache line.
+   * 
+   * @param offset the offset
+   * @return the aligned offset
+   */
+  protected static int align(int offset) {
+    return (offset + CACHE_LINE_SIZE - 1) & -CACHE_LINE_SIZE;
+  }
+}
@@ -0,0 +1,71 @@
+/**
+ * File: Idler.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.sharedmemoryexecutor;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Waits for work polled from an {@link EvaluationRing}.
+ * <p>
+ * Each consecutive call of {@link #idle()} without work first spins, then yields and finally parks
+ * the thread for increasing periods, so that new work is picked up with low latency while an idle
+ * thread does not keep a processor busy.
+ */
+public class Idler {
+
+  protected static final int SPIN_COUNT = 64;
+  protected static final int YIELD_COUNT = 16;
+  protected static final long MINIMUM_PARK_NANO_SECONDS = 1000;
+
+  protected long maximumParkNanoSeconds;
+  protected int idleCount;
+  protected long parkNanoSeconds;
+
+  /**
+   * Creates a new {@code Idler} instance.
+   * 
+   * @param maximumParkNanoSeconds the maximum time to park the thread
+   */
+  public Idler(long maximumParkNanoSeconds) {
+    this.maximumParkNanoSeconds = maximumParkNanoSeconds;
+    reset();
+  }
+
+  /**
+   * Waits after polling found no work.
+   */
+  public void idle() {
+    if (idleCount < SPIN_COUNT) {
+      Thread.onSpinWait();
+    } else if (idleCount < SPIN_COUNT + YIELD_COUNT) {
+      Thread.yield();
+    } else {
+      LockSupport.parkNanos(parkNanoSeconds);
+      parkNanoSeconds = Math.min(2 * parkNanoSeconds, maximumParkNanoSeconds);
+    }
+    idleCount++;
+  }
+
+  /**
+   * Resets the waiting time after polling found work.
+   */
+  public void reset() {
+    idleCount = 0;
+    parkNanoSeconds = MINIMUM_PARK_NANO_SECONDS;
+  }
+}
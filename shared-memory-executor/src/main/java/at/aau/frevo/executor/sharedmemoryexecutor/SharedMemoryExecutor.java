@@ -0,0 +1,454 @@
+/**
+ * File: SharedMemoryExecutor.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.sharedmemoryexecutor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import at.aau.frevo.Evaluation;
+import at.aau.frevo.Problem;
+import at.aau.frevo.ProblemBuilder;
+import at.aau.frevo.Representation;
+import at.aau.frevo.executor.processexecutor.ConnectionExecutor;
+import at.aau.frevo.executor.processexecutor.PendingEvaluation;
+import at.aau.frevo.executor.processexecutor.WorkerException;
+
+/**
+ * Runs evaluations in a number of child JVMs on the same machine, exchanging requests and results
+ * through a memory-mapped {@link EvaluationRing} instead of pipes or sockets.
+ * <p>
+ * A single ring thread publishes dispatched evaluations into the request ring, from which the
+ * {@link SharedMemoryWorker} processes claim them, collects the results from the response rings and
+ * supervises the worker processes. Neither side copies data through the kernel or blocks in system
+ * calls while there is work, which keeps the overhead per evaluation low for cheap problems.
+ * <p>
+ * The number of request slots is the worker count multiplied by the batch size and pipeline depth,
+ * rounded up to the next power of two. Each encoded {@code Representation} must fit into a slot.
+ * <p>
+ * Worker processes which die are restarted, and the evaluations they had claimed count as failed
+ * attempts. Failed evaluations are retried until the retry count is exceeded and they are
+ * quarantined. Evaluations exceeding the evaluation timeout are cancelled by killing their worker
+ * process.
+ */
+public class SharedMemoryExecutor extends ConnectionExecutor {
+
+  protected final static AtomicInteger EXECUTOR_COUNTER = new AtomicInteger();
+
+  protected static final long MAXIMUM_PARK_NANO_SECONDS = 100000;
+  protected static final long IDLE_PARK_NANO_SECONDS = 10000000;
+
+  protected int workerCount;
+  protected List<String> jvmArguments;
+  protected String classPath;
+  protected Path path;
+  protected EvaluationRing ring;
+  protected WorkerProcess[] workers;
+  protected Thread ringThread;
+  protected long tail;
+
+  protected final HashMap<Long, PendingEvaluation> inFlightEvaluations = new HashMap<>();
+  protected final ArrayList<PendingEvaluation> batch = new ArrayList<>(1);
+  protected final EvaluationRing.ResponseConsumer responseConsumer = this::completeRequest;
+  protected final LongAdder startedProcessCount = new LongAdder();
+
+  /**
+   * Creates a new {@code SharedMemoryExecutor} instance with the specified configuration and starts
+   * the worker processes.
+   * 
+   * @param builder        the {@code SharedMemoryExecutorBuilder} used for configuration
+   * @param problemBuilder the {@code ProblemBuilder} used to create {@code Problem} instances
+   * @param random         the random number generator used to create seeds for {@code Problem}
+   *                       instances
+   * @throws UncheckedIOException if the {@code EvaluationRing} cannot be created
+   */
+  public SharedMemoryExecutor(SharedMemoryExecutorBuilder builder,
+      ProblemBuilder<? extends Problem> problemBuilder, SplittableRandom random) {
+    super(builder, problemBuilder, random);
+
+    // use available processors if worker count is zero
+    workerCount = builder.getWorkerCount();
+    if (workerCount == 0) {
+      workerCount = Runtime.getRuntime().availableProcessors();
+    }
+    jvmArguments = new ArrayList<>(builder.getJvmArguments());
+    classPath = builder.getClassPath();
+    if (classPath == null) {
+      classPath = System.getProperty("java.class.path");
+    }
+
+    // round the number of request slots up to a power of two
+    var slotCount =
+        Integer.highestOneBit(Math.max(1, workerCount * batchSize * pipelineDepth - 1)) << 1;
+    try {
+      var problemBuilderBytes = new ByteArrayOutputStream();
+      try (var output = new ObjectOutputStream(problemBuilderBytes)) {
+        output.writeObject(problemBuilder);
+      }
+      path = builder.getDirectory() == null ? Files.createTempFile("frevo-", ".ring")
+          : Files.createTempFile(Paths.get(builder.getDirectory()), "frevo-", ".ring");
+      ring = EvaluationRing.create(path, slotCount, builder.getSlotSize(), workerCount,
+          problemBuilderBytes.toByteArray());
+    } catch (IOException e) {
+      deleteRing();
+      throw new UncheckedIOException("Cannot create evaluation ring", e);
+    }
+
+    workers = new WorkerProcess[workerCount];
+    for (var i = 0; i < workerCount; i++) {
+      workers[i] = new WorkerProcess(i);
+    }
+    ringThread = new Thread(this::runRing,
+        "frevo-shared-memory-" + EXECUTOR_COUNTER.incrementAndGet() + "-ring-0");
+    ringThread.setDaemon(true);
+    ringThread.start();
+  }
+
+  @Override
+  protected <R extends Representation> void dispatchEvaluation(
+      ArrayBlockingQueue<Evaluation<R>> evaluationQueue, CountDownLatch evaluationCountDownLatch) {
+    super.dispatchEvaluation(evaluationQueue, evaluationCountDownLatch);
+    LockSupport.unpark(ringThread);
+  }
+
+  /**
+   * Publishes requests, collects results and supervises the worker processes until the
+   * {@code SharedMemoryExecutor} is closed.
+   */
+  protected void runRing() {
+    var idler = new Idler(MAXIMUM_PARK_NANO_SECONDS);
+    try {
+      while (!closed) {
+        var busy = publishRequests() | collectResponses();
+        superviseWorkers();
+        if (busy) {
+          idler.reset();
+        } else if (inFlightEvaluations.isEmpty()) {
+          // woken up when evaluations are dispatched
+          LockSupport.parkNanos(IDLE_PARK_NANO_SECONDS);
+        } else {
+          idler.idle();
+        }
+      }
+    } catch (InterruptedException e) {
+    } finally {
+      stopWorkers();
+    }
+  }
+
+  /**
+   * Publishes pending evaluations while request slots are available.
+   * 
+   * @return {@code true} if any request was published
+   * @throws InterruptedException if interrupted
+   */
+  protected boolean publishRequests() throws InterruptedException {
+    var published = false;
+    while (ring.isWritable(tail)) {
+      batch.clear();
+      takeEvaluations(batch, 1, false);
+      if (batch.isEmpty()) {
+        break;
+      }
+
+      var pendingEvaluation = batch.get(0);
+      var evaluation = pendingEvaluation.getEvaluation();
+      try {
+        ring.writeRequest(tail, evaluation.getSeed(), evaluation.getRepresentation());
+      } catch (IOException | RuntimeException e) {
+        fail(pendingEvaluation, e);
+        continue;
+      }
+      inFlightEvaluations.put(tail, pendingEvaluation);
+      ring.publish(tail);
+      tail++;
+      published = true;
+    }
+    return published;
+  }
+
+  /**
+   * Collects the results written by the workers.
+   * 
+   * @return {@code true} if any result was collected
+   */
+  protected boolean collectResponses() {
+    var collected = false;
+    for (var worker : workers) {
+      var count = ring.drainResponses(worker.getIndex(), responseConsumer);
+      worker.addResultCount(count);
+      collected |= count > 0;
+    }
+    return collected;
+  }
+
+  /**
+   * Finishes the evaluation of a request for which a worker returned a result.
+   * 
+   * @param position    the position of the request
+   * @param fitness     the fitness, if the evaluation succeeded
+   * @param description the description of the failure, or {@code null} if the evaluation succeeded
+   */
+  protected void completeRequest(long position, double fitness, String description) {
+    var pendingEvaluation = inFlightEvaluations.remove(position);
+    if (pendingEvaluation == null) {
+      return;
+    }
+    if (description == null) {
+      complete(pendingEvaluation, fitness);
+    } else {
+      fail(pendingEvaluation, new WorkerException(description));
+    }
+  }
+
+  /**
+   * Records a failed attempt of the evaluation of a request which was lost with its worker.
+   * 
+   * @param position the position of the request
+   * @param failure  the cause of the failure
+   */
+  protected void failRequest(long position, Throwable failure) {
+    var pendingEvaluation = inFlightEvaluations.remove(position);
+    if (pendingEvaluation != null) {
+      fail(pendingEvaluation, failure);
+    }
+  }
+
+  /**
+   * Starts worker processes which are due, handles worker processes which have died and kills
+   * worker processes exceeding the evaluation timeout.
+   */
+  protected void superviseWorkers() {
+    var nanoTime = System.nanoTime();
+    var timeoutNanoTime = evaluationTimeoutMilliSeconds * 1000000;
+    for (var worker : workers) {
+      var process = worker.getProcess();
+      if (process == null) {
+        if (nanoTime - worker.getRestartNanoTime() >= 0) {
+          startWorker(worker, nanoTime);
+        }
+      } else if (!process.isAlive()) {
+        workerExited(worker, nanoTime);
+      } else if (timeoutNanoTime > 0) {
+        var position = ring.getCurrentPosition(worker.getIndex());
+        if (worker.isOverdue(position, nanoTime, timeoutNanoTime)) {
+          var pendingEvaluation = inFlightEvaluations.get(position);
+          if (pendingEvaluation != null) {
+            pendingEvaluation.getEvaluation().cancel();
+          }
+          worker.kill();
+        }
+      }
+    }
+  }
+
+  /**
+   * Starts a worker process.
+   * 
+   * @param worker   the {@code WorkerProcess}
+   * @param nanoTime the current time
+   */
+  protected void startWorker(WorkerProcess worker, long nanoTime) {
+    try {
+      worker.started(new ProcessBuilder(createCommand(worker.getIndex()))
+          .redirectOutput(Redirect.INHERIT).redirectError(Redirect.INHERIT).start());
+      startedProcessCount.increment();
+    } catch (IOException e) {
+      scheduleRestart(worker, nanoTime);
+    }
+  }
+
+  /**
+   * Handles a worker process which has died. Results written before are collected, and the
+   * requests the worker had claimed count as failed attempts.
+   * 
+   * @param worker   the {@code WorkerProcess}
+   * @param nanoTime the current time
+   */
+  protected void workerExited(WorkerProcess worker, long nanoTime) {
+    var index = worker.getIndex();
+    worker.addResultCount(ring.drainResponses(index, responseConsumer));
+
+    var failure = new WorkerException(worker.isKilled() ? "Worker process was killed"
+        : "Worker process exited with code " + worker.getProcess().exitValue());
+    ring.releaseClaimed(index, position -> failRequest(position, failure));
+    var position = ring.getCurrentPosition(index);
+    if (position != EvaluationRing.IDLE) {
+      failRequest(position, failure);
+      ring.setCurrentPosition(index, EvaluationRing.IDLE);
+    }
+    scheduleRestart(worker, nanoTime);
+  }
+
+  /**
+   * Schedules the restart of a worker process, delayed if it failed repeatedly without returning a
+   * result.
+   * 
+   * @param worker   the {@code WorkerProcess}
+   * @param nanoTime the current time
+   */
+  protected void scheduleRestart(WorkerProcess worker, long nanoTime) {
+    var consecutiveFailureCount = worker.stopped();
+    worker.setRestartNanoTime(nanoTime + (consecutiveFailureCount > 0
+        ? getReconnectDelayMilliSeconds(consecutiveFailureCount) * 1000000 : 0));
+  }
+
+  /**
+   * Closes the ring and stops the worker processes.
+   */
+  protected void stopWorkers() {
+    ring.close();
+    for (var worker : workers) {
+      var process = worker.getProcess();
+      if (process == null) {
+        continue;
+      }
+      try {
+        if (!process.waitFor(100, TimeUnit.MILLISECONDS)) {
+          process.destroyForcibly();
+        }
+      } catch (InterruptedException e) {
+        process.destroyForcibly();
+      }
+    }
+    deleteRing();
+  }
+
+  /**
+   * Deletes the file of the ring. Worker processes which still have it mapped are not affected.
+   */
+  protected void deleteRing() {
+    if (path != null) {
+      try {
+        Files.deleteIfExists(path);
+      } catch (IOException e) {
+      }
+    }
+  }
+
+  /**
+   * Creates the command used to start a worker process.
+   * 
+   * @param index the index of the worker
+   * @return the command and its arguments
+   */
+  protected List<String> createCommand(int index) {
+    var command = new ArrayList<String>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.addAll(jvmArguments);
+    command.add("-cp");
+    command.add(classPath);
+    command.add(SharedMemoryWorker.class.getName());
+    command.add(path.toString());
+    command.add(Integer.toString(index));
+    return command;
+  }
+
+  /**
+   * Stops the ring thread and the worker processes. Pending evaluations are not carried out.
+   */
+  @Override
+  public void close() {
+    super.close();
+    ringThread.interrupt();
+    try {
+      ringThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Gets the number of worker processes used to evaluate candidate representations.
+   * 
+   * @return the worker count
+   */
+  public int getWorkerCount() {
+    return workerCount;
+  }
+
+  /**
+   * Gets the additional arguments passed to the JVM of the worker processes.
+   * 
+   * @return the JVM arguments
+   */
+  public List<String> getJvmArguments() {
+    return Collections.unmodifiableList(jvmArguments);
+  }
+
+  /**
+   * Gets the class path of the worker processes.
+   * 
+   * @return the class path
+   */
+  public String getClassPath() {
+    return classPath;
+  }
+
+  /**
+   * Gets the path of the file shared with the worker processes.
+   * 
+   * @return the path
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Gets the number of request slots of the ring.
+   * 
+   * @return the slot count
+   */
+  public int getSlotCount() {
+    return ring.getSlotCount();
+  }
+
+  /**
+   * Gets the maximum size of an encoded request.
+   * 
+   * @return the slot size in bytes
+   */
+  public int getSlotSize() {
+    return ring.getSlotSize();
+  }
+
+  /**
+   * Gets the total number of worker processes started, including restarts.
+   * 
+   * @return the started process count
+   */
+  public long getStartedProcessCount() {
+    return startedProcessCount.sum();
+  }
+}
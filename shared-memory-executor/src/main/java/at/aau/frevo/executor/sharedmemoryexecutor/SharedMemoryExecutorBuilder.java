@@ -0,0 +1,257 @@
+/**
+ * File: SharedMemoryExecutorBuilder.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.sharedmemoryexecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import at.aau.frevo.Problem;
+import at.aau.frevo.ProblemBuilder;
+import at.aau.frevo.executor.baseexecutor.BaseExecutorBuilder;
+import at.aau.frevo.executor.baseexecutor.EvaluationOrder;
+import at.aau.frevo.executor.processexecutor.ConnectionExecutorBuilder;
+
+/**
+ * Builder for {@link SharedMemoryExecutor} instances.
+ */
+public class SharedMemoryExecutorBuilder extends ConnectionExecutorBuilder<SharedMemoryExecutor> {
+
+  protected int workerCount;
+  protected List<String> jvmArguments;
+  protected String classPath;
+  protected int slotSize;
+  protected String directory;
+
+  /**
+   * Constructs a new {@code SharedMemoryExecutorBuilder} instance.
+   */
+  public SharedMemoryExecutorBuilder() {
+    workerCount = 0;
+    jvmArguments = new ArrayList<>();
+    classPath = null;
+    slotSize = 16384;
+    directory = null;
+  }
+
+  /**
+   * Constructs a new {@code SharedMemoryExecutorBuilder} instance by copying the properties of the
+   * specified instance.
+   * 
+   * @param source the source {@code SharedMemoryExecutorBuilder} instance
+   */
+  public SharedMemoryExecutorBuilder(SharedMemoryExecutorBuilder source) {
+    super(source);
+    workerCount = source.workerCount;
+    jvmArguments = new ArrayList<>(source.jvmArguments);
+    classPath = source.classPath;
+    slotSize = source.slotSize;
+    directory = source.directory;
+  }
+
+  @Override
+  public String getName() {
+    return SharedMemoryExecutor.class.getName();
+  }
+
+  @Override
+  public SharedMemoryExecutor create(ProblemBuilder<? extends Problem> problemBuilder,
+      SplittableRandom random) {
+    return new SharedMemoryExecutor(this, problemBuilder, random);
+  }
+
+  @Override
+  public SharedMemoryExecutorBuilder cloneBuilder() {
+    return new SharedMemoryExecutorBuilder(this);
+  }
+
+  /**
+   * Gets the number of worker processes used to evaluate candidate representations.
+   * 
+   * @return the worker count
+   */
+  public int getWorkerCount() {
+    return workerCount;
+  }
+
+  /**
+   * Sets the number of worker processes used to evaluate candidate representations. If zero, the
+   * number of available processors is used.
+   * 
+   * @param workerCount the worker count
+   * @return this {@code SharedMemoryExecutorBuilder} instance
+   */
+  public SharedMemoryExecutorBuilder setWorkerCount(int workerCount) {
+    this.workerCount = workerCount;
+    return this;
+  }
+
+  /**
+   * Gets the additional arguments passed to the JVM of the worker processes.
+   * 
+   * @return the JVM arguments
+   */
+  public List<String> getJvmArguments() {
+    return jvmArguments;
+  }
+
+  /**
+   * Sets the additional arguments passed to the JVM of the worker processes, e.g. {@code -Xmx256m}.
+   * 
+   * @param jvmArguments the JVM arguments
+   * @return this {@code SharedMemoryExecutorBuilder} instance
+   */
+  public SharedMemoryExecutorBuilder setJvmArguments(List<String> jvmArguments) {
+    this.jvmArguments = new ArrayList<>(jvmArguments);
+    return this;
+  }
+
+  /**
+   * Gets the class path of the worker processes.
+   * 
+   * @return the class path, or {@code null} if the class path of the current JVM is used
+   */
+  public String getClassPath() {
+    return classPath;
+  }
+
+  /**
+   * Sets the class path of the worker processes. It must contain the {@code Problem},
+   * {@code ProblemBuilder} and {@code Representation} classes. If {@code null}, the class path of
+   * the current JVM is used.
+   * 
+   * @param classPath the class path
+   * @return this {@code SharedMemoryExecutorBuilder} instance
+   */
+  public SharedMemoryExecutorBuilder setClassPath(String classPath) {
+    this.classPath = classPath;
+    return this;
+  }
+
+  /**
+   * Gets the maximum size of an encoded request.
+   * 
+   * @return the slot size in bytes
+   */
+  public int getSlotSize() {
+    return slotSize;
+  }
+
+  /**
+   * Sets the maximum size of an encoded request. Each {@code Representation} must fit into a slot
+   * after encoding, evaluations of larger representations fail.
+   * 
+   * @param slotSize the slot size in bytes
+   * @return this {@code SharedMemoryExecutorBuilder} instance
+   */
+  public SharedMemoryExecutorBuilder setSlotSize(int slotSize) {
+    this.slotSize = slotSize;
+    return this;
+  }
+
+  /**
+   * Gets the directory in which the file shared with the worker processes is created.
+   * 
+   * @return the directory, or {@code null} if the default temporary directory is used
+   */
+  public String getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Sets the directory in which the file shared with the worker processes is created. A directory
+   * backed by memory, e.g. {@code /dev/shm} on Linux, keeps the file from being written to disk. If
+   * {@code null}, the default temporary directory is used.
+   * 
+   * @param directory the directory
+   * @return this {@code SharedMemoryExecutorBuilder} instance
+   */
+  public SharedMemoryExecutorBuilder setDirectory(String directory) {
+    this.directory = directory;
+    return this;
+  }
+
+  @Override
+  public SharedMemoryExecutorBuilder setBatchSize(int batchSize) {
+    return (SharedMemoryExecutorBuilder) super.setBatchSize(batchSize);
+  }
+
+  @Override
+  public SharedMemoryExecutorBuilder setPipelineDepth(int pipelineDepth) {
+    return (SharedMemoryExecutorBuilder) super.setPipelineDepth(pipelineDepth);
+  }
+
+  @Override
+  public SharedMemoryExecutorBuilder setProblemVariantCount(int problemVariantCount) {
+    return (SharedMemoryExecutorBuilder) super.setProblemVariantCount(problemVariantCount);
+  }
+
+  @Override
+  public SharedMemoryExecutorBuilder setStrict(boolean strict) {
+    return (SharedMemoryExecutorBuilder) super.setStrict(strict);
+  }
+
+  @Override
+  public BaseExecutorBuilder<SharedMemoryExecutor> setTimeoutMilliSeconds(
+      long timeoutMilliSeconds) {
+    return super.setTimeoutMilliSeconds(timeoutMilliSeconds);
+  }
+
+  @Override
+  public SharedMemoryExecutorBuilder setEvaluationTimeoutMilliSeconds(
+      long evaluationTimeoutMilliSeconds) {
+    return (SharedMemoryExecutorBuilder) super.setEvaluationTimeoutMilliSeconds(
+        evaluationTimeoutMilliSeconds);
+  }
+
+  @Override
+  public SharedMemoryExecutorBuilder setRetryCount(int retryCount) {
+    return (SharedMemoryExecutorBuilder) super.setRetryCount(retryCount);
+  }
+
+  @Override
+  public SharedMemoryExecutorBuilder setRetryBackoffMilliSeconds(long retryBackoffMilliSeconds) {
+    return (SharedMemoryExecutorBuilder) super.setRetryBackoffMilliSeconds(
+        retryBackoffMilliSeconds);
+  }
+
+  @Override
+  public SharedMemoryExecutorBuilder setFitnessCacheSize(int fitnessCacheSize) {
+    return (SharedMemoryExecutorBuilder) super.setFitnessCacheSize(fitnessCacheSize);
+  }
+
+  @Override
+  public SharedMemoryExecutorBuilder setRacingInitialVariantCount(int racingInitialVariantCount) {
+    return (SharedMemoryExecutorBuilder) super.setRacingInitialVariantCount(
+        racingInitialVariantCount);
+  }
+
+  @Override
+  public SharedMemoryExecutorBuilder setRacingReductionFactor(double racingReductionFactor) {
+    return (SharedMemoryExecutorBuilder) super.setRacingReductionFactor(racingReductionFactor);
+  }
+
+  @Override
+  public SharedMemoryExecutorBuilder setCostHistorySize(int costHistorySize) {
+    return (SharedMemoryExecutorBuilder) super.setCostHistorySize(costHistorySize);
+  }
+
+  @Override
+  public SharedMemoryExecutorBuilder setEvaluationOrder(EvaluationOrder evaluationOrder) {
+    return (SharedMemoryExecutorBuilder) super.setEvaluationOrder(evaluationOrder);
+  }
+}
@@ -0,0 +1,154 @@
+/**
+ * File: SharedMemoryWorker.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.sharedmemoryexecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.file.Paths;
+import at.aau.frevo.Problem;
+import at.aau.frevo.ProblemBuilder;
+import at.aau.frevo.Representation;
+
+/**
+ * Entry point of the worker processes started by {@link SharedMemoryExecutor}.
+ * <p>
+ * The worker claims requests from the request ring of an {@link EvaluationRing}, carries them out
+ * one after the other and writes each result to its response ring. A single {@code Problem}
+ * instance is reused for all evaluations if it supports {@link Problem#reset(long)}. The worker
+ * exits when the ring is closed or the executor process is no longer alive.
+ * <p>
+ * Usage: {@code SharedMemoryWorker <path> <worker index>}
+ */
+public class SharedMemoryWorker implements Runnable {
+
+  protected static final long MAXIMUM_PARK_NANO_SECONDS = 1000000;
+  protected static final long PARENT_CHECK_NANO_SECONDS = 1000000000;
+
+  protected EvaluationRing ring;
+  protected int index;
+  protected ProblemBuilder<? extends Problem> problemBuilder;
+  protected Problem problem;
+  protected long evaluationCount;
+
+  /**
+   * Creates a new {@code SharedMemoryWorker} instance.
+   * 
+   * @param ring  the {@code EvaluationRing} shared with the executor
+   * @param index the index of the worker
+   * @throws IOException            if the {@code ProblemBuilder} cannot be read
+   * @throws ClassNotFoundException if the class of the {@code ProblemBuilder} cannot be found
+   */
+  public SharedMemoryWorker(EvaluationRing ring, int index)
+      throws IOException, ClassNotFoundException {
+    this.ring = ring;
+    this.index = index;
+    try (var input = new ObjectInputStream(new ByteArrayInputStream(ring.getProblemBuilder()))) {
+      problemBuilder = (ProblemBuilder<?>) input.readObject();
+    }
+  }
+
+  /**
+   * Serves requests until the ring is closed or the executor process is no longer alive.
+   */
+  @Override
+  public void run() {
+    var idler = new Idler(MAXIMUM_PARK_NANO_SECONDS);
+    var parent = ProcessHandle.current().parent();
+    var parentCheckNanoTime = System.nanoTime();
+    while (!ring.isClosed()) {
+      var position = ring.claim(index);
+      if (position >= 0) {
+        idler.reset();
+        evaluate(position, idler);
+        continue;
+      }
+
+      var nanoTime = System.nanoTime();
+      if (nanoTime - parentCheckNanoTime > PARENT_CHECK_NANO_SECONDS) {
+        if (parent.isPresent() && !parent.get().isAlive()) {
+          return;
+        }
+        parentCheckNanoTime = nanoTime;
+      }
+      idler.idle();
+    }
+  }
+
+  /**
+   * Carries out a claimed request and writes its result.
+   * 
+   * @param position the position of the request
+   * @param idler    the {@code Idler} used while the response ring is full
+   */
+  protected void evaluate(long position, Idler idler) {
+    ring.setCurrentPosition(index, position);
+    var seed = ring.getSeed(position);
+    var fitness = 0.0;
+    String description = null;
+    try {
+      Representation representation;
+      try {
+        representation = ring.readRequest(position);
+      } finally {
+        ring.release(position);
+      }
+      problem = problemBuilder.create(seed, problem);
+      fitness = problem.evaluateRepresentation(representation);
+      evaluationCount++;
+    } catch (Exception e) {
+      // the problem may be left in an inconsistent state, do not reuse it
+      problem = null;
+      description = e.toString();
+    }
+
+    while (!ring.respond(index, position, fitness, description)) {
+      if (ring.isClosed()) {
+        return;
+      }
+      idler.idle();
+    }
+    idler.reset();
+    ring.setCurrentPosition(index, EvaluationRing.IDLE);
+  }
+
+  /**
+   * Gets the number of evaluations carried out successfully.
+   * 
+   * @return the evaluation count
+   */
+  public long getEvaluationCount() {
+    return evaluationCount;
+  }
+
+  /**
+   * Serves requests of an {@code EvaluationRing}.
+   * 
+   * @param args the path of the file and the index of the worker
+   * @throws IOException            if the file cannot be mapped
+   * @throws ClassNotFoundException if the class of the {@code ProblemBuilder} cannot be found
+   */
+  public static void main(String[] args) throws IOException, ClassNotFoundException {
+    if (args.length != 2) {
+      System.err.println("Usage: SharedMemoryWorker <path> <worker index>");
+      System.exit(1);
+    }
+    var ring = EvaluationRing.open(Paths.get(args[0]));
+    new SharedMemoryWorker(ring, Integer.parseInt(args[1])).run();
+  }
+}
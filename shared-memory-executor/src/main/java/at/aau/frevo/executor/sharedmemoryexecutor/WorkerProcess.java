@@ -0,0 +1,149 @@
+/**
+ * File: WorkerProcess.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.sharedmemoryexecutor;
+
+/**
+ * State kept by a {@link SharedMemoryExecutor} about one of its worker processes.
+ */
+public class WorkerProcess {
+
+  protected int index;
+  protected Process process;
+  protected boolean killed;
+  protected long resultCount;
+  protected int consecutiveFailureCount;
+  protected long restartNanoTime;
+  protected long observedPosition;
+  protected long observedNanoTime;
+
+  /**
+   * Creates a new {@code WorkerProcess} instance.
+   * 
+   * @param index the index of the worker
+   */
+  public WorkerProcess(int index) {
+    this.index = index;
+    restartNanoTime = System.nanoTime();
+    observedPosition = EvaluationRing.IDLE;
+  }
+
+  /**
+   * Records that the worker process has been started.
+   * 
+   * @param process the worker process
+   */
+  public void started(Process process) {
+    this.process = process;
+    killed = false;
+    resultCount = 0;
+    observedPosition = EvaluationRing.IDLE;
+  }
+
+  /**
+   * Records that the worker process has ended or could not be started.
+   * 
+   * @return the number of times in a row the worker process ended without returning a result
+   */
+  public int stopped() {
+    process = null;
+    consecutiveFailureCount = resultCount > 0 ? 0 : consecutiveFailureCount + 1;
+    return consecutiveFailureCount;
+  }
+
+  /**
+   * Kills the worker process.
+   */
+  public void kill() {
+    if (process != null) {
+      killed = true;
+      process.destroyForcibly();
+    }
+  }
+
+  /**
+   * Adds to the number of results returned by the worker process.
+   * 
+   * @param count the number of results
+   */
+  public void addResultCount(int count) {
+    resultCount += count;
+  }
+
+  /**
+   * Checks whether the worker process has been carrying out the same request for longer than a
+   * timeout.
+   * 
+   * @param position        the position of the request the worker is carrying out
+   * @param nanoTime        the current time
+   * @param timeoutNanoTime the timeout
+   * @return {@code true} if the request is overdue
+   */
+  public boolean isOverdue(long position, long nanoTime, long timeoutNanoTime) {
+    if (position != observedPosition) {
+      observedPosition = position;
+      observedNanoTime = nanoTime;
+      return false;
+    }
+    return (position != EvaluationRing.IDLE) && (nanoTime - observedNanoTime > timeoutNanoTime);
+  }
+
+  /**
+   * Gets the index of the worker.
+   * 
+   * @return the index
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Gets the worker process.
+   * 
+   * @return the worker process, or {@code null} if it is not running
+   */
+  public Process getProcess() {
+    return process;
+  }
+
+  /**
+   * Gets the flag indicating that the worker process has been killed by the executor.
+   * 
+   * @return {@code true} if the worker process has been killed
+   */
+  public boolean isKilled() {
+    return killed;
+  }
+
+  /**
+   * Gets the time at which the worker process may be restarted.
+   * 
+   * @return the restart time
+   */
+  public long getRestartNanoTime() {
+    return restartNanoTime;
+  }
+
+  /**
+   * Sets the time at which the worker process may be restarted.
+   * 
+   * @param restartNanoTime the restart time
+   */
+  public void setRestartNanoTime(long restartNanoTime) {
+    this.restartNanoTime = restartNanoTime;
+  }
+}
@@ -0,0 +1,166 @@
+/**
+ * File: EvaluationRingTest.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.sharedmemoryexecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import at.aau.frevo.representation.parameterset.ParameterSet;
+import at.aau.frevo.representation.parameterset.ParameterSetBuilder;
+
+/**
+ * Tests for {@link EvaluationRing}.
+ */
+class EvaluationRingTest {
+
+  static final int SLOT_COUNT = 4;
+  static final int SLOT_SIZE = 256;
+  static final int WORKER_COUNT = 4;
+
+  // wraps around the request slots many times
+  static final int REQUEST_COUNT = 20000;
+
+  Path path;
+
+  @BeforeEach
+  void createPath() throws Exception {
+    path = Files.createTempFile("frevo-test-", ".ring");
+  }
+
+  @AfterEach
+  void deletePath() throws Exception {
+    Files.deleteIfExists(path);
+  }
+
+  /**
+   * Writes and publishes a request whose {@code Representation} carries its position.
+   * 
+   * @param ring     the {@code EvaluationRing}
+   * @param position the position of the request
+   * @throws Exception if the request cannot be written
+   */
+  static void publishRequest(EvaluationRing ring, long position) throws Exception {
+    var representation = new ParameterSetBuilder().setOutputCount(1).create();
+    representation.getValues()[0] = (int) position;
+    ring.writeRequest(position, position, representation);
+    ring.publish(position);
+  }
+
+  @Test
+  void concurrentWorkersClaimEveryRequestOnce() throws Exception {
+    var ring = EvaluationRing.create(path, SLOT_COUNT, SLOT_SIZE, WORKER_COUNT, new byte[0]);
+    var claimCounts = new AtomicIntegerArray(REQUEST_COUNT);
+    var releasedCount = new AtomicInteger();
+    var failures = new ConcurrentLinkedQueue<String>();
+
+    // each worker maps the file separately, like the worker processes
+    var workers = new ArrayList<Thread>();
+    for (var i = 0; i < WORKER_COUNT; i++) {
+      var index = i;
+      var workerRing = EvaluationRing.open(path);
+      var worker = new Thread(() -> {
+        while (releasedCount.get() < REQUEST_COUNT) {
+          var position = workerRing.claim(index);
+          if (position < 0) {
+            Thread.yield();
+            continue;
+          }
+          try {
+            var seed = workerRing.getSeed(position);
+            var representation = (ParameterSet) workerRing.readRequest(position);
+            if ((seed != position) || (representation.getValues()[0] != position)) {
+              failures.add("Request " + position + " read as " + seed);
+            }
+          } catch (Exception e) {
+            failures.add(e.toString());
+          }
+          workerRing.release(position);
+          claimCounts.incrementAndGet((int) position);
+          releasedCount.incrementAndGet();
+        }
+      });
+      worker.start();
+      workers.add(worker);
+    }
+
+    for (var position = 0L; position < REQUEST_COUNT; position++) {
+      while (!ring.isWritable(position)) {
+        Thread.yield();
+      }
+      publishRequest(ring, position);
+    }
+    for (var worker : workers) {
+      worker.join(10000);
+      assertFalse(worker.isAlive());
+    }
+
+    assertTrue(failures.isEmpty(), String.valueOf(failures.peek()));
+    assertEquals(REQUEST_COUNT, releasedCount.get());
+    for (var i = 0; i < REQUEST_COUNT; i++) {
+      assertEquals(1, claimCounts.get(i), "Claim count of request " + i);
+    }
+    ring.close();
+  }
+
+  @Test
+  void releaseClaimedReturnsRequestsOfDeadWorker() throws Exception {
+    var ring = EvaluationRing.create(path, SLOT_COUNT, SLOT_SIZE, 2, new byte[0]);
+    for (var position = 0L; position < SLOT_COUNT; position++) {
+      publishRequest(ring, position);
+    }
+
+    // worker 1 claims request 0 and dies before it advances the head
+    assertTrue(EvaluationRing.LONG.compareAndSet(ring.buffer,
+        ring.getSlotOffset(0) + EvaluationRing.SEQUENCE_OFFSET, 1L,
+        EvaluationRing.getMarker(0, 1)));
+
+    // worker 0 advances the head past the lost claim
+    assertEquals(1, ring.claim(0));
+    ring.release(1);
+
+    // worker 1 is restarted, claims request 2 and dies before it releases the slot
+    assertEquals(2, ring.claim(1));
+
+    var released = new ArrayList<Long>();
+    ring.releaseClaimed(1, released::add);
+    assertEquals(List.of(0L, 2L), released);
+
+    // all slots of the lost requests are writable again, and other requests are not affected
+    assertTrue(ring.isWritable(SLOT_COUNT));
+    assertTrue(ring.isWritable(SLOT_COUNT + 1));
+    assertTrue(ring.isWritable(SLOT_COUNT + 2));
+    assertFalse(ring.isWritable(SLOT_COUNT + 3));
+    assertEquals(3, ring.claim(0));
+    assertEquals(-1, ring.claim(0));
+
+    released.clear();
+    ring.releaseClaimed(1, released::add);
+    assertTrue(released.isEmpty());
+    ring.close();
+  }
+}
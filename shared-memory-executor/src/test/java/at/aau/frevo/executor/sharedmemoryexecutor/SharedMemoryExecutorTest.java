@@ -0,0 +1,99 @@
+/**
+ * File: SharedMemoryExecutorTest.java
+ *
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.executor.sharedmemoryexecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import at.aau.frevo.Result;
+import at.aau.frevo.executor.localexecutor.LocalExecutorBuilder;
+import at.aau.frevo.problem.xor.XorProblemBuilder;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNet;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetBuilder;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetOpBuilder;
+
+/**
+ * Tests for {@link SharedMemoryExecutor}.
+ */
+class SharedMemoryExecutorTest {
+
+  static final int NET_COUNT = 16;
+  static final int PROBLEM_VARIANT_COUNT = 3;
+  static final int ROUND_COUNT = 3;
+
+  /**
+   * Creates random nets to evaluate.
+   *
+   * @return the nets
+   */
+  static List<FullyMeshedNet> createNets() {
+    var representationBuilder = new FullyMeshedNetBuilder().setInputCount(2).setOutputCount(1)
+        .setHiddenNodeCount(4);
+    var nets = new ArrayList<FullyMeshedNet>();
+    for (var i = 0; i < NET_COUNT; i++) {
+      nets.add(new FullyMeshedNetOpBuilder().create(representationBuilder, new SplittableRandom(i))
+          .operator0());
+    }
+    return nets;
+  }
+
+  /**
+   * Maps the evaluated representations to their fitness.
+   *
+   * @param results the results
+   * @return the fitness of each representation
+   */
+  static IdentityHashMap<FullyMeshedNet, Double> getFitnesses(
+      List<Result<FullyMeshedNet>> results) {
+    var fitnesses = new IdentityHashMap<FullyMeshedNet, Double>();
+    for (var result : results) {
+      fitnesses.put(result.getRepresentation(), result.getFitness());
+    }
+    return fitnesses;
+  }
+
+  @Test
+  void resultsMatchLocalExecutor() {
+    var problemBuilder = new XorProblemBuilder();
+    var nets = createNets();
+    try (
+        var sharedMemoryExecutor = new SharedMemoryExecutorBuilder().setWorkerCount(2)
+            .setProblemVariantCount(PROBLEM_VARIANT_COUNT)
+            .create(problemBuilder, new SplittableRandom(1));
+        var localExecutor = new LocalExecutorBuilder().setWorkerCount(2)
+            .setProblemVariantCount(PROBLEM_VARIANT_COUNT)
+            .create(problemBuilder, new SplittableRandom(1))) {
+      for (var round = 0; round < ROUND_COUNT; round++) {
+        var fitnesses = getFitnesses(sharedMemoryExecutor.evaluateRepresentations(nets));
+        var expectedFitnesses = getFitnesses(localExecutor.evaluateRepresentations(nets));
+
+        assertEquals(NET_COUNT, expectedFitnesses.size());
+        assertEquals(NET_COUNT, fitnesses.size());
+        for (var net : nets) {
+          assertNotNull(fitnesses.get(net));
+          assertEquals(expectedFitnesses.get(net), fitnesses.get(net));
+        }
+      }
+      assertEquals(0, sharedMemoryExecutor.getQuarantinedEvaluationCount());
+    }
+  }
+}
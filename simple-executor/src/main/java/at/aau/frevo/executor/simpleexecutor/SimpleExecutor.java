@@ -19,8 +19,12 @@ package at.aau.frevo.executor.simpleexecutor;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
 import at.aau.frevo.Executor;
 import at.aau.frevo.Problem;
 import at.aau.frevo.ProblemBuilder;
@@ -29,11 +33,18 @@ import at.aau.frevo.Result;
 
 /**
  * Simple executor that executes evaluations on the current thread.
+ * <p>
+ * A single {@code Problem} instance is reused for all evaluations if it supports
+ * {@link Problem#reset(long)}.
+ * <p>
+ * As evaluation happens on the calling thread, the future returned by
+ * {@link #evaluateRepresentationsAsync(List, Flow.Subscriber)} is already completed.
  */
 public class SimpleExecutor extends Executor {
 
   protected int problemVariantCount;
   protected long problemRandomSeed;
+  protected Problem problem;
 
   /**
    * Creates a new {@code SimpleExecutor} instance with the specified configuration.
@@ -51,23 +62,46 @@ public class SimpleExecutor extends Executor {
   }
 
   @Override
-  public <R extends Representation> List<Result<R>> evaluateRepresentations(
-      List<R> representations) {
-    var results = new ArrayList<Result<R>>(representations.size() * problemVariantCount);
+  public <R extends Representation> CompletableFuture<List<Result<R>>> evaluateRepresentationsAsync(
+      List<R> representations, Flow.Subscriber<? super Result<R>> subscriber) {
+    SubmissionPublisher<Result<R>> publisher = null;
+    if (subscriber != null) {
+      publisher = new SubmissionPublisher<>();
+      publisher.subscribe(subscriber);
+    }
 
-    // evaluate the representations sequentially on this thread
-    for (var representation : representations) {
-      var problemRandom = new SplittableRandom(problemRandomSeed);
-      double fitnessSum = 0;
-      for (var i = 0; i < problemVariantCount; i++) {
-        var problem = problemBuilder.create(problemRandom.nextLong());
-        fitnessSum += problem.evaluateRepresentation(representation);
-      }
+    try {
+      // evaluate each distinct representation only once
+      var distinctRepresentations = new LinkedHashSet<>(representations);
+      var results = new ArrayList<Result<R>>(distinctRepresentations.size());
+
+      // evaluate the representations sequentially on this thread
+      for (var representation : distinctRepresentations) {
+        var problemRandom = new SplittableRandom(problemRandomSeed);
+        double fitnessSum = 0;
+        for (var i = 0; i < problemVariantCount; i++) {
+          problem = problemBuilder.create(problemRandom.nextLong(), problem);
+          fitnessSum += problem.evaluateRepresentation(representation);
+        }
 
-      // create a result with average fitness
-      results.add(new Result<R>(representation, fitnessSum / problemVariantCount));
+        // create a result with average fitness
+        var result =
+            new Result<R>(representation, fitnessSum / problemVariantCount, problemVariantCount);
+        results.add(result);
+        if (publisher != null) {
+          publisher.submit(result);
+        }
+      }
+      Collections.sort(results);
+      if (publisher != null) {
+        publisher.close();
+      }
+      return CompletableFuture.completedFuture(results);
+    } catch (RuntimeException e) {
+      if (publisher != null) {
+        publisher.closeExceptionally(e);
+      }
+      return CompletableFuture.failedFuture(e);
     }
-    Collections.sort(results);
-    return results;
   }
 }
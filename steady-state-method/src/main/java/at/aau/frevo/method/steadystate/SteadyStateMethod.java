@@ -0,0 +1,313 @@
+/**
+ * File: SteadyStateMethod.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.method.steadystate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import at.aau.frevo.Executor;
+import at.aau.frevo.Method;
+import at.aau.frevo.Operator;
+import at.aau.frevo.Representation;
+import at.aau.frevo.Result;
+
+/**
+ * Steady-state evolution method without a generation barrier.
+ * <p>
+ * A fixed number of offspring is kept in evaluation at all times. As soon as any offspring has been
+ * evaluated, it replaces the worst member of the population if it is better, and a new offspring
+ * is bred from the population and submitted to the {@code Executor}. Parents are selected using the
+ * same skewed rank selection as the NNGA method, so better ranked members are more likely to be
+ * selected.
+ * <p>
+ * Breeding happens on the thread calling {@link #run(int)}, so the {@code Operator} and random
+ * number generator are never used concurrently. As offspring complete in the order the
+ * {@code Executor} finishes them, runs are not reproducible when evaluations run in parallel.
+ * <p>
+ * A generation is counted each time as many offspring have been evaluated as the population holds.
+ * 
+ * @param <R> the type of {@code Representation} associated with the steady-state method
+ */
+public class SteadyStateMethod<R extends Representation> extends Method<R> {
+
+  protected double skewFactor;
+  protected double mutatedWeight;
+  protected double crossedWeight;
+  protected double newWeight;
+  protected int inFlightCount;
+
+  protected double[] skewArray;
+  protected int candidateCount;
+  protected ArrayList<Result<R>> rankedCandidates;
+  protected HashSet<R> members;
+  protected long evaluatedOffspringCount;
+  protected long acceptedOffspringCount;
+
+  /**
+   * Creates a new {@code SteadyStateMethod} instance with the specified configuration.
+   * 
+   * @param builder          the {@code SteadyStateMethodBuilder} used for configuration
+   * @param rankedCandidates a list of initial pre-ranked candidate {@code Representation} instances
+   * @param operator         the {@code Operator} to use
+   * @param executor         the {@code Executor} to use
+   * @param random           the random number generator to use
+   */
+  public SteadyStateMethod(SteadyStateMethodBuilder builder, List<Result<R>> rankedCandidates,
+      Operator<R> operator, Executor executor, SplittableRandom random) {
+    super(executor, operator, random);
+
+    skewFactor = builder.getSkewFactor();
+    mutatedWeight = builder.getMutatedWeight();
+    crossedWeight = builder.getCrossedWeight();
+    newWeight = builder.getNewWeight();
+    inFlightCount = builder.getInFlightCount() > 0 ? builder.getInFlightCount()
+        : 2 * Runtime.getRuntime().availableProcessors();
+
+    this.rankedCandidates = new ArrayList<>(rankedCandidates);
+    members = new HashSet<>();
+    for (var result : rankedCandidates) {
+      members.add(result.getRepresentation());
+    }
+    candidateCount = rankedCandidates.size();
+    skewArray = createSkewArray(skewFactor, candidateCount);
+  }
+
+  /**
+   * Creates a skewed array of normalized weights.
+   * 
+   * @param skewFactor the skew factor
+   * @param size       the size of the skewed array
+   * @return the skew array
+   */
+  protected double[] createSkewArray(double skewFactor, int size) {
+    var skewArray = new double[size];
+    double sum = 0;
+    for (int i = 0; i < size; i++) {
+      double v = Math.pow(size - i, skewFactor);
+      skewArray[i] = v;
+      sum += v;
+    }
+
+    for (int i = 0; i < size; i++) {
+      skewArray[i] /= sum;
+    }
+    return skewArray;
+  }
+
+  /**
+   * Gets a random member of the population. Better ranked members are more likely to be selected.
+   * 
+   * @return a random member of the population
+   */
+  protected R getSkewedRandomCandidate() {
+    double r = random.nextDouble();
+    int i = 0;
+    while ((i < (rankedCandidates.size() - 1)) && (r > skewArray[i])) {
+      r -= skewArray[i];
+      i++;
+    }
+    return rankedCandidates.get(i).getRepresentation();
+  }
+
+  @Override
+  public List<Result<R>> run(int generationCount) throws InterruptedException {
+    var offspringCount = (long) generationCount * candidateCount;
+    var completedEvaluations = new LinkedBlockingQueue<CompletableFuture<List<Result<R>>>>();
+    var submittedCount = 0L;
+    var pendingCount = 0;
+
+    while (true) {
+      // keep the executor busy with new offspring
+      while ((pendingCount < inFlightCount) && (submittedCount < offspringCount) && !isSolved()) {
+        var evaluation = executor.evaluateRepresentationsAsync(List.of(breed()));
+        evaluation.whenComplete((results, throwable) -> completedEvaluations.add(evaluation));
+        submittedCount++;
+        pendingCount++;
+      }
+      if (pendingCount == 0) {
+        break;
+      }
+
+      // integrate the next offspring to complete
+      var evaluation = completedEvaluations.take();
+      pendingCount--;
+      List<Result<R>> results;
+      try {
+        results = evaluation.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw e;
+      }
+      for (var result : results) {
+        insert(result);
+      }
+      if ((++evaluatedOffspringCount % candidateCount) == 0) {
+        totalGenerationCount++;
+      }
+    }
+    return rankedCandidates;
+  }
+
+  @Override
+  public List<Result<R>> getRankedCandidates() {
+    return rankedCandidates;
+  }
+
+  /**
+   * Checks whether the best member of the population has reached the maximum fitness.
+   * 
+   * @return {@code true} if the maximum fitness has been reached
+   */
+  protected boolean isSolved() {
+    return rankedCandidates.get(0).getFitness() >= executor.getProblemBuilder()
+        .getMaximumFitness();
+  }
+
+  /**
+   * Breeds a new offspring by mutating or crossing members of the population, or by creating a new
+   * candidate.
+   * 
+   * @return the new offspring
+   */
+  protected R breed() {
+    var r = random.nextDouble() * (mutatedWeight + crossedWeight + newWeight);
+
+    // create a mutated candidate
+    if (r < mutatedWeight) {
+      return operator.operator1(getSkewedRandomCandidate());
+    }
+
+    // create a crossed candidate
+    if (r < mutatedWeight + crossedWeight) {
+      R parent1 = getSkewedRandomCandidate();
+      R parent2 = null;
+      double bestDifference = -1;
+
+      for (int j = 0; j < 10; j++) {
+        R t = getSkewedRandomCandidate();
+        double difference = operator.difference(parent1, t);
+        if (difference > bestDifference) {
+          parent2 = t;
+          bestDifference = difference;
+        }
+      }
+      return operator.operator2(parent1, parent2);
+    }
+
+    // create a new candidate
+    return operator.operator0();
+  }
+
+  /**
+   * Inserts an evaluated offspring into the population, replacing the worst member, if it is better
+   * than the worst member and not already part of the population.
+   * 
+   * @param result the {@code Result} of the offspring
+   */
+  protected void insert(Result<R> result) {
+    if (members.contains(result.getRepresentation())) {
+      return;
+    }
+    var position = Collections.binarySearch(rankedCandidates, result);
+    if (position < 0) {
+      position = -position - 1;
+    }
+    if (position >= candidateCount) {
+      return;
+    }
+
+    rankedCandidates.add(position, result);
+    members.add(result.getRepresentation());
+    if (rankedCandidates.size() > candidateCount) {
+      var worst = rankedCandidates.remove(rankedCandidates.size() - 1);
+      members.remove(worst.getRepresentation());
+    }
+    acceptedOffspringCount++;
+  }
+
+  /**
+   * Gets a parameter which influences the likelihood of more successful candidates being selected
+   * as parents.
+   * 
+   * @return the skew factor
+   */
+  public double getSkewFactor() {
+    return skewFactor;
+  }
+
+  /**
+   * Gets the proportion of offspring created by mutation.
+   * 
+   * @return the mutated weight
+   */
+  public double getMutatedWeight() {
+    return mutatedWeight;
+  }
+
+  /**
+   * Gets the proportion of offspring created by crossing.
+   * 
+   * @return the crossed weight
+   */
+  public double getCrossedWeight() {
+    return crossedWeight;
+  }
+
+  /**
+   * Gets the proportion of offspring created as new candidates.
+   * 
+   * @return the new weight
+   */
+  public double getNewWeight() {
+    return newWeight;
+  }
+
+  /**
+   * Gets the number of offspring kept in evaluation at the same time.
+   * 
+   * @return the in-flight count
+   */
+  public int getInFlightCount() {
+    return inFlightCount;
+  }
+
+  /**
+   * Gets the number of offspring evaluated so far.
+   * 
+   * @return the evaluated offspring count
+   */
+  public long getEvaluatedOffspringCount() {
+    return evaluatedOffspringCount;
+  }
+
+  /**
+   * Gets the number of offspring which entered the population so far.
+   * 
+   * @return the accepted offspring count
+   */
+  public long getAcceptedOffspringCount() {
+    return acceptedOffspringCount;
+  }
+}
@@ -0,0 +1,191 @@
+/**
+ * File: SteadyStateMethodBuilder.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ *
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.method.steadystate;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import at.aau.frevo.ComponentType;
+import at.aau.frevo.Executor;
+import at.aau.frevo.MethodBuilder;
+import at.aau.frevo.Operator;
+import at.aau.frevo.Representation;
+import at.aau.frevo.Result;
+
+/**
+ * Builder for {@link SteadyStateMethod} instances.
+ */
+public class SteadyStateMethodBuilder
+    extends MethodBuilder<SteadyStateMethod<? extends Representation>> {
+
+  protected double skewFactor;
+  protected double mutatedWeight;
+  protected double crossedWeight;
+  protected double newWeight;
+  protected int inFlightCount;
+
+  /**
+   * Constructs a new {@code SteadyStateMethodBuilder} instance with default properties.
+   */
+  public SteadyStateMethodBuilder() {
+    skewFactor = 1;
+    mutatedWeight = 0.5;
+    crossedWeight = 0.4;
+    newWeight = 0.1;
+    inFlightCount = 0;
+  }
+
+  /**
+   * Constructs a new {@code SteadyStateMethodBuilder} instance by copying the properties of the
+   * specified instance.
+   * 
+   * @param source the source {@code SteadyStateMethodBuilder} instance
+   */
+  public SteadyStateMethodBuilder(SteadyStateMethodBuilder source) {
+    skewFactor = source.getSkewFactor();
+    mutatedWeight = source.getMutatedWeight();
+    crossedWeight = source.getCrossedWeight();
+    newWeight = source.getNewWeight();
+    inFlightCount = source.getInFlightCount();
+  }
+
+  @Override
+  public String getName() {
+    return SteadyStateMethod.class.getName();
+  }
+
+  @Override
+  public ComponentType getType() {
+    return ComponentType.METHOD;
+  }
+
+  @Override
+  public <R extends Representation> SteadyStateMethod<R> create(
+      List<Result<R>> rankedRepresentations, Operator<R> operator, Executor executor,
+      SplittableRandom random) {
+    return new SteadyStateMethod<R>(this, rankedRepresentations, operator, executor, random);
+  }
+
+  @Override
+  public SteadyStateMethodBuilder cloneBuilder() {
+    return new SteadyStateMethodBuilder(this);
+  }
+
+  /**
+   * Gets the skew factor, used to influence the likelihood of successful candidates being selected
+   * as parents.
+   * 
+   * @return the skew factor
+   */
+  public double getSkewFactor() {
+    return skewFactor;
+  }
+
+  /**
+   * Sets the skew factor, used to influence the likelihood of successful candidates being selected
+   * as parents.
+   * 
+   * @param skewFactor the skew factor
+   * @return this {@code SteadyStateMethodBuilder} instance
+   */
+  public SteadyStateMethodBuilder setSkewFactor(double skewFactor) {
+    this.skewFactor = skewFactor;
+    return this;
+  }
+
+  /**
+   * Gets the proportion of offspring created by mutation.
+   * 
+   * @return the mutated weight
+   */
+  public double getMutatedWeight() {
+    return mutatedWeight;
+  }
+
+  /**
+   * Sets the proportion of offspring created by mutation.
+   * 
+   * @param mutatedWeight the mutated weight
+   * @return this {@code SteadyStateMethodBuilder} instance
+   */
+  public SteadyStateMethodBuilder setMutatedWeight(double mutatedWeight) {
+    this.mutatedWeight = mutatedWeight;
+    return this;
+  }
+
+  /**
+   * Gets the proportion of offspring created by crossing.
+   * 
+   * @return the crossed weight
+   */
+  public double getCrossedWeight() {
+    return crossedWeight;
+  }
+
+  /**
+   * Sets the proportion of offspring created by crossing.
+   * 
+   * @param crossedWeight the crossed weight
+   * @return this {@code SteadyStateMethodBuilder} instance
+   */
+  public SteadyStateMethodBuilder setCrossedWeight(double crossedWeight) {
+    this.crossedWeight = crossedWeight;
+    return this;
+  }
+
+  /**
+   * Gets the proportion of offspring created as new candidates.
+   * 
+   * @return the new weight
+   */
+  public double getNewWeight() {
+    return newWeight;
+  }
+
+  /**
+   * Sets the proportion of offspring created as new candidates.
+   * 
+   * @param newWeight the new weight
+   * @return this {@code SteadyStateMethodBuilder} instance
+   */
+  public SteadyStateMethodBuilder setNewWeight(double newWeight) {
+    this.newWeight = newWeight;
+    return this;
+  }
+
+  /**
+   * Gets the number of offspring kept in evaluation at the same time.
+   * 
+   * @return the in-flight count, {@code 0} for twice the number of available processors
+   */
+  public int getInFlightCount() {
+    return inFlightCount;
+  }
+
+  /**
+   * Sets the number of offspring kept in evaluation at the same time. This should be at least the
+   * number of workers used by the {@code Executor}.
+   * 
+   * @param inFlightCount the in-flight count, {@code 0} for twice the number of available
+   *                      processors
+   * @return this {@code SteadyStateMethodBuilder} instance
+   */
+  public SteadyStateMethodBuilder setInFlightCount(int inFlightCount) {
+    this.inFlightCount = inFlightCount;
+    return this;
+  }
+}
@@ -44,14 +44,13 @@ public class XorRecipeExample {
    */
   public static void main(String[] args) {
 
-    var recipe = new Recipe<>(
+    try (var recipe = new Recipe<>(
         new FullyMeshedNetBuilder().setActivationFunction(ActivationFunction.TANH)
             .setHiddenNodeCount(1).setIterationCount(2),
         new FullyMeshedNetOpBuilder().setWeightRange(6).setBiasRange(6).setInitialBiasRange(6)
             .setInitialWeightRange(6),
         new NngaMethodBuilder(), new SimpleExecutorBuilder(), new XorProblemBuilder(),
-        EVOLUTION_SEED, EVALUATION_SEED);
-    try {
+        EVOLUTION_SEED, EVALUATION_SEED)) {
       var startNanoTime = System.nanoTime();
       recipe.prepare(CANDIDATE_COUNT);
       var results = recipe.run(GENERATION_COUNT);
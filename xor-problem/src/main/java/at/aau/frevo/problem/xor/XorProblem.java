@@ -17,16 +17,32 @@
 
 package at.aau.frevo.problem.xor;
 
-import java.util.SplittableRandom;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
 import at.aau.frevo.Problem;
 import at.aau.frevo.Representation;
+import at.aau.frevo.RepresentationBatchContext;
 import at.aau.frevo.RepresentationContext;
+import at.aau.frevo.ReseedableRandom;
 
 /**
  * Simple problem that carries out a number of exclusive OR operations.
+ * <p>
+ * The operations are passed to the {@link RepresentationContext} as sequences of up to
+ * {@link #SEQUENCE_LENGTH} steps, checking for cancellation between sequences.
+ * <p>
+ * All representations evaluated with the same seed receive the same sequence of operations, so
+ * batches of representations supporting a {@link RepresentationBatchContext} are evaluated
+ * together.
+ * <p>
+ * Once the buffers have grown to the size of the representations, evaluations do not allocate:
+ * contexts are reused and the random number generators are reseeded for every evaluation.
  */
 public class XorProblem extends Problem {
 
+  protected static final int SEQUENCE_LENGTH = 1024;
+
   protected float trueValue;
   protected float falseValue;
   protected float tolerance;
@@ -35,6 +51,15 @@ public class XorProblem extends Problem {
 
   protected float[] inputs = new float[2];
   protected float[] output = new float[1];
+  protected RepresentationContext<? extends Representation> representationContext;
+  protected RepresentationBatchContext<? extends Representation> representationBatchContext;
+  protected float[][] batchOutputs = new float[0][];
+  protected float[] sequenceInputs = new float[0];
+  protected float[] sequenceOutputs = new float[0];
+  protected boolean[] sequenceAnswers = new boolean[SEQUENCE_LENGTH];
+  protected ReseedableRandom evaluationRandom = new ReseedableRandom(0);
+  protected ReseedableRandom representationRandom = new ReseedableRandom(0);
+  protected ReseedableRandom[] batchRandoms = new ReseedableRandom[0];
 
   /**
    * Creates a new {@code XorProblem} instance with the specified configuration.
@@ -53,18 +78,109 @@ public class XorProblem extends Problem {
 
   @Override
   public double evaluateRepresentation(Representation representation) {
-    var evaluationRandom = new SplittableRandom(seed);
-    var representationContext = representation.createContext(evaluationRandom.split());
+    evaluationRandom.setSeed(seed);
+    representationRandom.setSplit(evaluationRandom);
+    // reuse the context of the previous evaluation if possible
+    representationContext =
+        representation.createContext(representationRandom, representationContext);
+
+    var inputCount = representation.getInputCount();
+    var outputCount = representation.getOutputCount();
+    if (sequenceInputs.length != SEQUENCE_LENGTH * inputCount) {
+      sequenceInputs = new float[SEQUENCE_LENGTH * inputCount];
+    }
+    if (sequenceOutputs.length != SEQUENCE_LENGTH * outputCount) {
+      sequenceOutputs = new float[SEQUENCE_LENGTH * outputCount];
+    }
+
     double errorSum = 0;
-    for (int i = 0; i < operationCount; i++) {
-      errorSum += checkXor(representationContext, evaluationRandom.nextBoolean(),
-          evaluationRandom.nextBoolean());
+    for (int start = 0; start < operationCount; start += SEQUENCE_LENGTH) {
+      if (isCancelled()) {
+        throw new CancellationException();
+      }
+
+      // draw the operations of the sequence
+      var steps = Math.min(SEQUENCE_LENGTH, operationCount - start);
+      for (int i = 0; i < steps; i++) {
+        var input1 = evaluationRandom.nextBoolean();
+        var input2 = evaluationRandom.nextBoolean();
+        sequenceInputs[i * inputCount] = input1 ? trueValue : falseValue;
+        sequenceInputs[i * inputCount + 1] = input2 ? trueValue : falseValue;
+        sequenceAnswers[i] = input1 ^ input2;
+      }
+
+      // calculate the sequence and compare the results against the answers
+      representationContext.calculateSequence(sequenceInputs, steps, sequenceOutputs);
+      for (int i = 0; i < steps; i++) {
+        errorSum += getError(sequenceOutputs[i * outputCount], sequenceAnswers[i]);
+      }
     }
 
     // convert error to fitness and return
     return (1 - errorSum / operationCount) * 100;
   }
 
+  @Override
+  public boolean evaluateRepresentations(List<? extends Representation> representations,
+      double[] fitnesses) {
+    var batchSize = representations.size();
+
+    // give each representation the random number generator it gets in evaluateRepresentation
+    if (batchRandoms.length < batchSize) {
+      var oldLength = batchRandoms.length;
+      batchRandoms = Arrays.copyOf(batchRandoms, batchSize);
+      for (int b = oldLength; b < batchSize; b++) {
+        batchRandoms[b] = new ReseedableRandom(0);
+      }
+    }
+    evaluationRandom.setSeed(seed);
+    batchRandoms[0].setSplit(evaluationRandom);
+    for (int b = 1; b < batchSize; b++) {
+      batchRandoms[b].setSeed(seed);
+      batchRandoms[b].setSplit(batchRandoms[b]);
+    }
+
+    // reuse the context of the previous batch if possible
+    representationBatchContext = representations.get(0).createBatchContext(representations,
+        batchRandoms, representationBatchContext);
+    if (representationBatchContext == null) {
+      return false;
+    }
+    if (batchOutputs.length < batchSize) {
+      batchOutputs = new float[batchSize][1];
+    }
+
+    // sum up the errors in the fitness array
+    for (int b = 0; b < batchSize; b++) {
+      fitnesses[b] = 0;
+    }
+    for (int i = 0; i < operationCount; i++) {
+      if (isCancelled()) {
+        throw new CancellationException();
+      }
+      var input1 = evaluationRandom.nextBoolean();
+      var input2 = evaluationRandom.nextBoolean();
+      inputs[0] = input1 ? trueValue : falseValue;
+      inputs[1] = input2 ? trueValue : falseValue;
+      representationBatchContext.calculate(inputs, batchOutputs);
+      for (int b = 0; b < batchSize; b++) {
+        fitnesses[b] += getError(batchOutputs[b][0], input1 ^ input2);
+      }
+    }
+
+    // convert errors to fitness
+    for (int b = 0; b < batchSize; b++) {
+      fitnesses[b] = (1 - fitnesses[b] / operationCount) * 100;
+    }
+    return true;
+  }
+
+  @Override
+  public boolean reset(long seed) {
+    this.seed = seed;
+    return true;
+  }
+
   /**
    * Checks that the {@code RepresentationContext} performs the specified XOR operation.
    * 
@@ -79,13 +195,21 @@ public class XorProblem extends Problem {
     inputs[0] = input1 ? trueValue : falseValue;
     inputs[1] = input2 ? trueValue : falseValue;
     representationContext.calculate(inputs, output);
+    return getError(output[0], input1 ^ input2);
+  }
 
-    // compare the result against the answer
-    boolean answer = input1 ^ input2;
+  /**
+   * Compares an output against the answer of an XOR operation.
+   * 
+   * @param output the output of the representation
+   * @param answer the answer of the XOR operation
+   * @return error value, {@code 0} if correct, otherwise a value {@code 0 <= v <= 1}
+   */
+  protected double getError(float output, boolean answer) {
     float answerFloat = answer ? trueValue : falseValue;
 
     float outputRange = Math.abs(trueValue - falseValue);
-    float difference = Math.abs(answerFloat - output[0]);
+    float difference = Math.abs(answerFloat - output);
     if (difference < tolerance) {
       difference = 0;
     }
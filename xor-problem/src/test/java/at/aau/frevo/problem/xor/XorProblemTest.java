@@ -0,0 +1,147 @@
+/**
+ * File: XorProblemTest.java
+ * 
+ * Copyright (C) 2020 FREVO project contributors
+ * 
+ * Universitaet Klagenfurt licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package at.aau.frevo.problem.xor;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNet;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetBuilder;
+import at.aau.frevo.representation.fullymeshednet.FullyMeshedNetOpBuilder;
+
+/**
+ * Tests for {@link XorProblem}.
+ */
+class XorProblemTest {
+
+  static final int NET_COUNT = 4;
+  static final int WARMUP_EVALUATION_COUNT = 20000;
+  static final int MEASURED_EVALUATION_COUNT = 10000;
+
+  // far below the size of a single generator or iterator allocated per evaluation
+  static final double MAXIMUM_BYTES_PER_EVALUATION = 8;
+
+  /**
+   * Creates nets with random biases, so that the random number generators are used.
+   * 
+   * @return the nets
+   */
+  static List<FullyMeshedNet> createNets() {
+    var representationBuilder = new FullyMeshedNetBuilder().setInputCount(2).setOutputCount(1)
+        .setHiddenNodeCount(8);
+    var nets = new ArrayList<FullyMeshedNet>();
+    for (int i = 0; i < NET_COUNT; i++) {
+      var net = new FullyMeshedNetOpBuilder()
+          .create(representationBuilder, new SplittableRandom(i)).operator0();
+      Arrays.fill(net.getRandomBiases(), 0.1f);
+      nets.add(net);
+    }
+    return nets;
+  }
+
+  /**
+   * Gets the number of bytes allocated by the current thread so far.
+   * 
+   * @return the number of bytes
+   */
+  static long getAllocatedBytes() {
+    var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Checks whether the allocated bytes of the current thread can be measured.
+   */
+  static void assumeAllocationMeasurable() {
+    var threadBean = ManagementFactory.getThreadMXBean();
+    assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+    var allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+    assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+    allocationBean.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @Test
+  void evaluateRepresentationDoesNotAllocate() {
+    assumeAllocationMeasurable();
+    var problem = new XorProblemBuilder().setOperationCount(16).create(1);
+    var nets = createNets();
+
+    for (int i = 0; i < WARMUP_EVALUATION_COUNT; i++) {
+      problem.reset(i);
+      problem.evaluateRepresentation(nets.get(i % NET_COUNT));
+    }
+    var allocatedBytes = getAllocatedBytes();
+    for (int i = 0; i < MEASURED_EVALUATION_COUNT; i++) {
+      problem.reset(i);
+      problem.evaluateRepresentation(nets.get(i % NET_COUNT));
+    }
+    var bytesPerEvaluation =
+        (getAllocatedBytes() - allocatedBytes) / (double) MEASURED_EVALUATION_COUNT;
+
+    assertTrue(bytesPerEvaluation < MAXIMUM_BYTES_PER_EVALUATION,
+        bytesPerEvaluation + " bytes allocated per evaluation");
+  }
+
+  @Test
+  void evaluateRepresentationsDoesNotAllocate() {
+    assumeAllocationMeasurable();
+    var problem = new XorProblemBuilder().setOperationCount(16).create(1);
+    var nets = createNets();
+    var fitnesses = new double[NET_COUNT];
+
+    for (int i = 0; i < WARMUP_EVALUATION_COUNT; i++) {
+      problem.reset(i);
+      problem.evaluateRepresentations(nets, fitnesses);
+    }
+    var allocatedBytes = getAllocatedBytes();
+    for (int i = 0; i < MEASURED_EVALUATION_COUNT; i++) {
+      problem.reset(i);
+      problem.evaluateRepresentations(nets, fitnesses);
+    }
+    var bytesPerEvaluation =
+        (getAllocatedBytes() - allocatedBytes) / (double) MEASURED_EVALUATION_COUNT;
+
+    assertTrue(bytesPerEvaluation < MAXIMUM_BYTES_PER_EVALUATION,
+        bytesPerEvaluation + " bytes allocated per batch");
+  }
+
+  @Test
+  void evaluateRepresentationsMatchesEvaluateRepresentation() {
+    var problem = new XorProblemBuilder().setOperationCount(100).create(1);
+    var nets = createNets();
+
+    for (long seed = 0; seed < 10; seed++) {
+      var fitnesses = new double[NET_COUNT];
+      problem.reset(seed);
+      assertTrue(problem.evaluateRepresentations(nets, fitnesses));
+
+      var expected = new double[NET_COUNT];
+      for (int i = 0; i < NET_COUNT; i++) {
+        problem.reset(seed);
+        expected[i] = problem.evaluateRepresentation(nets.get(i));
+      }
+      assertArrayEquals(expected, fitnesses);
+    }
+  }
+}